@@ -23,10 +23,17 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import ortus.boxlang.compiler.javaboxpiler.JavaBoxpiler;
+import ortus.boxlang.compiler.parser.Parser;
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.loader.ClassArchive;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.ParseException;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
@@ -37,12 +44,23 @@ import ortus.boxlang.runtime.util.ResolvedFilePath;
  */
 public class BXCompiler {
 
+	/**
+	 * The extensions of the files compiled into an archive
+	 */
+	private static final Set<String>	SOURCE_EXTENSIONS	= Set.of( "cfm", "cfc", "cfs", "bx", "bxs", "bxm" );
+
+	/**
+	 * The most files compiled by a single javac task
+	 */
+	private static final int			MAX_BATCH_SIZE		= 64;
+
 	public static void main( String[] args ) {
 		BoxRuntime runtime = BoxRuntime.getInstance();
 		try {
 			String	base		= ".";
 			String	source		= ".";
 			String	target		= null;
+			String	archive		= null;
 			String	mapping		= "";
 			Boolean	stopOnError	= false;
 
@@ -71,6 +89,12 @@ public class BXCompiler {
 					}
 					target = args[ i + 1 ];
 				}
+				if ( args[ i ].equalsIgnoreCase( "--archive" ) ) {
+					if ( i + 1 >= args.length ) {
+						throw new BoxRuntimeException( "--archive requires a path" );
+					}
+					archive = args[ i + 1 ];
+				}
 				if ( args[ i ].equalsIgnoreCase( "--stopOnError" ) ) {
 					if ( i + 1 >= args.length || args[ i + 1 ].startsWith( "--" ) ) {
 						stopOnError = true;
@@ -112,8 +136,17 @@ public class BXCompiler {
 				throw new BoxRuntimeException( "Source path must be equal to or a subdirectory of the base path" );
 			}
 
+			if ( archive != null ) {
+				Path archivePath = Paths.get( archive ).normalize();
+				if ( !archivePath.isAbsolute() ) {
+					archivePath = Paths.get( "" ).resolve( archivePath ).normalize().toAbsolutePath().normalize();
+				}
+				compileArchive( sourcePath, archivePath, stopOnError, finalBasePath, finalMapping );
+				System.exit( 0 );
+			}
+
 			if ( target == null ) {
-				throw new BoxRuntimeException( "--target is required " );
+				throw new BoxRuntimeException( "--target or --archive is required " );
 			}
 			Path targetPath = Paths.get( target ).normalize();
 			if ( !targetPath.isAbsolute() ) {
@@ -166,6 +199,113 @@ public class BXCompiler {
 		}
 	}
 
+	/**
+	 * Compile every source file under a path ahead of time into a single class archive, which the runtime loads
+	 * classes from instead of compiling them (see the {@code classArchive} setting).
+	 * <p>
+	 * Files are parsed and transpiled in parallel across the cores, and compiled in batches so each javac task covers
+	 * many files. A batch which fails is retried file by file to find the culprit.
+	 *
+	 * @param sourcePath  The file or directory to compile
+	 * @param archivePath The archive to write
+	 * @param stopOnError Whether to stop at the first file which fails to compile
+	 * @param basePath    The base path of the mapping
+	 * @param mapping     The mapping name
+	 */
+	private static void compileArchive( Path sourcePath, Path archivePath, Boolean stopOnError, Path basePath, String mapping ) {
+		JavaBoxpiler	boxpiler	= JavaBoxpiler.getInstance();
+		List<ClassInfo>	classInfos;
+		try ( Stream<Path> paths = Files.walk( sourcePath ) ) {
+			classInfos = paths
+			    .filter( Files::isRegularFile )
+			    .filter( path -> SOURCE_EXTENSIONS.contains( getExtension( path ) ) )
+			    .map( path -> {
+				    ResolvedFilePath	resolvedFilePath	= ResolvedFilePath.of( mapping, basePath.toString(), basePath.relativize( path ).toString(),
+				        path );
+				    String				extension			= getExtension( path );
+				    ClassInfo			classInfo			= extension.equals( "bx" ) || extension.equals( "cfc" )
+				        ? ClassInfo.forClass( resolvedFilePath, Parser.detectFile( path.toFile() ), boxpiler )
+				        : ClassInfo.forTemplate( resolvedFilePath, Parser.detectFile( path.toFile() ), boxpiler );
+				    Map<String, ClassInfo> classPool = boxpiler.getClassPool( classInfo.classPoolName() );
+				    classPool.putIfAbsent( classInfo.FQN(), classInfo );
+				    return classPool.get( classInfo.FQN() );
+			    } )
+			    .toList();
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Error walking source path", e );
+		}
+
+		System.out.println( "Compiling " + classInfos.size() + " files in " + sourcePath.toString() + " to " + archivePath.toString() );
+
+		// Enough batches to keep every core parsing while javac runs
+		int						batchSize	= Math.max( 1,
+		    Math.min( MAX_BATCH_SIZE, classInfos.size() / ( Runtime.getRuntime().availableProcessors() * 2 ) + 1 ) );
+		List<List<ClassInfo>>	batches		= new ArrayList<>();
+		for ( int i = 0; i < classInfos.size(); i += batchSize ) {
+			batches.add( classInfos.subList( i, Math.min( i + batchSize, classInfos.size() ) ) );
+		}
+
+		Map<String, byte[]>	classes		= new ConcurrentHashMap<>();
+		Map<String, String>	sourceMaps	= new ConcurrentHashMap<>();
+		Map<String, String>	keys		= new ConcurrentHashMap<>();
+		batches.parallelStream().forEach( batch -> compileBatch( boxpiler, batch, stopOnError, classes, sourceMaps, keys ) );
+
+		ClassArchive.write( archivePath, classes, sourceMaps, keys );
+		System.out.println( "Wrote " + classes.size() + " classes to " + archivePath.toString() );
+	}
+
+	/**
+	 * Compile a batch of files with a single javac task, collecting their classes and source maps
+	 *
+	 * @param boxpiler    The boxpiler
+	 * @param batch       The class infos to compile, all from the same class pool
+	 * @param stopOnError Whether to stop at the first file which fails to compile
+	 * @param classes     Collects the class file bytes
+	 * @param sourceMaps  Collects the source maps
+	 * @param keys        Collects the compilation keys the runtime checks before loading a class from the archive
+	 */
+	private static void compileBatch( JavaBoxpiler boxpiler, List<ClassInfo> batch, Boolean stopOnError, Map<String, byte[]> classes,
+	    Map<String, String> sourceMaps, Map<String, String> keys ) {
+		String classPoolName = batch.get( 0 ).classPoolName();
+		try {
+			classes.putAll( boxpiler.compileClassInfos( classPoolName, batch.stream().map( ClassInfo::FQN ).toList() ) );
+		} catch ( BoxRuntimeException e ) {
+			if ( batch.size() > 1 ) {
+				// Find out which file(s) failed
+				batch.forEach( classInfo -> compileBatch( boxpiler, List.of( classInfo ), stopOnError, classes, sourceMaps, keys ) );
+				return;
+			}
+			if ( stopOnError ) {
+				throw e;
+			}
+			System.err.println( "Error compiling " + batch.get( 0 ).resolvedFilePath().absolutePath().toString() + ": " + e.getMessage() );
+			return;
+		}
+
+		for ( ClassInfo classInfo : batch ) {
+			byte[] sourceMap = boxpiler.getDiskClassUtil().readBytes( classPoolName, classInfo.FQN(), "json" );
+			if ( sourceMap != null ) {
+				sourceMaps.put( classInfo.FQN(), new String( sourceMap ) );
+			}
+			String key = boxpiler.getCompilationKey( classInfo );
+			if ( key != null ) {
+				keys.put( classInfo.FQN(), key );
+			}
+		}
+	}
+
+	/**
+	 * Get the extension of a file
+	 *
+	 * @param path The file
+	 *
+	 * @return The extension, without the dot
+	 */
+	private static String getExtension( Path path ) {
+		String fileName = path.getFileName().toString();
+		return fileName.substring( fileName.lastIndexOf( "." ) + 1 );
+	}
+
 	private static void compileFile( Path sourcePath, Path targetPath, Boolean stopOnError, BoxRuntime runtime, Path basePath, String mapping ) {
 		try {
 			Path directoryPath = targetPath.getParent();
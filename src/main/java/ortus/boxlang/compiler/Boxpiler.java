@@ -5,13 +5,19 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.visitor.ConstantFoldingVisitor;
+import ortus.boxlang.compiler.ast.visitor.WhitespaceCollapsingVisitor;
 import ortus.boxlang.compiler.javaboxpiler.JavaBoxpiler;
 import ortus.boxlang.compiler.parser.BoxSourceType;
 import ortus.boxlang.compiler.parser.Parser;
@@ -20,6 +26,8 @@ import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.javaproxy.InterfaceProxyDefinition;
 import ortus.boxlang.runtime.interop.DynamicObject;
+import ortus.boxlang.runtime.loader.ClassArchive;
+import ortus.boxlang.runtime.loader.DiskClassLoader;
 import ortus.boxlang.runtime.runnables.IBoxRunnable;
 import ortus.boxlang.runtime.runnables.IProxyRunnable;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
@@ -32,15 +40,15 @@ public abstract class Boxpiler implements IBoxpiler {
 	/**
 	 * Logger
 	 */
-	protected static final Logger					logger			= LoggerFactory.getLogger( JavaBoxpiler.class );
+	protected static final Logger					logger				= LoggerFactory.getLogger( JavaBoxpiler.class );
 	/**
 	 * Keeps track of the classes we've compiled
 	 */
-	protected Map<String, Map<String, ClassInfo>>	classPools		= new ConcurrentHashMap<>();
+	protected Map<String, Map<String, ClassInfo>>	classPools			= new ConcurrentHashMap<>();
 	/**
 	 * The transaction service used to track subtransactions
 	 */
-	protected FRTransService						frTransService	= FRTransService.getInstance( true );
+	protected FRTransService						frTransService		= FRTransService.getInstance( true );
 	/**
 	 * The disk class util
 	 */
@@ -49,12 +57,62 @@ public abstract class Boxpiler implements IBoxpiler {
 	 * The directory where the generated classes are stored
 	 */
 	protected Path									classGenerationDirectory;
+	/**
+	 * The archive of pre-compiled classes, if one is configured
+	 */
+	protected ClassArchive							classArchive;
+	/**
+	 * The content keyed cache of compiled classes, if enabled
+	 */
+	protected CompiledClassCache					compiledClassCache;
+	/**
+	 * The class infos of the templates and classes compiled from files, by resolved path, so loading a file again only
+	 * checks its modification time
+	 */
+	protected Map<ResolvedFilePath, ClassInfo>		fileClassInfos		= new ConcurrentHashMap<>();
+	/**
+	 * Whether loaded files are trusted without checking them on disk, see the templateCacheMode setting
+	 */
+	protected boolean								trustLoadedFiles;
+	/**
+	 * Invalidates changed files in watch mode
+	 */
+	protected TemplateWatcher						templateWatcher;
+	/**
+	 * Notified with the cleared path, or null for everything, whenever the page pool is cleared
+	 */
+	protected List<Consumer<Path>>					pagePoolListeners	= new CopyOnWriteArrayList<>();
 
 	public Boxpiler() {
 		this.classGenerationDirectory	= Paths.get( BoxRuntime.getInstance().getConfiguration().classGenerationDirectory );
 		this.diskClassUtil				= new DiskClassUtil( classGenerationDirectory );
 		this.classGenerationDirectory.toFile().mkdirs();
 
+		Integer classCacheSize = BoxRuntime.getInstance().getConfiguration().classCacheSize;
+		if ( classCacheSize != null && classCacheSize > 0 ) {
+			this.compiledClassCache = new CompiledClassCache( this.classGenerationDirectory.resolve( "compiled-class-cache" ),
+			    classCacheSize * 1024L * 1024L );
+		}
+
+		String templateCacheMode = BoxRuntime.getInstance().getConfiguration().templateCacheMode;
+		if ( "watch".equals( templateCacheMode ) ) {
+			this.trustLoadedFiles	= true;
+			this.templateWatcher	= new TemplateWatcher( changed -> clearPagePool( changed ) );
+		} else if ( "trusted".equals( templateCacheMode ) ) {
+			this.trustLoadedFiles = true;
+		}
+
+		String archive = BoxRuntime.getInstance().getConfiguration().classArchive;
+		if ( archive != null && !archive.isBlank() ) {
+			Path archivePath = Paths.get( archive );
+			if ( Files.exists( archivePath ) ) {
+				this.classArchive = new ClassArchive( archivePath );
+				logger.debug( "Loading pre-compiled classes from " + archivePath );
+			} else {
+				logger.warn( "The class archive " + archivePath + " does not exist, all classes will be compiled" );
+			}
+		}
+
 		// If we are in debug mode, let's clean out the class generation directory
 		if ( BoxRuntime.getInstance().inDebugMode() && Files.exists( this.classGenerationDirectory ) ) {
 			try {
@@ -156,6 +214,55 @@ public abstract class Boxpiler implements IBoxpiler {
 		return result;
 	}
 
+	/**
+	 * Whether the AST optimization pass is enabled. This is read on every compile so it can be toggled at runtime
+	 * via the {@code optimizeAST} setting.
+	 *
+	 * @return true if parsed trees should be optimized before transpilation
+	 */
+	public boolean isOptimizationEnabled() {
+		return Boolean.TRUE.equals( BoxRuntime.getInstance().getConfiguration().optimizeAST );
+	}
+
+	/**
+	 * Whether the whitespace of the static text in templates is collapsed when compiling. This is read on every compile
+	 * so it can be toggled at runtime via the {@code collapseTemplateWhitespace} setting.
+	 *
+	 * @return true if parsed trees should have their template whitespace collapsed before transpilation
+	 */
+	public boolean isWhitespaceCollapsingEnabled() {
+		return Boolean.TRUE.equals( BoxRuntime.getInstance().getConfiguration().collapseTemplateWhitespace );
+	}
+
+	/**
+	 * Collapse the whitespace of the static text in a parsed tree
+	 *
+	 * @param node The root AST node
+	 *
+	 * @return The root node
+	 */
+	public BoxNode collapseWhitespace( BoxNode node ) {
+		node.accept( new WhitespaceCollapsingVisitor() );
+		return node;
+	}
+
+	/**
+	 * Run the AST optimization pass over a parsed tree, folding constants and propagating literal locals.
+	 *
+	 * @param node   The root AST node
+	 * @param source A description of the source, for tracking
+	 *
+	 * @return The optimized root node
+	 */
+	public BoxNode optimize( BoxNode node, String source ) {
+		DynamicObject trans = frTransService.startTransaction( "AST Optimization", source );
+		try {
+			return node.accept( new ConstantFoldingVisitor() );
+		} finally {
+			frTransService.endTransaction( trans );
+		}
+	}
+
 	/**
 	 * Compile a single BoxLang statement into a Java class
 	 *
@@ -202,6 +309,10 @@ public abstract class Boxpiler implements IBoxpiler {
 	 */
 	@Override
 	public Class<IBoxRunnable> compileTemplate( ResolvedFilePath resolvedFilePath ) {
+		ClassInfo known = getUnchangedFileClassInfo( resolvedFilePath );
+		if ( known != null ) {
+			return known.getDiskClass();
+		}
 		ClassInfo	classInfo	= ClassInfo.forTemplate( resolvedFilePath, Parser.detectFile( resolvedFilePath.absolutePath().toFile() ), this );
 		var			classPool	= getClassPool( classInfo.classPoolName() );
 		classPool.putIfAbsent( classInfo.FQN(), classInfo );
@@ -218,6 +329,7 @@ public abstract class Boxpiler implements IBoxpiler {
 		} else {
 			classInfo = classPool.get( classInfo.FQN() );
 		}
+		rememberFileClassInfo( resolvedFilePath, classInfo );
 		return classInfo.getDiskClass();
 	}
 
@@ -247,6 +359,10 @@ public abstract class Boxpiler implements IBoxpiler {
 	 */
 	@Override
 	public Class<IBoxRunnable> compileClass( ResolvedFilePath resolvedFilePath ) {
+		ClassInfo known = getUnchangedFileClassInfo( resolvedFilePath );
+		if ( known != null ) {
+			return known.getDiskClass();
+		}
 		ClassInfo	classInfo	= ClassInfo.forClass( resolvedFilePath, Parser.detectFile( resolvedFilePath.absolutePath().toFile() ), this );
 		var			classPool	= getClassPool( classInfo.classPoolName() );
 		classPool.putIfAbsent( classInfo.FQN(), classInfo );
@@ -263,9 +379,119 @@ public abstract class Boxpiler implements IBoxpiler {
 		} else {
 			classInfo = classPool.get( classInfo.FQN() );
 		}
+		rememberFileClassInfo( resolvedFilePath, classInfo );
 		return classInfo.getDiskClass();
 	}
 
+	/**
+	 * Remember the class info of a loaded file, and watch its directory in watch mode
+	 *
+	 * @param resolvedFilePath The file
+	 * @param classInfo        The class info
+	 */
+	protected void rememberFileClassInfo( ResolvedFilePath resolvedFilePath, ClassInfo classInfo ) {
+		if ( fileClassInfos.put( resolvedFilePath, classInfo ) == null && templateWatcher != null ) {
+			templateWatcher.watch( resolvedFilePath.absolutePath().getParent() );
+		}
+	}
+
+	/**
+	 * Whether a file has been loaded before and may be run again without checking it on disk
+	 *
+	 * @param resolvedFilePath The file
+	 *
+	 * @return true in the trusted and watch template cache modes, once the file is loaded
+	 */
+	@Override
+	public boolean isTrusted( ResolvedFilePath resolvedFilePath ) {
+		return trustLoadedFiles && fileClassInfos.containsKey( resolvedFilePath );
+	}
+
+	/**
+	 * Drop loaded templates and classes from the page pool, so they are checked and recompiled if needed the next time
+	 * they are loaded
+	 *
+	 * @param path The file or directory to clear, or null to clear everything
+	 *
+	 * @return The number of files cleared
+	 */
+	@Override
+	public int clearPagePool( Path path ) {
+		int cleared = 0;
+		for ( Map.Entry<ResolvedFilePath, ClassInfo> entry : fileClassInfos.entrySet() ) {
+			if ( path != null && !entry.getKey().absolutePath().startsWith( path ) ) {
+				continue;
+			}
+			if ( fileClassInfos.remove( entry.getKey(), entry.getValue() ) ) {
+				ClassInfo classInfo = entry.getValue();
+				// The next load builds a fresh class info, whose class loader checks the class files on disk
+				getClassPool( classInfo.classPoolName() ).remove( classInfo.FQN(), classInfo );
+				cleared++;
+			}
+		}
+		if ( cleared > 0 ) {
+			logger.debug( "Cleared " + cleared + " templates and classes" + ( path == null ? "" : " in " + path ) + " from the page pool" );
+		}
+		for ( Consumer<Path> listener : pagePoolListeners ) {
+			listener.accept( path );
+		}
+		return cleared;
+	}
+
+	/**
+	 * Register a listener to be told when the page pool is cleared, so caches built on top of it can drop the same
+	 * files. Registering the same listener again has no effect.
+	 *
+	 * @param listener Receives the cleared path, or null when everything was cleared
+	 */
+	@Override
+	public synchronized void addPagePoolListener( Consumer<Path> listener ) {
+		if ( !pagePoolListeners.contains( listener ) ) {
+			pagePoolListeners.add( listener );
+		}
+	}
+
+	/**
+	 * Forget a compiled class, so the class and its class loader can be unloaded once nothing uses it. Compiling the
+	 * same source again will define it in a new class loader. The loader is left open, since another thread may still be
+	 * running the class and load its inner classes (UDFs, closures) from it.
+	 *
+	 * @param clazz The class
+	 */
+	@Override
+	public void discardClass( Class<?> clazz ) {
+		if ( ! ( clazz.getClassLoader() instanceof DiskClassLoader loader ) ) {
+			return;
+		}
+		Map<String, ClassInfo>	classPool	= getClassPool( loader.getClassPoolName() );
+		ClassInfo				classInfo	= classPool.get( clazz.getName() );
+		if ( classInfo != null && classInfo.getClassLoader() == loader ) {
+			classPool.remove( clazz.getName(), classInfo );
+		}
+	}
+
+	/**
+	 * Get the class info of a file compiled before, if the file has not been modified since. This only stats the file,
+	 * unlike building a new class info which also sniffs its source type. Loaded files are not checked at all in the
+	 * trusted and watch modes.
+	 *
+	 * @param resolvedFilePath The file
+	 *
+	 * @return The class info, or null if the file is new or has changed
+	 */
+	protected ClassInfo getUnchangedFileClassInfo( ResolvedFilePath resolvedFilePath ) {
+		ClassInfo known = fileClassInfos.get( resolvedFilePath );
+		// Another path may have replaced it in the class pool
+		if ( known == null || getClassPool( known.classPoolName() ).get( known.FQN() ) != known ) {
+			return null;
+		}
+		if ( trustLoadedFiles ) {
+			return known;
+		}
+		long lastModified = Math.min( resolvedFilePath.absolutePath().toFile().lastModified(), System.currentTimeMillis() );
+		return lastModified > known.lastModified() ? null : known;
+	}
+
 	@Override
 	public Class<IProxyRunnable> compileInterfaceProxy( IBoxContext context, InterfaceProxyDefinition definition ) {
 		ClassInfo	classInfo	= ClassInfo.forInterfaceProxy( definition.name(), definition, this );
@@ -291,6 +517,62 @@ public abstract class Boxpiler implements IBoxpiler {
 			return null;
 		}
 
-		return diskClassUtil.readLineNumbers( classPoolName, IBoxpiler.getBaseFQN( FQN ) );
+		SourceMap sourceMap = diskClassUtil.readLineNumbers( classPoolName, IBoxpiler.getBaseFQN( FQN ) );
+		if ( sourceMap == null && classArchive != null ) {
+			sourceMap = classArchive.getSourceMap( IBoxpiler.getBaseFQN( FQN ) );
+		}
+		return sourceMap;
+	}
+
+	@Override
+	public ClassArchive getClassArchive() {
+		return classArchive;
+	}
+
+	/**
+	 * Build the compilation key of a file backed class: a hash of its source and of everything the generated code
+	 * depends on. Two compilations with the same key produce the same classes, so it keys the compiled class cache and
+	 * tells whether an entry of the class archive is still fresh.
+	 *
+	 * @param classInfo The class info
+	 *
+	 * @return The key, or null if the class is not backed by a readable file
+	 */
+	@Override
+	public String getCompilationKey( ClassInfo classInfo ) {
+		ResolvedFilePath resolvedFilePath = classInfo.resolvedFilePath();
+		if ( resolvedFilePath == null ) {
+			return null;
+		}
+		byte[] source;
+		try {
+			source = Files.readAllBytes( resolvedFilePath.absolutePath() );
+		} catch ( IOException e ) {
+			// The parser will report it
+			return null;
+		}
+		return CompiledClassCache.key(
+		    source,
+		    String.valueOf( BoxRuntime.getInstance().getVersionInfo().get( "boxlangId" ) ),
+		    getClass().getName(),
+		    String.valueOf( isOptimizationEnabled() ),
+		    String.valueOf( isWhitespaceCollapsingEnabled() ),
+		    classInfo.FQN(),
+		    classInfo.sourceType().name(),
+		    classInfo.baseclass(),
+		    classInfo.returnType(),
+		    resolvedFilePath.mappingName(),
+		    resolvedFilePath.mappingPath(),
+		    resolvedFilePath.relativePath()
+		);
+	}
+
+	/**
+	 * Get the utility which reads and writes the files of the class generation directory
+	 *
+	 * @return The disk class util
+	 */
+	public DiskClassUtil getDiskClassUtil() {
+		return diskClassUtil;
 	}
 }
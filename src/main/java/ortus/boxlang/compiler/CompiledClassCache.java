@@ -0,0 +1,287 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * A persistent cache of compiled classes keyed by a hash of what they were compiled from: the source content, the
+ * compiler version, the settings which change the generated code and the names baked into it.
+ * <p>
+ * The class generation directory is keyed by class name and trusts modification times, so a redeploy which touches
+ * every file recompiles everything. This cache lets the boxpiler skip parsing and javac for any source it has compiled
+ * before, whatever its modification time and whichever class pool it is in, across restarts.
+ * <p>
+ * Each entry is a single file holding the class files of a source and its source map. Hits touch the entry's
+ * modification time, and once the cache grows past its size bound the least recently used entries are evicted.
+ */
+public class CompiledClassCache {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger	logger		= LoggerFactory.getLogger( CompiledClassCache.class );
+
+	/**
+	 * Marks an entry file, bump it when the entry format changes
+	 */
+	private static final int	MAGIC		= 0xB0C1A501;
+
+	/**
+	 * The extension of the entry files
+	 */
+	private static final String	EXTENSION	= ".bxc";
+
+	/**
+	 * The directory the entries are stored in
+	 */
+	private final Path			directory;
+
+	/**
+	 * The size the cache is trimmed to stay under, in bytes
+	 */
+	private final long			maxSize;
+
+	/**
+	 * The approximate size of the entries, in bytes
+	 */
+	private final AtomicLong	size		= new AtomicLong();
+
+	/**
+	 * A cached compilation
+	 *
+	 * @param classes   The class files, by binary class name
+	 * @param sourceMap The source map JSON, or null
+	 */
+	public record Entry( Map<String, byte[]> classes, String sourceMap ) {
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param directory The directory to store the entries in
+	 * @param maxSize   The size the cache is trimmed to stay under, in bytes
+	 */
+	public CompiledClassCache( Path directory, long maxSize ) {
+		this.directory	= directory;
+		this.maxSize	= maxSize;
+		try {
+			Files.createDirectories( directory );
+			try ( Stream<Path> entries = Files.list( directory ) ) {
+				this.size.set( entries.mapToLong( CompiledClassCache::sizeOf ).sum() );
+			}
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to open the compiled class cache " + directory, e );
+		}
+	}
+
+	/**
+	 * Build the key of a compilation
+	 *
+	 * @param source The source content
+	 * @param inputs Everything else the generated code depends on: compiler version, settings, class and mapping names
+	 *
+	 * @return The key
+	 */
+	public static String key( byte[] source, String... inputs ) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+			for ( String input : inputs ) {
+				digest.update( String.valueOf( input ).getBytes( StandardCharsets.UTF_8 ) );
+				// Separate the inputs so they can't run into each other
+				digest.update( ( byte ) 0 );
+			}
+			digest.update( source );
+			return HexFormat.of().formatHex( digest.digest() );
+		} catch ( NoSuchAlgorithmException e ) {
+			throw new BoxRuntimeException( "SHA-256 is not available", e );
+		}
+	}
+
+	/**
+	 * Get a cached compilation
+	 *
+	 * @param key The key of the compilation
+	 *
+	 * @return The entry, or null if it is not cached
+	 */
+	public Entry get( String key ) {
+		Path entryPath = entryPath( key );
+		if ( !Files.exists( entryPath ) ) {
+			return null;
+		}
+		try ( DataInputStream in = new DataInputStream( new ByteArrayInputStream( Files.readAllBytes( entryPath ) ) ) ) {
+			if ( in.readInt() != MAGIC ) {
+				return null;
+			}
+			int					count	= in.readInt();
+			Map<String, byte[]>	classes	= new LinkedHashMap<>();
+			for ( int i = 0; i < count; i++ ) {
+				String	name	= in.readUTF();
+				byte[]	bytes	= new byte[ in.readInt() ];
+				in.readFully( bytes );
+				classes.put( name, bytes );
+			}
+			String	sourceMap		= null;
+			int		sourceMapLength	= in.readInt();
+			if ( sourceMapLength >= 0 ) {
+				byte[] sourceMapBytes = new byte[ sourceMapLength ];
+				in.readFully( sourceMapBytes );
+				sourceMap = new String( sourceMapBytes, StandardCharsets.UTF_8 );
+			}
+			// Recently used, for the eviction
+			Files.setLastModifiedTime( entryPath, FileTime.fromMillis( System.currentTimeMillis() ) );
+			return new Entry( classes, sourceMap );
+		} catch ( IOException e ) {
+			// A damaged or concurrently evicted entry is just a miss
+			logger.debug( "Unable to read compiled class cache entry " + entryPath, e );
+			return null;
+		}
+	}
+
+	/**
+	 * Cache a compilation
+	 *
+	 * @param key       The key of the compilation
+	 * @param classes   The class files, by binary class name
+	 * @param sourceMap The source map JSON, or null
+	 */
+	public void put( String key, Map<String, byte[]> classes, String sourceMap ) {
+		Path entryPath = entryPath( key );
+		try {
+			ByteArrayOutputStream	bytes	= new ByteArrayOutputStream();
+			DataOutputStream		out		= new DataOutputStream( bytes );
+			out.writeInt( MAGIC );
+			out.writeInt( classes.size() );
+			for ( Map.Entry<String, byte[]> entry : classes.entrySet() ) {
+				out.writeUTF( entry.getKey() );
+				out.writeInt( entry.getValue().length );
+				out.write( entry.getValue() );
+			}
+			if ( sourceMap == null ) {
+				out.writeInt( -1 );
+			} else {
+				byte[] sourceMapBytes = sourceMap.getBytes( StandardCharsets.UTF_8 );
+				out.writeInt( sourceMapBytes.length );
+				out.write( sourceMapBytes );
+			}
+			out.flush();
+
+			// Write next to the entry and move it in place, so readers never see a partial entry
+			Path temp = Files.createTempFile( this.directory, key, ".tmp" );
+			Files.write( temp, bytes.toByteArray() );
+			long previous = sizeOf( entryPath );
+			Files.move( temp, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+			if ( this.size.addAndGet( bytes.size() - previous ) > this.maxSize ) {
+				evict();
+			}
+		} catch ( IOException e ) {
+			// The cache is an optimization, compiling still worked
+			logger.warn( "Unable to write compiled class cache entry " + entryPath, e );
+		}
+	}
+
+	/**
+	 * Get the approximate size of the cache
+	 *
+	 * @return The size of the entries, in bytes
+	 */
+	public long getSize() {
+		return this.size.get();
+	}
+
+	/**
+	 * Delete the least recently used entries until the cache is back under 3/4 of its size bound
+	 */
+	private synchronized void evict() {
+		if ( this.size.get() <= this.maxSize ) {
+			return;
+		}
+		List<Path> entries;
+		try ( Stream<Path> files = Files.list( this.directory ) ) {
+			entries = files
+			    .filter( path -> path.getFileName().toString().endsWith( EXTENSION ) )
+			    .sorted( Comparator.comparingLong( CompiledClassCache::lastModified ) )
+			    .toList();
+		} catch ( IOException e ) {
+			logger.warn( "Unable to list the compiled class cache " + this.directory, e );
+			return;
+		}
+		long target = this.maxSize * 3 / 4;
+		for ( Path entry : entries ) {
+			if ( this.size.get() <= target ) {
+				break;
+			}
+			long entrySize = sizeOf( entry );
+			try {
+				if ( Files.deleteIfExists( entry ) ) {
+					this.size.addAndGet( -entrySize );
+				}
+			} catch ( IOException e ) {
+				logger.debug( "Unable to evict compiled class cache entry " + entry, e );
+			}
+		}
+	}
+
+	/**
+	 * The file of an entry
+	 *
+	 * @param key The key of the entry
+	 *
+	 * @return The path
+	 */
+	private Path entryPath( String key ) {
+		return this.directory.resolve( key + EXTENSION );
+	}
+
+	private static long sizeOf( Path path ) {
+		try {
+			return Files.exists( path ) ? Files.size( path ) : 0L;
+		} catch ( IOException e ) {
+			return 0L;
+		}
+	}
+
+	private static long lastModified( Path path ) {
+		return path.toFile().lastModified();
+	}
+
+}
@@ -115,6 +115,26 @@ public class DiskClassUtil {
 		}
 	}
 
+	/**
+	 * Read a file from the directory configured for BoxLang
+	 *
+	 * @param fqn       The fully qualified name of the class
+	 * @param extension The extension of the file
+	 *
+	 * @return The bytes, or null if the file does not exist
+	 */
+	public byte[] readBytes( String classPoolName, String fqn, String extension ) {
+		Path diskPath = generateDiskpath( classPoolName, fqn, extension );
+		if ( !diskPath.toFile().exists() ) {
+			return null;
+		}
+		try {
+			return Files.readAllBytes( diskPath );
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to read file from disk", e );
+		}
+	}
+
 	/**
 	 * Read the bytes from the class file and all inner classes from disk and return them
 	 * 
@@ -1,11 +1,13 @@
 package ortus.boxlang.compiler;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -15,6 +17,7 @@ import ortus.boxlang.compiler.parser.BoxSourceType;
 import ortus.boxlang.compiler.parser.ParsingResult;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.javaproxy.InterfaceProxyDefinition;
+import ortus.boxlang.runtime.loader.ClassArchive;
 import ortus.boxlang.runtime.runnables.IBoxRunnable;
 import ortus.boxlang.runtime.runnables.IProxyRunnable;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
@@ -171,6 +174,18 @@ public interface IBoxpiler {
 
 	SourceMap getSourceMapFromFQN( String FQN );
 
+	ClassArchive getClassArchive();
+
+	String getCompilationKey( ClassInfo classInfo );
+
+	boolean isTrusted( ResolvedFilePath resolvedFilePath );
+
+	int clearPagePool( Path path );
+
+	void addPagePoolListener( Consumer<Path> listener );
+
+	void discardClass( Class<?> clazz );
+
 	static String getBaseFQN( String FQN ) {
 		// If fqn ends with $Cloure_xxx or $Func_xxx, $Lambda_xxx, then we need to strip that off to get the original FQN
 		Matcher m = Pattern.compile( "(.*?)(\\$Closure_.*|\\$Func_.*|\\$Lambda_.*)$" ).matcher( FQN );
@@ -0,0 +1,166 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Watches the directories of the loaded templates and classes with a {@link WatchService} and reports the files which
+ * change, so the {@link Boxpiler} can drop just those from its caches instead of checking every file on every load.
+ * <p>
+ * Directories are registered as files from them are loaded, so only directories with compiled code are watched and
+ * new subdirectories need no special handling. When the watch service overflows, the whole directory is reported.
+ */
+public class TemplateWatcher implements AutoCloseable {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger			logger		= LoggerFactory.getLogger( TemplateWatcher.class );
+
+	/**
+	 * The watch service
+	 */
+	private final WatchService			watchService;
+
+	/**
+	 * The watched directories, by watch key
+	 */
+	private final Map<WatchKey, Path>	watched		= new ConcurrentHashMap<>();
+
+	/**
+	 * The watched directories
+	 */
+	private final Set<Path>				directories	= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Receives the changed files, or directories on overflow
+	 */
+	private final Consumer<Path>		onChange;
+
+	/**
+	 * The thread polling the watch service
+	 */
+	private final Thread				thread;
+
+	/**
+	 * Constructor, starts watching
+	 *
+	 * @param onChange Receives the changed files, or directories on overflow
+	 */
+	public TemplateWatcher( Consumer<Path> onChange ) {
+		this.onChange = onChange;
+		try {
+			this.watchService = FileSystems.getDefault().newWatchService();
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to start the template watcher", e );
+		}
+		this.thread = new Thread( this::run, "BoxLang-TemplateWatcher" );
+		this.thread.setDaemon( true );
+		this.thread.start();
+	}
+
+	/**
+	 * Watch a directory, if it is not watched already
+	 *
+	 * @param directory The directory
+	 */
+	public void watch( Path directory ) {
+		if ( directory == null || !this.directories.add( directory ) ) {
+			return;
+		}
+		try {
+			WatchKey key = directory.register(
+			    this.watchService,
+			    StandardWatchEventKinds.ENTRY_CREATE,
+			    StandardWatchEventKinds.ENTRY_MODIFY,
+			    StandardWatchEventKinds.ENTRY_DELETE
+			);
+			this.watched.put( key, directory );
+		} catch ( IOException | ClosedWatchServiceException e ) {
+			this.directories.remove( directory );
+			logger.warn( "Unable to watch " + directory + " for changes", e );
+		}
+	}
+
+	/**
+	 * Stop watching
+	 */
+	@Override
+	public void close() {
+		this.thread.interrupt();
+		try {
+			this.watchService.close();
+		} catch ( IOException e ) {
+			logger.debug( "Error closing the template watcher", e );
+		}
+	}
+
+	/**
+	 * Poll the watch service until closed
+	 */
+	private void run() {
+		while ( !Thread.currentThread().isInterrupted() ) {
+			WatchKey key;
+			try {
+				key = this.watchService.take();
+			} catch ( InterruptedException | ClosedWatchServiceException e ) {
+				return;
+			}
+			Path directory = this.watched.get( key );
+			if ( directory != null ) {
+				for ( WatchEvent<?> event : key.pollEvents() ) {
+					try {
+						if ( event.kind() == StandardWatchEventKinds.OVERFLOW ) {
+							this.onChange.accept( directory );
+						} else {
+							this.onChange.accept( directory.resolve( ( Path ) event.context() ) );
+						}
+					} catch ( RuntimeException e ) {
+						logger.error( "Error invalidating changed templates in " + directory, e );
+					}
+				}
+			}
+			if ( !key.reset() ) {
+				// The directory is gone
+				this.watched.remove( key );
+				if ( directory != null ) {
+					this.directories.remove( directory );
+					this.onChange.accept( directory );
+				}
+			}
+		}
+	}
+
+}
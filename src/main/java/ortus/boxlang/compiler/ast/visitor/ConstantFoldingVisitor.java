@@ -0,0 +1,442 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler.ast.visitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ortus.boxlang.compiler.ast.BoxExpression;
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.BoxStatement;
+import ortus.boxlang.compiler.ast.expression.BoxAccess;
+import ortus.boxlang.compiler.ast.expression.BoxArgument;
+import ortus.boxlang.compiler.ast.expression.BoxArrayLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxAssignment;
+import ortus.boxlang.compiler.ast.expression.BoxAssignmentModifier;
+import ortus.boxlang.compiler.ast.expression.BoxAssignmentOperator;
+import ortus.boxlang.compiler.ast.expression.BoxBinaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxBooleanLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxComparisonOperation;
+import ortus.boxlang.compiler.ast.expression.BoxDecimalLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxIdentifier;
+import ortus.boxlang.compiler.ast.expression.BoxIntegerLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxNegateOperation;
+import ortus.boxlang.compiler.ast.expression.BoxNegateOperator;
+import ortus.boxlang.compiler.ast.expression.BoxParenthesis;
+import ortus.boxlang.compiler.ast.expression.BoxStringConcat;
+import ortus.boxlang.compiler.ast.expression.BoxStringInterpolation;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxTernaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxUnaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxUnaryOperator;
+import ortus.boxlang.compiler.ast.statement.BoxBufferOutput;
+import ortus.boxlang.compiler.ast.statement.BoxExpressionStatement;
+import ortus.boxlang.compiler.ast.statement.BoxForIn;
+import ortus.boxlang.compiler.ast.statement.BoxFunctionDeclaration;
+import ortus.boxlang.compiler.ast.statement.BoxReturn;
+import ortus.boxlang.compiler.ast.statement.BoxTryCatch;
+import ortus.boxlang.runtime.operators.IntegerDivide;
+import ortus.boxlang.runtime.operators.Minus;
+import ortus.boxlang.runtime.operators.Modulus;
+import ortus.boxlang.runtime.operators.Multiply;
+import ortus.boxlang.runtime.operators.Plus;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * AST optimization pass which runs between parsing and transpilation.
+ * <p>
+ * Folds constant integer arithmetic and comparisons, string concatenation, boolean logic, parenthesized literals and
+ * ternaries with a literal condition. Integer arithmetic is folded with the same runtime operators the compiled code would call, so a
+ * folded expression always has the value and type it would have had at runtime. Anything which would overflow to a long,
+ * throw, or produce a decimal is left alone.
+ * <p>
+ * Inside function bodies, a local declared once at the top level of the body with {@code var x = <literal>} and never
+ * written again has its literal propagated into the reads which follow the declaration, so expressions using it can be
+ * folded as well. Functions containing closures, lambdas, nested functions, components, params, references to the
+ * {@code local} scope or dynamic evaluation are skipped, since the local could be changed behind our back.
+ * <p>
+ * Locals which are written more than once are typed by {@link LocalEscapeVisitor} instead, which lets the transpiler use
+ * Java int arithmetic and comparisons for the ones which only ever hold ints.
+ */
+public class ConstantFoldingVisitor extends ReplacingBoxVisitor {
+
+	/**
+	 * Identifier reads to replace with a propagated literal
+	 */
+	private final Map<BoxIdentifier, BoxExpression>	propagated	= new IdentityHashMap<>();
+
+	public ConstantFoldingVisitor() {
+	}
+
+	@Override
+	public BoxNode visit( BoxFunctionDeclaration node ) {
+		if ( node.getBody() != null ) {
+			propagateLocals( node );
+		}
+		return super.visit( node );
+	}
+
+	@Override
+	public BoxNode visit( BoxExpressionStatement node ) {
+		BoxExpression	expression	= node.getExpression();
+		BoxNode			newExpr		= expression.accept( this );
+		// A bare literal is not a valid Java statement, so keep the (already folded) expression it came from
+		if ( newExpr != expression && !isFoldable( ( BoxExpression ) newExpr ) ) {
+			node.setExpression( ( BoxExpression ) newExpr );
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxIdentifier node ) {
+		BoxExpression literal = propagated.remove( node );
+		if ( literal != null ) {
+			return copyLiteral( literal, node );
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxParenthesis node ) {
+		super.visit( node );
+		if ( isFoldable( node.getExpression() ) ) {
+			return node.getExpression();
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxBinaryOperation node ) {
+		super.visit( node );
+		BoxExpression	left	= node.getLeft();
+		BoxExpression	right	= node.getRight();
+
+		if ( left instanceof BoxBooleanLiteral leftBool && right instanceof BoxBooleanLiteral rightBool ) {
+			return switch ( node.getOperator() ) {
+				case And -> new BoxBooleanLiteral( leftBool.getValue() && rightBool.getValue(), node.getPosition(), node.getSourceText() );
+				case Or -> new BoxBooleanLiteral( leftBool.getValue() || rightBool.getValue(), node.getPosition(), node.getSourceText() );
+				default -> node;
+			};
+		}
+
+		Integer	l	= intValue( left );
+		Integer	r	= intValue( right );
+		if ( l == null || r == null ) {
+			return node;
+		}
+		Number result;
+		try {
+			result = switch ( node.getOperator() ) {
+				case Plus -> Plus.compute( l.intValue(), r.intValue() );
+				case Minus -> Minus.compute( l.intValue(), r.intValue() );
+				case Star -> Multiply.compute( l.intValue(), r.intValue() );
+				case Mod -> Modulus.compute( l.intValue(), r.intValue() );
+				case Backslash -> IntegerDivide.compute( l.intValue(), r.intValue() );
+				default -> null;
+			};
+		} catch ( BoxRuntimeException e ) {
+			// Division by zero, leave it for the runtime to report
+			return node;
+		}
+		if ( result instanceof Integer i ) {
+			return new BoxIntegerLiteral( String.valueOf( i ), node.getPosition(), node.getSourceText() );
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxComparisonOperation node ) {
+		super.visit( node );
+		Integer	l	= intValue( node.getLeft() );
+		Integer	r	= intValue( node.getRight() );
+		if ( l == null || r == null ) {
+			return node;
+		}
+		Boolean result = switch ( node.getOperator() ) {
+			// Two ints have the same type, so strict equality is plain equality
+			case Equal, TEqual -> l.intValue() == r.intValue();
+			case NotEqual -> l.intValue() != r.intValue();
+			case GreaterThan -> l > r;
+			case GreaterThanEquals -> l >= r;
+			case LessThan -> l < r;
+			case LesslThanEqual -> l <= r;
+			default -> null;
+		};
+		if ( result == null ) {
+			return node;
+		}
+		return new BoxBooleanLiteral( result, node.getPosition(), node.getSourceText() );
+	}
+
+	@Override
+	public BoxNode visit( BoxUnaryOperation node ) {
+		super.visit( node );
+		BoxExpression expr = node.getExpr();
+		if ( node.getOperator() == BoxUnaryOperator.Not && expr instanceof BoxBooleanLiteral bool ) {
+			return new BoxBooleanLiteral( !bool.getValue(), node.getPosition(), node.getSourceText() );
+		}
+		Integer value = intValue( expr );
+		if ( value != null ) {
+			if ( node.getOperator() == BoxUnaryOperator.Plus ) {
+				return expr;
+			}
+			// The negation of Integer.MIN_VALUE is not an int
+			if ( node.getOperator() == BoxUnaryOperator.Minus && value != Integer.MIN_VALUE ) {
+				return new BoxIntegerLiteral( String.valueOf( -value ), node.getPosition(), node.getSourceText() );
+			}
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxNegateOperation node ) {
+		super.visit( node );
+		if ( node.getOperator() == BoxNegateOperator.Not && node.getExpr() instanceof BoxBooleanLiteral bool ) {
+			return new BoxBooleanLiteral( !bool.getValue(), node.getPosition(), node.getSourceText() );
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxTernaryOperation node ) {
+		super.visit( node );
+		if ( node.getCondition() instanceof BoxBooleanLiteral bool ) {
+			return bool.getValue() ? node.getWhenTrue() : node.getWhenFalse();
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxStringConcat node ) {
+		super.visit( node );
+		List<BoxExpression> values = foldStrings( node.getValues() );
+		if ( values.size() == 1 && values.get( 0 ) instanceof BoxStringLiteral str ) {
+			return new BoxStringLiteral( str.getValue(), node.getPosition(), node.getSourceText() );
+		}
+		if ( values.size() != node.getValues().size() ) {
+			node.setValues( values );
+		}
+		return node;
+	}
+
+	@Override
+	public BoxNode visit( BoxStringInterpolation node ) {
+		super.visit( node );
+		List<BoxExpression> values = foldStrings( node.getValues() );
+		if ( values.size() == 1 && values.get( 0 ) instanceof BoxStringLiteral str ) {
+			return new BoxStringLiteral( str.getValue(), node.getPosition(), node.getSourceText() );
+		}
+		return node;
+	}
+
+	/**
+	 * Get the value of a canonical integer literal. Literals which don't round trip through an int (too large, leading zeros)
+	 * are left to the transpiler as-is.
+	 *
+	 * @param expr The expression
+	 *
+	 * @return The value, or null if the expression is not a foldable integer literal
+	 */
+	public static Integer intValue( BoxExpression expr ) {
+		if ( expr instanceof BoxIntegerLiteral literal ) {
+			try {
+				int value = Integer.parseInt( literal.getValue() );
+				if ( String.valueOf( value ).equals( literal.getValue() ) ) {
+					return value;
+				}
+			} catch ( NumberFormatException e ) {
+				// Not an int, don't touch it
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Merge runs of adjacent string and integer literals
+	 *
+	 * @param values The parts of a concatenation
+	 *
+	 * @return The merged parts
+	 */
+	private List<BoxExpression> foldStrings( List<BoxExpression> values ) {
+		List<BoxExpression>	result	= new ArrayList<>();
+		BoxStringLiteral	run		= null;
+		for ( BoxExpression value : values ) {
+			String text = null;
+			if ( value instanceof BoxStringLiteral str ) {
+				text = str.getValue();
+			} else if ( intValue( value ) != null ) {
+				text = ( ( BoxIntegerLiteral ) value ).getValue();
+			}
+			if ( text == null ) {
+				result.add( value );
+				run = null;
+			} else if ( run == null ) {
+				run = new BoxStringLiteral( text, value.getPosition(), value.getSourceText() );
+				result.add( run );
+			} else {
+				run.setValue( run.getValue() + text );
+			}
+		}
+		// Nothing merged, keep the original nodes
+		return result.size() == values.size() ? values : result;
+	}
+
+	/**
+	 * Whether an expression is a literal we know how to copy and fold
+	 *
+	 * @param expr The expression
+	 *
+	 * @return true if the expression is a simple literal
+	 */
+	private static boolean isFoldable( BoxExpression expr ) {
+		return expr instanceof BoxIntegerLiteral
+		    || expr instanceof BoxDecimalLiteral
+		    || expr instanceof BoxStringLiteral
+		    || expr instanceof BoxBooleanLiteral;
+	}
+
+	/**
+	 * Copy a literal, taking the position of the node it replaces
+	 *
+	 * @param literal  The literal to copy
+	 * @param replaces The node being replaced
+	 *
+	 * @return A new literal node
+	 */
+	private static BoxExpression copyLiteral( BoxExpression literal, BoxNode replaces ) {
+		if ( literal instanceof BoxIntegerLiteral i ) {
+			return new BoxIntegerLiteral( i.getValue(), replaces.getPosition(), replaces.getSourceText() );
+		} else if ( literal instanceof BoxDecimalLiteral d ) {
+			return new BoxDecimalLiteral( d.getValue(), replaces.getPosition(), replaces.getSourceText() );
+		} else if ( literal instanceof BoxStringLiteral s ) {
+			return new BoxStringLiteral( s.getValue(), replaces.getPosition(), replaces.getSourceText() );
+		}
+		return new BoxBooleanLiteral( ( ( BoxBooleanLiteral ) literal ).getValue(), replaces.getPosition(), replaces.getSourceText() );
+	}
+
+	/**
+	 * Find the single-assignment literal locals of a function and mark the reads following their declaration for replacement
+	 *
+	 * @param function The function declaration
+	 */
+	private void propagateLocals( BoxFunctionDeclaration function ) {
+		if ( LocalEscapeVisitor.hasDynamicLocalAccess( function ) ) {
+			return;
+		}
+
+		// Count every write to an unscoped name
+		Map<String, Integer> writes = new HashMap<>();
+		for ( BoxNode node : function.getDescendants() ) {
+			String name = null;
+			if ( node instanceof BoxAssignment assignment ) {
+				name = rootName( assignment.getLeft() );
+			} else if ( node instanceof BoxUnaryOperation unary && isIncrementOrDecrement( unary.getOperator() ) ) {
+				name = rootName( unary.getExpr() );
+			} else if ( node instanceof BoxForIn forIn ) {
+				name = rootName( forIn.getVariable() );
+			} else if ( node instanceof BoxTryCatch tryCatch && tryCatch.getException() != null ) {
+				name = tryCatch.getException().getName();
+			}
+			if ( name != null ) {
+				writes.merge( name.toLowerCase(), 1, Integer::sum );
+			}
+		}
+
+		List<BoxStatement> body = function.getBody();
+		for ( int i = 0; i < body.size(); i++ ) {
+			if ( ! ( body.get( i ) instanceof BoxExpressionStatement statement )
+			    || ! ( statement.getExpression() instanceof BoxAssignment assignment )
+			    || !assignment.getModifiers().contains( BoxAssignmentModifier.VAR )
+			    || assignment.getOp() != BoxAssignmentOperator.Equal
+			    || ! ( assignment.getLeft() instanceof BoxIdentifier declared )
+			    || !isFoldable( assignment.getRight() ) ) {
+				continue;
+			}
+			String name = declared.getName().toLowerCase();
+			if ( writes.getOrDefault( name, 0 ) != 1 ) {
+				continue;
+			}
+			for ( int j = i + 1; j < body.size(); j++ ) {
+				for ( BoxIdentifier read : body.get( j ).getDescendantsOfType( BoxIdentifier.class ) ) {
+					if ( read.getName().equalsIgnoreCase( name ) && isValueRead( read ) ) {
+						propagated.put( read, assignment.getRight() );
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Whether an identifier is read as a plain value by a node we know how to replace it in
+	 *
+	 * @param id The identifier
+	 *
+	 * @return true if the identifier can be replaced by a literal
+	 */
+	private static boolean isValueRead( BoxIdentifier id ) {
+		BoxNode parent = id.getParent();
+		if ( parent instanceof BoxAssignment assignment ) {
+			return assignment.getRight() == id;
+		}
+		if ( parent instanceof BoxArgument argument ) {
+			return argument.getValue() == id;
+		}
+		if ( parent instanceof BoxUnaryOperation unary ) {
+			return !isIncrementOrDecrement( unary.getOperator() );
+		}
+		return parent instanceof BoxBinaryOperation
+		    || parent instanceof BoxComparisonOperation
+		    || parent instanceof BoxParenthesis
+		    || parent instanceof BoxStringConcat
+		    || parent instanceof BoxStringInterpolation
+		    || parent instanceof BoxTernaryOperation
+		    || parent instanceof BoxNegateOperation
+		    || parent instanceof BoxArrayLiteral
+		    || parent instanceof BoxReturn
+		    || parent instanceof BoxBufferOutput;
+	}
+
+	/**
+	 * Get the name of the variable at the root of an assignment target
+	 *
+	 * @param target The assignment target
+	 *
+	 * @return The name, or null if the target is not rooted in an unscoped variable
+	 */
+	private static String rootName( BoxExpression target ) {
+		while ( target instanceof BoxAccess access ) {
+			target = access.getContext();
+		}
+		if ( target instanceof BoxIdentifier id ) {
+			return id.getName();
+		}
+		return null;
+	}
+
+	private static boolean isIncrementOrDecrement( BoxUnaryOperator operator ) {
+		return operator == BoxUnaryOperator.PrePlusPlus
+		    || operator == BoxUnaryOperator.PreMinusMinus
+		    || operator == BoxUnaryOperator.PostPlusPlus
+		    || operator == BoxUnaryOperator.PostMinusMinus;
+	}
+
+}
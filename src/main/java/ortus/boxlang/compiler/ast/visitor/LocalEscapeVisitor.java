@@ -0,0 +1,440 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler.ast.visitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import ortus.boxlang.compiler.ast.BoxExpression;
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.BoxStatement;
+import ortus.boxlang.compiler.ast.expression.BoxAccess;
+import ortus.boxlang.compiler.ast.expression.BoxArgument;
+import ortus.boxlang.compiler.ast.expression.BoxArrayAccess;
+import ortus.boxlang.compiler.ast.expression.BoxArrayLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxAssignment;
+import ortus.boxlang.compiler.ast.expression.BoxAssignmentModifier;
+import ortus.boxlang.compiler.ast.expression.BoxAssignmentOperator;
+import ortus.boxlang.compiler.ast.expression.BoxBinaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxClosure;
+import ortus.boxlang.compiler.ast.expression.BoxComparisonOperation;
+import ortus.boxlang.compiler.ast.expression.BoxDotAccess;
+import ortus.boxlang.compiler.ast.expression.BoxFunctionInvocation;
+import ortus.boxlang.compiler.ast.expression.BoxIdentifier;
+import ortus.boxlang.compiler.ast.expression.BoxLambda;
+import ortus.boxlang.compiler.ast.expression.BoxMethodInvocation;
+import ortus.boxlang.compiler.ast.expression.BoxNegateOperation;
+import ortus.boxlang.compiler.ast.expression.BoxParenthesis;
+import ortus.boxlang.compiler.ast.expression.BoxScope;
+import ortus.boxlang.compiler.ast.expression.BoxStringConcat;
+import ortus.boxlang.compiler.ast.expression.BoxStringInterpolation;
+import ortus.boxlang.compiler.ast.expression.BoxTernaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxUnaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxUnaryOperator;
+import ortus.boxlang.compiler.ast.statement.BoxBufferOutput;
+import ortus.boxlang.compiler.ast.statement.BoxDo;
+import ortus.boxlang.compiler.ast.statement.BoxExpressionStatement;
+import ortus.boxlang.compiler.ast.statement.BoxForIn;
+import ortus.boxlang.compiler.ast.statement.BoxForIndex;
+import ortus.boxlang.compiler.ast.statement.BoxFunctionDeclaration;
+import ortus.boxlang.compiler.ast.statement.BoxIfElse;
+import ortus.boxlang.compiler.ast.statement.BoxParam;
+import ortus.boxlang.compiler.ast.statement.BoxReturn;
+import ortus.boxlang.compiler.ast.statement.BoxSwitch;
+import ortus.boxlang.compiler.ast.statement.BoxSwitchCase;
+import ortus.boxlang.compiler.ast.statement.BoxThrow;
+import ortus.boxlang.compiler.ast.statement.BoxWhile;
+import ortus.boxlang.compiler.ast.statement.component.BoxComponent;
+
+/**
+ * Escape analysis for function-local variables.
+ * <p>
+ * Finds the {@code var} declarations of a function which never escape the function body, so the transpiler can keep them
+ * in slots of a {@code LocalFrame} instead of the local scope. A variable qualifies when:
+ * <ul>
+ * <li>The function never references the {@code local} scope, declares closures, lambdas or nested functions, uses components
+ * (include, thread, query, ...) or params, and never calls {@code evaluate()} or {@code setVariable()}</li>
+ * <li>It is declared with {@code var x = ...} as a top level statement of the body, or as the initializer of a top level
+ * {@code for} loop, and is not used before or in its own declaration</li>
+ * <li>Every other use is a plain read, a plain or compound assignment to the variable itself, or an increment/decrement</li>
+ * </ul>
+ * Anything else, like assigning to {@code x.foo} which is resolved by name, keeps the variable in the local scope.
+ * <p>
+ * A promoted variable is also typed as an int when it is declared with an int literal and is only ever written with int
+ * literals, other int locals, increments/decrements and {@code +=}, {@code -=}, {@code *=} or {@code %=} of those. BoxLang
+ * widens int arithmetic to a long on overflow, so such a variable holds an Integer until it overflows, and code which
+ * relies on the type must still check it at runtime.
+ */
+public class LocalEscapeVisitor extends VoidBoxVisitor {
+
+	/**
+	 * Functions which can read or write variables by name
+	 */
+	private static final Set<String>						DYNAMIC_FUNCTIONS	= Set.of( "evaluate", "setvariable" );
+
+	/**
+	 * The promoted variable names of each function, in slot order
+	 */
+	private final Map<BoxFunctionDeclaration, List<String>>	promoted			= new IdentityHashMap<>();
+
+	/**
+	 * The slot used by each identifier read, assignment and increment/decrement of a promoted variable
+	 */
+	private final Map<BoxNode, Integer>						slots				= new IdentityHashMap<>();
+
+	/**
+	 * The identifier reads, assignments and increments/decrements of the promoted variables typed as ints
+	 */
+	private final Set<BoxNode>								ints				= Collections.newSetFromMap( new IdentityHashMap<>() );
+
+	/**
+	 * Names which must keep being resolved by name, like imported classes
+	 */
+	private final Predicate<String>							excluded;
+
+	public LocalEscapeVisitor() {
+		this( name -> false );
+	}
+
+	/**
+	 * Create a visitor which never promotes some names
+	 *
+	 * @param excluded Matches the variable names to leave in the local scope
+	 */
+	public LocalEscapeVisitor( Predicate<String> excluded ) {
+		this.excluded = excluded;
+	}
+
+	@Override
+	public void visit( BoxFunctionDeclaration node ) {
+		if ( node.getBody() != null ) {
+			analyze( node );
+		}
+	}
+
+	/**
+	 * Get the variables promoted out of the local scope of a function
+	 *
+	 * @param function The function declaration
+	 *
+	 * @return The variable names, in slot order
+	 */
+	public List<String> getPromotedLocals( BoxFunctionDeclaration function ) {
+		return promoted.getOrDefault( function, List.of() );
+	}
+
+	/**
+	 * Get the slot a node reads or writes
+	 *
+	 * @param node An identifier, assignment or increment/decrement
+	 *
+	 * @return The slot, or null if the node doesn't use a promoted variable
+	 */
+	public Integer getSlot( BoxNode node ) {
+		return slots.get( node );
+	}
+
+	/**
+	 * Whether a node reads or writes a promoted variable which only ever holds ints, short of an overflow
+	 *
+	 * @param node An identifier, assignment or increment/decrement
+	 *
+	 * @return true if the variable is typed as an int
+	 */
+	public boolean isInt( BoxNode node ) {
+		return ints.contains( node );
+	}
+
+	/**
+	 * Whether a function can reach its local variables in ways we can't see at compile time
+	 *
+	 * @param function The function declaration
+	 *
+	 * @return true if locals may be read or written by name, or captured
+	 */
+	public static boolean hasDynamicLocalAccess( BoxFunctionDeclaration function ) {
+		for ( BoxNode node : function.getDescendants() ) {
+			if ( node == function ) {
+				continue;
+			}
+			if ( node instanceof BoxClosure || node instanceof BoxLambda || node instanceof BoxFunctionDeclaration || node instanceof BoxComponent
+			    || node instanceof BoxParam ) {
+				return true;
+			}
+			if ( node instanceof BoxScope scope && scope.getName().equalsIgnoreCase( "local" ) ) {
+				return true;
+			}
+			if ( node instanceof BoxFunctionInvocation invocation && DYNAMIC_FUNCTIONS.contains( invocation.getName().toLowerCase() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Find the promotable locals of a function
+	 *
+	 * @param function The function declaration
+	 */
+	private void analyze( BoxFunctionDeclaration function ) {
+		if ( hasDynamicLocalAccess( function ) ) {
+			return;
+		}
+
+		// The first declaration of each name, and the statement it lives in
+		List<BoxStatement>				body			= function.getBody();
+		Map<String, BoxAssignment>		declarations	= new LinkedHashMap<>();
+		Map<String, Integer>			declaredAt		= new LinkedHashMap<>();
+		for ( int i = 0; i < body.size(); i++ ) {
+			BoxExpression declaration = null;
+			if ( body.get( i ) instanceof BoxExpressionStatement statement ) {
+				declaration = statement.getExpression();
+			} else if ( body.get( i ) instanceof BoxForIndex forIndex ) {
+				declaration = forIndex.getInitializer();
+			}
+			if ( declaration instanceof BoxAssignment assignment
+			    && assignment.getModifiers().contains( BoxAssignmentModifier.VAR )
+			    && assignment.getOp() == BoxAssignmentOperator.Equal
+			    && assignment.getLeft() instanceof BoxIdentifier id
+			    && assignment.getRight() != null ) {
+				String name = id.getName().toLowerCase();
+				if ( !declarations.containsKey( name ) && !excluded.test( id.getName() ) ) {
+					declarations.put( name, assignment );
+					declaredAt.put( name, i );
+				}
+			}
+		}
+
+		// Check every use of each declared name
+		Map<String, Map<BoxNode, Boolean>> uses = new LinkedHashMap<>();
+		declarations.keySet().forEach( name -> uses.put( name, new IdentityHashMap<>() ) );
+		for ( int i = 0; i < body.size(); i++ ) {
+			for ( BoxIdentifier id : body.get( i ).getDescendantsOfType( BoxIdentifier.class ) ) {
+				String				name	= id.getName().toLowerCase();
+				Map<BoxNode, Boolean>	nodes	= uses.get( name );
+				if ( nodes == null ) {
+					continue;
+				}
+				BoxAssignment declaration = declarations.get( name );
+				if ( id == declaration.getLeft() ) {
+					nodes.put( declaration, true );
+					continue;
+				}
+				if ( !isVariable( id ) ) {
+					continue;
+				}
+				BoxNode use = i < declaredAt.get( name ) || isWithin( id, declaration ) ? null : classify( id );
+				if ( use == null ) {
+					uses.remove( name );
+				} else {
+					nodes.put( use, true );
+				}
+			}
+		}
+
+		// Drop the int candidates until every write of the remaining ones is an int. Dropping a variable can disqualify the
+		// ones assigned from it, so repeat until nothing changes
+		Set<String>	intNames	= new HashSet<>( uses.keySet() );
+		boolean		dropped;
+		do {
+			dropped = intNames.removeIf( name -> !uses.get( name ).keySet().stream().allMatch( use -> writesInt( use, uses, intNames ) ) );
+		} while ( dropped );
+		intNames.forEach( name -> ints.addAll( uses.get( name ).keySet() ) );
+
+		List<String> names = new ArrayList<>();
+		for ( Map.Entry<String, Map<BoxNode, Boolean>> entry : uses.entrySet() ) {
+			int slot = names.size();
+			names.add( ( ( BoxIdentifier ) declarations.get( entry.getKey() ).getLeft() ).getName() );
+			entry.getValue().keySet().forEach( node -> slots.put( node, slot ) );
+		}
+		if ( !names.isEmpty() ) {
+			promoted.put( function, names );
+		}
+	}
+
+	/**
+	 * Whether a use of a variable leaves an int in it
+	 *
+	 * @param use      A read, write or increment/decrement of the variable
+	 * @param uses     The uses of each promoted variable
+	 * @param intNames The variables still typed as ints
+	 *
+	 * @return true if the variable holds an int after the use, short of an overflow
+	 */
+	private static boolean writesInt( BoxNode use, Map<String, Map<BoxNode, Boolean>> uses, Set<String> intNames ) {
+		if ( use instanceof BoxAssignment assignment ) {
+			return switch ( assignment.getOp() ) {
+				case Equal, PlusEqual, MinusEqual, StarEqual, ModEqual -> holdsInt( assignment.getRight(), uses, intNames );
+				default -> false;
+			};
+		}
+		// Reads, and increments/decrements
+		return true;
+	}
+
+	/**
+	 * Whether an expression is an int literal or a read of an int variable
+	 *
+	 * @param expr     The expression
+	 * @param uses     The uses of each promoted variable
+	 * @param intNames The variables still typed as ints
+	 *
+	 * @return true if the expression is an int, short of an overflow
+	 */
+	private static boolean holdsInt( BoxExpression expr, Map<String, Map<BoxNode, Boolean>> uses, Set<String> intNames ) {
+		if ( ConstantFoldingVisitor.intValue( expr ) != null ) {
+			return true;
+		}
+		if ( expr instanceof BoxIdentifier id ) {
+			String name = id.getName().toLowerCase();
+			return intNames.contains( name ) && uses.get( name ).containsKey( id );
+		}
+		return false;
+	}
+
+	/**
+	 * Whether an identifier names a variable, as opposed to a key or method name
+	 *
+	 * @param id The identifier
+	 *
+	 * @return true if the identifier is resolved as a variable
+	 */
+	private static boolean isVariable( BoxIdentifier id ) {
+		BoxNode parent = id.getParent();
+		return ! ( parent instanceof BoxDotAccess access && access.getAccess() == id )
+		    && ! ( parent instanceof BoxMethodInvocation invocation && invocation.getName() == id );
+	}
+
+	/**
+	 * Whether a node is part of another node
+	 *
+	 * @param node     The node
+	 * @param ancestor The possible ancestor
+	 *
+	 * @return true if the node is the ancestor or one of its descendants
+	 */
+	private static boolean isWithin( BoxNode node, BoxNode ancestor ) {
+		for ( BoxNode current = node; current != null; current = current.getParent() ) {
+			if ( current == ancestor ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Work out how an identifier uses its variable
+	 *
+	 * @param id The identifier
+	 *
+	 * @return The node which reads or writes the slot, or null if the use prevents promotion
+	 */
+	private static BoxNode classify( BoxIdentifier id ) {
+		// ++x, (x)--, etc
+		BoxNode node = id;
+		while ( node.getParent() instanceof BoxParenthesis ) {
+			node = node.getParent();
+		}
+		if ( node.getParent() instanceof BoxUnaryOperation unary && isIncrementOrDecrement( unary.getOperator() ) ) {
+			return unary;
+		}
+
+		BoxNode parent = id.getParent();
+		if ( parent instanceof BoxAssignment assignment ) {
+			if ( assignment.getRight() == id ) {
+				return id;
+			}
+			// A plain or compound write to the variable itself
+			return assignment.getOp() != null ? assignment : null;
+		}
+		if ( parent instanceof BoxAccess access ) {
+			if ( access instanceof BoxArrayAccess && access.getAccess() == id ) {
+				return id;
+			}
+			if ( ( access instanceof BoxDotAccess || access instanceof BoxArrayAccess ) && access.getContext() == id && !isAssignmentTarget( access ) ) {
+				return id;
+			}
+			return null;
+		}
+		if ( parent instanceof BoxArgument argument ) {
+			return argument.getValue() == id ? id : null;
+		}
+		if ( parent instanceof BoxMethodInvocation invocation ) {
+			return invocation.getObj() == id ? id : null;
+		}
+		if ( parent instanceof BoxForIn forIn ) {
+			return forIn.getExpression() == id ? id : null;
+		}
+		if ( parent instanceof BoxForIndex forIndex ) {
+			return forIndex.getInitializer() != id ? id : null;
+		}
+		if ( parent instanceof BoxUnaryOperation
+		    || parent instanceof BoxBinaryOperation
+		    || parent instanceof BoxComparisonOperation
+		    || parent instanceof BoxParenthesis
+		    || parent instanceof BoxStringConcat
+		    || parent instanceof BoxStringInterpolation
+		    || parent instanceof BoxTernaryOperation
+		    || parent instanceof BoxNegateOperation
+		    || parent instanceof BoxArrayLiteral
+		    || parent instanceof BoxExpressionStatement
+		    || parent instanceof BoxReturn
+		    || parent instanceof BoxThrow
+		    || parent instanceof BoxBufferOutput
+		    || parent instanceof BoxIfElse
+		    || parent instanceof BoxWhile
+		    || parent instanceof BoxDo
+		    || parent instanceof BoxSwitch
+		    || parent instanceof BoxSwitchCase ) {
+			return id;
+		}
+		return null;
+	}
+
+	/**
+	 * Whether an access expression is the target of an assignment, which resolves its root variable by name
+	 *
+	 * @param access The access expression
+	 *
+	 * @return true if the access chain is being assigned to
+	 */
+	private static boolean isAssignmentTarget( BoxAccess access ) {
+		BoxNode node = access;
+		while ( node.getParent() instanceof BoxAccess parent && parent.getContext() == node ) {
+			node = parent;
+		}
+		BoxNode parent = node.getParent();
+		return ( parent instanceof BoxAssignment assignment && assignment.getLeft() == node && assignment.getOp() == BoxAssignmentOperator.Equal )
+		    || ( parent instanceof BoxForIn forIn && forIn.getVariable() == node );
+	}
+
+	private static boolean isIncrementOrDecrement( BoxUnaryOperator operator ) {
+		return operator == BoxUnaryOperator.PrePlusPlus
+		    || operator == BoxUnaryOperator.PreMinusMinus
+		    || operator == BoxUnaryOperator.PostPlusPlus
+		    || operator == BoxUnaryOperator.PostMinusMinus;
+	}
+
+}
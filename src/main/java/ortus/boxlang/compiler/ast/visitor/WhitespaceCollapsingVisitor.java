@@ -0,0 +1,140 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler.ast.visitor;
+
+import java.util.List;
+
+import ortus.boxlang.compiler.ast.BoxExpression;
+import ortus.boxlang.compiler.ast.expression.BoxStringInterpolation;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.statement.BoxBufferOutput;
+
+/**
+ * I collapse the runs of whitespace in the static text of templates. A run with a line break becomes a single line
+ * break, so scripts relying on line breaks keep working, and any other run becomes a single space.
+ * <p>
+ * The content of pre, textarea, script and style elements is left alone. Their tags are tracked across the text
+ * nodes in document order, so an element can span several nodes.
+ */
+public class WhitespaceCollapsingVisitor extends VoidBoxVisitor {
+
+	/**
+	 * The elements whose content is left alone
+	 */
+	private static final List<String>	RAW_ELEMENTS	= List.of( "pre", "textarea", "script", "style" );
+
+	/**
+	 * The raw element we are in, if any
+	 */
+	private String						rawElement		= null;
+
+	/**
+	 * Constructor
+	 */
+	public WhitespaceCollapsingVisitor() {
+	}
+
+	public void visit( BoxBufferOutput node ) {
+		BoxExpression expression = node.getExpression();
+		if ( expression instanceof BoxStringLiteral str ) {
+			str.setValue( collapse( str.getValue() ) );
+		} else if ( expression instanceof BoxStringInterpolation interpolation ) {
+			for ( BoxExpression part : interpolation.getValues() ) {
+				if ( part instanceof BoxStringLiteral str ) {
+					str.setValue( collapse( str.getValue() ) );
+				}
+			}
+		}
+		super.visit( node );
+	}
+
+	/**
+	 * Collapse the whitespace of a text
+	 *
+	 * @param text The text
+	 *
+	 * @return The collapsed text
+	 */
+	public String collapse( String text ) {
+		StringBuilder	sb		= new StringBuilder( text.length() );
+		int				length	= text.length();
+		int				i		= 0;
+		while ( i < length ) {
+			char c = text.charAt( i );
+			if ( c == '<' ) {
+				trackElement( text, i );
+				sb.append( c );
+				i++;
+			} else if ( this.rawElement == null && Character.isWhitespace( c ) ) {
+				boolean lineBreak = false;
+				while ( i < length && Character.isWhitespace( text.charAt( i ) ) ) {
+					lineBreak = lineBreak || text.charAt( i ) == '\n';
+					i++;
+				}
+				sb.append( lineBreak ? '\n' : ' ' );
+			} else {
+				sb.append( c );
+				i++;
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Enter or leave a raw element if a tag of one starts at a position
+	 *
+	 * @param text     The text
+	 * @param position The position of the {@code <}
+	 */
+	private void trackElement( String text, int position ) {
+		if ( this.rawElement != null ) {
+			if ( isTag( text, position + 1, "/" + this.rawElement ) ) {
+				this.rawElement = null;
+			}
+			return;
+		}
+		for ( String element : RAW_ELEMENTS ) {
+			if ( isTag( text, position + 1, element ) ) {
+				this.rawElement = element;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Check if a tag name starts at a position, followed by the end of the text, whitespace, {@code >} or {@code /}
+	 *
+	 * @param text     The text
+	 * @param position The position after the {@code <}
+	 * @param name     The tag name, with a leading {@code /} for a closing tag
+	 *
+	 * @return true if the tag starts there
+	 */
+	private boolean isTag( String text, int position, String name ) {
+		if ( !text.regionMatches( true, position, name, 0, name.length() ) ) {
+			return false;
+		}
+		int end = position + name.length();
+		if ( end == text.length() ) {
+			return true;
+		}
+		char next = text.charAt( end );
+		return Character.isWhitespace( next ) || next == '>' || next == '/';
+	}
+
+}
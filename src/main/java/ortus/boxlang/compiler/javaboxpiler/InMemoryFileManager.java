@@ -0,0 +1,81 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler.javaboxpiler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.StandardJavaFileManager;
+
+import ortus.boxlang.compiler.JavaClassByteCode;
+
+/**
+ * A file manager which keeps the class files javac writes in memory instead of on disk.
+ * <p>
+ * The wrapped {@link StandardJavaFileManager} is the expensive part (it indexes the classpath and the platform
+ * modules) so the {@link JavaBoxpiler} keeps a pool of them and wraps the one a compilation task borrowed, collecting
+ * that task's output here.
+ */
+public class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	/**
+	 * The class files written by the compilation, by binary class name, in the order they were written
+	 */
+	private final Map<String, JavaClassByteCode> classes = new LinkedHashMap<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param fileManager The borrowed standard file manager to read sources and the classpath from
+	 */
+	public InMemoryFileManager( StandardJavaFileManager fileManager ) {
+		super( fileManager );
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput( JavaFileManager.Location location, String className, Kind kind, FileObject sibling ) {
+		JavaClassByteCode classFile = new JavaClassByteCode( className, kind );
+		classes.put( className, classFile );
+		return classFile;
+	}
+
+	/**
+	 * Get the bytes of the class files the compilation produced
+	 *
+	 * @return The class bytes, by binary class name
+	 */
+	public Map<String, byte[]> getClassBytes() {
+		Map<String, byte[]> result = new LinkedHashMap<>();
+		classes.forEach( ( name, classFile ) -> result.put( name, classFile.getBytes() ) );
+		return result;
+	}
+
+	/**
+	 * Don't close the shared standard file manager along with this one, it outlives the task
+	 */
+	@Override
+	public void close() {
+		// Nothing to release
+	}
+
+}
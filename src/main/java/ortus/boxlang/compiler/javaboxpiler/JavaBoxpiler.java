@@ -22,19 +22,19 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.stream.Collectors;
 
 import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
-import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 
 import com.fasterxml.jackson.jr.ob.JSON;
@@ -46,6 +46,8 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 
 import ortus.boxlang.compiler.Boxpiler;
 import ortus.boxlang.compiler.ClassInfo;
+import ortus.boxlang.compiler.CompiledClassCache;
+import ortus.boxlang.compiler.IBoxpiler;
 import ortus.boxlang.compiler.JavaSourceString;
 import ortus.boxlang.compiler.ast.BoxNode;
 import ortus.boxlang.compiler.javaboxpiler.transformer.ProxyTransformer;
@@ -72,12 +74,24 @@ public class JavaBoxpiler extends Boxpiler {
 	/**
 	 * Singleton instance
 	 */
-	private static JavaBoxpiler	instance;
+	private static JavaBoxpiler						instance;
 
 	/**
 	 * The Java compiler
 	 */
-	private JavaCompiler		compiler;
+	private JavaCompiler							compiler;
+
+	/**
+	 * Idle standard file managers. They are expensive to create since they index the classpath and platform modules,
+	 * so they are reused, but they are not thread safe. Each compilation borrows one, so concurrent compilations each
+	 * get their own and the pool grows to the peak number of concurrent compilations.
+	 */
+	private final Deque<StandardJavaFileManager>	fileManagers	= new ConcurrentLinkedDeque<>();
+
+	/**
+	 * The javac options, resolved once
+	 */
+	private List<String>							compilerOptions;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -127,6 +141,16 @@ public class JavaBoxpiler extends Boxpiler {
 		transpiler.setProperty( "mappingPath", classInfo.resolvedFilePath() == null ? null : classInfo.resolvedFilePath().mappingPath() );
 		transpiler.setProperty( "relativePath", classInfo.resolvedFilePath() == null ? null : classInfo.resolvedFilePath().relativePath() );
 
+		// The optimizer is switchable per compile, the transformers check the same flag before emitting primitive code
+		boolean optimize = isOptimizationEnabled();
+		transpiler.setProperty( "optimize", String.valueOf( optimize ) );
+		if ( optimize ) {
+			node = optimize( node, classInfo.toString() );
+		}
+		if ( isWhitespaceCollapsingEnabled() ) {
+			node = collapseWhitespace( node );
+		}
+
 		TranspiledCode	javaASTs;
 		DynamicObject	trans	= frTransService.startTransaction( "Java Transpilation", classInfo.toString() );
 		try {
@@ -178,61 +202,229 @@ public class JavaBoxpiler extends Boxpiler {
 				classInfo.getClassLoader().defineClasses( FQN, sourceFile );
 				return;
 			}
-			ParsingResult result = parseOrFail( sourceFile );
-			compileSource( generateJavaSource( result.getRoot(), classInfo ), classInfo.FQN(), classPoolName );
-		} else if ( classInfo.source() != null ) {
-			ParsingResult result = parseOrFail( classInfo.source(), classInfo.sourceType(), classInfo.isClass() );
-			compileSource( generateJavaSource( result.getRoot(), classInfo ), classInfo.FQN(), classPoolName );
-		} else if ( classInfo.interfaceProxyDefinition() != null ) {
-			compileSource( generateProxyJavaSource( classInfo ), classInfo.FQN(), classPoolName );
+			String cacheKey = getCompiledClassCacheKey( classInfo );
+			if ( loadFromCompiledClassCache( classPoolName, classInfo, cacheKey ) != null ) {
+				return;
+			}
+			ParsingResult		result		= parseOrFail( sourceFile );
+			Map<String, byte[]>	classBytes	= compileSources( classPoolName,
+			    Map.of( classInfo.FQN(), generateJavaSource( result.getRoot(), classInfo ) ) );
+			putInCompiledClassCache( classPoolName, classInfo, cacheKey, classBytes );
 		} else {
-			throw new BoxRuntimeException( "Unknown class info type: " + classInfo.toString() );
+			compileSources( classPoolName, Map.of( classInfo.FQN(), generateClassInfoSource( classInfo ) ) );
 		}
 	}
 
 	/**
-	 * Compile Java source code into a Java class
+	 * Compile several pending classes of a class pool with a single javac task, which is much cheaper than one task per
+	 * class. Classes which turn out to be pre-compiled bytecode are loaded as-is.
+	 * <p>
+	 * Only the {@link ortus.boxlang.compiler.BXCompiler} batches like this. The runtime compiles each class on demand,
+	 * one task per class, with concurrent compilations running in parallel.
+	 *
+	 * @param classPoolName The class pool the classes belong to
+	 * @param FQNs          The fully qualified names of the classes to compile
 	 *
-	 * @param javaSource The Java source code as a string
-	 * @param fqn        The fully qualified name of the class
+	 * @return The bytes of the class files the compilation produced, including inner classes, by binary class name
 	 */
-	@SuppressWarnings( "unused" )
-	private void compileSource( String javaSource, String fqn, String classPoolName ) {
-		DynamicObject trans = frTransService.startTransaction( "Java Compilation", fqn );
-
-		// This is just for debugging. Remove later.
-		diskClassUtil.writeJavaSource( classPoolName, fqn, javaSource );
-		try {
-
-			DiagnosticCollector<JavaFileObject>	diagnostics			= new DiagnosticCollector<>();
+	public Map<String, byte[]> compileClassInfos( String classPoolName, List<String> FQNs ) {
+		Map<String, String>	sources		= new LinkedHashMap<>();
+		Map<String, String>	cacheKeys	= new HashMap<>();
+		Map<String, byte[]>	classBytes	= new LinkedHashMap<>();
+		for ( String FQN : FQNs ) {
+			ClassInfo classInfo = getClassPool( classPoolName ).get( FQN );
+			if ( classInfo == null ) {
+				throw new BoxRuntimeException( "ClassInfo not found for " + FQN );
+			}
+			if ( classInfo.resolvedFilePath() != null ) {
+				File sourceFile = classInfo.resolvedFilePath().absolutePath().toFile();
+				if ( diskClassUtil.isJavaBytecode( sourceFile ) ) {
+					classInfo.getClassLoader().defineClasses( FQN, sourceFile );
+					continue;
+				}
+				String				cacheKey	= getCompiledClassCacheKey( classInfo );
+				Map<String, byte[]>	cached		= loadFromCompiledClassCache( classPoolName, classInfo, cacheKey );
+				if ( cached != null ) {
+					classBytes.putAll( cached );
+					continue;
+				}
+				if ( cacheKey != null ) {
+					cacheKeys.put( FQN, cacheKey );
+				}
+				sources.put( FQN, generateJavaSource( parseOrFail( sourceFile ).getRoot(), classInfo ) );
+			} else {
+				sources.put( FQN, generateClassInfoSource( classInfo ) );
+			}
+		}
+		if ( !sources.isEmpty() ) {
+			Map<String, byte[]> compiled = compileSources( classPoolName, sources );
+			cacheKeys.forEach( ( FQN, cacheKey ) -> putInCompiledClassCache( classPoolName, getClassPool( classPoolName ).get( FQN ), cacheKey, compiled ) );
+			classBytes.putAll( compiled );
+		}
+		return classBytes;
+	}
 
-			// Get the standard file manager
-			StandardJavaFileManager				fileManager			= compiler.getStandardFileManager( diagnostics, null, null );
+	/**
+	 * Build the key of a file backed class in the compiled class cache
+	 *
+	 * @param classInfo The class info
+	 *
+	 * @return The key, or null if the cache is disabled
+	 */
+	private String getCompiledClassCacheKey( ClassInfo classInfo ) {
+		if ( compiledClassCache == null ) {
+			return null;
+		}
+		return getCompilationKey( classInfo );
+	}
 
-			// Set the location where .class files should be written
-			String								classPoolDiskPrefix	= classPoolName.replaceAll( "[^a-zA-Z0-9]", "_" );
+	/**
+	 * Load a file backed class from the compiled class cache: its class files are handed to its class loader and
+	 * written to the class generation directory along with its source map, as if it had just been compiled.
+	 *
+	 * @param classPoolName The class pool of the class
+	 * @param classInfo     The class info
+	 * @param cacheKey      The key of the class, or null if the cache is disabled
+	 *
+	 * @return The class files, by binary class name, or null on a miss
+	 */
+	private Map<String, byte[]> loadFromCompiledClassCache( String classPoolName, ClassInfo classInfo, String cacheKey ) {
+		if ( cacheKey == null ) {
+			return null;
+		}
+		CompiledClassCache.Entry entry = compiledClassCache.get( cacheKey );
+		if ( entry == null ) {
+			return null;
+		}
+		diskClassUtil.writeLineNumbers( classPoolName, classInfo.FQN(), entry.sourceMap() );
+		entry.classes().forEach( ( name, bytes ) -> {
+			diskClassUtil.writeBytes( classPoolName, name, "class", bytes );
+			classInfo.getClassLoader().addCompiledClass( name, bytes );
+		} );
+		return entry.classes();
+	}
 
-			fileManager.setLocation( StandardLocation.CLASS_OUTPUT, Arrays.asList( classGenerationDirectory.resolve( classPoolDiskPrefix ).toFile() ) );
+	/**
+	 * Store the class files of a freshly compiled file backed class in the compiled class cache
+	 *
+	 * @param classPoolName The class pool of the class
+	 * @param classInfo     The class info
+	 * @param cacheKey      The key of the class, or null if the cache is disabled
+	 * @param classBytes    The class files of the compilation, which may include other classes
+	 */
+	private void putInCompiledClassCache( String classPoolName, ClassInfo classInfo, String cacheKey, Map<String, byte[]> classBytes ) {
+		if ( cacheKey == null ) {
+			return;
+		}
+		Map<String, byte[]> classes = new LinkedHashMap<>();
+		classBytes.forEach( ( name, bytes ) -> {
+			if ( name.equals( classInfo.FQN() ) || name.startsWith( classInfo.FQN() + "$" ) ) {
+				classes.put( name, bytes );
+			}
+		} );
+		byte[] sourceMap = diskClassUtil.readBytes( classPoolName, classInfo.FQN(), "json" );
+		compiledClassCache.put( cacheKey, classes, sourceMap == null ? null : new String( sourceMap ) );
+	}
 
-			String							javaRT			= System.getProperty( "java.class.path" );
-			String							jarPath			= Paths.get( getClass().getProtectionDomain().getCodeSource().getLocation().toURI() ).toString();
+	/**
+	 * Generate the Java source of a class info which is not backed by a file
+	 *
+	 * @param classInfo The class info
+	 *
+	 * @return The Java source
+	 */
+	private String generateClassInfoSource( ClassInfo classInfo ) {
+		if ( classInfo.source() != null ) {
+			ParsingResult result = parseOrFail( classInfo.source(), classInfo.sourceType(), classInfo.isClass() );
+			return generateJavaSource( result.getRoot(), classInfo );
+		} else if ( classInfo.interfaceProxyDefinition() != null ) {
+			return generateProxyJavaSource( classInfo );
+		}
+		throw new BoxRuntimeException( "Unknown class info type: " + classInfo.toString() );
+	}
 
-			List<JavaFileObject>			sourceFiles		= Collections.singletonList( new JavaSourceString( fqn, javaSource ) );
-			List<String>					options			= List.of( "-g", "-cp", jarPath, "-source", "21", "-target", "21" );
-			JavaCompiler.CompilationTask	task			= compiler.getTask( null, fileManager, diagnostics, options, null, sourceFiles );
-			boolean							compilerResult	= task.call();
+	/**
+	 * Compile Java source code into Java classes, in memory and in a single javac task.
+	 * The class files are handed straight to the class loader of their class info, and written to the class generation
+	 * directory so they can be reused across restarts.
+	 *
+	 * @param classPoolName The class pool the classes belong to
+	 * @param sources       The Java source code, by fully qualified class name
+	 *
+	 * @return The bytes of the class files, by binary class name
+	 */
+	private Map<String, byte[]> compileSources( String classPoolName, Map<String, String> sources ) {
+		String			description	= String.join( ", ", sources.keySet() );
+		DynamicObject	trans		= frTransService.startTransaction( "Java Compilation", description );
 
-			if ( !compilerResult ) {
-				String errors = diagnostics.getDiagnostics().stream().map( d -> d.toString() )
-				    .collect( Collectors.joining( "\n" ) );
-				throw new BoxRuntimeException( errors + "\n" + javaSource );
+		// Only for debugging the compiler
+		if ( Boolean.TRUE.equals( BoxRuntime.getInstance().getConfiguration().dumpJavaSource ) ) {
+			sources.forEach( ( fqn, javaSource ) -> diskClassUtil.writeJavaSource( classPoolName, fqn, javaSource ) );
+		}
+		try {
+			DiagnosticCollector<JavaFileObject>	diagnostics	= new DiagnosticCollector<>();
+			List<JavaFileObject>				sourceFiles	= new ArrayList<>();
+			sources.forEach( ( fqn, javaSource ) -> sourceFiles.add( new JavaSourceString( fqn, javaSource ) ) );
+
+			Map<String, byte[]>		classBytes;
+			StandardJavaFileManager	fileManager	= borrowFileManager();
+			try {
+				InMemoryFileManager	memoryFileManager	= new InMemoryFileManager( fileManager );
+				boolean				compilerResult		= compiler.getTask( null, memoryFileManager, diagnostics, getCompilerOptions(), null, sourceFiles )
+				    .call();
+
+				if ( !compilerResult ) {
+					String errors = diagnostics.getDiagnostics().stream().map( d -> d.toString() )
+					    .collect( Collectors.joining( "\n" ) );
+					throw new BoxRuntimeException( errors + "\n" + String.join( "\n", sources.values() ) );
+				}
+				classBytes = memoryFileManager.getClassBytes();
+			} finally {
+				this.fileManagers.push( fileManager );
 			}
-		} catch ( IOException | URISyntaxException e ) {
-			throw new BoxRuntimeException( "Error compiling source " + fqn, e );
+
+			classBytes.forEach( ( name, bytes ) -> {
+				diskClassUtil.writeBytes( classPoolName, name, "class", bytes );
+				ClassInfo classInfo = getClassPool( classPoolName ).get( IBoxpiler.getBaseFQN( name ) );
+				if ( classInfo != null ) {
+					classInfo.getClassLoader().addCompiledClass( name, bytes );
+				}
+			} );
+			return classBytes;
 		} finally {
 			frTransService.endTransaction( trans );
 		}
+	}
+
+	/**
+	 * Take an idle standard file manager from the pool, creating one if they are all in use. It must be pushed back when
+	 * the compilation is done.
+	 *
+	 * @return A file manager no other compilation is using
+	 */
+	private StandardJavaFileManager borrowFileManager() {
+		StandardJavaFileManager fileManager = this.fileManagers.poll();
+		if ( fileManager == null ) {
+			fileManager = compiler.getStandardFileManager( null, null, null );
+		}
+		return fileManager;
+	}
 
+	/**
+	 * Get the javac options, resolving the runtime jar for the classpath on first use
+	 *
+	 * @return The options
+	 */
+	private synchronized List<String> getCompilerOptions() {
+		if ( this.compilerOptions == null ) {
+			try {
+				String jarPath = Paths.get( getClass().getProtectionDomain().getCodeSource().getLocation().toURI() ).toString();
+				this.compilerOptions = List.of( "-g", "-cp", jarPath, "-source", "21", "-target", "21" );
+			} catch ( URISyntaxException e ) {
+				throw new BoxRuntimeException( "Error resolving the BoxLang runtime location for the compiler classpath", e );
+			}
+		}
+		return this.compilerOptions;
 	}
 
 	/**
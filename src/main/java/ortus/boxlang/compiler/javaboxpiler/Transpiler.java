@@ -39,6 +39,7 @@ import ortus.boxlang.compiler.ast.BoxExpression;
 import ortus.boxlang.compiler.ast.BoxNode;
 import ortus.boxlang.compiler.ast.expression.BoxIntegerLiteral;
 import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.visitor.LocalEscapeVisitor;
 import ortus.boxlang.compiler.javaboxpiler.transformer.TransformerContext;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -70,6 +71,15 @@ public abstract class Transpiler implements ITranspiler {
 	private List<Expression>				jimports					= new ArrayList<Expression>();
 	private Map<String, BoxExpression>		keys						= new LinkedHashMap<String, BoxExpression>();
 	private List<BlockStmt>					staticInitializers			= new ArrayList<BlockStmt>();
+	// Number of inline caches for unscoped variable lookups
+	private int								scopeCacheCounter			= 0;
+	// Number of inline caches for member method dispatch
+	private int								memberCacheCounter			= 0;
+	// Static template text, in the order of the static texts array, and the index of each text
+	private List<BoxStringLiteral>			texts						= new ArrayList<BoxStringLiteral>();
+	private Map<String, Integer>			textIndexes					= new HashMap<String, Integer>();
+	// Escape analysis of the function body being transpiled, if its locals were promoted to a LocalFrame
+	private LocalEscapeVisitor				localSlots					= null;
 
 	/**
 	 * Set a property
@@ -327,6 +337,85 @@ public abstract class Transpiler implements ITranspiler {
 		return keys;
 	}
 
+	/**
+	 * Reserve an inline cache for an unscoped variable lookup site
+	 *
+	 * @return The index of the cache in the static scopeCaches array
+	 */
+	public int registerScopeCache() {
+		return scopeCacheCounter++;
+	}
+
+	public int getScopeCacheCount() {
+		return scopeCacheCounter;
+	}
+
+	/**
+	 * Reserve an inline cache for a member method invocation site
+	 *
+	 * @return The index of the cache in the static memberCaches array
+	 */
+	public int registerMemberCache() {
+		return memberCacheCounter++;
+	}
+
+	public int getMemberCacheCount() {
+		return memberCacheCounter;
+	}
+
+	/**
+	 * Register a block of static template text, which is pre-encoded once when the class loads
+	 *
+	 * @param text The text
+	 *
+	 * @return The index of the text in the static texts array
+	 */
+	public int registerText( BoxStringLiteral text ) {
+		return textIndexes.computeIfAbsent( text.getValue(), value -> {
+			texts.add( text );
+			return texts.size() - 1;
+		} );
+	}
+
+	public List<BoxStringLiteral> getTexts() {
+		return texts;
+	}
+
+	/**
+	 * Set the escape analysis of the function body being transpiled
+	 *
+	 * @param localSlots The analysis, or null when outside of a function body with promoted locals
+	 *
+	 * @return The previous analysis, to restore once the body is done
+	 */
+	public LocalEscapeVisitor setLocalSlots( LocalEscapeVisitor localSlots ) {
+		LocalEscapeVisitor previous = this.localSlots;
+		this.localSlots = localSlots;
+		return previous;
+	}
+
+	/**
+	 * Get the LocalFrame slot a node reads or writes
+	 *
+	 * @param node An identifier, assignment or increment/decrement
+	 *
+	 * @return The slot, or null if the node goes through the local scope
+	 */
+	public Integer getLocalSlot( BoxNode node ) {
+		return localSlots == null ? null : localSlots.getSlot( node );
+	}
+
+	/**
+	 * Whether a node reads or writes a promoted local which only ever holds ints, short of an overflow
+	 *
+	 * @param node An identifier, assignment or increment/decrement
+	 *
+	 * @return true if the local is typed as an int
+	 */
+	public boolean isIntLocal( BoxNode node ) {
+		return localSlots != null && localSlots.isInt( node );
+	}
+
 	public String getDateTime( LocalDateTime locaTime ) {
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern( "yyyy-MM-dd'T'hh:mm:ss" );
 
@@ -56,6 +56,7 @@ import ortus.boxlang.compiler.ast.statement.BoxFunctionDeclaration;
 import ortus.boxlang.compiler.ast.statement.BoxSwitch;
 import ortus.boxlang.compiler.ast.statement.BoxWhile;
 import ortus.boxlang.compiler.ast.statement.component.BoxComponent;
+import ortus.boxlang.compiler.ast.visitor.ConstantFoldingVisitor;
 import ortus.boxlang.compiler.javaboxpiler.Transpiler;
 import ortus.boxlang.runtime.config.util.PlaceholderHelper;
 
@@ -130,6 +131,53 @@ public abstract class AbstractTransformer implements Transformer {
 		return result.getResult().get();
 	}
 
+	/**
+	 * Emit a primitive int operation when every operand is an int literal or a promoted local typed as an int. The locals are
+	 * checked at runtime, since int arithmetic widens to a long on overflow, and the generic operation runs when a check fails.
+	 *
+	 * @param primitive The operation on two Java ints, with {@code ${left}} and {@code ${right}} placeholders
+	 * @param generic   The generic operation
+	 * @param left      The left operand, or the assignment of a promoted local for a compound assignment
+	 * @param right     The right operand
+	 *
+	 * @return The guarded expression, or null if the operands are not both ints or neither is a local
+	 */
+	protected Expression transformIntOperation( String primitive, Expression generic, BoxNode left, BoxExpression right ) {
+		List<String>		guards		= new ArrayList<>();
+		Map<String, String>	values		= new HashMap<>();
+		String				leftInt		= intOperand( left, guards );
+		String				rightInt	= intOperand( right, guards );
+		if ( leftInt == null || rightInt == null || guards.isEmpty() ) {
+			return null;
+		}
+		values.put( "left", leftInt );
+		values.put( "right", rightInt );
+		values.put( "guards", String.join( " && ", guards ) );
+		values.put( "primitive", PlaceholderHelper.resolve( primitive, values ) );
+		values.put( "generic", generic.toString() );
+		return parseExpression( "( ${guards} ? ${primitive} : ${generic} )", values );
+	}
+
+	/**
+	 * Get the Java int expression for an operand of a primitive int operation
+	 *
+	 * @param node   The operand
+	 * @param guards The runtime checks the expression needs, added to
+	 *
+	 * @return The Java expression, or null if the operand is not an int
+	 */
+	private String intOperand( BoxNode node, List<String> guards ) {
+		if ( node instanceof BoxExpression expr && ConstantFoldingVisitor.intValue( expr ) != null ) {
+			return "(" + ConstantFoldingVisitor.intValue( expr ) + ")";
+		}
+		if ( transpiler.isIntLocal( node ) ) {
+			int slot = transpiler.getLocalSlot( node );
+			guards.add( "localFrame.isInt( " + slot + " )" );
+			return "localFrame.getInt( " + slot + " )";
+		}
+		return null;
+	}
+
 	/**
 	 * Create a Key instance out of any expression. May optimize requests for the same key more than once in a template
 	 *
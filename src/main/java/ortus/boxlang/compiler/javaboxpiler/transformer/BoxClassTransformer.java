@@ -32,6 +32,7 @@ import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.EmptyStmt;
@@ -74,6 +75,8 @@ public class BoxClassTransformer extends AbstractTransformer {
 
 		// BoxLang Auto Imports
 		import ortus.boxlang.runtime.BoxRuntime;
+		import ortus.boxlang.runtime.bifs.BIFDescriptor;
+		import ortus.boxlang.runtime.bifs.MemberLookupCache;
 		import ortus.boxlang.runtime.components.Component;
 		import ortus.boxlang.runtime.context.*;
 		import ortus.boxlang.runtime.context.ClassBoxContext;
@@ -84,6 +87,7 @@ public class BoxClassTransformer extends AbstractTransformer {
 		import ortus.boxlang.runtime.dynamic.Referencer;
 		import ortus.boxlang.runtime.interop.DynamicObject;
 		import ortus.boxlang.runtime.interop.DynamicObject;
+		import ortus.boxlang.runtime.interop.InteropCallSite;
 		import ortus.boxlang.runtime.loader.ClassLocator;
 		import ortus.boxlang.runtime.loader.ImportDefinition;
 		import ortus.boxlang.runtime.operators.*;
@@ -129,6 +133,10 @@ public class BoxClassTransformer extends AbstractTransformer {
 
 			// Public static fields
 			public static final Key[] keys = new Key[] {};
+			public static final ScopeLookupCache[] scopeCaches = ScopeLookupCache.allocate( 0 );
+			public static final MemberLookupCache[] memberCaches = MemberLookupCache.allocate( 0 );
+			public static final InteropCallSite[] interopSites = InteropCallSite.allocate( 0 );
+			public static final TemplateText[] texts = new TemplateText[] {};
 
 			// Private Static fields
 			private static final long serialVersionUID = ${compileVersion};
@@ -552,6 +560,19 @@ public class BoxClassTransformer extends AbstractTransformer {
 		    .getClassByName( className ).orElseThrow()
 		    .getFieldByName( "keys" ).orElseThrow();
 
+		FieldDeclaration	scopeCaches				= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "scopeCaches" ).orElseThrow();
+		FieldDeclaration	memberCaches			= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "memberCaches" ).orElseThrow();
+		FieldDeclaration	interopSites			= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "interopSites" ).orElseThrow();
+		FieldDeclaration	texts					= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "texts" ).orElseThrow();
+
 		Expression			annotationStruct		= transformAnnotations( boxClass.getAnnotations() );
 		result.getResult().orElseThrow().getType( 0 ).getFieldByName( "annotations" ).orElseThrow().getVariable( 0 ).setInitializer( annotationStruct );
 
@@ -639,6 +660,26 @@ public class BoxClassTransformer extends AbstractTransformer {
 			keysImp.getInitializer().get().getValues().add( methodCallExpr );
 		}
 
+		// Size the inline caches for unscoped variable lookups
+		MethodCallExpr scopeCachesImp = ( MethodCallExpr ) scopeCaches.getVariable( 0 ).getInitializer().orElseThrow();
+		scopeCachesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getScopeCacheCount() ) ) );
+
+		// Size the inline caches for member method dispatch
+		MethodCallExpr memberCachesImp = ( MethodCallExpr ) memberCaches.getVariable( 0 ).getInitializer().orElseThrow();
+		memberCachesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getMemberCacheCount() ) ) );
+
+		// Size the linked call sites for Java methods, one per method invocation like the member caches
+		MethodCallExpr interopSitesImp = ( MethodCallExpr ) interopSites.getVariable( 0 ).getInitializer().orElseThrow();
+		interopSitesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getMemberCacheCount() ) ) );
+
+		// Add the static template text, pre-encoded once when the class loads
+		ArrayCreationExpr textsImp = ( ArrayCreationExpr ) texts.getVariable( 0 ).getInitializer().orElseThrow();
+		for ( BoxStringLiteral text : transpiler.getTexts() ) {
+			ObjectCreationExpr newText = new ObjectCreationExpr().setType( "TemplateText" );
+			newText.addArgument( ( Expression ) transpiler.transform( text ) );
+			textsImp.getInitializer().get().getValues().add( newText );
+		}
+
 		transpiler.popContextName();
 
 		return entryPoint;
@@ -27,6 +27,7 @@ import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 
 import ortus.boxlang.compiler.ast.BoxExpression;
@@ -54,6 +55,8 @@ public class BoxInterfaceTransformer extends AbstractTransformer {
 
 		// BoxLang Auto Imports
 		import ortus.boxlang.runtime.BoxRuntime;
+		import ortus.boxlang.runtime.bifs.BIFDescriptor;
+		import ortus.boxlang.runtime.bifs.MemberLookupCache;
 		import ortus.boxlang.runtime.runnables.BoxInterface;
 		import ortus.boxlang.runtime.components.Component;
 		import ortus.boxlang.runtime.context.*;
@@ -65,6 +68,7 @@ public class BoxInterfaceTransformer extends AbstractTransformer {
 		import ortus.boxlang.runtime.dynamic.Referencer;
 		import ortus.boxlang.runtime.interop.DynamicObject;
 		import ortus.boxlang.runtime.interop.DynamicObject;
+		import ortus.boxlang.runtime.interop.InteropCallSite;
 		import ortus.boxlang.runtime.loader.ClassLocator;
 		import ortus.boxlang.runtime.loader.ImportDefinition;
 		import ortus.boxlang.runtime.operators.*;
@@ -107,6 +111,10 @@ public class BoxInterfaceTransformer extends AbstractTransformer {
 			private static final LocalDateTime			compiledOn		= ${compiledOnTimestamp};
 			private static final Object					ast				= null;
 			public static final Key[]					keys			= new Key[] {};
+			public static final ScopeLookupCache[]		scopeCaches		= ScopeLookupCache.allocate( 0 );
+			public static final MemberLookupCache[]		memberCaches	= MemberLookupCache.allocate( 0 );
+			public static final InteropCallSite[]		interopSites	= InteropCallSite.allocate( 0 );
+			public static final TemplateText[]			texts			= new TemplateText[] {};
 
 
 			private final static IStruct	annotations;
@@ -320,6 +328,19 @@ public class BoxInterfaceTransformer extends AbstractTransformer {
 		    .getClassByName( classname ).orElseThrow()
 		    .getFieldByName( "keys" ).orElseThrow();
 
+		FieldDeclaration	scopeCaches				= entryPoint
+		    .getClassByName( classname ).orElseThrow()
+		    .getFieldByName( "scopeCaches" ).orElseThrow();
+		FieldDeclaration	memberCaches			= entryPoint
+		    .getClassByName( classname ).orElseThrow()
+		    .getFieldByName( "memberCaches" ).orElseThrow();
+		FieldDeclaration	interopSites			= entryPoint
+		    .getClassByName( classname ).orElseThrow()
+		    .getFieldByName( "interopSites" ).orElseThrow();
+		FieldDeclaration	texts					= entryPoint
+		    .getClassByName( classname ).orElseThrow()
+		    .getFieldByName( "texts" ).orElseThrow();
+
 		/* Transform the annotations creating the initialization value */
 		Expression			annotationStruct		= transformAnnotations( boxInterface.getAllAnnotations() );
 		entryPoint
@@ -393,6 +414,26 @@ public class BoxInterfaceTransformer extends AbstractTransformer {
 			keysImp.getInitializer().get().getValues().add( methodCallExpr );
 		}
 
+		// Size the inline caches for unscoped variable lookups
+		MethodCallExpr scopeCachesImp = ( MethodCallExpr ) scopeCaches.getVariable( 0 ).getInitializer().orElseThrow();
+		scopeCachesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getScopeCacheCount() ) ) );
+
+		// Size the inline caches for member method dispatch
+		MethodCallExpr memberCachesImp = ( MethodCallExpr ) memberCaches.getVariable( 0 ).getInitializer().orElseThrow();
+		memberCachesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getMemberCacheCount() ) ) );
+
+		// Size the linked call sites for Java methods, one per method invocation like the member caches
+		MethodCallExpr interopSitesImp = ( MethodCallExpr ) interopSites.getVariable( 0 ).getInitializer().orElseThrow();
+		interopSitesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getMemberCacheCount() ) ) );
+
+		// Add the static template text, pre-encoded once when the class loads
+		ArrayCreationExpr textsImp = ( ArrayCreationExpr ) texts.getVariable( 0 ).getInitializer().orElseThrow();
+		for ( BoxStringLiteral text : transpiler.getTexts() ) {
+			ObjectCreationExpr newText = new ObjectCreationExpr().setType( "TemplateText" );
+			newText.addArgument( ( Expression ) transpiler.transform( text ) );
+			textsImp.getInitializer().get().getValues().add( newText );
+		}
+
 		transpiler.popContextName();
 
 		return entryPoint;
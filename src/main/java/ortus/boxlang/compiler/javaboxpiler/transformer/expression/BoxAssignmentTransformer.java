@@ -83,6 +83,8 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 			addIndex( javaExpr, node );
 			return javaExpr;
 
+		} else if ( transpiler.getLocalSlot( assignment ) != null ) {
+			return transformLocalSlot( assignment, transpiler.getLocalSlot( assignment ) );
 		} else if ( assignment.getOp() == BoxAssignmentOperator.Equal ) {
 			Expression jRight = ( Expression ) transpiler.transform( assignment.getRight(), TransformerContext.NONE );
 			return transformEquals( assignment.getLeft(), jRight, assignment.getOp(), assignment.getModifiers(), assignment.getSourceText(),
@@ -207,6 +209,54 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 		return javaExpr;
 	}
 
+	/**
+	 * Assign a promoted local, which lives in a slot of the function's LocalFrame
+	 *
+	 * @param assignment The assignment
+	 * @param slot       The slot of the variable
+	 *
+	 * @return The Java expression
+	 */
+	private Node transformLocalSlot( BoxAssignment assignment, int slot ) {
+		Expression			right	= ( Expression ) transpiler.transform( assignment.getRight(), TransformerContext.NONE );
+		Map<String, String>	values	= new HashMap<>() {
+
+										{
+											put( "slot", String.valueOf( slot ) );
+											put( "right", right.toString() );
+										}
+									};
+		String				template;
+		if ( assignment.getOp() == BoxAssignmentOperator.Equal ) {
+			template = "localFrame.set( ${slot}, ${right} )";
+		} else {
+			values.put( "operator", switch ( assignment.getOp() ) {
+				case PlusEqual -> "Plus.compute";
+				case MinusEqual -> "Minus.compute";
+				case StarEqual -> "Multiply.compute";
+				case SlashEqual -> "Divide.invoke";
+				case ModEqual -> "Modulus.compute";
+				case ConcatEqual -> "Concat.invoke";
+				default -> throw new ExpressionException( "Unknown assingment operator " + assignment.getOp().toString(), assignment.getPosition(),
+				    assignment.getSourceText() );
+			} );
+			Expression operation = parseExpression( "${operator}( localFrame.get( ${slot} ), ${right} )", values );
+			// A local typed as an int uses the int overloads of the math operators
+			if ( values.get( "operator" ).endsWith( ".compute" ) ) {
+				Expression intOperation = transformIntOperation( values.get( "operator" ) + "( ${left}, ${right} )", operation, assignment,
+				    assignment.getRight() );
+				if ( intOperation != null ) {
+					operation = intOperation;
+				}
+			}
+			values.put( "operation", operation.toString() );
+			template = "localFrame.set( ${slot}, ${operation} )";
+		}
+		Node javaExpr = parseExpression( template, values );
+		addIndex( javaExpr, assignment );
+		return javaExpr;
+	}
+
 	private Node transformCompoundEquals( BoxAssignment assignment, TransformerContext context ) throws IllegalStateException {
 		// Note any var keyword is completley ignored in this code path!
 
@@ -265,11 +315,11 @@ public class BoxAssignmentTransformer extends AbstractTransformer {
 	private String getMethodCallTemplate( BoxAssignment assignment ) {
 		BoxAssignmentOperator operator = assignment.getOp();
 		return switch ( operator ) {
-			case PlusEqual -> "Plus.invoke( ${contextName}, ${obj}, ${accessKey}, ${right} )";
-			case MinusEqual -> "Minus.invoke( ${contextName}, ${obj}, ${accessKey}, ${right} )";
-			case StarEqual -> "Multiply.invoke( ${contextName}, ${obj}, ${accessKey}, ${right} )";
+			case PlusEqual -> "Plus.compute( ${contextName}, ${obj}, ${accessKey}, ${right} )";
+			case MinusEqual -> "Minus.compute( ${contextName}, ${obj}, ${accessKey}, ${right} )";
+			case StarEqual -> "Multiply.compute( ${contextName}, ${obj}, ${accessKey}, ${right} )";
 			case SlashEqual -> "Divide.invoke( ${contextName}, ${obj}, ${accessKey}, ${right} )";
-			case ModEqual -> "Modulus.invoke( ${contextName}, ${obj}, ${accessKey}, ${right} )";
+			case ModEqual -> "Modulus.compute( ${contextName}, ${obj}, ${accessKey}, ${right} )";
 			case ConcatEqual -> "Concat.invoke( ${contextName}, ${obj}, ${accessKey}, ${right} )";
 			default -> throw new ExpressionException( "Unknown assingment operator " + operator.toString(), assignment.getPosition(),
 			    assignment.getSourceText() );
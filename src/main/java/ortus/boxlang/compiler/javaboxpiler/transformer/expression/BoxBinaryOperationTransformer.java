@@ -14,6 +14,8 @@
  */
 package ortus.boxlang.compiler.javaboxpiler.transformer.expression;
 
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 
 import com.github.javaparser.ast.Node;
@@ -36,6 +38,11 @@ import ortus.boxlang.runtime.types.exceptions.ExpressionException;
  */
 public class BoxBinaryOperationTransformer extends AbstractTransformer {
 
+	/**
+	 * Operators whose integral aware entry point is {@code compute()}
+	 */
+	private static final Set<String> NUMBER_OPERATORS = Set.of( "Plus", "Minus", "Multiply", "IntegerDivide", "Modulus" );
+
 	public BoxBinaryOperationTransformer( JavaTranspiler transpiler ) {
 		super( transpiler );
 	}
@@ -61,19 +68,19 @@ public class BoxBinaryOperationTransformer extends AbstractTransformer {
 		Expression			right		= ( Expression ) transpiler.transform( operation.getRight(), context );
 
 		Node				javaExpr	= switch ( operation.getOperator() ) {
-											case Plus -> // "Plus.invoke(${left},${right})";
+											case Plus -> // "Plus.compute(${left},${right})";
 											    generateBinaryMethodCallExpr( "Plus", left, right );
 
-											case Minus -> // "Minus.invoke(${left},${right})";
+											case Minus -> // "Minus.compute(${left},${right})";
 											    generateBinaryMethodCallExpr( "Minus", left, right );
 
-											case Star -> // "Multiply.invoke(${left},${right})";
+											case Star -> // "Multiply.compute(${left},${right})";
 											    generateBinaryMethodCallExpr( "Multiply", left, right );
 
 											case Slash -> // "Divide.invoke(${left},${right})";
 											    generateBinaryMethodCallExpr( "Divide", left, right );
 
-											case Backslash -> // "IntegerDivide.invoke(${left},${right})";
+											case Backslash -> // "IntegerDivide.compute(${left},${right})";
 											    generateBinaryMethodCallExpr( "IntegerDivide", left, right );
 
 											case Power -> // "Power.invoke(${left},${right})";
@@ -82,7 +89,7 @@ public class BoxBinaryOperationTransformer extends AbstractTransformer {
 											case Xor -> // "XOR.invoke(${left},${right})";
 											    generateBinaryMethodCallExpr( "XOR", left, right );
 
-											case Mod -> // "Modulus.invoke(${left},${right})";
+											case Mod -> // "Modulus.compute(${left},${right})";
 											    generateBinaryMethodCallExpr( "Modulus", left, right );
 
 											case And -> {
@@ -160,6 +167,22 @@ public class BoxBinaryOperationTransformer extends AbstractTransformer {
 
 											default -> throw new ExpressionException( "not implemented", operation );
 										};
+
+		// Promoted locals typed as ints use the int overloads of the math operators
+		String primitive = switch ( operation.getOperator() ) {
+			case Plus -> "Plus";
+			case Minus -> "Minus";
+			case Star -> "Multiply";
+			case Mod -> "Modulus";
+			default -> null;
+		};
+		if ( primitive != null ) {
+			Expression intExpr = transformIntOperation( primitive + ".compute( ${left}, ${right} )", ( Expression ) javaExpr, operation.getLeft(),
+			    operation.getRight() );
+			if ( intExpr != null ) {
+				javaExpr = intExpr;
+			}
+		}
 		// logger.trace( node.getSourceText() + " (" + context.name() + ") -> " + javaExpr );
 		// addIndex( javaExpr, node );
 		return javaExpr;
@@ -168,7 +191,8 @@ public class BoxBinaryOperationTransformer extends AbstractTransformer {
 	@Nonnull
 	private static MethodCallExpr generateBinaryMethodCallExpr( String methodName, Object... args ) {
 		NameExpr		nameExpr		= new NameExpr( methodName );
-		MethodCallExpr	methodCallExpr	= new MethodCallExpr( nameExpr, "invoke" );
+		// The math operators keep their deprecated Double returning invoke() for already compiled classes
+		MethodCallExpr	methodCallExpr	= new MethodCallExpr( nameExpr, NUMBER_OPERATORS.contains( methodName ) ? "compute" : "invoke" );
 		for ( Object o : args ) {
 			if ( o instanceof Expression expr ) {
 				methodCallExpr.addArgument( expr );
@@ -87,7 +87,24 @@ public class BoxComparisonOperationTransformer extends AbstractTransformer {
 		} else {
 			throw new ExpressionException( "not implemented", operation );
 		}
-		Node javaExpr = parseExpression( template, values );
+		Expression javaExpr = parseExpression( template, values );
+
+		// Promoted locals typed as ints are compared as Java ints. Two ints have the same type, so strict equality is plain equality
+		String primitive = switch ( operation.getOperator() ) {
+			case Equal, TEqual -> "${left} == ${right}";
+			case NotEqual -> "${left} != ${right}";
+			case GreaterThan -> "${left} > ${right}";
+			case GreaterThanEquals -> "${left} >= ${right}";
+			case LessThan -> "${left} < ${right}";
+			case LesslThanEqual -> "${left} <= ${right}";
+			default -> null;
+		};
+		if ( primitive != null ) {
+			Expression intExpr = transformIntOperation( primitive, javaExpr, operation.getLeft(), operation.getRight() );
+			if ( intExpr != null ) {
+				javaExpr = intExpr;
+			}
+		}
 		// logger.trace( node.getSourceText() + " (" + context.name() + ") -> " + javaExpr );
 		addIndex( javaExpr, node );
 		return javaExpr;
@@ -25,6 +25,9 @@ import ortus.boxlang.compiler.ast.expression.BoxFunctionInvocation;
 import ortus.boxlang.compiler.javaboxpiler.JavaTranspiler;
 import ortus.boxlang.compiler.javaboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.javaboxpiler.transformer.TransformerContext;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.BIFDescriptor;
+import ortus.boxlang.runtime.scopes.Key;
 
 public class BoxFunctionInvocationTransformer extends AbstractTransformer {
 
@@ -63,9 +66,35 @@ public class BoxFunctionInvocationTransformer extends AbstractTransformer {
 	}
 
 	private String getTemplate( BoxFunctionInvocation function ) {
+		if ( isDirectBIF( function ) ) {
+			return "BIFDescriptor.invokeGlobal( ${contextName}, ${functionName}, " + generateArguments( function.getArguments() ) + " )";
+		}
 		StringBuilder sb = new StringBuilder( "${contextName}.invokeFunction( ${functionName}, " );
 		sb.append( generateArguments( function.getArguments() ) );
 		sb.append( ")" );
 		return sb.toString();
 	}
+
+	/**
+	 * Whether a call can bind to the direct invocation fast path of a core BIF, which skips creating an arguments scope.
+	 * The call must only use positional arguments and the BIF must exist at compile time, come from the core runtime
+	 * and support direct invocation.
+	 *
+	 * @param function The function invocation
+	 *
+	 * @return True if the call can use BIFDescriptor.invokeGlobal()
+	 */
+	private boolean isDirectBIF( BoxFunctionInvocation function ) {
+		if ( !Boolean.parseBoolean( transpiler.getProperty( "optimize" ) ) ) {
+			return false;
+		}
+		if ( function.getArguments().stream().anyMatch( argument -> argument.getName() != null ) ) {
+			return false;
+		}
+		BIFDescriptor descriptor = BoxRuntime.getInstance().getFunctionService().getGlobalFunction( Key.of( function.getName() ) );
+		return descriptor != null
+		    && !descriptor.hasModule()
+		    && descriptor.getBIF().isDirectInvocable()
+		    && function.getArguments().size() <= descriptor.getBIF().getDeclaredArguments().length;
+	}
 }
@@ -46,14 +46,20 @@ public class BoxIdentifierTransformer extends AbstractTransformer {
 												put( "accessKey", accessKey.toString() );
 												put( "id", identifier.getName() );
 												put( "contextName", transpiler.peekContextName() );
+												put( "className", transpiler.getProperty( "classname" ) );
 											}
 										};
-		if ( transpiler.matchesImport( identifier.getName() ) && transpiler.getProperty( "sourceType" ).toLowerCase().startsWith( "box" ) ) {
+		Integer slot = transpiler.getLocalSlot( identifier );
+		if ( slot != null ) {
+			// A promoted local which never escapes the function body
+			template = "localFrame.get( " + slot + " )";
+		} else if ( transpiler.matchesImport( identifier.getName() ) && transpiler.getProperty( "sourceType" ).toLowerCase().startsWith( "box" ) ) {
 			template = "classLocator.load( ${contextName}, \"${id}\", imports )";
 		} else {
 			template = switch ( context ) {
 				case SAFE -> "${contextName}.scopeFindNearby( ${accessKey}, ${contextName}.getDefaultAssignmentScope()).value()";
-				default -> "${contextName}.scopeFindNearby( ${accessKey}, null).value()";
+				// Only the value is needed, so use the lookup which doesn't allocate a search result, with an inline cache per site
+				default -> "${contextName}.scopeFindNearbyValue( ${accessKey}, ${className}.scopeCaches[" + transpiler.registerScopeCache() + "] )";
 			};
 		}
 
@@ -50,6 +50,7 @@ public class BoxMethodInvocationTransformer extends AbstractTransformer {
 											{
 												put( "contextName", transpiler.peekContextName() );
 												put( "safe", safe.toString() );
+												put( "className", transpiler.getProperty( "classname" ) );
 											}
 										};
 
@@ -83,7 +84,9 @@ public class BoxMethodInvocationTransformer extends AbstractTransformer {
 		StringBuilder sb = new StringBuilder( "Referencer.getAndInvoke(${contextName},${expr},${methodKey}," );
 
 		sb.append( generateArguments( function.getArguments() ) );
-		sb.append( ", ${safe})" );
+		// Each call site gets its own inline cache for member method dispatch and its own linked call site for Java methods
+		int site = transpiler.registerMemberCache();
+		sb.append( ", ${safe}, ${className}.memberCaches[" ).append( site ).append( "], ${className}.interopSites[" ).append( site ).append( "])" );
 		return sb.toString();
 	}
 }
@@ -73,7 +73,11 @@ public class BoxUnaryOperationTransformer extends AbstractTransformer {
 		}
 
 		// for non literals, we need to identify the key being incremented/decremented and the object it lives in (which may be a scope)
-		if ( expr instanceof BoxIdentifier id && operator != BoxUnaryOperator.Not && operator != BoxUnaryOperator.Minus && operator != BoxUnaryOperator.Plus ) {
+		if ( transpiler.getLocalSlot( operation ) != null ) {
+			// A promoted local, which lives in a slot of the function's LocalFrame
+			template = getMethodCallTemplateLocalSlot( operation );
+			values.put( "slot", String.valueOf( transpiler.getLocalSlot( operation ) ) );
+		} else if ( expr instanceof BoxIdentifier id && operator != BoxUnaryOperator.Not && operator != BoxUnaryOperator.Minus && operator != BoxUnaryOperator.Plus ) {
 			Node accessKey;
 			template	= getMethodCallTemplateCompound( operation );
 			accessKey	= createKey( id.getName() );
@@ -116,10 +120,10 @@ public class BoxUnaryOperationTransformer extends AbstractTransformer {
 			case Plus -> "${expr}";
 			case Minus -> "Negate.invoke( ${expr} )";
 			case Not -> "Not.invoke( ${expr} )";
-			case PrePlusPlus -> "Increment.invoke( ${expr} )";
+			case PrePlusPlus -> "Increment.compute( ${expr} )";
 			// 5++ is the same as 5
 			case PostPlusPlus -> "${expr}";
-			case PreMinusMinus -> "Decrement.invoke( ${expr} )";
+			case PreMinusMinus -> "Decrement.compute( ${expr} )";
 			// 5-- is the same as 5
 			case PostMinusMinus -> "${expr}";
 			case BitwiseComplement -> "BitwiseComplement.invoke( ${expr} )";
@@ -131,10 +135,23 @@ public class BoxUnaryOperationTransformer extends AbstractTransformer {
 		BoxUnaryOperator operator = operation.getOperator();
 		// These all refernce variable names which need retrieved, modified, and then re-assigned
 		return switch ( operator ) {
-			case PrePlusPlus -> "Increment.invokePre( ${contextName}, ${obj}, ${accessKey} )";
-			case PostPlusPlus -> "Increment.invokePost( ${contextName}, ${obj}, ${accessKey} )";
-			case PreMinusMinus -> "Decrement.invokePre( ${contextName}, ${obj}, ${accessKey} )";
-			case PostMinusMinus -> "Decrement.invokePost( ${contextName}, ${obj}, ${accessKey} )";
+			case PrePlusPlus -> "Increment.computePre( ${contextName}, ${obj}, ${accessKey} )";
+			case PostPlusPlus -> "Increment.computePost( ${contextName}, ${obj}, ${accessKey} )";
+			case PreMinusMinus -> "Decrement.computePre( ${contextName}, ${obj}, ${accessKey} )";
+			case PostMinusMinus -> "Decrement.computePost( ${contextName}, ${obj}, ${accessKey} )";
+			default -> throw new ExpressionException( "Unknown unary compound operator " + operator.toString(), operation.getPosition(),
+			    operation.getSourceText() );
+		};
+	}
+
+	private String getMethodCallTemplateLocalSlot( BoxUnaryOperation operation ) {
+		BoxUnaryOperator operator = operation.getOperator();
+		// The variable is read and written through its slot instead of by name
+		return switch ( operator ) {
+			case PrePlusPlus -> "Increment.computePre( localFrame, ${slot} )";
+			case PostPlusPlus -> "Increment.computePost( localFrame, ${slot} )";
+			case PreMinusMinus -> "Decrement.computePre( localFrame, ${slot} )";
+			case PostMinusMinus -> "Decrement.computePost( localFrame, ${slot} )";
 			default -> throw new ExpressionException( "Unknown unary compound operator " + operator.toString(), operation.getPosition(),
 			    operation.getSourceText() );
 		};
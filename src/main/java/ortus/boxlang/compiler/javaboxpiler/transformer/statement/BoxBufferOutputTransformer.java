@@ -18,17 +18,22 @@
 package ortus.boxlang.compiler.javaboxpiler.transformer.statement;
 
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
 import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.stmt.ExpressionStmt;
 import com.github.javaparser.ast.stmt.Statement;
 
 import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
 import ortus.boxlang.compiler.ast.statement.BoxBufferOutput;
 import ortus.boxlang.compiler.javaboxpiler.Transpiler;
 import ortus.boxlang.compiler.javaboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.javaboxpiler.transformer.TransformerContext;
+import ortus.boxlang.runtime.context.TemplateText;
 
 /**
  * Transform a String Interpolation the equivalent Java Parser AST nodes
@@ -55,7 +60,18 @@ public class BoxBufferOutputTransformer extends AbstractTransformer {
 
 		NameExpr		nameExpr		= new NameExpr( transpiler.peekContextName() );
 		MethodCallExpr	methodCallExpr	= new MethodCallExpr( nameExpr, "writeToBuffer" );
-		methodCallExpr.addArgument( ( Expression ) transpiler.transform( bufferOuput.getExpression(), TransformerContext.NONE ) );
+		if ( bufferOuput.getExpression() instanceof BoxStringLiteral str && str.getValue().length() >= TemplateText.MIN_LENGTH ) {
+			// Large blocks of static text are pre-encoded once in the static texts array and shared by the output buffers
+			int pos = transpiler.registerText( str );
+			methodCallExpr.addArgument(
+			    new ArrayAccessExpr(
+			        new FieldAccessExpr( new NameExpr( transpiler.getProperty( "classname" ) ), "texts" ),
+			        new IntegerLiteralExpr( String.valueOf( pos ) )
+			    )
+			);
+		} else {
+			methodCallExpr.addArgument( ( Expression ) transpiler.transform( bufferOuput.getExpression(), TransformerContext.NONE ) );
+		}
 		Statement jStatement = new ExpressionStmt( methodCallExpr );
 		// logger.trace( "{} -> {}", node.getSourceText(), jStatement );
 		addIndex( jStatement, node );
@@ -17,6 +17,7 @@ package ortus.boxlang.compiler.javaboxpiler.transformer.statement;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ast.CompilationUnit;
@@ -37,6 +38,7 @@ import ortus.boxlang.compiler.ast.statement.BoxFunctionDeclaration;
 import ortus.boxlang.compiler.ast.statement.BoxMethodDeclarationModifier;
 import ortus.boxlang.compiler.ast.statement.BoxReturnType;
 import ortus.boxlang.compiler.ast.statement.BoxType;
+import ortus.boxlang.compiler.ast.visitor.LocalEscapeVisitor;
 import ortus.boxlang.compiler.javaboxpiler.JavaTranspiler;
 import ortus.boxlang.compiler.javaboxpiler.transformer.AbstractTransformer;
 import ortus.boxlang.compiler.javaboxpiler.transformer.TransformerContext;
@@ -61,6 +63,7 @@ public class BoxFunctionDeclarationTransformer extends AbstractTransformer {
 			private final static String				returnType	= "${returnType}";
 			private              Access		   		access		= Access.${access};
 			private final static List<BoxMethodDeclarationModifier>	modifiers = List.of( ${modifiers} );
+			private final static Key[]				localNames	= new Key[] { ${localNames} };
 
 			private final static IStruct	annotations;
 			private final static IStruct	documentation;
@@ -168,6 +171,14 @@ public class BoxFunctionDeclarationTransformer extends AbstractTransformer {
 			access = BoxAccessModifier.Public;
 		}
 
+		// Locals which never escape the body live in a LocalFrame instead of the local scope
+		LocalEscapeVisitor localSlots = null;
+		if ( Boolean.parseBoolean( transpiler.getProperty( "optimize" ) ) && function.getBody() != null ) {
+			localSlots = new LocalEscapeVisitor( transpiler::matchesImport );
+			function.accept( localSlots );
+		}
+		List<String> localNames = localSlots == null ? List.of() : localSlots.getPromotedLocals( function );
+
 		Map<String, String> values = Map.ofEntries(
 		    Map.entry( "packageName", packageName ),
 		    Map.entry( "className", className ),
@@ -177,7 +188,8 @@ public class BoxFunctionDeclarationTransformer extends AbstractTransformer {
 		    Map.entry( "returnType", returnType.equals( BoxType.Fqn ) ? fqn : returnType.name() ),
 		    Map.entry( "enclosingClassName", enclosingClassName ),
 		    Map.entry( "compiledOnTimestamp", transpiler.getDateTime( LocalDateTime.now() ) ),
-		    Map.entry( "compileVersion", "1L" )
+		    Map.entry( "compileVersion", "1L" ),
+		    Map.entry( "localNames", localNames.stream().map( name -> createKey( name ).toString() ).collect( Collectors.joining( ", " ) ) )
 		);
 		transpiler.pushContextName( "context" );
 
@@ -219,6 +231,11 @@ public class BoxFunctionDeclarationTransformer extends AbstractTransformer {
 		transpiler.pushfunctionBodyCounter();
 		int componentCounter = transpiler.getComponentCounter();
 		transpiler.setComponentCounter( 0 );
+		if ( !localNames.isEmpty() ) {
+			invokeMethod.getBody().get().addStatement( parseStatement( "LocalFrame localFrame = context.createLocalFrame( ${className}.localNames );",
+			    Map.of( "className", className ) ) );
+		}
+		LocalEscapeVisitor outerSlots = transpiler.setLocalSlots( localNames.isEmpty() ? null : localSlots );
 		for ( BoxStatement statement : function.getBody() ) {
 			Node javaStmt = transpiler.transform( statement );
 			if ( javaStmt instanceof BlockStmt stmt ) {
@@ -227,6 +244,7 @@ public class BoxFunctionDeclarationTransformer extends AbstractTransformer {
 				invokeMethod.getBody().get().addStatement( ( Statement ) javaStmt );
 			}
 		}
+		transpiler.setLocalSlots( outerSlots );
 		transpiler.setComponentCounter( componentCounter );
 		transpiler.popfunctionBodyCounter();
 		// Ensure we have a return statement
@@ -23,10 +23,12 @@ import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.ArrayCreationExpr;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.EmptyStmt;
@@ -58,6 +60,8 @@ public class BoxScriptTransformer extends AbstractTransformer {
 
 		// BoxLang Auto Imports
 		import ortus.boxlang.runtime.BoxRuntime;
+		import ortus.boxlang.runtime.bifs.BIFDescriptor;
+		import ortus.boxlang.runtime.bifs.MemberLookupCache;
 		import ortus.boxlang.runtime.components.Component;
 		import ortus.boxlang.runtime.context.*;
 		import ortus.boxlang.runtime.context.ClassBoxContext;
@@ -67,6 +71,7 @@ public class BoxScriptTransformer extends AbstractTransformer {
 		import ortus.boxlang.runtime.dynamic.Referencer;
 		import ortus.boxlang.runtime.interop.DynamicObject;
 		import ortus.boxlang.runtime.interop.DynamicObject;
+		import ortus.boxlang.runtime.interop.InteropCallSite;
 		import ortus.boxlang.runtime.loader.ClassLocator;
 		import ortus.boxlang.runtime.loader.ImportDefinition;
 		import ortus.boxlang.runtime.operators.*;
@@ -96,7 +101,7 @@ public class BoxScriptTransformer extends AbstractTransformer {
 
 		public class ${className} extends ${baseclass} {
 
-			private static ${className} instance;
+			private static volatile ${className} instance;
 
 			private static final List<ImportDefinition>	imports			= List.of();
 			private static final ResolvedFilePath					path			= ${resolvedFilePath};
@@ -105,15 +110,25 @@ public class BoxScriptTransformer extends AbstractTransformer {
 			private static final LocalDateTime			compiledOn		= ${compiledOnTimestamp};
 			private static final Object					ast				= null;
 			public static final Key[]					keys			= new Key[] {};
+			public static final ScopeLookupCache[]		scopeCaches		= ScopeLookupCache.allocate( 0 );
+			public static final MemberLookupCache[]		memberCaches	= MemberLookupCache.allocate( 0 );
+			public static final InteropCallSite[]		interopSites	= InteropCallSite.allocate( 0 );
+			public static final TemplateText[]			texts			= new TemplateText[] {};
 
 			public ${className}() {
 			}
 
-			public static synchronized ${className} getInstance() {
-				if ( instance == null ) {
-					instance = new ${className}();
+			public static ${className} getInstance() {
+				${className} result = instance;
+				if ( result == null ) {
+					synchronized ( ${className}.class ) {
+						result = instance;
+						if ( result == null ) {
+							instance = result = new ${className}();
+						}
+					}
 				}
-				return instance;
+				return result;
 			}
 			/**
 				* Each template must implement the invoke() method which executes the template
@@ -243,6 +258,19 @@ public class BoxScriptTransformer extends AbstractTransformer {
 		    .getClassByName( className ).orElseThrow()
 		    .getFieldByName( "keys" ).orElseThrow();
 
+		FieldDeclaration	scopeCaches		= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "scopeCaches" ).orElseThrow();
+		FieldDeclaration	memberCaches	= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "memberCaches" ).orElseThrow();
+		FieldDeclaration	interopSites	= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "interopSites" ).orElseThrow();
+		FieldDeclaration	texts			= entryPoint.findCompilationUnit().orElseThrow()
+		    .getClassByName( className ).orElseThrow()
+		    .getFieldByName( "texts" ).orElseThrow();
+
 		transpiler.pushContextName( "context" );
 
 		BlockStmt	invokeBody					= invokeMethod.getBody().get();
@@ -296,6 +324,26 @@ public class BoxScriptTransformer extends AbstractTransformer {
 			keysImp.getInitializer().get().getValues().add( methodCallExpr );
 		}
 
+		// Size the inline caches for unscoped variable lookups
+		MethodCallExpr scopeCachesImp = ( MethodCallExpr ) scopeCaches.getVariable( 0 ).getInitializer().orElseThrow();
+		scopeCachesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getScopeCacheCount() ) ) );
+
+		// Size the inline caches for member method dispatch
+		MethodCallExpr memberCachesImp = ( MethodCallExpr ) memberCaches.getVariable( 0 ).getInitializer().orElseThrow();
+		memberCachesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getMemberCacheCount() ) ) );
+
+		// Size the linked call sites for Java methods, one per method invocation like the member caches
+		MethodCallExpr interopSitesImp = ( MethodCallExpr ) interopSites.getVariable( 0 ).getInitializer().orElseThrow();
+		interopSitesImp.setArgument( 0, new IntegerLiteralExpr( String.valueOf( transpiler.getMemberCacheCount() ) ) );
+
+		// Add the static template text, pre-encoded once when the class loads
+		ArrayCreationExpr textsImp = ( ArrayCreationExpr ) texts.getVariable( 0 ).getInitializer().orElseThrow();
+		for ( BoxStringLiteral text : transpiler.getTexts() ) {
+			ObjectCreationExpr newText = new ObjectCreationExpr().setType( "TemplateText" );
+			newText.addArgument( ( Expression ) transpiler.transform( text ) );
+			textsImp.getInitializer().get().getValues().add( newText );
+		}
+
 		transpiler.popContextName();
 
 		// Only try to return a value if the class has a return type for the _invoke() method...
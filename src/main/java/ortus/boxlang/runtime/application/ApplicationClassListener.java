@@ -61,6 +61,7 @@ public class ApplicationClassListener extends BaseApplicationListener {
 		if ( appName == null || appName.isBlank() ) {
 			this.settings.put( Key._NAME, "Autogenerated_Application_Name_" + EncryptionUtil.hash( listener.getRunnablePath().absolutePath().toString() ) );
 		}
+		settingsChanged();
 	}
 
 	/**
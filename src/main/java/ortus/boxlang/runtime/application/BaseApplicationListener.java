@@ -19,7 +19,11 @@ package ortus.boxlang.runtime.application;
 
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +40,15 @@ import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.events.BoxEvent;
 import ortus.boxlang.runtime.events.InterceptorPool;
 import ortus.boxlang.runtime.loader.DynamicClassLoader;
+import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.SessionScope;
 import ortus.boxlang.runtime.services.ApplicationService;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.immutable.IImmutable;
+import ortus.boxlang.runtime.types.meta.IChangeListener;
 import ortus.boxlang.runtime.types.util.BLCollector;
 import ortus.boxlang.runtime.util.EncryptionUtil;
 import ortus.boxlang.runtime.util.FileSystemUtil;
@@ -61,27 +68,27 @@ public abstract class BaseApplicationListener {
 	/**
 	 * The application name
 	 */
-	protected Key				appName						= null;
+	protected Key					appName						= null;
 
 	/**
 	 * The application linked to this listener
 	 */
-	protected Application		application;
+	protected Application			application;
 
 	/**
 	 * The request context bound to this listener
 	 */
-	protected RequestBoxContext	context;
+	protected RequestBoxContext		context;
 
 	/**
 	 * The listener's interception pool
 	 */
-	protected InterceptorPool	interceptorPool;
+	protected InterceptorPool		interceptorPool;
 
 	/**
 	 * The available request pool interceptors
 	 */
-	private static final Key[]	REQUEST_INTERCEPTION_POINTS	= List.of(
+	private static final Key[]		REQUEST_INTERCEPTION_POINTS	= List.of(
 	    Key.onRequest,
 	    Key.onRequestStart,
 	    Key.onRequestEnd,
@@ -101,7 +108,7 @@ public abstract class BaseApplicationListener {
 	 * <p>
 	 * You can find the majority of defaults in the {@link Configuration} class.
 	 */
-	protected IStruct			settings					= Struct.of(
+	protected IStruct				settings					= Struct.of(
 	    "applicationTimeout", BoxRuntime.getInstance().getConfiguration().applicationTimeout,
 	    // CLIENT WILL BE REMOVED IN BOXLANG
 	    // Kept here for now
@@ -138,10 +145,24 @@ public abstract class BaseApplicationListener {
 	    "secureJsonPrefix", ""
 	);
 
+	/**
+	 * The version of the settings, incremented every time they are updated
+	 */
+	private final AtomicLong		settingsVersion				= new AtomicLong( 0 );
+
+	/**
+	 * Bumps the settings version when the settings, or a struct or array nested in them, are changed in place
+	 */
+	private final IChangeListener	settingsListener			= ( key, newValue, oldValue ) -> {
+		this.settingsVersion.incrementAndGet();
+		trackSettings( newValue, Collections.newSetFromMap( new IdentityHashMap<>() ) );
+		return newValue;
+	};
+
 	/**
 	 * Logger
 	 */
-	private static final Logger	logger						= LoggerFactory.getLogger( BaseApplicationListener.class );
+	private static final Logger		logger						= LoggerFactory.getLogger( BaseApplicationListener.class );
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -159,6 +180,7 @@ public abstract class BaseApplicationListener {
 		context.setApplicationListener( this );
 		this.interceptorPool = new InterceptorPool( Key.appListener )
 		    .registerInterceptionPoint( REQUEST_INTERCEPTION_POINTS );
+		settingsChanged();
 	}
 
 	/**
@@ -201,6 +223,16 @@ public abstract class BaseApplicationListener {
 		return this.settings;
 	}
 
+	/**
+	 * Get the version of the settings for this application. It changes every time the settings are updated, or
+	 * modified in place through {@link #getSettings()}, so consumers can cache anything derived from them.
+	 *
+	 * @return The settings version
+	 */
+	public long getSettingsVersion() {
+		return this.settingsVersion.get();
+	}
+
 	/**
 	 * Update the settings for this application
 	 *
@@ -208,10 +240,40 @@ public abstract class BaseApplicationListener {
 	 */
 	public void updateSettings( IStruct settings ) {
 		this.settings.addAll( settings );
+		settingsChanged();
 		// If the settings have changed, see if the app and session contexts need updated or initialized as well
 		defineApplication();
 	}
 
+	/**
+	 * Bump the settings version and watch the structs and arrays now in the settings. Changes made one key at a time
+	 * are seen on their own, call this after changing the settings in bulk, like with {@code putAll()}.
+	 */
+	protected void settingsChanged() {
+		this.settingsVersion.incrementAndGet();
+		trackSettings( this.settings, Collections.newSetFromMap( new IdentityHashMap<>() ) );
+	}
+
+	/**
+	 * Register the settings listener on a settings value and everything nested in it. Scopes and immutable values are
+	 * left alone.
+	 *
+	 * @param value The value
+	 * @param seen  The values visited so far
+	 */
+	private void trackSettings( Object value, Set<Object> seen ) {
+		if ( value instanceof IImmutable || value instanceof IScope ) {
+			return;
+		}
+		if ( value instanceof Struct struct && seen.add( struct ) ) {
+			struct.registerChangeListener( this.settingsListener );
+			struct.getWrapped().values().forEach( nested -> trackSettings( nested, seen ) );
+		} else if ( value instanceof Array array && seen.add( array ) ) {
+			array.registerChangeListener( this.settingsListener );
+			array.forEach( nested -> trackSettings( nested, seen ) );
+		}
+	}
+
 	/**
 	 * Define the application context. This is called every time on every request by the Application Service
 	 * to ensure that the application context is properly defined and initialized.
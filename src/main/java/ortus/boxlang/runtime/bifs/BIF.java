@@ -109,6 +109,36 @@ public abstract class BIF {
 	 */
 	public abstract Object _invoke( IBoxContext context, ArgumentsScope arguments );
 
+	/**
+	 * Whether this BIF implements the {@link #_invokeDirect(IBoxContext, Object[])} fast path. BIFs which read
+	 * {@link #__isMemberExecution}, {@link #__functionName} or arguments beyond the declared ones must not.
+	 *
+	 * @return True if the BIF can be invoked without an arguments scope
+	 */
+	public boolean isDirectInvocable() {
+		return false;
+	}
+
+	/**
+	 * Optional fast path for positional calls, used by {@link BIFDescriptor#invokeDirect(IBoxContext, Object[], Key)}.
+	 * The arguments are bound to the declared arguments by position, defaulted and type checked exactly as they would be
+	 * for {@link #_invoke(IBoxContext, ArgumentsScope)}. BIFs which override this skip creating an arguments scope; the
+	 * default puts the bound arguments in an arguments scope and calls {@link #_invoke(IBoxContext, ArgumentsScope)}.
+	 *
+	 * @param context   The context in which the BIF is being invoked
+	 * @param arguments The bound arguments, one per declared argument
+	 *
+	 * @return The result of the invocation
+	 */
+	public Object _invokeDirect( IBoxContext context, Object[] arguments ) {
+		ArgumentsScope scope = new ArgumentsScope();
+		for ( int i = 0; i < declaredArguments.length; i++ ) {
+			scope.put( declaredArguments[ i ].name(), arguments[ i ] );
+		}
+		scope.put( __isMemberExecution, false );
+		return _invoke( context, scope );
+	}
+
 	/**
 	 * Get the arguments for this BIF
 	 *
@@ -17,6 +17,7 @@
  */
 package ortus.boxlang.runtime.bifs;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import ortus.boxlang.runtime.BoxRuntime;
@@ -28,6 +29,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.util.ArgumentUtil;
 
 /**
@@ -72,6 +74,16 @@ public class BIFDescriptor {
 	 */
 	protected InterceptorService	interceptorService	= BoxRuntime.getInstance().getInterceptorService();
 
+	/**
+	 * The declared arguments of a BIF which supports direct invocation, resolved on first use
+	 */
+	private volatile Argument[]		directArguments;
+
+	/**
+	 * Marks a BIF which can't be invoked directly
+	 */
+	private static final Argument[]	NOT_DIRECT			= new Argument[ 0 ];
+
 	/**
 	 * Constructor for a global BIF
 	 *
@@ -128,7 +140,7 @@ public class BIFDescriptor {
 					this.BIFInstance = ( BIF ) DynamicObject.of( this.BIFClass ).invokeConstructor( ( IBoxContext ) null ).getTargetInstance();
 					interceptorService.announce(
 					    BoxEvent.ON_BIF_INSTANCE,
-					    new Struct(
+					    () -> new Struct(
 					        Map.of(
 					            Key.instance,
 					            this.BIFInstance,
@@ -210,4 +222,77 @@ public class BIFDescriptor {
 		return this.getBIF().invoke( context, scope );
 	}
 
+	/**
+	 * Invoke a global BIF with positional arguments, using its direct invocation fast path if it has one.
+	 * Compiled code calls this for functions which resolved to a core BIF at compile time. The BIF is still
+	 * looked up by name so a module overriding it is honored.
+	 *
+	 * @param context   The context
+	 * @param name      The name of the BIF
+	 * @param arguments The positional arguments
+	 *
+	 * @return The result of the invocation
+	 */
+	public static Object invokeGlobal( IBoxContext context, Key name, Object[] arguments ) {
+		BIFDescriptor descriptor = BoxRuntime.getInstance().getFunctionService().getGlobalFunction( name );
+		if ( descriptor == null ) {
+			return context.invokeFunction( name, arguments );
+		}
+		return descriptor.invokeDirect( context, arguments, name );
+	}
+
+	/**
+	 * Invoke the BIF with positional arguments without creating an arguments scope. Falls back to
+	 * {@link #invoke(IBoxContext, Object[], boolean, Key)} when the BIF doesn't support direct invocation,
+	 * declares argument validators, or receives more arguments than it declares.
+	 *
+	 * @param context   The context
+	 * @param arguments The positional arguments. The array is not modified.
+	 * @param name      The name the BIF was called with
+	 *
+	 * @return The result of the invocation
+	 */
+	public Object invokeDirect( IBoxContext context, Object[] arguments, Key name ) {
+		Argument[] declaredArguments = getDirectArguments();
+		if ( declaredArguments == NOT_DIRECT || arguments.length > declaredArguments.length ) {
+			return invoke( context, arguments, false, name );
+		}
+
+		// The caller's array may be reused by compiled code, so defaults are never written into it
+		Object[] bound = Arrays.copyOf( arguments, declaredArguments.length );
+		for ( int i = 0; i < declaredArguments.length; i++ ) {
+			Argument	argument	= declaredArguments[ i ];
+			Object		value		= bound[ i ];
+			if ( value == null ) {
+				if ( argument.hasDefaultValue() ) {
+					value = argument.getDefaultValue( context );
+				} else if ( argument.required() ) {
+					throw new BoxRuntimeException( "Required argument " + argument.name().getName() + " is missing" );
+				}
+			}
+			if ( value != null && !argument.type().equalsIgnoreCase( Argument.ANY ) ) {
+				value = ArgumentUtil.ensureArgumentType( context, argument.name(), value, argument.type(), name );
+			}
+			bound[ i ] = value;
+		}
+		return getBIF()._invokeDirect( context, bound );
+	}
+
+	/**
+	 * Get the declared arguments if the BIF can be invoked directly. Resolved once per descriptor.
+	 *
+	 * @return The declared arguments, or NOT_DIRECT
+	 */
+	private Argument[] getDirectArguments() {
+		Argument[] result = this.directArguments;
+		if ( result == null ) {
+			BIF bif = getBIF();
+			result = bif.isDirectInvocable() && Arrays.stream( bif.getDeclaredArguments() ).allMatch( argument -> argument.validators().isEmpty() )
+			    ? bif.getDeclaredArguments()
+			    : NOT_DIRECT;
+			this.directArguments = result;
+		}
+		return result;
+	}
+
 }
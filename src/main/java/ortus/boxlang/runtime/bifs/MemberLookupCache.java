@@ -0,0 +1,117 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.bifs;
+
+/**
+ * A monomorphic inline cache for a single {@code obj.method()} site in compiled code.
+ * <p>
+ * The transpiler allocates one of these per method invocation and passes it down to
+ * {@link ortus.boxlang.runtime.services.FunctionService#getMemberMethod(ortus.boxlang.runtime.context.IBoxContext, ortus.boxlang.runtime.scopes.Key, Object, MemberLookupCache)}.
+ * It remembers the Java class of the last target and the member method it resolved to, stamped with the version of the
+ * member method registry so registering new member methods invalidates it. Only resolutions which depend on the class
+ * alone are cached, see the FunctionService for details.
+ * <p>
+ * Sites which see too many different classes (megamorphic) stop using the inline cache and go to the FunctionService's
+ * shared dispatch table instead, until the registry version changes and the site gets to learn again.
+ * Fields are plain since a racy read can only cause a cache miss.
+ */
+public final class MemberLookupCache {
+
+	/**
+	 * How many times a site may be re-learned before it is considered megamorphic
+	 */
+	private static final int	MAX_INVALIDATIONS	= 8;
+
+	/**
+	 * The cached resolution
+	 */
+	private Entry				entry;
+
+	/**
+	 * How many times the cached resolution was replaced within the current registry version
+	 */
+	private int					invalidations;
+
+	/**
+	 * An immutable snapshot of a resolution, so the class, method and version are always read together
+	 */
+	private record Entry( Class<?> targetClass, MemberDescriptor descriptor, long version ) {
+	}
+
+	/**
+	 * Allocate the inline caches for a compiled class
+	 *
+	 * @param size The number of method invocation sites in the class
+	 *
+	 * @return An array of empty caches
+	 */
+	public static MemberLookupCache[] allocate( int size ) {
+		MemberLookupCache[] caches = new MemberLookupCache[ size ];
+		for ( int i = 0; i < size; i++ ) {
+			caches[ i ] = new MemberLookupCache();
+		}
+		return caches;
+	}
+
+	/**
+	 * Get the cached member method for a target class
+	 *
+	 * @param targetClass The class of the target object
+	 * @param version     The current version of the member method registry
+	 *
+	 * @return The member method, or null if nothing valid is cached for this class
+	 */
+	public MemberDescriptor get( Class<?> targetClass, long version ) {
+		Entry current = this.entry;
+		if ( current != null && current.targetClass == targetClass && current.version == version ) {
+			return current.descriptor;
+		}
+		return null;
+	}
+
+	/**
+	 * Remember the member method a target class resolved to
+	 *
+	 * @param targetClass The class of the target object
+	 * @param descriptor  The member method
+	 * @param version     The version of the member method registry it was resolved against
+	 */
+	public void put( Class<?> targetClass, MemberDescriptor descriptor, long version ) {
+		Entry current = this.entry;
+		if ( current != null && current.version == version ) {
+			this.invalidations++;
+		} else {
+			// A new registry version starts the count again
+			this.invalidations = 0;
+		}
+		this.entry = new Entry( targetClass, descriptor, version );
+	}
+
+	/**
+	 * Whether this site changed classes too often to be worth caching
+	 *
+	 * @param version The current version of the member method registry
+	 *
+	 * @return True if lookups should skip the inline cache
+	 */
+	public boolean isMegamorphic( long version ) {
+		Entry current = this.entry;
+		return this.invalidations > MAX_INVALIDATIONS && current != null && current.version == version;
+	}
+
+}
@@ -19,6 +19,7 @@ import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
+import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
@@ -55,9 +56,30 @@ public class ArrayAppend extends BIF {
 	 *                 appended as a single element.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		Array	actualArray	= arguments.getAsArray( Key.array );
-		Object	value		= arguments.get( Key.value );
-		if ( arguments.getAsBoolean( Key.merge ) ) {
+		return append( arguments.getAsArray( Key.array ), arguments.get( Key.value ), arguments.getAsBoolean( Key.merge ) );
+	}
+
+	@Override
+	public boolean isDirectInvocable() {
+		return true;
+	}
+
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments ) {
+		return append( ( Array ) DynamicObject.unWrap( arguments[ 0 ] ), arguments[ 1 ], ( Boolean ) DynamicObject.unWrap( arguments[ 2 ] ) );
+	}
+
+	/**
+	 * Append a value to an array
+	 *
+	 * @param actualArray The array to append to
+	 * @param value       The value to append
+	 * @param merge       Whether to append the elements of the value instead of the value itself
+	 *
+	 * @return The array
+	 */
+	private Array append( Array actualArray, Object value, boolean merge ) {
+		if ( merge ) {
 			Array arrayToMerge = ArrayCaster.cast( value );
 			actualArray.addAll( arrayToMerge );
 		} else {
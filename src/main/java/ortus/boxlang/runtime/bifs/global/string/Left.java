@@ -18,6 +18,7 @@ import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
@@ -50,9 +51,28 @@ public class Left extends BIF {
 	 * @argument.count The number of characters to retrieve.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		String	input	= arguments.getAsString( Key.string );
-		int		count	= arguments.getAsInteger( Key.count );
+		return left( arguments.getAsString( Key.string ), arguments.getAsInteger( Key.count ) );
+	}
+
+	@Override
+	public boolean isDirectInvocable() {
+		return true;
+	}
+
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments ) {
+		return left( ( String ) DynamicObject.unWrap( arguments[ 0 ] ), ( Integer ) DynamicObject.unWrap( arguments[ 1 ] ) );
+	}
 
+	/**
+	 * Extract the leftmost count characters from a string
+	 *
+	 * @param input The string to extract from
+	 * @param count The number of characters to retrieve
+	 *
+	 * @return The extracted string
+	 */
+	private String left( String input, int count ) {
 		// Check if count is zero
 		if ( count == 0 ) {
 			throw new BoxRuntimeException( "Count cannot be zero" );
@@ -51,7 +51,8 @@ public class StructIsOrdered extends BIF {
 	 * @argument.struct The struct to test for a linked type
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		return arguments.getAsStruct( Key.struct ).getType().equals( IStruct.TYPES.LINKED );
+		IStruct.TYPES type = arguments.getAsStruct( Key.struct ).getType();
+		return type.equals( IStruct.TYPES.LINKED ) || type.equals( IStruct.TYPES.COMPACT );
 	}
 
 }
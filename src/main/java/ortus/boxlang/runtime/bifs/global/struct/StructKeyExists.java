@@ -21,10 +21,12 @@ import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.BoxLangType;
+import ortus.boxlang.runtime.types.IStruct;
 
 @BoxBIF
 @BoxMember( type = BoxLangType.STRUCT )
@@ -56,4 +58,14 @@ public class StructKeyExists extends BIF {
 		return arguments.getAsStruct( Key.struct ).containsKey( Key.of( arguments.getAsString( Key.key ) ) );
 	}
 
+	@Override
+	public boolean isDirectInvocable() {
+		return true;
+	}
+
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments ) {
+		return ( ( IStruct ) DynamicObject.unWrap( arguments[ 0 ] ) ).containsKey( Key.of( ( String ) DynamicObject.unWrap( arguments[ 1 ] ) ) );
+	}
+
 }
@@ -17,10 +17,16 @@
  */
 package ortus.boxlang.runtime.bifs.global.system;
 
+import java.nio.file.Path;
+
 import ortus.boxlang.runtime.bifs.BIF;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.runnables.RunnableLoader;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.util.FileSystemUtil;
 
 @BoxBIF
 public class PagePoolClear extends BIF {
@@ -30,16 +36,27 @@ public class PagePoolClear extends BIF {
 	 */
 	public PagePoolClear() {
 		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, "string", Key.path )
+		};
 	}
 
 	/**
-	 * For Lucee compat right now. We'll see if we need to do anything else.
+	 * Clears the compiled templates and classes from the page pool, so they are checked for changes and recompiled if needed the
+	 * next time they are used. Use it after a deploy when the runtime trusts loaded templates.
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
 	 *
+	 * @argument.path An expanded file or directory path to clear. Everything is cleared if not passed.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		return null;
+		String	path	= arguments.getAsString( Key.path );
+		Path	target	= null;
+		if ( path != null && !path.isBlank() ) {
+			target = FileSystemUtil.expandPath( context, path ).absolutePath();
+		}
+		RunnableLoader.getInstance().getBoxpiler().clearPagePool( target );
+		return true;
 	}
 }
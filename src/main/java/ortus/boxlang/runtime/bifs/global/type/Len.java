@@ -64,7 +64,27 @@ public class Len extends BIF {
 	 * @argument.value The number to return the absolute value of
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
-		Object object = arguments.get( Key.value );
+		return len( arguments.get( Key.value ) );
+	}
+
+	@Override
+	public boolean isDirectInvocable() {
+		return true;
+	}
+
+	@Override
+	public Object _invokeDirect( IBoxContext context, Object[] arguments ) {
+		return len( arguments[ 0 ] );
+	}
+
+	/**
+	 * Get the length of an array, struct, string or query
+	 *
+	 * @param object The object to measure
+	 *
+	 * @return The length
+	 */
+	private Object len( Object object ) {
 		if ( object == null ) {
 			return 0;
 		}
@@ -19,6 +19,7 @@ package ortus.boxlang.runtime.components;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.services.ComponentService;
 import ortus.boxlang.runtime.services.FunctionService;
@@ -178,7 +179,7 @@ public abstract class Component {
 	 *
 	 * @return A BodyResult object which describes the result of the body processing
 	 */
-	public BodyResult processBody( IBoxContext context, ComponentBody body, StringBuffer buffer ) {
+	public BodyResult processBody( IBoxContext context, ComponentBody body, OutputBuffer buffer ) {
 		String		bufferResult	= null;
 		BodyResult	returnValue		= DEFAULT_RETURN;
 		if ( body != null ) {
@@ -137,7 +137,7 @@ public class ComponentDescriptor {
 					    .setName( name );
 					interceptorService.announce(
 					    BoxEvent.ON_COMPONENT_INSTANCE,
-					    new Struct(
+					    () -> new Struct(
 					        Map.of(
 					            Key.instance,
 					            this.componentInstance,
@@ -26,6 +26,7 @@ import ortus.boxlang.runtime.components.Attribute;
 import ortus.boxlang.runtime.components.BoxComponent;
 import ortus.boxlang.runtime.components.Component;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.context.ThreadBoxContext;
 import ortus.boxlang.runtime.scopes.Key;
@@ -143,7 +144,7 @@ public class Thread extends Component {
 		    threadManager.getThreadGroup(),
 		    // Runnable Proxy
 		    () -> {
-			    StringBuffer buffer		= new StringBuffer();
+			    OutputBuffer buffer		= new OutputBuffer();
 			    Throwable	exception	= null;
 			    try {
 				    processBody( tContext, body, buffer );
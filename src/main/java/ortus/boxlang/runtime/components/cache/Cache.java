@@ -29,6 +29,7 @@ import ortus.boxlang.runtime.components.Attribute;
 import ortus.boxlang.runtime.components.BoxComponent;
 import ortus.boxlang.runtime.components.Component;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.dynamic.Attempt;
 import ortus.boxlang.runtime.dynamic.ExpressionInterpreter;
 import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
@@ -353,7 +354,7 @@ public class Cache extends Component {
 	 * @return The output of the body as a string
 	 */
 	private String processCacheBody( IBoxContext context, ComponentBody body ) {
-		StringBuffer buffer = new StringBuffer();
+		OutputBuffer buffer = new OutputBuffer();
 		processBody( context, body, buffer );
 		return buffer.toString();
 	}
@@ -26,6 +26,7 @@ import ortus.boxlang.runtime.components.Attribute;
 import ortus.boxlang.runtime.components.BoxComponent;
 import ortus.boxlang.runtime.components.Component;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.dynamic.ExpressionInterpreter;
 import ortus.boxlang.runtime.dynamic.casters.StructCaster;
 import ortus.boxlang.runtime.scopes.Key;
@@ -101,7 +102,7 @@ public class Timer extends Component {
 		String										precision			= attributes.getAsString( Key.unit );
 		Key											precisionKey		= Key.of( precision );
 		ortus.boxlang.runtime.util.Timer.TimeUnit	unit				= ( ortus.boxlang.runtime.util.Timer.TimeUnit ) TIME_UNITS.get( precisionKey );
-		StringBuffer								bodyOutputBuffer	= new StringBuffer();
+		OutputBuffer								bodyOutputBuffer	= new OutputBuffer();
 
 		if ( variable != null ) {
 			long timerResult = timer.timeItRaw( () -> processBody( context, body, bodyOutputBuffer ), unit );
@@ -146,14 +147,14 @@ public class Timer extends Component {
 		return DEFAULT_RETURN;
 	}
 
-	private String toComment( String label, String result, StringBuffer outputBuffer ) {
+	private String toComment( String label, String result, OutputBuffer outputBuffer ) {
 		if ( label == null ) {
 			label = "";
 		}
 		return "<!-- " + label + " : " + result + " -->" + outputBuffer.toString();
 	}
 
-	private String toInline( String label, String result, StringBuffer outputBuffer ) {
+	private String toInline( String label, String result, OutputBuffer outputBuffer ) {
 		if ( label == null ) {
 			label = "";
 		}
@@ -162,7 +163,7 @@ public class Timer extends Component {
 		return outputBuffer.toString() + "\n" + labelOutput;
 	}
 
-	private String toOutline( String label, String result, StringBuffer outputBuffer ) {
+	private String toOutline( String label, String result, OutputBuffer outputBuffer ) {
 		if ( label == null ) {
 			label = "";
 		}
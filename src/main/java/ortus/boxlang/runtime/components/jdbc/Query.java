@@ -27,6 +27,7 @@ import ortus.boxlang.runtime.components.BoxComponent;
 import ortus.boxlang.runtime.components.Component;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.dynamic.ExpressionInterpreter;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.jdbc.ConnectionManager;
@@ -116,7 +117,7 @@ public class Query extends Component {
 
 		executionState.put( Key.queryParams, new Array() );
 
-		StringBuffer buffer = new StringBuffer();
+		OutputBuffer buffer = new OutputBuffer();
 
 		// Spoof being in the output component in case the app has enableoutputonly=true
 		context.pushComponent(
@@ -27,6 +27,7 @@ import ortus.boxlang.runtime.components.BoxComponent;
 import ortus.boxlang.runtime.components.Component;
 import ortus.boxlang.runtime.context.CustomTagBoxContext;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.runnables.BoxTemplate;
 import ortus.boxlang.runtime.runnables.RunnableLoader;
 import ortus.boxlang.runtime.scopes.Key;
@@ -137,7 +138,7 @@ public class Module extends Component {
 					// Assume we will only exucute the body once
 					keepLooping = false;
 
-					StringBuffer	buffer		= new StringBuffer();
+					OutputBuffer	buffer		= new OutputBuffer();
 					BodyResult		bodyResult	= processBody( context, body, buffer );
 					// IF there was a return statement inside our body, we early exit now
 					if ( bodyResult.isEarlyExit() ) {
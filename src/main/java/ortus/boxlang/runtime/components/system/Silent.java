@@ -20,6 +20,7 @@ package ortus.boxlang.runtime.components.system;
 import ortus.boxlang.runtime.components.BoxComponent;
 import ortus.boxlang.runtime.components.Component;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.types.IStruct;
 
 @BoxComponent( requiresBody = true )
@@ -46,7 +47,7 @@ public class Silent extends Component {
 	 */
 	public BodyResult _invoke( IBoxContext context, IStruct attributes, ComponentBody body, IStruct executionState ) {
 
-		StringBuffer	buffer		= new StringBuffer();
+		OutputBuffer	buffer		= new OutputBuffer();
 		BodyResult		bodyResult	= processBody( context, body, buffer );
 		// IF there was a return statement inside our body, we early exit now
 		if ( bodyResult.isEarlyExit() ) {
@@ -24,12 +24,15 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.ZoneId;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +45,7 @@ import ortus.boxlang.runtime.config.segments.IConfigSegment;
 import ortus.boxlang.runtime.config.segments.ModuleConfig;
 import ortus.boxlang.runtime.config.util.PlaceholderHelper;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.KeyCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.loader.DynamicClassLoader;
@@ -51,6 +55,11 @@ import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.immutable.IImmutable;
+import ortus.boxlang.runtime.types.immutable.ImmutableArray;
+import ortus.boxlang.runtime.types.immutable.ImmutableStruct;
+import ortus.boxlang.runtime.types.meta.IChangeListener;
+import ortus.boxlang.runtime.types.meta.IListenable;
 import ortus.boxlang.runtime.types.util.DateTimeHelper;
 import ortus.boxlang.runtime.util.DataNavigator;
 import ortus.boxlang.runtime.util.DataNavigator.Navigator;
@@ -80,6 +89,51 @@ public class Configuration implements IConfigSegment {
 	 */
 	public String				classGenerationDirectory	= System.getProperty( "java.io.tmpdir" ) + "boxlang";
 
+	/**
+	 * An archive of pre-compiled classes built by the {@code BXCompiler}. Classes found in it are loaded from it as long
+	 * as their source and the compiler settings are unchanged, and the sources live at the same paths as at build time.
+	 * Empty by default
+	 */
+	public String				classArchive				= "";
+
+	/**
+	 * The size bound of the compiled class cache, in megabytes. The cache keeps compiled classes by a hash of their
+	 * source so unchanged sources are never recompiled, even after a redeploy or restart.
+	 * {@code 0} disables it, {@code 256} by default
+	 */
+	public Integer				classCacheSize				= 256;
+
+	/**
+	 * How loaded templates and classes are checked for changes on disk:
+	 * <ul>
+	 * <li>{@code check}: the file is stat'ed every time it is loaded</li>
+	 * <li>{@code watch}: a file watcher drops changed files from the cache, loading is never checked</li>
+	 * <li>{@code trusted}: files are never checked, use {@code pagePoolClear()} after a deploy</li>
+	 * </ul>
+	 * {@code check} by default
+	 */
+	public String				templateCacheMode			= "check";
+
+	/**
+	 * How many compiled ad-hoc statements and scripts ({@code evaluate()}, JSR-223 and the like) are kept, least
+	 * recently used first out. Evicted ones have their classes unloaded.
+	 * {@code 500} by default
+	 */
+	public Integer				statementCacheSize			= 500;
+
+	/**
+	 * How many minutes a compiled ad-hoc statement or script is kept without being used
+	 * {@code 60} by default
+	 */
+	public Integer				statementCacheTimeout		= 60;
+
+	/**
+	 * How much output a request buffers, in kilobytes, before it is streamed out. Large pages then never hold all of
+	 * their output in memory, but the output can no longer be cleared or replaced once it is sent.
+	 * {@code 0} buffers the whole request, which is the default
+	 */
+	public Integer				outputFlushThreshold		= 0;
+
 	/**
 	 * The debug mode flag which turns on all kinds of debugging information
 	 * {@code false} by default
@@ -105,6 +159,26 @@ public class Configuration implements IConfigSegment {
 	 */
 	public Boolean				invokeImplicitAccessor		= true;
 
+	/**
+	 * Run the AST optimization pass (constant folding and literal propagation) when compiling templates and classes
+	 * {@code false} by default
+	 */
+	public Boolean				optimizeAST					= false;
+
+	/**
+	 * Collapse the runs of whitespace in the static text of templates when compiling them. Runs with a line break
+	 * become a single line break, others a single space. The content of pre, textarea, script and style elements is
+	 * left alone.
+	 * {@code false} by default
+	 */
+	public Boolean				collapseTemplateWhitespace	= false;
+
+	/**
+	 * Write the Java source generated for each template and class next to its class files, for debugging the compiler
+	 * {@code false} by default
+	 */
+	public Boolean				dumpJavaSource				= false;
+
 	/**
 	 * The application timeout
 	 * {@code 0} means no timeout and is the default
@@ -157,8 +231,8 @@ public class Configuration implements IConfigSegment {
 	 * An array of directories where modules are located and loaded from.
 	 * {@code [ /{boxlang-home}/modules ]}
 	 */
-	public List<String>			modulesDirectory			= new ArrayList<>(
-	    Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/modules" ) );
+	public List<String>			modulesDirectory			= new ConfigList(
+	    this::invalidate, Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/modules" ) );
 
 	/**
 	 * The default logs directory for the runtime
@@ -169,13 +243,14 @@ public class Configuration implements IConfigSegment {
 	 * An array of directories where custom tags are located and loaded from.
 	 * {@code [ /{boxlang-home}/customTags ]}
 	 */
-	public List<String>			customTagsDirectory			= new ArrayList<>(
-	    Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/customTags" ) );
+	public List<String>			customTagsDirectory			= new ConfigList(
+	    this::invalidate, Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/customTags" ) );
 
 	/**
 	 * An array of directories where jar files will be loaded from at runtime.
 	 */
-	public List<String>			javaLibraryPaths			= new ArrayList<>( Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/lib" ) );
+	public List<String>			javaLibraryPaths			= new ConfigList(
+	    this::invalidate, Arrays.asList( BoxRuntime.getInstance().getRuntimeHome().toString() + "/lib" ) );
 
 	/**
 	 * Cache registrations
@@ -223,6 +298,94 @@ public class Configuration implements IConfigSegment {
 	 */
 	private static final Logger	logger						= LoggerFactory.getLogger( Configuration.class );
 
+	/**
+	 * The version of the configuration, incremented every time it's modified through this API
+	 * or one of the segment structs or lists is modified
+	 */
+	private final AtomicLong	version						= new AtomicLong( 0 );
+
+	/**
+	 * The cached immutable snapshot of the configuration
+	 */
+	private volatile Snapshot	snapshot;
+
+	/**
+	 * An immutable struct representation of the configuration, along with the version it was built from
+	 *
+	 * @param version The configuration version at the time of the snapshot
+	 * @param config  The immutable config struct
+	 */
+	private record Snapshot( long version, IStruct config ) {
+	}
+
+	/**
+	 * A list of the configuration, like the modules or custom tags directories, which bumps the configuration version
+	 * whenever it's modified. Every change to an {@link AbstractList} goes through {@code add}, {@code set} and
+	 * {@code remove}, iterators and sub lists included.
+	 */
+	private static final class ConfigList extends AbstractList<String> {
+
+		private final List<String>	items;
+		private final Runnable		onChange;
+
+		ConfigList( Runnable onChange, List<String> items ) {
+			this.items		= new ArrayList<>( items );
+			this.onChange	= onChange;
+		}
+
+		@Override
+		public String get( int index ) {
+			return this.items.get( index );
+		}
+
+		@Override
+		public int size() {
+			return this.items.size();
+		}
+
+		@Override
+		public String set( int index, String element ) {
+			String previous = this.items.set( index, element );
+			this.onChange.run();
+			return previous;
+		}
+
+		@Override
+		public void add( int index, String element ) {
+			this.items.add( index, element );
+			this.onChange.run();
+		}
+
+		@Override
+		public String remove( int index ) {
+			String removed = this.items.remove( index );
+			this.onChange.run();
+			return removed;
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructors
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Constructor
+	 */
+	public Configuration() {
+		// Any change to the segment structs invalidates the snapshot
+		IChangeListener listener = ( key, newValue, oldValue ) -> {
+			this.version.incrementAndGet();
+			return newValue;
+		};
+		for ( IStruct segment : List.of( this.mappings, this.caches, this.datasources, this.modules, this.executors ) ) {
+			if ( segment instanceof IListenable listenable ) {
+				listenable.registerChangeListener( listener );
+			}
+		}
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Methods
@@ -251,6 +414,28 @@ public class Configuration implements IConfigSegment {
 		if ( config.containsKey( "classGenerationDirectory" ) ) {
 			this.classGenerationDirectory = PlaceholderHelper.resolve( config.get( "classGenerationDirectory" ) );
 		}
+		if ( config.containsKey( Key.classArchive ) ) {
+			this.classArchive = PlaceholderHelper.resolve( config.get( Key.classArchive ) );
+		}
+		if ( config.containsKey( Key.templateCacheMode ) ) {
+			this.templateCacheMode = PlaceholderHelper.resolve( config.get( Key.templateCacheMode ) ).toLowerCase();
+		}
+		if ( config.containsKey( Key.statementCacheSize ) ) {
+			IntegerCaster.attempt( PlaceholderHelper.resolve( config.get( Key.statementCacheSize ) ) )
+			    .ifSuccessful( value -> this.statementCacheSize = value );
+		}
+		if ( config.containsKey( Key.statementCacheTimeout ) ) {
+			IntegerCaster.attempt( PlaceholderHelper.resolve( config.get( Key.statementCacheTimeout ) ) )
+			    .ifSuccessful( value -> this.statementCacheTimeout = value );
+		}
+		if ( config.containsKey( Key.classCacheSize ) ) {
+			IntegerCaster.attempt( PlaceholderHelper.resolve( config.get( Key.classCacheSize ) ) )
+			    .ifSuccessful( value -> this.classCacheSize = value );
+		}
+		if ( config.containsKey( Key.outputFlushThreshold ) ) {
+			IntegerCaster.attempt( PlaceholderHelper.resolve( config.get( Key.outputFlushThreshold ) ) )
+			    .ifSuccessful( value -> this.outputFlushThreshold = value );
+		}
 
 		// Timezone
 		if ( config.containsKey( Key.timezone )
@@ -272,6 +457,24 @@ public class Configuration implements IConfigSegment {
 			    .ifSuccessful( value -> this.invokeImplicitAccessor = value );
 		}
 
+		// optimizeAST
+		if ( config.containsKey( Key.optimizeAST ) ) {
+			BooleanCaster.attempt( PlaceholderHelper.resolve( config.get( Key.optimizeAST ) ) )
+			    .ifSuccessful( value -> this.optimizeAST = value );
+		}
+
+		// collapseTemplateWhitespace
+		if ( config.containsKey( Key.collapseTemplateWhitespace ) ) {
+			BooleanCaster.attempt( PlaceholderHelper.resolve( config.get( Key.collapseTemplateWhitespace ) ) )
+			    .ifSuccessful( value -> this.collapseTemplateWhitespace = value );
+		}
+
+		// dumpJavaSource
+		if ( config.containsKey( Key.dumpJavaSource ) ) {
+			BooleanCaster.attempt( PlaceholderHelper.resolve( config.get( Key.dumpJavaSource ) ) )
+			    .ifSuccessful( value -> this.dumpJavaSource = value );
+		}
+
 		// Application Timeout
 		if ( config.containsKey( Key.applicationTimeout ) && StringCaster.cast( config.get( "applicationTimeout" ) ).length() > 0 ) {
 			this.applicationTimeout = DateTimeHelper.timespanToDuration( PlaceholderHelper.resolve( config.get( "applicationTimeout" ) ) );
@@ -459,6 +662,326 @@ public class Configuration implements IConfigSegment {
 			}
 		}
 
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Setters
+	 * --------------------------------------------------------------------------
+	 * Writing a public field directly is not seen by the configuration snapshot, use these instead.
+	 */
+
+	/**
+	 * Set the directory where the generated classes will be placed
+	 *
+	 * @param classGenerationDirectory The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setClassGenerationDirectory( String classGenerationDirectory ) {
+		this.classGenerationDirectory = classGenerationDirectory;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the archive of pre-compiled classes
+	 *
+	 * @param classArchive The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setClassArchive( String classArchive ) {
+		this.classArchive = classArchive;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the size bound of the compiled class cache, in megabytes
+	 *
+	 * @param classCacheSize The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setClassCacheSize( Integer classCacheSize ) {
+		this.classCacheSize = classCacheSize;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set how loaded templates and classes are checked for changes on disk
+	 *
+	 * @param templateCacheMode The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setTemplateCacheMode( String templateCacheMode ) {
+		this.templateCacheMode = templateCacheMode;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set how many compiled ad-hoc statements and scripts are kept
+	 *
+	 * @param statementCacheSize The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setStatementCacheSize( Integer statementCacheSize ) {
+		this.statementCacheSize = statementCacheSize;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set how many minutes a compiled ad-hoc statement or script is kept without being used
+	 *
+	 * @param statementCacheTimeout The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setStatementCacheTimeout( Integer statementCacheTimeout ) {
+		this.statementCacheTimeout = statementCacheTimeout;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set how much output a request buffers, in kilobytes, before it is streamed out
+	 *
+	 * @param outputFlushThreshold The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setOutputFlushThreshold( Integer outputFlushThreshold ) {
+		this.outputFlushThreshold = outputFlushThreshold;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the debug mode flag
+	 *
+	 * @param debugMode The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setDebugMode( Boolean debugMode ) {
+		this.debugMode = debugMode;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the timezone of the runtime
+	 *
+	 * @param timezone The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setTimezone( ZoneId timezone ) {
+		this.timezone = timezone;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the default locale of the runtime
+	 *
+	 * @param locale The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setLocale( Locale locale ) {
+		this.locale = locale;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether implicit getters and setters are invoked
+	 *
+	 * @param invokeImplicitAccessor The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setInvokeImplicitAccessor( Boolean invokeImplicitAccessor ) {
+		this.invokeImplicitAccessor = invokeImplicitAccessor;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether the AST optimization pass runs
+	 *
+	 * @param optimizeAST The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setOptimizeAST( Boolean optimizeAST ) {
+		this.optimizeAST = optimizeAST;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether the whitespace in the static text of templates is collapsed
+	 *
+	 * @param collapseTemplateWhitespace The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setCollapseTemplateWhitespace( Boolean collapseTemplateWhitespace ) {
+		this.collapseTemplateWhitespace = collapseTemplateWhitespace;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether the generated Java source is written next to the class files
+	 *
+	 * @param dumpJavaSource The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setDumpJavaSource( Boolean dumpJavaSource ) {
+		this.dumpJavaSource = dumpJavaSource;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the application timeout
+	 *
+	 * @param applicationTimeout The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setApplicationTimeout( Duration applicationTimeout ) {
+		this.applicationTimeout = applicationTimeout;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the request timeout
+	 *
+	 * @param requestTimeout The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setRequestTimeout( Duration requestTimeout ) {
+		this.requestTimeout = requestTimeout;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the session timeout
+	 *
+	 * @param sessionTimeout The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setSessionTimeout( Duration sessionTimeout ) {
+		this.sessionTimeout = sessionTimeout;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether session management is enabled by default
+	 *
+	 * @param sessionManagement The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setSessionManagement( Boolean sessionManagement ) {
+		this.sessionManagement = sessionManagement;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the default session storage cache
+	 *
+	 * @param sessionStorage The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setSessionStorage( String sessionStorage ) {
+		this.sessionStorage = sessionStorage;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether CFID and CFTOKEN cookies are sent to the client
+	 *
+	 * @param setClientCookies The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setClientCookies( Boolean setClientCookies ) {
+		this.setClientCookies = setClientCookies;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set whether CFID and CFTOKEN cookies are set for the domain
+	 *
+	 * @param setDomainCookies The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setDomainCookies( Boolean setDomainCookies ) {
+		this.setDomainCookies = setDomainCookies;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the logs directory of the runtime
+	 *
+	 * @param logsDirectory The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setLogsDirectory( String logsDirectory ) {
+		this.logsDirectory = logsDirectory;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the name of the default datasource
+	 *
+	 * @param defaultDatasource The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setDefaultDatasource( String defaultDatasource ) {
+		this.defaultDatasource = defaultDatasource;
+		invalidate();
+		return this;
+	}
+
+	/**
+	 * Set the default cache configuration
+	 *
+	 * @param defaultCache The new value
+	 *
+	 * @return The runtime configuration
+	 */
+	public Configuration setDefaultCache( CacheConfig defaultCache ) {
+		this.defaultCache = defaultCache;
+		invalidate();
 		return this;
 	}
 
@@ -547,6 +1070,7 @@ public class Configuration implements IConfigSegment {
 
 		// Now we can add it
 		this.mappings.put( mapping, pathObj.toString() );
+		invalidate();
 
 		return this;
 	}
@@ -575,7 +1099,9 @@ public class Configuration implements IConfigSegment {
 			mapping = Key.of( "/" + mapping.getName() );
 		}
 
-		return this.mappings.remove( mapping ) != null;
+		boolean removed = this.mappings.remove( mapping ) != null;
+		invalidate();
+		return removed;
 	}
 
 	/**
@@ -662,6 +1188,137 @@ public class Configuration implements IConfigSegment {
 	 * --------------------------------------------------------------------------
 	 */
 
+	/**
+	 * Get the current version of the configuration. The version changes every time the configuration
+	 * is modified through its setters, mapping methods, segment structs or lists.
+	 *
+	 * @return The configuration version
+	 */
+	public long getVersion() {
+		return this.version.get();
+	}
+
+	/**
+	 * Invalidate the configuration snapshot so it's rebuilt on the next request for it.
+	 * Only needed when a nested configuration segment ( ex: a {@link DatasourceConfig} ) is modified in place.
+	 *
+	 * @return The new configuration version
+	 */
+	public long invalidate() {
+		return this.version.incrementAndGet();
+	}
+
+	/**
+	 * Get an immutable snapshot of the configuration as a struct. The snapshot is cached and only rebuilt
+	 * when the configuration version changes, so this is safe to call on hot paths.
+	 * <p>
+	 * The snapshot is frozen all the way down, so it can be shared by every caller. Changes made through the setters,
+	 * the mapping methods, the segment structs and the directory lists are picked up by the next snapshot. If you need
+	 * to modify the configuration struct, use {@link #asStruct()} instead.
+	 *
+	 * @return An immutable struct representation of the configuration
+	 */
+	public IStruct getSnapshot() {
+		Snapshot	current			= this.snapshot;
+		long		currentVersion	= this.version.get();
+		if ( current != null && current.version() == currentVersion ) {
+			return current.config();
+		}
+
+		// Rebuild it, if two threads race here they will build equivalent snapshots
+		IStruct config = freeze( asStruct() );
+		this.snapshot = new Snapshot( currentVersion, config );
+		return config;
+	}
+
+	/**
+	 * Freeze a config struct so it can be shared: the nested structs and arrays are copied into immutable ones as well.
+	 * Sorted structs, like the mappings, keep their order. Values which are already immutable are kept as they are.
+	 *
+	 * @param config The config struct
+	 * @param shared The top level keys whose values are kept by reference, like live application settings
+	 *
+	 * @return The frozen config struct
+	 */
+	public static IStruct freeze( IStruct config, Key... shared ) {
+		Map<Key, Object> frozen = new LinkedHashMap<>( config.size() );
+		config.getWrapped().forEach( ( key, value ) -> frozen.put( key, isShared( key, shared ) ? value : freezeValue( value ) ) );
+		return new ImmutableStruct( config.getType() == IStruct.TYPES.DEFAULT ? IStruct.TYPES.DEFAULT : IStruct.TYPES.LINKED, frozen );
+	}
+
+	/**
+	 * Copy a frozen config struct into a mutable one, nested structs and arrays included, so it can be modified
+	 * without touching the struct it was copied from.
+	 *
+	 * @param config The config struct
+	 * @param shared The top level keys whose values are kept by reference, like the original config
+	 *
+	 * @return The mutable config struct
+	 */
+	public static IStruct thaw( IStruct config, Key... shared ) {
+		IStruct thawed = new Struct( config.getType() == IStruct.TYPES.DEFAULT ? IStruct.TYPES.DEFAULT : IStruct.TYPES.LINKED );
+		config.getWrapped().forEach( ( key, value ) -> thawed.getWrapped().put( key, isShared( key, shared ) ? value : thawValue( value ) ) );
+		return thawed;
+	}
+
+	/**
+	 * Freeze a config value
+	 *
+	 * @param value The value
+	 *
+	 * @return The frozen value
+	 */
+	private static Object freezeValue( Object value ) {
+		if ( value instanceof IImmutable ) {
+			return value;
+		}
+		if ( value instanceof IStruct struct ) {
+			return freeze( struct );
+		}
+		if ( value instanceof Array array ) {
+			List<Object> frozen = new ArrayList<>( array.size() );
+			array.forEach( item -> frozen.add( freezeValue( item ) ) );
+			return new ImmutableArray( frozen );
+		}
+		return value;
+	}
+
+	/**
+	 * Copy a config value into a mutable one
+	 *
+	 * @param value The value
+	 *
+	 * @return The mutable value
+	 */
+	private static Object thawValue( Object value ) {
+		if ( value instanceof IStruct struct ) {
+			return thaw( struct );
+		}
+		if ( value instanceof Array array ) {
+			Array thawed = new Array( array.size() );
+			array.forEach( item -> thawed.add( thawValue( item ) ) );
+			return thawed;
+		}
+		return value;
+	}
+
+	/**
+	 * Check if a key is one of the shared keys
+	 *
+	 * @param key    The key
+	 * @param shared The shared keys
+	 *
+	 * @return true if the key is shared
+	 */
+	private static boolean isShared( Key key, Key[] shared ) {
+		for ( Key sharedKey : shared ) {
+			if ( sharedKey.equals( key ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Returns the configuration as a struct with all the static typed segments
 	 * and the <code>originalConfig</code> as a segment as well.
@@ -687,12 +1344,16 @@ public class Configuration implements IConfigSegment {
 		return Struct.of(
 		    Key.applicationTimeout, this.applicationTimeout,
 		    Key.caches, cachesCopy,
+		    Key.classArchive, this.classArchive,
+		    Key.classCacheSize, this.classCacheSize,
 		    Key.classGenerationDirectory, this.classGenerationDirectory,
+		    Key.collapseTemplateWhitespace, this.collapseTemplateWhitespace,
 		    Key.customTagsDirectory, Array.fromList( this.customTagsDirectory ),
 		    Key.datasources, datsourcesCopy,
 		    Key.debugMode, this.debugMode,
 		    Key.defaultCache, this.defaultCache.toStruct(),
 		    Key.defaultDatasource, this.defaultDatasource,
+		    Key.dumpJavaSource, this.dumpJavaSource,
 		    Key.executors, executorsCopy,
 		    Key.invokeImplicitAccessor, this.invokeImplicitAccessor,
 		    Key.javaLibraryPaths, Array.fromList( this.javaLibraryPaths ),
@@ -700,8 +1361,13 @@ public class Configuration implements IConfigSegment {
 		    Key.mappings, mappingsCopy,
 		    Key.modules, modulesCopy,
 		    Key.modulesDirectory, Array.fromList( this.modulesDirectory ),
+		    Key.optimizeAST, this.optimizeAST,
 		    Key.requestTimeout, this.requestTimeout,
 		    Key.originalConfig, this.originalConfig,
+		    Key.outputFlushThreshold, this.outputFlushThreshold,
+		    Key.statementCacheSize, this.statementCacheSize,
+		    Key.statementCacheTimeout, this.statementCacheTimeout,
+		    Key.templateCacheMode, this.templateCacheMode,
 		    Key.timezone, this.timezone,
 		    Key.sessionTimeout, this.sessionTimeout,
 		    Key.sessionStorage, this.sessionStorage,
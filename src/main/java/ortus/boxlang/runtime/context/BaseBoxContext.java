@@ -103,7 +103,7 @@ public class BaseBoxContext implements IBoxContext {
 	/**
 	 * A buffer to write output to
 	 */
-	protected ArrayDeque<StringBuffer>			buffers				= new ArrayDeque<>();
+	protected ArrayDeque<OutputBuffer>			buffers				= new ArrayDeque<>();
 
 	/**
 	 * The function service we can use to retrieve BIFS and member methods
@@ -136,7 +136,7 @@ public class BaseBoxContext implements IBoxContext {
 		this.parent				= parent;
 		this.functionService	= BoxRuntime.getInstance().getFunctionService();
 		this.componentService	= BoxRuntime.getInstance().getComponentService();
-		buffers.push( new StringBuffer() );
+		buffers.push( new OutputBuffer() );
 	}
 
 	/**
@@ -560,21 +560,21 @@ public class BaseBoxContext implements IBoxContext {
 	 * @return The function instance
 	 */
 	protected Function findFunction( Key name ) {
-		ScopeSearchResult result = null;
+		Object value;
 		try {
-			result = scopeFindNearby( name, null );
+			value = scopeFindNearbyValue( name );
 		} catch ( KeyNotFoundException e ) {
 			throw new BoxRuntimeException( "Function '" + name.getName() + "' not found" );
 		}
-		if ( result == null ) {
+		if ( value == NOT_FOUND ) {
 			throw new BoxRuntimeException( "Function '" + name.getName() + "' not found" );
 		}
-		CastAttempt<Function> funcAttempt = FunctionCaster.attempt( result.value() );
+		CastAttempt<Function> funcAttempt = FunctionCaster.attempt( value );
 		if ( funcAttempt.wasSuccessful() ) {
 			return funcAttempt.get();
 		} else {
 			throw new BoxRuntimeException(
-			    "Variable '" + name + "' of type  '" + result.value().getClass().getName() + "'  is not a function." );
+			    "Variable '" + name + "' of type  '" + value.getClass().getName() + "'  is not a function." );
 		}
 	}
 
@@ -719,6 +719,21 @@ public class BaseBoxContext implements IBoxContext {
 		return null;
 	}
 
+	/**
+	 * Value-only version of {@link #queryFindNearby(Key)}
+	 *
+	 * @param key The key to search for
+	 *
+	 * @return The value if found, else NOT_FOUND
+	 */
+	protected Object queryFindNearbyValue( Key key ) {
+		if ( queryLoops.isEmpty() ) {
+			return NOT_FOUND;
+		}
+		ScopeSearchResult result = queryFindNearby( key );
+		return result == null ? NOT_FOUND : result.value();
+	}
+
 	/**
 	 * Register a UDF with the local context. Will override any existing methods
 	 *
@@ -800,6 +815,47 @@ public class BaseBoxContext implements IBoxContext {
 		return scopeFindNearby( key, defaultScope, false );
 	}
 
+	/**
+	 * Try to get the value of the requested key from an unknown scope without allocating a search result
+	 *
+	 * @param key The key to search for
+	 *
+	 * @return The value of the key if found
+	 *
+	 */
+	public Object scopeFindNearbyValue( Key key ) {
+		return scopeFindNearbyValue( key, false );
+	}
+
+	/**
+	 * Try to get the value of the requested key from an unknown scope without allocating a search result.
+	 * Contexts on the hot path override this with a direct lookup; everyone else falls back to the full search.
+	 *
+	 * @param key     The key to search for
+	 * @param shallow true, do not delegate to parent if not found
+	 *
+	 * @return The value of the key if found, NOT_FOUND if a shallow search found nothing
+	 *
+	 */
+	public Object scopeFindNearbyValue( Key key, boolean shallow ) {
+		ScopeSearchResult result = scopeFindNearby( key, null, shallow );
+		return result == null ? NOT_FOUND : result.value();
+	}
+
+	/**
+	 * Try to get the value of the requested key using the inline cache of the lookup site.
+	 * Only function contexts cache anything, so by default this is a plain value lookup.
+	 *
+	 * @param key   The key to search for
+	 * @param cache The inline cache for the lookup site
+	 *
+	 * @return The value of the key if found
+	 *
+	 */
+	public Object scopeFindNearbyValue( Key key, ScopeLookupCache cache ) {
+		return scopeFindNearbyValue( key, false );
+	}
+
 	/**
 	 * Get a scope from the context. If not found, the parent context is asked.
 	 * Search all known scopes
@@ -895,31 +951,30 @@ public class BaseBoxContext implements IBoxContext {
 		if ( o == null ) {
 			return this;
 		}
-		IStruct outputState = null;
 		if ( !force ) {
-			Boolean explicitOutput = ( Boolean ) getConfigItem( Key.enforceExplicitOutput, false );
-			if ( explicitOutput ) {
+			if ( getConfigItemAsBoolean( Key.enforceExplicitOutput, false ) ) {
 				// If we are requiring to be in an output compo nent, let's look fo r it
-				outputState = findClosestComponent( Key.output );
-				if ( outputState == null ) {
+				if ( findClosestComponent( Key.output ) == null ) {
 					return this;
 				}
 			}
 		}
 
-		String content = StringCaster.cast( o );
-		// If the closest output didn't have an encode for, let's look a little harder
-		// to see if we can find one.
-		if ( outputState == null || outputState.getAsString( Key.encodefor ) == null ) {
-			outputState = findClosestComponent( Key.output, state -> state.get( Key.encodefor ) != null );
+		// A flushed child buffer is moved over as it is
+		if ( o instanceof OutputBuffer outputBuffer ) {
+			getBuffer().append( outputBuffer );
+			return this;
 		}
-		if ( outputState != null ) {
-			String encodeFor = outputState.getAsString( Key.encodefor );
-			// TODO: encode the content
-			// Waiting on ESAPI implementation
+
+		// Static template text is referenced, not copied
+		if ( o instanceof TemplateText text ) {
+			getBuffer().append( text );
+			return this;
 		}
 
-		getBuffer().append( content );
+		// TODO: encode the content with the encodefor of the closest output component
+		// Waiting on ESAPI implementation, the lookup will go here so it only costs when it does something
+		getBuffer().append( o instanceof String string ? string : StringCaster.cast( o ) );
 		return this;
 	}
 
@@ -965,20 +1020,14 @@ public class BaseBoxContext implements IBoxContext {
 			// If there are extra buffers registered, we ignore flush requests since someone
 			// out there is wanting to capture our buffer instead.
 			if ( hasParent() && buffers.size() == 1 ) {
-				StringBuffer thisBuffer = getBuffer();
-				synchronized ( thisBuffer ) {
-					getParent().writeToBuffer( thisBuffer.toString(), true );
-					thisBuffer.setLength( 0 );
-				}
+				// Hands the chunks to the parent and leaves ours empty
+				getParent().writeToBuffer( getBuffer(), true );
 				if ( force ) {
 					getParent().flushBuffer( true );
 				}
 			} else if ( force && hasParent() ) {
-				for ( StringBuffer buf : buffers ) {
-					synchronized ( buf ) {
-						getParent().writeToBuffer( buf.toString(), true );
-						buf.setLength( 0 );
-					}
+				for ( OutputBuffer buf : buffers ) {
+					getParent().writeToBuffer( buf, true );
 				}
 				getParent().flushBuffer( true );
 			}
@@ -995,7 +1044,7 @@ public class BaseBoxContext implements IBoxContext {
 	 * @return This context
 	 */
 	public IBoxContext clearBuffer() {
-		getBuffer().setLength( 0 );
+		getBuffer().clear();
 		if ( hasParent() ) {
 			getParent().clearBuffer();
 		}
@@ -1007,7 +1056,7 @@ public class BaseBoxContext implements IBoxContext {
 	 *
 	 * @return The buffer
 	 */
-	public StringBuffer getBuffer() {
+	public OutputBuffer getBuffer() {
 		return this.buffers.peek();
 	}
 
@@ -1019,7 +1068,7 @@ public class BaseBoxContext implements IBoxContext {
 	 *
 	 * @return This context
 	 */
-	public IBoxContext pushBuffer( StringBuffer buffer ) {
+	public IBoxContext pushBuffer( OutputBuffer buffer ) {
 		this.buffers.push( buffer );
 		return this;
 	}
@@ -1049,8 +1098,10 @@ public class BaseBoxContext implements IBoxContext {
 	 * It depends on whether the context wants its changes to exist for the rest of
 	 * the entire
 	 * request or only for code that executes in the current context and below.
+	 * <p>
+	 * The struct is an immutable snapshot, contexts which add their own config modify a copy of it.
 	 *
-	 * @return A struct of configuration
+	 * @return An immutable struct of configuration
 	 */
 	public IStruct getConfig() {
 		if ( hasParent() ) {
@@ -1109,6 +1160,29 @@ public class BaseBoxContext implements IBoxContext {
 		return getConfig().getOrDefault( itemKey, defaultValue );
 	}
 
+	/**
+	 * Typed convenience method to retrieve a struct config item, like the mappings or datasources
+	 *
+	 * @param itemKey the object key
+	 *
+	 * @return The struct value of the key or null if not found
+	 */
+	public IStruct getConfigItemAsStruct( Key itemKey ) {
+		return ( IStruct ) getConfig().get( itemKey );
+	}
+
+	/**
+	 * Typed convenience method to retrieve a boolean config item with a default
+	 *
+	 * @param itemKey      the object key
+	 * @param defaultValue a default value to return
+	 *
+	 * @return The boolean value of the key or the default value if not found
+	 */
+	public boolean getConfigItemAsBoolean( Key itemKey, boolean defaultValue ) {
+		return getConfig().get( itemKey ) instanceof Boolean value ? value : defaultValue;
+	}
+
 	/**
 	 * Get the BoxLang runtime
 	 * '
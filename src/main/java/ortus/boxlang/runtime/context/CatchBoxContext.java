@@ -123,6 +123,39 @@ public class CatchBoxContext extends BaseBoxContext {
 		return scopeFind( key, defaultScope );
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)} which doesn't allocate a search result
+	 *
+	 * @param key     The key to search for
+	 * @param shallow true, do not delegate to parent if not found
+	 *
+	 * @return The value of the key if found, NOT_FOUND if a shallow search found nothing
+	 *
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, boolean shallow ) {
+		Object result = queryFindNearbyValue( key );
+		if ( result != NOT_FOUND ) {
+			return result;
+		}
+
+		result = variablesScope.getRaw( key );
+		// Null means not found
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		if ( shallow ) {
+			return NOT_FOUND;
+		}
+
+		if ( parent != null ) {
+			return parent.scopeFindNearbyValue( key );
+		}
+
+		return scopeFind( key, null ).value();
+	}
+
 	/**
 	 * Try to get the requested key from the unscoped scope
 	 * Meaning it needs to search scopes in order according to it's context.
@@ -247,11 +280,11 @@ public class CatchBoxContext extends BaseBoxContext {
 		return this;
 	}
 
-	public StringBuffer getBuffer() {
+	public OutputBuffer getBuffer() {
 		return getParent().getBuffer();
 	}
 
-	public IBoxContext pushBuffer( StringBuffer buffer ) {
+	public IBoxContext pushBuffer( OutputBuffer buffer ) {
 		getParent().pushBuffer( buffer );
 		return this;
 	}
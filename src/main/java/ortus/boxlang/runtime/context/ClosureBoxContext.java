@@ -188,6 +188,48 @@ public class ClosureBoxContext extends FunctionBoxContext {
 
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)} which doesn't allocate a search result
+	 *
+	 * @param key     The key to search for
+	 * @param shallow true, do not delegate to parent if not found
+	 *
+	 * @return The value, or NOT_FOUND if a shallow search found nothing
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, boolean shallow ) {
+		if ( key.equals( LocalScope.name ) ) {
+			return localScope;
+		}
+
+		if ( key.equals( ArgumentsScope.name ) ) {
+			return argumentsScope;
+		}
+
+		Object result = localScope.getRaw( key );
+		// Null means not found
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		result = argumentsScope.getRaw( key );
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		result = queryFindNearbyValue( key );
+		if ( result != NOT_FOUND ) {
+			return result;
+		}
+
+		result = getFunction().getDeclaringContext().scopeFindNearbyValue( key, true );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		return parent.scopeFind( key, null ).value();
+	}
+
 	/**
 	 * Look for a "nearby" scope by name
 	 *
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import ortus.boxlang.compiler.ast.statement.BoxMethodDeclarationModifier;
 import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.dynamic.IReferenceable;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.runnables.BoxClassSupport;
 import ortus.boxlang.runtime.runnables.BoxInterface;
@@ -49,6 +50,30 @@ import ortus.boxlang.runtime.util.ArgumentUtil;
  */
 public class FunctionBoxContext extends BaseBoxContext {
 
+	/**
+	 * The scope names a function context resolves itself
+	 */
+	private enum NearbyScope {
+		BOXMETA,
+		LOCAL,
+		ARGUMENTS,
+		THIS,
+		SUPER,
+		STATIC
+	}
+
+	/**
+	 * Precomputed lookup of scope names, so resolving an identifier checks them all with a single hash probe
+	 */
+	private static final Map<Key, NearbyScope>	NEARBY_SCOPES	= Map.of(
+	    BoxMeta.key, NearbyScope.BOXMETA,
+	    LocalScope.name, NearbyScope.LOCAL,
+	    ArgumentsScope.name, NearbyScope.ARGUMENTS,
+	    ThisScope.name, NearbyScope.THIS,
+	    Key._super, NearbyScope.SUPER,
+	    StaticScope.name, NearbyScope.STATIC
+	);
+
 	/**
 	 * The arguments scope
 	 */
@@ -59,6 +84,11 @@ public class FunctionBoxContext extends BaseBoxContext {
 	 */
 	protected IScope			localScope;
 
+	/**
+	 * The compiled slots of the local variables promoted out of the local scope, if any
+	 */
+	protected LocalFrame		localFrame				= null;
+
 	/**
 	 * The Function being invoked with this context
 	 */
@@ -202,6 +232,7 @@ public class FunctionBoxContext extends BaseBoxContext {
 			getParent().getVisibleScopes( scopes, true, shallow );
 		}
 		if ( nearby ) {
+			materializeLocals();
 			scopes.getAsStruct( Key.contextual ).put( ArgumentsScope.name, argumentsScope );
 			scopes.getAsStruct( Key.contextual ).put( LocalScope.name, localScope );
 		}
@@ -232,50 +263,23 @@ public class FunctionBoxContext extends BaseBoxContext {
 	@Override
 	public ScopeSearchResult scopeFindNearby( Key key, IScope defaultScope, boolean shallow ) {
 
-		// Special check for $bx
-		if ( key.equals( BoxMeta.key ) && isInClass() ) {
-			return new ScopeSearchResult( getThisClass().getBottomClass(), getThisClass().getBottomClass().getBoxMeta(), BoxMeta.key, false );
-		}
-
-		// Look in the local scope first
-		if ( key.equals( localScope.getName() ) ) {
-			return new ScopeSearchResult( localScope, localScope, key, true );
-		}
-
-		// Look in the arguments scope next
-		if ( key.equals( argumentsScope.getName() ) ) {
-			return new ScopeSearchResult( argumentsScope, argumentsScope, key, true );
-		}
-
-		// Look in the "this" scope next
-		if ( key.equals( ThisScope.name ) && isInClass() ) {
-			return new ScopeSearchResult( getThisClass().getBottomClass(), getThisClass().getBottomClass(), key, true );
-		}
-
-		// Look in the "super" scope next
-		if ( key.equals( Key._super ) && getThisClass() != null ) {
-			if ( getThisClass().getSuper() != null ) {
-				return new ScopeSearchResult( getThisClass().getSuper(), getThisClass().getSuper(), key, true );
-			} else if ( getThisClass().isJavaExtends() ) {
-				var jSuper = DynamicObject.of( getThisClass() ).setTargetClass( getThisClass().getClass().getSuperclass() );
-				return new ScopeSearchResult( jSuper, jSuper, key, true );
+		// Scope names are resolved with a single lookup instead of a chain of key comparisons
+		NearbyScope nearbyScope = NEARBY_SCOPES.get( key );
+		if ( nearbyScope == NearbyScope.BOXMETA ) {
+			// Special check for $bx
+			if ( isInClass() ) {
+				return new ScopeSearchResult( getThisClass().getBottomClass(), getThisClass().getBottomClass().getBoxMeta(), BoxMeta.key, false );
+			}
+		} else if ( nearbyScope != null ) {
+			IReferenceable scope = findNearbyScope( nearbyScope );
+			if ( scope != null ) {
+				return new ScopeSearchResult( scope, scope, key, true );
 			}
 		}
 
-		// Look in the static scope next
-		if ( key.equals( StaticScope.name ) && isInClass() ) {
-			return new ScopeSearchResult( getThisClass().getStaticScope(), getThisClass().getStaticScope(), key, true );
-		}
-
-		// Look in the static scope next for a static class
-		if ( key.equals( StaticScope.name ) && isInStaticClass() ) {
-			IScope staticScope = BoxClassSupport.getStaticScope( this, getThisStaticClass() );
-			return new ScopeSearchResult( staticScope, staticScope, key, true );
-		}
-		// Look in the static scope next for an interface
-		if ( key.equals( StaticScope.name ) && isInInterface() ) {
-			IScope staticScope = getThisInterface().getStaticScope();
-			return new ScopeSearchResult( staticScope, staticScope, key, true );
+		// Someone is looking up a promoted local by name
+		if ( localFrame != null && localFrame.contains( key ) ) {
+			materializeLocals();
 		}
 
 		Object result = localScope.getRaw( key );
@@ -326,6 +330,185 @@ public class FunctionBoxContext extends BaseBoxContext {
 
 	}
 
+	/**
+	 * Search for a variable in "nearby" scopes and return only its value.
+	 * This mirrors {@link #scopeFindNearby(Key, IScope, boolean)} without allocating a search result.
+	 *
+	 * @param key     The key to search for
+	 * @param shallow Whether to search only the "nearby" scopes or all scopes
+	 *
+	 * @return The value, or NOT_FOUND if a shallow search found nothing
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, boolean shallow ) {
+		NearbyScope nearbyScope = NEARBY_SCOPES.get( key );
+		if ( nearbyScope == NearbyScope.BOXMETA ) {
+			if ( isInClass() ) {
+				return getThisClass().getBottomClass().getBoxMeta();
+			}
+		} else if ( nearbyScope != null ) {
+			IReferenceable scope = findNearbyScope( nearbyScope );
+			if ( scope != null ) {
+				return scope;
+			}
+		}
+
+		if ( localFrame != null && localFrame.contains( key ) ) {
+			materializeLocals();
+		}
+
+		Object result = localScope.getRaw( key );
+		// Null means not found
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		result = argumentsScope.getRaw( key );
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		result = queryFindNearbyValue( key );
+		if ( result != NOT_FOUND ) {
+			return result;
+		}
+
+		if ( isInClass() ) {
+			result = getThisClass().getBottomClass().getVariablesScope().getRaw( key );
+			if ( result != null ) {
+				return Struct.unWrapNull( result );
+			}
+
+			if ( shallow ) {
+				return NOT_FOUND;
+			}
+
+			// A component cannot see nearby scopes above it
+			return parent.scopeFind( key, null ).value();
+		}
+
+		// A UDF is "transparent" and can see everything in the parent scope as a "local" observer
+		return parent.scopeFindNearbyValue( key, shallow );
+	}
+
+	/**
+	 * Search for the value of a variable using the inline cache of the lookup site.
+	 * The cached slot is only used once the scopes searched before it are known not to contain the key,
+	 * so the result is always the same as {@link #scopeFindNearbyValue(Key, boolean)}.
+	 *
+	 * @param key   The key to search for
+	 * @param cache The inline cache for the lookup site
+	 *
+	 * @return The value of the key if found
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, ScopeLookupCache cache ) {
+		Object result;
+		switch ( cache.getSlot( this ) ) {
+			case ScopeLookupCache.LOCAL :
+				result = localScope.getRaw( key );
+				if ( result != null ) {
+					cache.hit();
+					return Struct.unWrapNull( result );
+				}
+				break;
+			case ScopeLookupCache.ARGUMENTS :
+				if ( localScope.getRaw( key ) == null ) {
+					result = argumentsScope.getRaw( key );
+					if ( result != null ) {
+						cache.hit();
+						return Struct.unWrapNull( result );
+					}
+				}
+				break;
+			case ScopeLookupCache.CLASS_VARIABLES :
+				// Only plain function contexts see the class variables before their parent scopes, closures see their declaring scopes first
+				if ( getClass() == FunctionBoxContext.class && queryLoops.isEmpty() && isInClass() && localScope.getRaw( key ) == null
+				    && argumentsScope.getRaw( key ) == null ) {
+					result = getThisClass().getBottomClass().getVariablesScope().getRaw( key );
+					if ( result != null ) {
+						cache.hit();
+						return Struct.unWrapNull( result );
+					}
+				}
+				break;
+			case ScopeLookupCache.GENERIC :
+				cache.miss( this, ScopeLookupCache.GENERIC );
+				return scopeFindNearbyValue( key, false );
+			default :
+				break;
+		}
+
+		// Missed, so search and remember which scope answered. Scope names, closures and lambdas only cache their own scopes.
+		if ( NEARBY_SCOPES.containsKey( key ) ) {
+			cache.miss( this, ScopeLookupCache.GENERIC );
+			return scopeFindNearbyValue( key, false );
+		}
+		result = localScope.getRaw( key );
+		if ( result != null ) {
+			cache.miss( this, ScopeLookupCache.LOCAL );
+			return Struct.unWrapNull( result );
+		}
+		result = argumentsScope.getRaw( key );
+		if ( result != null ) {
+			cache.miss( this, ScopeLookupCache.ARGUMENTS );
+			return Struct.unWrapNull( result );
+		}
+		if ( getClass() == FunctionBoxContext.class && queryLoops.isEmpty() && isInClass() ) {
+			result = getThisClass().getBottomClass().getVariablesScope().getRaw( key );
+			if ( result != null ) {
+				cache.miss( this, ScopeLookupCache.CLASS_VARIABLES );
+				return Struct.unWrapNull( result );
+			}
+		}
+		cache.miss( this, ScopeLookupCache.GENERIC );
+		return scopeFindNearbyValue( key, false );
+	}
+
+	/**
+	 * Resolve a scope name which is visible from this context
+	 *
+	 * @param nearbyScope The scope name to resolve
+	 *
+	 * @return The scope, or null if it isn't available here and the name should be treated as a plain variable
+	 */
+	private IReferenceable findNearbyScope( NearbyScope nearbyScope ) {
+		return switch ( nearbyScope ) {
+			case LOCAL -> {
+				materializeLocals();
+				yield localScope;
+			}
+			case ARGUMENTS -> argumentsScope;
+			case THIS -> isInClass() ? getThisClass().getBottomClass() : null;
+			case SUPER -> {
+				IClassRunnable thisClass = getThisClass();
+				if ( thisClass == null ) {
+					yield null;
+				}
+				if ( thisClass.getSuper() != null ) {
+					yield thisClass.getSuper();
+				}
+				if ( thisClass.isJavaExtends() ) {
+					yield DynamicObject.of( thisClass ).setTargetClass( thisClass.getClass().getSuperclass() );
+				}
+				yield null;
+			}
+			case STATIC -> {
+				if ( isInClass() ) {
+					yield getThisClass().getStaticScope();
+				}
+				if ( isInStaticClass() ) {
+					yield BoxClassSupport.getStaticScope( this, getThisStaticClass() );
+				}
+				if ( isInInterface() ) {
+					yield getThisInterface().getStaticScope();
+				}
+				yield null;
+			}
+			default -> null;
+		};
+	}
+
 	/**
 	 * Search for a variable in scopes
 	 *
@@ -364,6 +547,7 @@ public class FunctionBoxContext extends BaseBoxContext {
 	public IScope getScopeNearby( Key name, boolean shallow ) throws ScopeNotFoundException {
 		// Check the scopes I know about
 		if ( name.equals( localScope.getName() ) ) {
+			materializeLocals();
 			return localScope;
 		}
 		if ( name.equals( argumentsScope.getName() ) ) {
@@ -541,14 +725,13 @@ public class FunctionBoxContext extends BaseBoxContext {
 	 * @return The function instance
 	 */
 	protected Function findFunction( Key name ) {
-		ScopeSearchResult result = null;
+		Object value = NOT_FOUND;
 		try {
-			result = scopeFindNearby( name, null );
+			value = scopeFindNearbyValue( name );
 		} catch ( KeyNotFoundException e ) {
 			// Ignore
 		}
-		if ( result != null ) {
-			Object value = result.value();
+		if ( value != NOT_FOUND ) {
 			if ( value instanceof Function fun ) {
 				return fun;
 			} else {
@@ -631,4 +814,56 @@ public class FunctionBoxContext extends BaseBoxContext {
 		return argumentsScope;
 	}
 
+	/**
+	 * Attach the slots for the local variables the compiler promoted out of the local scope.
+	 * Called once at the start of a compiled function body.
+	 *
+	 * @param names The names of the promoted variables, by slot
+	 *
+	 * @return The frame the compiled code reads and writes
+	 */
+	public LocalFrame createLocalFrame( Key[] names ) {
+		this.localFrame = new LocalFrame( names );
+		return this.localFrame;
+	}
+
+	/**
+	 * Copy the current values of any promoted local variables into the local scope, so code looking at the
+	 * local scope directly sees them.
+	 */
+	protected void materializeLocals() {
+		if ( this.localFrame != null ) {
+			this.localFrame.materialize( this.localScope );
+		}
+	}
+
+	/**
+	 * Let the local and arguments scopes of this function escape the thread that created them.
+	 * Call this before anything declared in this function ( closures, threads ) can run on another thread.
+	 *
+	 * @return This context
+	 */
+	public FunctionBoxContext escapeScopes() {
+		if ( this.localScope instanceof Struct localStruct ) {
+			localStruct.escape();
+		}
+		this.argumentsScope.escape();
+		return this;
+	}
+
+	/**
+	 * Let the scopes of the nearest function context escape the thread that created them, if there is one.
+	 *
+	 * @param context The context to start looking from
+	 */
+	public static void escapeNearestScopes( IBoxContext context ) {
+		while ( context != null ) {
+			if ( context instanceof FunctionBoxContext functionContext ) {
+				functionContext.escapeScopes();
+				return;
+			}
+			context = context.getParent();
+		}
+	}
+
 }
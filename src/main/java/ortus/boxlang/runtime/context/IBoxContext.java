@@ -46,6 +46,18 @@ import ortus.boxlang.runtime.util.ResolvedFilePath;
  */
 public interface IBoxContext extends IBoxAttachable, Serializable {
 
+	/**
+	 * Sentinel returned by the value-only scope lookups when a shallow search finds nothing.
+	 * A real value of null is returned as null, so this is the only way to tell "not found" apart.
+	 */
+	public static final Object NOT_FOUND = new Object() {
+
+		@Override
+		public String toString() {
+			return "NOT_FOUND";
+		}
+	};
+
 	/**
 	 * This is mostly for the debugger. It returns all visible scopes from this
 	 * context.
@@ -151,6 +163,43 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 */
 	public ScopeSearchResult scopeFindNearby( Key key, IScope defaultScope, boolean shallow );
 
+	/**
+	 * Value-only counterpart of {@link #scopeFindNearby(Key, IScope)} with no default scope.
+	 * Returns the value directly instead of wrapping it in a {@link ScopeSearchResult}, so hot
+	 * variable reads don't allocate. Use this whenever the scope the value came from is not needed.
+	 *
+	 * @param key The key to search for
+	 *
+	 * @return The value of the key, which may be null
+	 *
+	 * @throws ortus.boxlang.runtime.types.exceptions.KeyNotFoundException If the key can't be found
+	 */
+	public Object scopeFindNearbyValue( Key key );
+
+	/**
+	 * Value-only counterpart of {@link #scopeFindNearby(Key, IScope, boolean)} with no default scope.
+	 *
+	 * @param key     The key to search for
+	 * @param shallow true, do not delegate to parent if not found
+	 *
+	 * @return The value of the key, which may be null. {@link #NOT_FOUND} if performing a shallow search and
+	 *         nothing was found
+	 */
+	public Object scopeFindNearbyValue( Key key, boolean shallow );
+
+	/**
+	 * Value-only lookup used by compiled code, which passes the inline cache for the lookup site.
+	 * Contexts which can't make use of the cache simply ignore it.
+	 *
+	 * @param key   The key to search for
+	 * @param cache The inline cache for the lookup site
+	 *
+	 * @return The value of the key, which may be null
+	 *
+	 * @throws ortus.boxlang.runtime.types.exceptions.KeyNotFoundException If the key can't be found
+	 */
+	public Object scopeFindNearbyValue( Key key, ScopeLookupCache cache );
+
 	/**
 	 * Invoke a function call such as foo() using positional args. Will check for a
 	 * registered BIF first, then search known scopes for a UDF.
@@ -499,7 +548,9 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	public IBoxContext writeToBuffer( Object o );
 
 	/**
-	 * Write output to this buffer. Any input object will be converted to a string
+	 * Write output to this buffer. Any input object will be converted to a string,
+	 * except an {@link OutputBuffer} whose content is moved over without copying and a {@link TemplateText} which is
+	 * referenced by the buffer.
 	 * If force is true, write even if the setting component has been used with enableOutputOnly=true
 	 *
 	 * @param o     The object to write
@@ -541,7 +592,7 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 *
 	 * @return The buffer
 	 */
-	public StringBuffer getBuffer();
+	public OutputBuffer getBuffer();
 
 	/**
 	 * Push a buffer onto the stack. This is mostly so components can capture any
@@ -551,7 +602,7 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 *
 	 * @return This context
 	 */
-	public IBoxContext pushBuffer( StringBuffer buffer );
+	public IBoxContext pushBuffer( OutputBuffer buffer );
 
 	/**
 	 * Pop a buffer from the stack
@@ -568,8 +619,12 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 * It depends on whether the context wants its changes to exist for the rest of
 	 * the entire
 	 * request or only for code that executes in the current context and below.
+	 * <p>
+	 * The struct is an immutable snapshot shared by every caller, so reading config is cheap. A context which adds its
+	 * own config copies the struct it gets from its parent, with {@code new Struct( config )} or
+	 * {@link ortus.boxlang.runtime.config.Configuration#thaw(IStruct, Key...)} for a deep copy, and modifies the copy.
 	 *
-	 * @return A struct of configuration
+	 * @return An immutable struct of configuration
 	 */
 	public IStruct getConfig();
 
@@ -622,6 +677,25 @@ public interface IBoxContext extends IBoxAttachable, Serializable {
 	 */
 	public Object getConfigItem( Key itemKey, Object defaultValue );
 
+	/**
+	 * Typed convenience method to retrieve a struct config item, like the mappings or datasources
+	 *
+	 * @param itemKey the object key
+	 *
+	 * @return The struct value of the key or null if not found
+	 */
+	public IStruct getConfigItemAsStruct( Key itemKey );
+
+	/**
+	 * Typed convenience method to retrieve a boolean config item with a default
+	 *
+	 * @param itemKey      the object key
+	 * @param defaultValue a default value to return
+	 *
+	 * @return The boolean value of the key or the default value if not found
+	 */
+	public boolean getConfigItemAsBoolean( Key itemKey, boolean defaultValue );
+
 	/**
 	 * Get the BoxLang runtime
 	 * '
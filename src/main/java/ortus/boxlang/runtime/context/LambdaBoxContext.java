@@ -158,6 +158,41 @@ public class LambdaBoxContext extends FunctionBoxContext {
 
 	}
 
+	/**
+	 * Search for the value of a variable in "nearby" scopes without allocating a search result
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, boolean shallow ) {
+		if ( key.equals( LocalScope.name ) ) {
+			return localScope;
+		}
+
+		if ( key.equals( ArgumentsScope.name ) ) {
+			return argumentsScope;
+		}
+
+		Object result = localScope.getRaw( key );
+		// Null means not found
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		result = argumentsScope.getRaw( key );
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		result = queryFindNearbyValue( key );
+		if ( result != NOT_FOUND || shallow ) {
+			return result;
+		}
+
+		// Lambdas don't look anywhere else!
+		throw new KeyNotFoundException(
+		    String.format( "The requested key [%s] was not located in any scope or it's undefined", key.getName() )
+		);
+	}
+
 	/**
 	 * Look for a scope by name
 	 */
@@ -0,0 +1,138 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.context;
+
+import java.util.Arrays;
+
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * Slots for the function-local variables the compiler promoted out of the local scope.
+ * <p>
+ * When escape analysis proves a {@code var} is only ever read and written by name from the function body itself, the
+ * compiled code reads and writes it here by index instead of going through the local scope's hash lookups. The frame is
+ * created once per invocation and attached to the {@link FunctionBoxContext}, which copies the assigned slots into the
+ * local scope whenever something outside the compiled code looks at it (a dump, a debugger, {@code getVisibleScopes()}
+ * or a by-name lookup). The copy is a snapshot: the compiled code keeps using the slots.
+ */
+public final class LocalFrame {
+
+	/**
+	 * Marks a slot whose variable has not been declared yet
+	 */
+	private static final Object	UNSET	= new Object();
+
+	/**
+	 * The names of the promoted variables, by slot
+	 */
+	private final Key[]			names;
+
+	/**
+	 * The values of the promoted variables, by slot
+	 */
+	private final Object[]		values;
+
+	/**
+	 * Create a frame for a single invocation
+	 *
+	 * @param names The names of the promoted variables, by slot
+	 */
+	public LocalFrame( Key[] names ) {
+		this.names	= names;
+		this.values	= new Object[ names.length ];
+		Arrays.fill( this.values, UNSET );
+	}
+
+	/**
+	 * Read a slot. The compiler only reads slots after their declaration has run.
+	 *
+	 * @param slot The slot
+	 *
+	 * @return The value
+	 */
+	public Object get( int slot ) {
+		return values[ slot ];
+	}
+
+	/**
+	 * Whether a slot holds an Integer. The compiler checks this before using {@link #getInt(int)} on a variable it typed as
+	 * an int, since int arithmetic widens to a long on overflow.
+	 *
+	 * @param slot The slot
+	 *
+	 * @return true if the value is an Integer
+	 */
+	public boolean isInt( int slot ) {
+		return values[ slot ] instanceof Integer;
+	}
+
+	/**
+	 * Read a slot which holds an Integer
+	 *
+	 * @param slot The slot
+	 *
+	 * @return The value
+	 */
+	public int getInt( int slot ) {
+		return ( Integer ) values[ slot ];
+	}
+
+	/**
+	 * Write a slot
+	 *
+	 * @param slot  The slot
+	 * @param value The value
+	 *
+	 * @return The value, so the assignment can be used as an expression
+	 */
+	public Object set( int slot, Object value ) {
+		values[ slot ] = value;
+		return value;
+	}
+
+	/**
+	 * Whether a variable lives in this frame
+	 *
+	 * @param key The variable name
+	 *
+	 * @return true if the variable was promoted
+	 */
+	public boolean contains( Key key ) {
+		for ( Key name : names ) {
+			if ( name.equals( key ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copy the declared variables into a local scope
+	 *
+	 * @param localScope The local scope to populate
+	 */
+	public void materialize( IScope localScope ) {
+		for ( int i = 0; i < names.length; i++ ) {
+			if ( values[ i ] != UNSET ) {
+				localScope.put( names[ i ], values[ i ] );
+			}
+		}
+	}
+
+}
@@ -0,0 +1,470 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.context;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
+
+/**
+ * The output buffer of a context. Content is kept in fixed size chunks, so growing the buffer never copies what is
+ * already in it, and flushing a buffer into another one hands its chunks over instead of copying them. Chunks which are
+ * released are kept per thread and reused. Large blocks of static {@link TemplateText} are referenced instead of copied,
+ * and written out as their pre-encoded bytes when the output is UTF-8.
+ * <p>
+ * Like the {@link StringBuffer} it replaces, a buffer locks itself for each operation, since thread bodies and closures
+ * running in parallel write to, flush and clear their caller's buffers. The lock is only taken once per string or
+ * moved buffer, never per char. Callers can synchronize on the buffer to combine operations, like reading it and
+ * clearing it, and should {@link #detach()} it before writing it out so other threads are not blocked on the I/O.
+ */
+public class OutputBuffer implements Appendable {
+
+	/**
+	 * The size of a chunk, in chars
+	 */
+	public static final int									CHUNK_SIZE			= 8192;
+
+	/**
+	 * The size of the chunk started after a block of template text, in chars, which keeps interleaved dynamic output
+	 * from holding a full chunk per block
+	 */
+	private static final int								SMALL_CHUNK_SIZE	= 512;
+
+	/**
+	 * How many released chunks a thread keeps for reuse
+	 */
+	private static final int								MAX_FREE_CHUNKS		= 16;
+
+	/**
+	 * The released chunks of each thread
+	 */
+	private static final ThreadLocal<ArrayDeque<char[]>>	FREE_CHUNKS			= ThreadLocal.withInitial( ArrayDeque::new );
+
+	/**
+	 * The chunks, in order, null for the entries which are template text
+	 */
+	private char[][]										chunks				= new char[ 4 ][];
+
+	/**
+	 * The template text referenced by each entry, null for the chunks
+	 */
+	private TemplateText[]									texts				= new TemplateText[ 4 ];
+
+	/**
+	 * How much of each chunk is used
+	 */
+	private int[]											used				= new int[ 4 ];
+
+	/**
+	 * The number of chunks
+	 */
+	private int												count				= 0;
+
+	/**
+	 * The number of chars in the buffer
+	 */
+	private int												length				= 0;
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Writing
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Append a string
+	 *
+	 * @param str The string, null is written as "null"
+	 *
+	 * @return This buffer
+	 */
+	public synchronized OutputBuffer append( String str ) {
+		appendString( String.valueOf( str ) );
+		return this;
+	}
+
+	/**
+	 * Append a char sequence
+	 *
+	 * @param csq The char sequence, null is written as "null"
+	 *
+	 * @return This buffer
+	 */
+	@Override
+	public OutputBuffer append( CharSequence csq ) {
+		return append( String.valueOf( csq ) );
+	}
+
+	/**
+	 * Append part of a char sequence
+	 *
+	 * @param csq   The char sequence, null is written as "null"
+	 * @param start The index of the first char
+	 * @param end   The index after the last char
+	 *
+	 * @return This buffer
+	 */
+	@Override
+	public OutputBuffer append( CharSequence csq, int start, int end ) {
+		return append( String.valueOf( csq ).subSequence( start, end ).toString() );
+	}
+
+	/**
+	 * Append a char
+	 *
+	 * @param c The char
+	 *
+	 * @return This buffer
+	 */
+	@Override
+	public OutputBuffer append( char c ) {
+		return append( String.valueOf( c ) );
+	}
+
+	/**
+	 * Append a block of template text. Large blocks are referenced instead of copied.
+	 *
+	 * @param text The text
+	 *
+	 * @return This buffer
+	 */
+	public OutputBuffer append( TemplateText text ) {
+		if ( text.length() < TemplateText.MIN_LENGTH ) {
+			return append( text.toString() );
+		}
+		synchronized ( this ) {
+			addText( text );
+		}
+		return this;
+	}
+
+	/**
+	 * Move the content of another buffer to the end of this one, leaving the other buffer empty. Chunks which are
+	 * mostly used are handed over as they are, the rest are copied and reused.
+	 *
+	 * @param other The buffer to move
+	 *
+	 * @return This buffer
+	 */
+	public OutputBuffer append( OutputBuffer other ) {
+		if ( other == this ) {
+			return this;
+		}
+		// Only one buffer is locked at a time, so two buffers flushed into each other can't deadlock
+		OutputBuffer detached = other.detach();
+		synchronized ( this ) {
+			take( detached );
+		}
+		return this;
+	}
+
+	/**
+	 * Move the content of the buffer to a new one, leaving this one empty. Nothing is copied.
+	 *
+	 * @return A buffer with the content, which only the caller uses
+	 */
+	public synchronized OutputBuffer detach() {
+		OutputBuffer detached = new OutputBuffer();
+		detached.chunks	= this.chunks;
+		detached.texts	= this.texts;
+		detached.used	= this.used;
+		detached.count	= this.count;
+		detached.length	= this.length;
+		this.chunks		= new char[ 4 ][];
+		this.texts		= new TemplateText[ 4 ];
+		this.used		= new int[ 4 ];
+		this.count		= 0;
+		this.length		= 0;
+		return detached;
+	}
+
+	/**
+	 * Empty the buffer and release its chunks for reuse
+	 *
+	 * @return This buffer
+	 */
+	public synchronized OutputBuffer clear() {
+		for ( int i = 0; i < this.count; i++ ) {
+			if ( this.chunks[ i ] != null ) {
+				release( this.chunks[ i ] );
+			}
+		}
+		reset();
+		return this;
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Reading
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Get the number of chars in the buffer
+	 *
+	 * @return The length
+	 */
+	public synchronized int length() {
+		return this.length;
+	}
+
+	/**
+	 * Check if the buffer is empty
+	 *
+	 * @return True if there is nothing in the buffer
+	 */
+	public boolean isEmpty() {
+		return length() == 0;
+	}
+
+	/**
+	 * Write the content of the buffer out chunk by chunk, without building a string of it
+	 *
+	 * @param writer The writer to write to
+	 */
+	public synchronized void writeTo( Writer writer ) {
+		try {
+			for ( int i = 0; i < this.count; i++ ) {
+				if ( this.chunks[ i ] == null ) {
+					writer.write( this.texts[ i ].toString() );
+				} else {
+					writer.write( this.chunks[ i ], 0, this.used[ i ] );
+				}
+			}
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+	}
+
+	/**
+	 * Write the content of the buffer out encoded with a charset, without building a string of it. Template text is
+	 * written as its pre-encoded bytes when the charset is UTF-8.
+	 *
+	 * @param out     The stream to write to
+	 * @param charset The charset to encode with
+	 */
+	public synchronized void writeTo( OutputStream out, Charset charset ) {
+		boolean utf8 = StandardCharsets.UTF_8.equals( charset );
+		try {
+			Writer writer = new OutputStreamWriter( out, charset );
+			for ( int i = 0; i < this.count; i++ ) {
+				if ( this.chunks[ i ] != null ) {
+					writer.write( this.chunks[ i ], 0, this.used[ i ] );
+				} else if ( utf8 ) {
+					// Anything the writer still holds goes first
+					writer.flush();
+					out.write( this.texts[ i ].bytes() );
+				} else {
+					writer.write( this.texts[ i ].toString() );
+				}
+			}
+			writer.flush();
+		} catch ( IOException e ) {
+			throw new BoxIOException( e );
+		}
+	}
+
+	/**
+	 * Get the content of the buffer
+	 *
+	 * @return The content
+	 */
+	@Override
+	public synchronized String toString() {
+		if ( this.count == 1 ) {
+			return this.chunks[ 0 ] == null ? this.texts[ 0 ].toString() : new String( this.chunks[ 0 ], 0, this.used[ 0 ] );
+		}
+		StringBuilder sb = new StringBuilder( this.length );
+		for ( int i = 0; i < this.count; i++ ) {
+			if ( this.chunks[ i ] == null ) {
+				sb.append( this.texts[ i ].toString() );
+			} else {
+				sb.append( this.chunks[ i ], 0, this.used[ i ] );
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Copy a string into the chunks
+	 *
+	 * @param str The string
+	 */
+	private void appendString( String str ) {
+		int	offset		= 0;
+		int	remaining	= str.length();
+		while ( remaining > 0 ) {
+			int		last	= ensureRoom();
+			char[]	chunk	= this.chunks[ last ];
+			int		size	= Math.min( remaining, chunk.length - this.used[ last ] );
+			str.getChars( offset, offset + size, chunk, this.used[ last ] );
+			this.used[ last ]	+= size;
+			offset				+= size;
+			remaining			-= size;
+		}
+		this.length += str.length();
+	}
+
+	/**
+	 * Copy chars into the chunks
+	 *
+	 * @param chars  The chars
+	 * @param offset The index of the first char
+	 * @param len    The number of chars
+	 */
+	private void appendChars( char[] chars, int offset, int len ) {
+		int remaining = len;
+		while ( remaining > 0 ) {
+			int		last	= ensureRoom();
+			char[]	chunk	= this.chunks[ last ];
+			int		size	= Math.min( remaining, chunk.length - this.used[ last ] );
+			System.arraycopy( chars, offset, chunk, this.used[ last ], size );
+			this.used[ last ]	+= size;
+			offset				+= size;
+			remaining			-= size;
+		}
+		this.length += len;
+	}
+
+	/**
+	 * Reference a block of template text
+	 *
+	 * @param text The text
+	 */
+	private void addText( TemplateText text ) {
+		addEntry( null, text, text.length() );
+		this.length += text.length();
+	}
+
+	/**
+	 * Move the chunks of another buffer to this one
+	 *
+	 * @param other The buffer, which is left empty
+	 */
+	private void take( OutputBuffer other ) {
+		for ( int i = 0; i < other.count; i++ ) {
+			char[]	chunk	= other.chunks[ i ];
+			int		size	= other.used[ i ];
+			if ( chunk == null ) {
+				addText( other.texts[ i ] );
+				continue;
+			}
+			int room = lastChunkRoom();
+			if ( size <= room || size < chunk.length / 2 ) {
+				// Small enough to copy, which keeps the chunks well used
+				appendChars( chunk, 0, size );
+				release( chunk );
+			} else {
+				addEntry( chunk, null, size );
+				this.length += size;
+			}
+		}
+		other.reset();
+	}
+
+	/**
+	 * Get how much room is left in the last entry
+	 *
+	 * @return The number of chars, 0 if the last entry is template text
+	 */
+	private int lastChunkRoom() {
+		if ( this.count == 0 || this.chunks[ this.count - 1 ] == null ) {
+			return 0;
+		}
+		return this.chunks[ this.count - 1 ].length - this.used[ this.count - 1 ];
+	}
+
+	/**
+	 * Make sure the last entry is a chunk with room, adding a chunk if needed
+	 *
+	 * @return The index of the last chunk
+	 */
+	private int ensureRoom() {
+		if ( lastChunkRoom() == 0 ) {
+			char[] chunk;
+			if ( this.count > 0 && this.chunks[ this.count - 1 ] == null ) {
+				chunk = new char[ SMALL_CHUNK_SIZE ];
+			} else {
+				chunk = FREE_CHUNKS.get().poll();
+				if ( chunk == null ) {
+					chunk = new char[ CHUNK_SIZE ];
+				}
+			}
+			addEntry( chunk, null, 0 );
+		}
+		return this.count - 1;
+	}
+
+	/**
+	 * Add a chunk or a block of template text at the end
+	 *
+	 * @param chunk The chunk, or null for template text
+	 * @param text  The template text, or null for a chunk
+	 * @param size  How much of the chunk is used, or the length of the text
+	 */
+	private void addEntry( char[] chunk, TemplateText text, int size ) {
+		if ( this.count == this.chunks.length ) {
+			this.chunks	= Arrays.copyOf( this.chunks, this.count * 2 );
+			this.texts	= Arrays.copyOf( this.texts, this.count * 2 );
+			this.used	= Arrays.copyOf( this.used, this.count * 2 );
+		}
+		this.chunks[ this.count ]	= chunk;
+		this.texts[ this.count ]	= text;
+		this.used[ this.count ]		= size;
+		this.count++;
+	}
+
+	/**
+	 * Forget all the chunks, without releasing them
+	 */
+	private void reset() {
+		Arrays.fill( this.chunks, 0, this.count, null );
+		Arrays.fill( this.texts, 0, this.count, null );
+		this.count	= 0;
+		this.length	= 0;
+	}
+
+	/**
+	 * Keep a chunk for reuse by the current thread
+	 *
+	 * @param chunk The chunk
+	 */
+	private static void release( char[] chunk ) {
+		if ( chunk.length != CHUNK_SIZE ) {
+			return;
+		}
+		ArrayDeque<char[]> free = FREE_CHUNKS.get();
+		if ( free.size() < MAX_FREE_CHUNKS ) {
+			free.push( chunk );
+		}
+	}
+
+}
@@ -23,6 +23,7 @@ import java.time.ZoneId;
 import java.util.Locale;
 
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.config.Configuration;
 import ortus.boxlang.runtime.application.BaseApplicationListener;
 import ortus.boxlang.runtime.events.BoxEvent;
 import ortus.boxlang.runtime.jdbc.ConnectionManager;
@@ -104,6 +105,38 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	private PrintStream				out						= System.out;
 
+	/**
+	 * How many chars of output are buffered before they are streamed out, 0 to buffer the whole request
+	 */
+	private final int				outputFlushThreshold	= getRuntime().getConfiguration().outputFlushThreshold * 1024;
+
+	/**
+	 * The version of the request-level config overrides, incremented every time one of them changes
+	 */
+	private volatile long			configOverridesVersion	= 0;
+
+	/**
+	 * The cached config snapshot for this request
+	 */
+	private volatile ConfigSnapshot	configSnapshot;
+
+	/**
+	 * An immutable config struct for this request, along with everything it was built from
+	 *
+	 * @param parentConfig       The parent config struct it was layered on top of
+	 * @param appSettings        The application settings struct it was built with
+	 * @param appSettingsVersion The version of the application settings
+	 * @param overridesVersion   The version of the request overrides
+	 * @param config             The immutable config struct
+	 */
+	private record ConfigSnapshot(
+	    IStruct parentConfig,
+	    IStruct appSettings,
+	    long appSettingsVersion,
+	    long overridesVersion,
+	    IStruct config ) {
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -147,6 +180,24 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 		return this.out;
 	}
 
+	/**
+	 * Write output to the buffer, streaming it out once the buffer reaches the output flush threshold
+	 *
+	 * @param o     The object to write
+	 * @param force true, write even if output is disabled
+	 *
+	 * @return This context
+	 */
+	@Override
+	public IBoxContext writeToBuffer( Object o, boolean force ) {
+		super.writeToBuffer( o, force );
+		// Only the request's own buffer streams, captured output is left alone
+		if ( this.outputFlushThreshold > 0 && this.buffers.size() == 1 && getBuffer().length() >= this.outputFlushThreshold ) {
+			flushBuffer( false );
+		}
+		return this;
+	}
+
 	@Override
 	public IStruct getVisibleScopes( IStruct scopes, boolean nearby, boolean shallow ) {
 		if ( this.threadManager != null && this.threadManager.hasThreads() ) {
@@ -197,6 +248,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	public void loadApplicationDescriptor( URI template ) {
 		// This will load the Application file and create an ApplicationListener, or an empty listener with default behavior
 		this.applicationListener = this.applicationService.createApplicationListener( this, template );
+		this.configOverridesVersion++;
 	}
 
 	/**
@@ -246,6 +298,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setApplicationListener( BaseApplicationListener applicationListener ) {
 		this.applicationListener = applicationListener;
+		this.configOverridesVersion++;
 		return this;
 	}
 
@@ -265,6 +318,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setLocale( Locale locale ) {
 		this.locale = locale;
+		this.configOverridesVersion++;
 		return this;
 	}
 
@@ -286,6 +340,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setTimezone( ZoneId timezone ) {
 		this.timezone = timezone;
+		this.configOverridesVersion++;
 		return this;
 	}
 
@@ -294,12 +349,45 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 * own to the struct, or override existing config with a new struct of their own design.
 	 * It depends on whether the context wants its changes to exist for the rest of the entire
 	 * request or only for code that executes in the current context and below.
+	 * <p>
+	 * The request config is an immutable snapshot which is only rebuilt when the parent config,
+	 * the application settings or the request overrides change.
 	 *
 	 * @return A struct of configuration
 	 */
 	@Override
 	public IStruct getConfig() {
-		IStruct config = super.getConfig();
+		IStruct			parentConfig		= super.getConfig();
+		IStruct			appSettings			= this.applicationListener != null ? this.applicationListener.getSettings() : null;
+		long			appSettingsVersion	= this.applicationListener != null ? this.applicationListener.getSettingsVersion() : 0;
+		long			overridesVersion	= this.configOverridesVersion;
+		ConfigSnapshot	current				= this.configSnapshot;
+
+		if ( current != null
+		    && current.parentConfig() == parentConfig
+		    && current.appSettings() == appSettings
+		    && current.appSettingsVersion() == appSettingsVersion
+		    && current.overridesVersion() == overridesVersion ) {
+			return current.config();
+		}
+
+		IStruct config = buildConfig( parentConfig, appSettings );
+		this.configSnapshot = new ConfigSnapshot( parentConfig, appSettings, appSettingsVersion, overridesVersion, config );
+		return config;
+	}
+
+	/**
+	 * Build the request config struct by layering the application settings and request overrides on top of the parent config
+	 *
+	 * @param parentConfig The parent config struct, which is never modified
+	 * @param appSettings  The application settings, or null if there is no application listener yet
+	 *
+	 * @return An immutable struct of configuration
+	 */
+	private IStruct buildConfig( IStruct parentConfig, IStruct appSettings ) {
+		// The parent config is shared by every request, so we work on a copy of it all the way down. That way the overrides
+		// and the interceptors below can modify any segment without touching the parent config.
+		IStruct config = Configuration.thaw( parentConfig, Key.originalConfig, Key.applicationSettings );
 
 		// Apply request-specific overrides
 		// These can happen from BIF calls specifically
@@ -315,8 +403,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 		config.put( Key.enforceExplicitOutput, this.enforceExplicitOutput );
 
 		// There are code paths that hit this prior to intializing the applicationListener
-		if ( this.applicationListener != null ) {
-			IStruct appSettings = this.applicationListener.getSettings();
+		if ( appSettings != null ) {
 			// Make the request settings generically available in the config struct.
 			// This doesn't mean we won't strategically place specific settings like mappings into specific parts
 			// of the config struct, but this at least ensure everything is available for whomever wants to use it
@@ -346,9 +433,12 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 			}
 
 			// Mapping overrides
-			IStruct mappings = appSettings.getAsStruct( Key.mappings );
-			if ( !mappings.isEmpty() ) {
-				config.getAsStruct( Key.mappings ).putAll( mappings );
+			IStruct appMappings = appSettings.getAsStruct( Key.mappings );
+			if ( !appMappings.isEmpty() ) {
+				IStruct mappings = new Struct( Struct.KEY_LENGTH_LONGEST_FIRST_COMPARATOR );
+				mappings.putAll( config.getAsStruct( Key.mappings ) );
+				mappings.putAll( appMappings );
+				config.put( Key.mappings, mappings );
 			}
 
 			// OTHER OVERRIDES go here
@@ -359,13 +449,14 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 		    .getInterceptorService()
 		    .announce(
 		        BoxEvent.ON_REQUEST_CONTEXT_CONFIG,
-		        Struct.of(
+		        () -> Struct.of(
 		            "context", this,
 		            "config", config
 		        )
 		    );
 
-		return config;
+		// The application settings stay live, they are tracked by their version
+		return Configuration.freeze( config, Key.applicationSettings );
 	}
 
 	/**
@@ -397,6 +488,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setEnforceExplicitOutput( boolean enforceExplicitOutput ) {
 		this.enforceExplicitOutput = enforceExplicitOutput;
+		this.configOverridesVersion++;
 		return this;
 	}
 
@@ -418,6 +510,7 @@ public abstract class RequestBoxContext extends BaseBoxContext implements IJDBCC
 	 */
 	public RequestBoxContext setRequestTimeout( Long requestTimeout ) {
 		this.requestTimeout = requestTimeout;
+		this.configOverridesVersion++;
 		return this;
 	}
 
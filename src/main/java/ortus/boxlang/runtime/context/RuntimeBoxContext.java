@@ -232,12 +232,14 @@ public class RuntimeBoxContext extends BaseBoxContext {
 	 * own to the struct, or override existing config with a new struct of their own design.
 	 * It depends on whether the context wants its changes to exist for the rest of the entire
 	 * request or only for code that executes in the current context and below.
+	 * <p>
+	 * The runtime config is an immutable snapshot which is only rebuilt when the runtime configuration changes.
 	 *
 	 * @return A struct of configuration
 	 */
 	@Override
 	public IStruct getConfig() {
-		return this.runtimeConfig.asStruct();
+		return this.runtimeConfig.getSnapshot();
 	}
 
 }
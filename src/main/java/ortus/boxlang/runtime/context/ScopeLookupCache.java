@@ -0,0 +1,211 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.context;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monomorphic inline cache for a single unscoped variable lookup site in compiled code.
+ * <p>
+ * The transpiler allocates one of these per identifier read and passes it to
+ * {@link IBoxContext#scopeFindNearbyValue(ortus.boxlang.runtime.scopes.Key, ScopeLookupCache)}. The context records which of its
+ * scopes satisfied the last lookup and, on the next evaluation, probes that scope first. A cached slot is only trusted after
+ * checking that none of the scopes searched before it contain the key, so a variable appearing in a higher precedence scope
+ * (a change in scope shape) invalidates the entry instead of returning a stale answer.
+ * <p>
+ * Sites which keep changing slots (megamorphic), or whose variable is found outside the cacheable scopes, are flagged as
+ * generic and go straight to the regular lookup.
+ * <p>
+ * Sites are shared by every thread running the compiled class. The slot and the context type it was learned against are
+ * published together in one immutable entry, so a reader never pairs a slot with the wrong context type. Racing misses may
+ * lose an invalidation count, which only delays giving up on a megamorphic site.
+ */
+public final class ScopeLookupCache {
+
+	/**
+	 * Nothing cached yet, or the slot was learned against another type of context
+	 */
+	public static final int			UNKNOWN				= 0;
+
+	/**
+	 * The local scope of a function context
+	 */
+	public static final int			LOCAL				= 1;
+
+	/**
+	 * The arguments scope of a function context
+	 */
+	public static final int			ARGUMENTS			= 2;
+
+	/**
+	 * The variables scope of the class a method is executing in
+	 */
+	public static final int			CLASS_VARIABLES		= 3;
+
+	/**
+	 * The site no longer uses the cache, because it changed slots too often or its variable lives outside the cacheable scopes
+	 */
+	public static final int			GENERIC				= -1;
+
+	/**
+	 * How many times a site may be re-learned before it is considered megamorphic
+	 */
+	private static final int		MAX_INVALIDATIONS	= 8;
+
+	/**
+	 * The entry of a site with nothing cached
+	 */
+	private static final Entry		EMPTY				= new Entry( UNKNOWN, null, 0 );
+
+	/**
+	 * Runtime wide counters
+	 */
+	private static final LongAdder	totalHits			= new LongAdder();
+	private static final LongAdder	totalMisses			= new LongAdder();
+	private static final LongAdder	totalInvalidations	= new LongAdder();
+
+	/**
+	 * The cached entry
+	 */
+	private volatile Entry			entry				= EMPTY;
+
+	/**
+	 * What a site learned
+	 *
+	 * @param slot          The cached scope slot
+	 * @param contextClass  The context type the slot was learned against
+	 * @param invalidations How many times the site was re-learned
+	 */
+	private record Entry( int slot, Class<?> contextClass, int invalidations ) {
+	}
+
+	/**
+	 * Allocate the inline caches for a compiled class
+	 *
+	 * @param size The number of lookup sites in the class
+	 *
+	 * @return An array of empty caches
+	 */
+	public static ScopeLookupCache[] allocate( int size ) {
+		ScopeLookupCache[] caches = new ScopeLookupCache[ size ];
+		for ( int i = 0; i < size; i++ ) {
+			caches[ i ] = new ScopeLookupCache();
+		}
+		return caches;
+	}
+
+	/**
+	 * Get the cached slot for a context. Returns UNKNOWN if the slot was learned against another type of context
+	 * or GENERIC if the site gave up on caching.
+	 *
+	 * @param context The context performing the lookup
+	 *
+	 * @return The slot to probe first
+	 */
+	public int getSlot( IBoxContext context ) {
+		Entry current = this.entry;
+		if ( current.slot() > UNKNOWN && current.contextClass() != context.getClass() ) {
+			return UNKNOWN;
+		}
+		return current.slot();
+	}
+
+	/**
+	 * Record a lookup satisfied by the cached slot
+	 */
+	public void hit() {
+		totalHits.increment();
+	}
+
+	/**
+	 * Record a lookup which missed the cache and remember the slot that satisfied it
+	 *
+	 * @param context The context performing the lookup
+	 * @param newSlot The slot that satisfied the lookup, or GENERIC if it can't be cached
+	 */
+	public void miss( IBoxContext context, int newSlot ) {
+		totalMisses.increment();
+		Entry current = this.entry;
+		if ( current.slot() == GENERIC ) {
+			return;
+		}
+		int invalidations = current.invalidations();
+		if ( current.slot() != UNKNOWN ) {
+			totalInvalidations.increment();
+			if ( ++invalidations > MAX_INVALIDATIONS ) {
+				newSlot = GENERIC;
+			}
+		}
+		this.entry = new Entry( newSlot, newSlot == GENERIC ? null : context.getClass(), invalidations );
+	}
+
+	/**
+	 * Forget the cached slot, allowing a generic site to start caching again
+	 */
+	public void invalidate() {
+		this.entry = EMPTY;
+	}
+
+	/**
+	 * Get the runtime wide number of cache hits
+	 *
+	 * @return The hit count
+	 */
+	public static long getTotalHits() {
+		return totalHits.sum();
+	}
+
+	/**
+	 * Get the runtime wide number of cache misses
+	 *
+	 * @return The miss count
+	 */
+	public static long getTotalMisses() {
+		return totalMisses.sum();
+	}
+
+	/**
+	 * Get the runtime wide number of times a cached slot was replaced
+	 *
+	 * @return The invalidation count
+	 */
+	public static long getTotalInvalidations() {
+		return totalInvalidations.sum();
+	}
+
+	/**
+	 * Get the runtime wide hit rate, between 0 and 1
+	 *
+	 * @return The hit rate
+	 */
+	public static double getHitRate() {
+		long	h		= totalHits.sum();
+		long	total	= h + totalMisses.sum();
+		return total == 0 ? 0d : ( double ) h / total;
+	}
+
+	/**
+	 * Reset the runtime wide counters
+	 */
+	public static void resetStats() {
+		totalHits.reset();
+		totalMisses.reset();
+		totalInvalidations.reset();
+	}
+
+}
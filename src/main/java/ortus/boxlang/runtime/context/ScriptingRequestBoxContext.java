@@ -17,6 +17,7 @@
  */
 package ortus.boxlang.runtime.context;
 
+import java.io.PrintStream;
 import java.net.URI;
 import java.util.UUID;
 
@@ -26,6 +27,7 @@ import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.RequestScope;
 import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.services.InterceptorService;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.UDF;
@@ -199,6 +201,35 @@ public class ScriptingRequestBoxContext extends RequestBoxContext {
 		return scopeFind( key, defaultScope );
 	}
 
+	/**
+	 * Value-only version of {@link #scopeFindNearby(Key, IScope, boolean)} which doesn't allocate a search result
+	 *
+	 * @param key     The key to search for
+	 * @param shallow true, do not delegate to parent if not found
+	 *
+	 * @return The value of the key if found, NOT_FOUND if a shallow search found nothing
+	 *
+	 */
+	@Override
+	public Object scopeFindNearbyValue( Key key, boolean shallow ) {
+		Object result = queryFindNearbyValue( key );
+		if ( result != NOT_FOUND ) {
+			return result;
+		}
+
+		result = variablesScope.getRaw( key );
+		// Null means not found
+		if ( result != null ) {
+			return Struct.unWrapNull( result );
+		}
+
+		if ( shallow ) {
+			return NOT_FOUND;
+		}
+
+		return scopeFind( key, null ).value();
+	}
+
 	/**
 	 * Try to get the requested key from the unscoped scope
 	 * Meaning it needs to search scopes in order according to it's context.
@@ -287,45 +318,50 @@ public class ScriptingRequestBoxContext extends RequestBoxContext {
 		if ( !canOutput() && !force ) {
 			return this;
 		}
-		String output;
 		// If there are extra buffers registered, we ignore flush requests since someone
 		// out there is wanting to capture our buffer instead.
 		if ( hasParent() && buffers.size() == 1 ) {
-			StringBuffer buffer = getBuffer();
+			// Take the content and clear the buffers in one go, then write it out without holding the lock
+			OutputBuffer	buffer	= getBuffer();
+			OutputBuffer	flushed;
 			synchronized ( buffer ) {
-				output = buffer.toString();
+				flushed = buffer.detach();
 				clearBuffer();
 			}
+			writeOut( flushed );
+			flushed.clear();
+		} else if ( force ) {
+			for ( OutputBuffer buf : buffers ) {
+				OutputBuffer flushed = buf.detach();
+				writeOut( flushed );
+				flushed.clear();
+			}
+		}
+		return this;
+	}
 
-			// Announce it
+	/**
+	 * Write a buffer to the console. If a scripting context is our top-level context, we flush to the console.
+	 *
+	 * @param buffer The buffer to write
+	 */
+	private void writeOut( OutputBuffer buffer ) {
+		InterceptorService interceptorService = BoxRuntime.getInstance().getInterceptorService();
+
+		// Announce it, interceptors can change the output so they need it as a string
+		if ( interceptorService.hasListeners( BoxEvent.ON_REQUEST_FLUSH_BUFFER ) ) {
 			IStruct eventData = Struct.of(
 			    Key.context, this,
-			    Key.output, output
+			    Key.output, buffer.toString()
 			);
-			BoxRuntime.getInstance().getInterceptorService()
-			    .announce( BoxEvent.ON_REQUEST_FLUSH_BUFFER, eventData );
-
-			// If a scripting context is our top-level context, we flush to the console.
+			interceptorService.announce( BoxEvent.ON_REQUEST_FLUSH_BUFFER, eventData );
 			getOut().print( eventData.getAsString( Key.output ) );
-		} else if ( force ) {
-			for ( StringBuffer buf : buffers ) {
-				synchronized ( buf ) {
-					output = buf.toString();
-					buf.setLength( 0 );
-				}
-
-				// Announce it
-				IStruct eventData = Struct.of(
-				    Key.context, this,
-				    Key.output, output
-				);
-				BoxRuntime.getInstance().getInterceptorService()
-				    .announce( BoxEvent.ON_REQUEST_FLUSH_BUFFER, eventData );
-
-				getOut().print( eventData.getAsString( Key.output ) );
-			}
+			return;
 		}
-		return this;
+
+		// Nobody is listening, so stream the chunks without building a string
+		PrintStream out = getOut();
+		buffer.writeTo( out, out.charset() );
 	}
 
 }
@@ -0,0 +1,84 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.context;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A block of static text from a template, like the markup between two tags. Compiled templates hold one constant per
+ * block, encoded to UTF-8 once when the template class loads. An {@link OutputBuffer} keeps a reference to the block
+ * instead of copying it, and writes the encoded bytes as they are when its output is UTF-8.
+ */
+public final class TemplateText implements CharSequence {
+
+	/**
+	 * Text shorter than this is cheaper to copy than to share, in chars. The compiler only creates template text for
+	 * longer blocks.
+	 */
+	public static final int	MIN_LENGTH	= 256;
+
+	/**
+	 * The text
+	 */
+	private final String	text;
+
+	/**
+	 * The text, encoded to UTF-8
+	 */
+	private final byte[]	bytes;
+
+	/**
+	 * Constructor
+	 *
+	 * @param text The text
+	 */
+	public TemplateText( String text ) {
+		this.text	= text;
+		this.bytes	= text.getBytes( StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * Get the text encoded to UTF-8. The array is shared, so it must not be modified.
+	 *
+	 * @return The bytes
+	 */
+	byte[] bytes() {
+		return this.bytes;
+	}
+
+	@Override
+	public int length() {
+		return this.text.length();
+	}
+
+	@Override
+	public char charAt( int index ) {
+		return this.text.charAt( index );
+	}
+
+	@Override
+	public CharSequence subSequence( int start, int end ) {
+		return this.text.subSequence( start, end );
+	}
+
+	@Override
+	public String toString() {
+		return this.text;
+	}
+
+}
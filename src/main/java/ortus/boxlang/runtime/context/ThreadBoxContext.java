@@ -108,6 +108,10 @@ public class ThreadBoxContext extends BaseBoxContext implements IJDBCCapableCont
 		} else if ( parent instanceof ClassBoxContext context ) {
 			thisScope = context.getThisClass().getThisScope();
 		}
+
+		// This context is created by the spawning thread but used by the new thread, so the scopes must be thread-safe
+		( ( Struct ) localScope ).escape();
+		FunctionBoxContext.escapeNearestScopes( parent );
 	}
 
 	/**
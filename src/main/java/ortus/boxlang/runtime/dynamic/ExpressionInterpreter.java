@@ -96,7 +96,7 @@ public class ExpressionInterpreter {
 			}
 		} else {
 			// Unscoped variable like foo.bar. This finds the first part of the expression
-			ref = context.scopeFindNearby( refName, ( safe ? context.getDefaultAssignmentScope() : null ) ).value();
+			ref = safe ? context.scopeFindNearby( refName, context.getDefaultAssignmentScope() ).value() : context.scopeFindNearbyValue( refName );
 			if ( ref == null && !safe ) {
 				throw new KeyNotFoundException( "Variable [" + refName + "] not found." );
 			}
@@ -19,10 +19,12 @@ package ortus.boxlang.runtime.dynamic;
 
 import java.util.Map;
 
+import ortus.boxlang.runtime.bifs.MemberLookupCache;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.IBoxContext.ScopeSearchResult;
 import ortus.boxlang.runtime.interop.DynamicInteropService;
 import ortus.boxlang.runtime.interop.DynamicObject;
+import ortus.boxlang.runtime.interop.InteropCallSite;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.Query;
@@ -134,6 +136,63 @@ public class Referencer {
 		return DynamicInteropService.dereferenceAndInvoke( object, context, key, namedArguments, safe );
 	}
 
+	/**
+	 * Used to implement any time an object is dereferenced and invoked from compiled code, which passes the inline cache
+	 * of the call site for member method lookups and its linked call site for Java methods
+	 *
+	 * @param object              The object to dereference
+	 * @param key                 The key to dereference
+	 * @param positionalArguments The arguments to pass to the method
+	 * @param safe                Whether to throw an exception if the key is not found
+	 * @param memberCache         The inline cache of the call site
+	 * @param interopSite         The linked call site for Java methods
+	 *
+	 * @return The value that was assigned
+	 */
+	public static Object getAndInvoke( IBoxContext context, Object object, Key key, Object[] positionalArguments, Boolean safe,
+	    MemberLookupCache memberCache, InteropCallSite interopSite ) {
+		if ( object == null ) {
+			if ( safe ) {
+				return null;
+			} else {
+				throw new BoxRuntimeException( "Cannot invoke method [" + key.getName() + "()] on a null object" );
+			}
+		}
+		if ( object instanceof DynamicObject dob ) {
+			return dob.dereferenceAndInvoke( context, key, positionalArguments, safe, interopSite );
+		}
+		return DynamicInteropService.dereferenceAndInvoke( object.getClass(), object, context, key, positionalArguments, safe, memberCache,
+		    interopSite );
+	}
+
+	/**
+	 * Used to implement any time an object is dereferenced and invoked from compiled code, which passes the inline cache
+	 * of the call site for member method lookups
+	 *
+	 * @param object         The object to dereference
+	 * @param key            The key to dereference
+	 * @param namedArguments The arguments to pass to the method
+	 * @param safe           Whether to throw an exception if the key is not found
+	 * @param memberCache    The inline cache of the call site
+	 * @param interopSite    The linked call site for Java methods, unused since Java methods don't take named arguments
+	 *
+	 * @return The value that was assigned
+	 */
+	public static Object getAndInvoke( IBoxContext context, Object object, Key key, Map<Key, Object> namedArguments, Boolean safe,
+	    MemberLookupCache memberCache, InteropCallSite interopSite ) {
+		if ( object == null ) {
+			if ( safe ) {
+				return null;
+			} else {
+				throw new BoxRuntimeException( "Cannot invoke method [" + key.getName() + "()] on a null object" );
+			}
+		}
+		if ( object instanceof DynamicObject dob ) {
+			return dob.dereferenceAndInvoke( context, key, namedArguments, safe );
+		}
+		return DynamicInteropService.dereferenceAndInvoke( object.getClass(), object, context, key, namedArguments, safe, memberCache );
+	}
+
 	/**
 	 * Used to implement any time an object is assigned to,
 	 *
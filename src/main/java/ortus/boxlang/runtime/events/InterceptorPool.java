@@ -23,6 +23,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -77,6 +78,12 @@ public class InterceptorPool {
 	 */
 	protected ConcurrentHashMap<String, Key>	keyRegistry			= new ConcurrentHashMap<>();
 
+	/**
+	 * Which {@link BoxEvent}s have observers, by ordinal. It is replaced, never mutated, whenever observers
+	 * are registered or unregistered, so checking for listeners is a single volatile read.
+	 */
+	private volatile boolean[]					listening			= new boolean[ BoxEvent.values().length ];
+
 	/**
 	 * The name of the pool
 	 */
@@ -163,6 +170,7 @@ public class InterceptorPool {
 	 */
 	public void clearInterceptionStates() {
 		this.interceptionStates.clear();
+		refreshListeners();
 	}
 
 	/**
@@ -208,6 +216,7 @@ public class InterceptorPool {
 	public synchronized InterceptorPool removeInterceptionPoint( Key... points ) {
 		this.interceptionPoints.removeAll( Arrays.asList( points ) );
 		this.interceptionStates.keySet().removeAll( Arrays.asList( points ) );
+		refreshListeners();
 		return this;
 	}
 
@@ -277,9 +286,46 @@ public class InterceptorPool {
 	 */
 	public synchronized InterceptorPool removeState( Key name ) {
 		this.interceptionStates.remove( name );
+		refreshListeners();
 		return this;
 	}
 
+	/**
+	 * Check if anything is listening to a {@link BoxEvent}. This is a single volatile read, so callers can
+	 * skip building the event data altogether when nobody is listening.
+	 *
+	 * @param event The event to check
+	 *
+	 * @return True if the event has at least one observer, false otherwise
+	 */
+	public boolean hasListeners( BoxEvent event ) {
+		return this.listening[ event.ordinal() ];
+	}
+
+	/**
+	 * Check if anything is listening to a state
+	 *
+	 * @param name The name of the state
+	 *
+	 * @return True if the state has at least one observer, false otherwise
+	 */
+	public boolean hasListeners( Key name ) {
+		InterceptorState state = this.interceptionStates.get( name );
+		return state != null && state.size() > 0;
+	}
+
+	/**
+	 * Rebuild the {@link BoxEvent} listening flags after the observers changed
+	 */
+	private synchronized void refreshListeners() {
+		BoxEvent[]	events		= BoxEvent.values();
+		boolean[]	refreshed	= new boolean[ events.length ];
+		for ( BoxEvent event : events ) {
+			refreshed[ event.ordinal() ] = hasListeners( event.key() );
+		}
+		this.listening = refreshed;
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Interceptor Registration Methods
@@ -454,6 +500,24 @@ public class InterceptorPool {
 	public InterceptorPool register( DynamicObject interceptor, Key... states ) {
 		Arrays.stream( states )
 		    .forEach( state -> registerState( state ).register( interceptor ) );
+		refreshListeners();
+		return this;
+	}
+
+	/**
+	 * Register an interceptor with the pool with a priority. Interceptors with a lower
+	 * priority run first, see {@link InterceptorState#register(DynamicObject, int)}.
+	 *
+	 * @param interceptor The interceptor to register
+	 * @param priority    The priority of the interceptor
+	 * @param states      The states to register the interceptor with
+	 *
+	 * @return The same pool
+	 */
+	public InterceptorPool register( DynamicObject interceptor, int priority, Key... states ) {
+		Arrays.stream( states )
+		    .forEach( state -> registerState( state ).register( interceptor, priority ) );
+		refreshListeners();
 		return this;
 	}
 
@@ -469,6 +533,7 @@ public class InterceptorPool {
 	public InterceptorPool register( IInterceptorLambda interceptor, Key... states ) {
 		Arrays.stream( states )
 		    .forEach( state -> registerState( state ).register( DynamicObject.of( interceptor ) ) );
+		refreshListeners();
 		return this;
 	}
 
@@ -487,6 +552,7 @@ public class InterceptorPool {
 				    getState( state ).unregister( interceptor );
 			    }
 		    } );
+		refreshListeners();
 		return this;
 	}
 
@@ -501,6 +567,7 @@ public class InterceptorPool {
 		interceptionStates.values()
 		    .stream()
 		    .forEach( state -> state.unregister( interceptor ) );
+		refreshListeners();
 		return this;
 	}
 
@@ -516,7 +583,9 @@ public class InterceptorPool {
 	 * @param state The state key to announce
 	 */
 	public void announce( Key state ) {
-		announce( state, new Struct() );
+		if ( hasListeners( state ) ) {
+			announce( state, new Struct() );
+		}
 	}
 
 	/**
@@ -525,7 +594,9 @@ public class InterceptorPool {
 	 * @param state The state key to announce
 	 */
 	public void announce( BoxEvent state ) {
-		announce( state.key(), new Struct() );
+		if ( hasListeners( state ) ) {
+			announce( state.key(), new Struct() );
+		}
 	}
 
 	/**
@@ -535,7 +606,34 @@ public class InterceptorPool {
 	 * @param data  The data to announce
 	 */
 	public void announce( BoxEvent state, IStruct data ) {
-		announce( state.key(), data );
+		if ( hasListeners( state ) ) {
+			announce( state.key(), data );
+		}
+	}
+
+	/**
+	 * Announce a BoxEvent whose data is only built if something is listening. Use this on hot paths so
+	 * announcing to no observers allocates nothing.
+	 *
+	 * @param state The state to announce
+	 * @param data  Builds the data to announce
+	 */
+	public void announce( BoxEvent state, Supplier<IStruct> data ) {
+		if ( hasListeners( state ) ) {
+			announce( state.key(), data.get() );
+		}
+	}
+
+	/**
+	 * Announce an event whose data is only built if something is listening.
+	 *
+	 * @param state The state key to announce
+	 * @param data  Builds the data to announce
+	 */
+	public void announce( Key state, Supplier<IStruct> data ) {
+		if ( hasListeners( state ) ) {
+			announce( state, data.get() );
+		}
 	}
 
 	/**
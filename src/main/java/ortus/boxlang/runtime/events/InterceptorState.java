@@ -17,8 +17,12 @@
  */
 package ortus.boxlang.runtime.events;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.IReferenceable;
@@ -26,6 +30,7 @@ import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 /**
  * An interceptor state is an event state that is used to hold observers that want to listent
@@ -33,18 +38,33 @@ import ortus.boxlang.runtime.types.IStruct;
  * listen to "preProcess" events.
  *
  * The {@see InterceptorService} is in charge of managing all states and event registrations in BoxLang.
+ * <p>
+ * Observers are kept in an immutable array which registrations replace under a lock, so announcements
+ * read a consistent snapshot without locking, even while other threads register or unregister observers.
+ * Observers run by ascending priority, and in registration order within the same priority. How each observer
+ * is invoked is worked out once, when it is registered.
  */
 public class InterceptorState {
 
+	/**
+	 * The priority observers get when none is given
+	 */
+	public static final int			DEFAULT_PRIORITY	= 0;
+
+	/**
+	 * The empty snapshot
+	 */
+	private static final Observer[]	NO_OBSERVERS		= new Observer[ 0 ];
+
 	/**
 	 * The state name (e.g. "preProcess", "postProcess", "onRuntimeStartup" etc.)
 	 */
-	private Key					name;
+	private Key						name;
 
 	/**
-	 * The observers for this state
+	 * The observers for this state, in the order they run. Never mutated, only replaced.
 	 */
-	private List<DynamicObject>	observers	= new ArrayList<>();
+	private volatile Observer[]		observers			= NO_OBSERVERS;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -86,14 +106,36 @@ public class InterceptorState {
 	}
 
 	/**
-	 * Register an observer for this state
+	 * Register an observer for this state with the default priority
 	 *
 	 * @param observer The observer
 	 *
 	 * @return The same state
 	 */
 	public InterceptorState register( DynamicObject observer ) {
-		this.observers.add( observer );
+		return register( observer, DEFAULT_PRIORITY );
+	}
+
+	/**
+	 * Register an observer for this state. Observers with a lower priority run first.
+	 *
+	 * @param observer The observer
+	 * @param priority The priority of the observer
+	 *
+	 * @return The same state
+	 */
+	public synchronized InterceptorState register( DynamicObject observer, int priority ) {
+		Observer[]	current	= this.observers;
+		// Insert after every observer with the same or a lower priority
+		int			index	= current.length;
+		while ( index > 0 && current[ index - 1 ].priority() > priority ) {
+			index--;
+		}
+		Observer[] updated = new Observer[ current.length + 1 ];
+		System.arraycopy( current, 0, updated, 0, index );
+		updated[ index ] = new Observer( observer, priority, invokerFor( observer ) );
+		System.arraycopy( current, index, updated, index + 1, current.length - index );
+		this.observers = updated;
 		return this;
 	}
 
@@ -104,8 +146,17 @@ public class InterceptorState {
 	 *
 	 * @return The same state
 	 */
-	public InterceptorState unregister( DynamicObject observer ) {
-		this.observers.remove( observer );
+	public synchronized InterceptorState unregister( DynamicObject observer ) {
+		Observer[] current = this.observers;
+		for ( int i = 0; i < current.length; i++ ) {
+			if ( observer.equals( current[ i ].target() ) ) {
+				Observer[] updated = new Observer[ current.length - 1 ];
+				System.arraycopy( current, 0, updated, 0, i );
+				System.arraycopy( current, i + 1, updated, i, current.length - i - 1 );
+				this.observers = updated.length == 0 ? NO_OBSERVERS : updated;
+				break;
+			}
+		}
 		return this;
 	}
 
@@ -117,7 +168,7 @@ public class InterceptorState {
 	 * @return True if the observer is registered, false otherwise
 	 */
 	public Boolean exists( DynamicObject observer ) {
-		return this.observers.contains( observer );
+		return Arrays.stream( this.observers ).anyMatch( registered -> observer.equals( registered.target() ) );
 	}
 
 	/**
@@ -126,7 +177,7 @@ public class InterceptorState {
 	 * @return The number of observers registered for this state
 	 */
 	public int size() {
-		return this.observers.size();
+		return this.observers.length;
 	}
 
 	/**
@@ -136,35 +187,17 @@ public class InterceptorState {
 	 * @param context The box context to execute on
 	 */
 	public void announce( IStruct data, IBoxContext context ) {
+		// Read the snapshot once, registrations while we announce apply to the next announcement
+		Observer[] snapshot = this.observers;
 
 		// Quick short ciruit
-		if ( this.observers.isEmpty() ) {
+		if ( snapshot.length == 0 ) {
 			return;
 		}
 
 		// Process the state
-		Object[] args = new Object[] { data };
-		for ( DynamicObject observer : this.observers ) {
-			Object	stopChain;
-			// Get the actual instance from the dynamic object
-			Object	unwrappedObject	= observer.unWrap();
-
-			// Do we have a BoxLang class or Java Class
-			if ( unwrappedObject instanceof IReferenceable castedObserver ) {
-				// Dereference and Invoke the BoxLang class
-				stopChain = castedObserver.dereferenceAndInvoke(
-				    context,
-				    getName(),
-				    args,
-				    false
-				);
-			} else if ( unwrappedObject instanceof IInterceptorLambda castedLambda ) {
-				// Invoke the Java lambda
-				stopChain = castedLambda.intercept( data );
-			} else {
-				// Announce to the Java observer via Indy
-				stopChain = observer.invoke( context, getName().getName(), args );
-			}
+		for ( Observer observer : snapshot ) {
+			Object stopChain = observer.invoker().invoke( this, data, context );
 
 			// If the observer returns true, we short circuit the rest of the observers
 			if ( stopChain != null && BooleanCaster.cast( stopChain ) ) {
@@ -173,4 +206,95 @@ public class InterceptorState {
 		}
 	}
 
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Helpers
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * A registered observer
+	 *
+	 * @param target   The observer as registered
+	 * @param priority Its priority
+	 * @param invoker  How to call it
+	 */
+	private record Observer( DynamicObject target, int priority, Invoker invoker ) {
+	}
+
+	/**
+	 * Calls an observer with the announced data
+	 */
+	@FunctionalInterface
+	private interface Invoker {
+
+		Object invoke( InterceptorState state, IStruct data, IBoxContext context );
+	}
+
+	/**
+	 * Work out how to call an observer: BoxLang classes are dereferenced directly, lambdas are called directly and
+	 * Java observers get a method handle bound to their interception method. Anything else goes through the
+	 * {@link DynamicObject} as before.
+	 *
+	 * @param observer The observer
+	 *
+	 * @return The invoker
+	 */
+	private Invoker invokerFor( DynamicObject observer ) {
+		Object target = observer.unWrap();
+
+		// Do we have a BoxLang class or Java Class
+		if ( target instanceof IReferenceable castedObserver ) {
+			return ( state, data, context ) -> castedObserver.dereferenceAndInvoke( context, state.getName(), new Object[] { data }, false );
+		}
+		if ( target instanceof IInterceptorLambda castedLambda ) {
+			return ( state, data, context ) -> castedLambda.intercept( data );
+		}
+
+		MethodHandle handle = findInterceptionMethod( target );
+		if ( handle != null ) {
+			return ( state, data, context ) -> {
+				try {
+					return handle.invokeExact( data );
+				} catch ( RuntimeException e ) {
+					throw e;
+				} catch ( Throwable e ) {
+					throw new BoxRuntimeException( "Error announcing [" + state.getName().getName() + "] to " + target.getClass().getName(), e );
+				}
+			};
+		}
+
+		// Announce to the Java observer via Indy
+		return ( state, data, context ) -> observer.invoke( context, state.getName().getName(), new Object[] { data } );
+	}
+
+	/**
+	 * Find the public method of a Java observer named after this state which takes the data struct
+	 *
+	 * @param target The observer
+	 *
+	 * @return A handle bound to the observer, typed {@code (IStruct)Object}, or null if there is none
+	 */
+	private MethodHandle findInterceptionMethod( Object target ) {
+		if ( target == null || !Modifier.isPublic( target.getClass().getModifiers() ) ) {
+			return null;
+		}
+		for ( Method method : target.getClass().getMethods() ) {
+			if ( method.getParameterCount() == 1
+			    && !Modifier.isStatic( method.getModifiers() )
+			    && method.getParameterTypes()[ 0 ].isAssignableFrom( IStruct.class )
+			    && this.name.equals( Key.of( method.getName() ) ) ) {
+				try {
+					return MethodHandles.publicLookup()
+					    .unreflect( method )
+					    .bindTo( target )
+					    .asType( MethodType.methodType( Object.class, IStruct.class ) );
+				} catch ( IllegalAccessException e ) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
 }
@@ -0,0 +1,54 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.interop;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+
+/**
+ * This immutable record represents an executable constructor handle and it's metadata.
+ * This record is the one that is cached in the {@link MethodHandleCache}.
+ *
+ * @param constructor       The constructor representation
+ * @param constructorHandle The method handle of the constructor
+ * @param spreadHandle      The constructor handle adapted to take its arguments as an {@code Object[]} and return an
+ *                          {@code Object}, with the argument conversions built in. Null for varargs constructors, which
+ *                          need {@code invokeWithArguments} to collect their trailing arguments.
+ */
+public record ConstructorRecord(
+    Constructor<?> constructor,
+    MethodHandle constructorHandle,
+    MethodHandle spreadHandle ) {
+
+	/**
+	 * Invoke the constructor
+	 *
+	 * @param arguments The arguments to pass to the constructor
+	 *
+	 * @return The new instance
+	 *
+	 * @throws Throwable Whatever the constructor throws
+	 */
+	public Object invoke( Object[] arguments ) throws Throwable {
+		if ( spreadHandle != null ) {
+			return spreadHandle.invokeExact( arguments );
+		}
+		return constructorHandle.invokeWithArguments( arguments );
+	}
+
+}
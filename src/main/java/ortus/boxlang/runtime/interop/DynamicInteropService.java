@@ -19,8 +19,6 @@ package ortus.boxlang.runtime.interop;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.lang.invoke.CallSite;
-import java.lang.invoke.ConstantCallSite;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
@@ -35,7 +33,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ClassUtils;
@@ -44,6 +41,7 @@ import org.slf4j.LoggerFactory;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.bifs.MemberDescriptor;
+import ortus.boxlang.runtime.bifs.MemberLookupCache;
 import ortus.boxlang.runtime.context.ClassBoxContext;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.IReferenceable;
@@ -60,6 +58,7 @@ import ortus.boxlang.runtime.runnables.BoxInterface;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.IntKey;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.services.FunctionService;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.Function;
 import ortus.boxlang.runtime.types.IStruct;
@@ -146,11 +145,6 @@ public class DynamicInteropService {
 	 */
 	private static final MethodHandles.Lookup						METHOD_LOOKUP;
 
-	/**
-	 * This caches the method handles for the class so we don't have to look them up every time
-	 */
-	private static final ConcurrentHashMap<String, MethodRecord>	methodHandleCache	= new ConcurrentHashMap<>( 32 );
-
 	/**
 	 * Name of key to get length of native arrays
 	 */
@@ -276,27 +270,11 @@ public class DynamicInteropService {
 		// Unwrap any ClassInvoker instances
 		unWrapArguments( args );
 
-		// Discover the constructor method handle using the target class and the argument type matching
-		MethodHandle constructorHandle;
-		try {
-			constructorHandle = METHOD_LOOKUP.unreflectConstructor(
-			    findMatchingConstructor( context, targetClass, argumentsToClasses( args ), args )
-			);
-		} catch ( IllegalAccessException e ) {
-			throw new BoxRuntimeException(
-			    "Error getting constructor for class " + targetClass.getName() + " with arguments classes " + Arrays.toString( argumentsToClasses( args ) ),
-			    e
-			);
-		}
-
-		// Create a callsite using the constructor handle
-		CallSite		callSite			= new ConstantCallSite( constructorHandle );
-		// Bind the CallSite and invoke the constructor with the provided arguments
-		// Invoke Dynamic tries to do argument coercion, so we need to convert the arguments to the right types
-		MethodHandle	constructorInvoker	= callSite.dynamicInvoker();
+		// Get the constructor handle from our cache and discovery techniques
+		ConstructorRecord constructorRecord = getConstructorHandle( context, targetClass, args );
 		try {
 			@SuppressWarnings( "unchecked" )
-			T thisInstance = ( T ) constructorInvoker.invokeWithArguments( args );
+			T thisInstance = ( T ) constructorRecord.invoke( args );
 
 			// If this is a Box Class, some additional initialization is needed
 			if ( thisInstance instanceof IClassRunnable boxClass ) {
@@ -309,7 +287,7 @@ public class DynamicInteropService {
 			    .getInterceptorService()
 			    .announce(
 			        BoxEvent.AFTER_DYNAMIC_OBJECT_CREATION,
-			        Struct.of(
+			        () -> Struct.of(
 			            Key.object, thisInstance,
 			            Key.clazz, targetClass
 			        )
@@ -341,23 +319,11 @@ public class DynamicInteropService {
 		if ( !IClassRunnable.class.isAssignableFrom( targetClass ) ) {
 			throw new BoxRuntimeException( "Cannot use named arguments on a Java constructor." );
 		}
-		// Method signature for a constructor is void (Object...)
-		MethodType		constructorType	= MethodType.methodType( void.class, argumentsToClasses( EMPTY_ARGS ) );
-		// Define the bootstrap method
-		MethodHandle	constructorHandle;
-		try {
-			constructorHandle = METHOD_LOOKUP.findConstructor( targetClass, constructorType );
-		} catch ( NoSuchMethodException | IllegalAccessException e ) {
-			throw new BoxRuntimeException( "Error getting constructor for class " + targetClass.getName(), e );
-		}
-		// Create a callsite using the constructor handle
-		CallSite		callSite			= new ConstantCallSite( constructorHandle );
-		// Bind the CallSite and invoke the constructor with the provided arguments
-		// Invoke Dynamic tries to do argument coercion, so we need to convert the arguments to the right types
-		MethodHandle	constructorInvoker	= callSite.dynamicInvoker();
+		// Box classes are always created with their no-arg constructor, the arguments go to init()
+		ConstructorRecord constructorRecord = getConstructorHandle( context, targetClass, EMPTY_ARGS );
 		try {
 			@SuppressWarnings( "unchecked" )
-			T thisInstance = ( T ) constructorInvoker.invokeWithArguments( EMPTY_ARGS );
+			T thisInstance = ( T ) constructorRecord.invoke( EMPTY_ARGS );
 
 			// If this is a Box Class, some additional initialization is needed
 			if ( thisInstance instanceof IClassRunnable boxClass ) {
@@ -1055,21 +1021,17 @@ public class DynamicInteropService {
 	    Class<?>[] argumentsAsClasses,
 	    Object... arguments ) {
 
-		// We use the method signature as the cache key
-		String			cacheKey		= targetClass.hashCode() + methodName + Arrays.hashCode( argumentsAsClasses );
-		MethodRecord	methodRecord	= methodHandleCache.get( cacheKey );
-
-		// Double lock to avoid race-conditions
-		if ( methodRecord == null || !handlesCacheEnabled ) {
-			synchronized ( cacheKey.intern() ) {
-				if ( methodRecord == null || !handlesCacheEnabled ) {
-					methodRecord = discoverMethodHandle( context, targetClass, targetInstance, methodName, argumentsAsClasses, arguments );
-					methodHandleCache.put( cacheKey, methodRecord );
-				}
-			}
+		if ( !handlesCacheEnabled ) {
+			return discoverMethodHandle( context, targetClass, targetInstance, methodName, argumentsAsClasses, arguments );
 		}
 
-		return methodRecord;
+		// The cache lives on the class, keyed by the method name and the argument classes
+		return MethodHandleCache.get(
+		    targetClass,
+		    methodName,
+		    argumentsAsClasses,
+		    () -> discoverMethodHandle( context, targetClass, targetInstance, methodName, argumentsAsClasses, arguments )
+		);
 	}
 
 	/**
@@ -1152,6 +1114,67 @@ public class DynamicInteropService {
 		}
 	}
 
+	/**
+	 * Gets the constructor handle for the given arguments, from the cache if possible
+	 * or discovers it if not found or throws an exception if no constructor matches
+	 *
+	 * @param context     The context to use for the constructor discovery
+	 * @param targetClass The class to get the constructor handle for
+	 * @param arguments   The arguments to pass to the constructor
+	 *
+	 * @return The constructor record representing the constructor signature
+	 */
+	public static ConstructorRecord getConstructorHandle( IBoxContext context, Class<?> targetClass, Object[] arguments ) {
+		Class<?>[] argumentsAsClasses = argumentsToClasses( arguments );
+
+		if ( !handlesCacheEnabled ) {
+			return discoverConstructorHandle( context, targetClass, argumentsAsClasses, arguments );
+		}
+
+		// The cache lives on the class, keyed by the argument classes
+		return MethodHandleCache.getConstructor(
+		    targetClass,
+		    argumentsAsClasses,
+		    () -> discoverConstructorHandle( context, targetClass, argumentsAsClasses, arguments )
+		);
+	}
+
+	/**
+	 * Discovers the constructor to invoke for the given arguments and prepares its handle, adapted once so invoking it
+	 * needs no further lookups or conversions setup
+	 *
+	 * @param context            The context to use for the constructor discovery
+	 * @param targetClass        The class to discover the constructor for
+	 * @param argumentsAsClasses The array of arguments as classes to map
+	 * @param arguments          The arguments to pass to the constructor
+	 *
+	 * @throws NoConstructorException If no constructor matches the arguments
+	 *
+	 * @return The constructor record representing the constructor signature
+	 */
+	public static ConstructorRecord discoverConstructorHandle( IBoxContext context, Class<?> targetClass, Class<?>[] argumentsAsClasses, Object[] arguments ) {
+		Constructor<?>	constructor	= findMatchingConstructor( context, targetClass, argumentsAsClasses, arguments );
+		MethodHandle	constructorHandle;
+		try {
+			constructorHandle = METHOD_LOOKUP.unreflectConstructor( constructor );
+		} catch ( IllegalAccessException e ) {
+			throw new BoxRuntimeException(
+			    "Error getting constructor for class " + targetClass.getName() + " with arguments classes " + Arrays.toString( argumentsAsClasses ),
+			    e
+			);
+		}
+
+		// Spread the arguments and convert them to the parameter types, the same conversions invokeWithArguments would do
+		MethodHandle spreadHandle = null;
+		if ( !constructor.isVarArgs() ) {
+			spreadHandle = constructorHandle
+			    .asSpreader( Object[].class, constructor.getParameterCount() )
+			    .asType( MethodType.methodType( Object.class, Object[].class ) );
+		}
+
+		return new ConstructorRecord( constructor, constructorHandle, spreadHandle );
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor Introspection Methods
@@ -1481,10 +1504,11 @@ public class DynamicInteropService {
 	 */
 	public static Class<?>[] argumentsToClasses( Object... args ) {
 		// Convert the arguments to an array of classes
-		return Arrays.stream( args )
-		    .map( DynamicObject::argumentToClass )
-		    // .peek( clazz -> System.out.println( "argumentToClass -> " + clazz ) )
-		    .toArray( Class<?>[]::new );
+		Class<?>[] classes = new Class<?>[ args.length ];
+		for ( int i = 0; i < args.length; i++ ) {
+			classes[ i ] = argumentToClass( args[ i ] );
+		}
+		return classes;
 	}
 
 	/**
@@ -1507,15 +1531,14 @@ public class DynamicInteropService {
 	}
 
 	/**
-	 * Unwrap any ClassInvoker instances in the arguments
+	 * Unwrap any ClassInvoker instances in the arguments. Compact scopes are escaped as well, since Java code can keep them
+	 * and hand them to other threads.
 	 *
 	 * @param arguments The arguments to unwrap
-	 *
-	 * @return The unwrapped arguments
 	 */
 	private static void unWrapArguments( Object[] arguments ) {
 		for ( int j = 0; j < arguments.length; j++ ) {
-			arguments[ j ] = unWrap( arguments[ j ] );
+			arguments[ j ] = Struct.escapeValue( unWrap( arguments[ j ] ) );
 		}
 	}
 
@@ -1729,13 +1752,32 @@ public class DynamicInteropService {
 	 */
 	public static Object dereferenceAndInvoke( Class<?> targetClass, Object targetInstance, IBoxContext context, Key name, Object[] positionalArguments,
 	    Boolean safe ) {
+		return dereferenceAndInvoke( targetClass, targetInstance, context, name, positionalArguments, safe, null, null );
+	}
+
+	/**
+	 * Dereference this object by a key and invoke the result as an invokable (UDF, java method)
+	 *
+	 * @param targetClass         The class to dereference and look for the invocable on
+	 * @param targetInstance      The instance to dereference and look for the invocable on
+	 * @param context             The IBoxContext in which the function will be executed
+	 * @param name                The name of the key to dereference, which becomes the method name
+	 * @param positionalArguments The arguments to pass to the invokable
+	 * @param safe                If true, return null if the method is not found, otherwise throw an exception
+	 * @param memberCache         The inline cache of the calling site for member method lookups, or null
+	 * @param interopSite         The linked call site of the calling site for Java methods, or null
+	 *
+	 * @return The requested return value or null
+	 */
+	public static Object dereferenceAndInvoke( Class<?> targetClass, Object targetInstance, IBoxContext context, Key name, Object[] positionalArguments,
+	    Boolean safe, MemberLookupCache memberCache, InteropCallSite interopSite ) {
 
 		if ( IReferenceable.class.isAssignableFrom( targetClass ) && targetInstance != null && targetInstance instanceof IReferenceable ref ) {
 			return ref.dereferenceAndInvoke( context, name, positionalArguments, safe );
 		}
 
 		if ( targetInstance != null ) {
-			MemberDescriptor memberDescriptor = BoxRuntime.getInstance().getFunctionService().getMemberMethod( context, name, targetInstance );
+			MemberDescriptor memberDescriptor = getMemberMethod( context, name, targetInstance, memberCache );
 			if ( memberDescriptor != null ) {
 				return memberDescriptor.invoke( context, targetInstance, positionalArguments );
 			}
@@ -1751,6 +1793,9 @@ public class DynamicInteropService {
 			return targetClass;
 		}
 
+		if ( interopSite != null ) {
+			return interopSite.invoke( context, targetClass, targetInstance, name.getName(), safe, positionalArguments );
+		}
 		return invoke( context, targetClass, targetInstance, name.getName(), safe, positionalArguments );
 	}
 
@@ -1777,13 +1822,30 @@ public class DynamicInteropService {
 	 */
 	public static Object dereferenceAndInvoke( Class<?> targetClass, Object targetInstance, IBoxContext context, Key name, Map<Key, Object> namedArguments,
 	    Boolean safe ) {
+		return dereferenceAndInvoke( targetClass, targetInstance, context, name, namedArguments, safe, null );
+	}
+
+	/**
+	 * Dereference this object by a key and invoke the result as an invokable (UDF, java method)
+	 *
+	 * @param targetClass    The class to assign the field on
+	 * @param targetInstance The instance to assign the field on
+	 * @param name           The name of the key to dereference, which becomes the method name
+	 * @param namedArguments The arguments to pass to the invokable
+	 * @param safe           If true, return null if the method is not found, otherwise throw an exception
+	 * @param memberCache    The inline cache of the calling site for member method lookups, or null
+	 *
+	 * @return The requested return value or null
+	 */
+	public static Object dereferenceAndInvoke( Class<?> targetClass, Object targetInstance, IBoxContext context, Key name, Map<Key, Object> namedArguments,
+	    Boolean safe, MemberLookupCache memberCache ) {
 
 		if ( IReferenceable.class.isAssignableFrom( targetClass ) && targetInstance != null && targetInstance instanceof IReferenceable ref ) {
 			return ref.dereferenceAndInvoke( context, name, namedArguments, safe );
 		}
 
 		if ( targetInstance != null ) {
-			MemberDescriptor memberDescriptor = BoxRuntime.getInstance().getFunctionService().getMemberMethod( context, name, targetInstance );
+			MemberDescriptor memberDescriptor = getMemberMethod( context, name, targetInstance, memberCache );
 			if ( memberDescriptor != null ) {
 				return memberDescriptor.invoke( context, targetInstance, namedArguments );
 			}
@@ -1792,6 +1854,23 @@ public class DynamicInteropService {
 		throw new BoxRuntimeException( "Methods on Java objects cannot be called with named arguments" );
 	}
 
+	/**
+	 * Find the member method for an object, through the inline cache of the calling site if there is one
+	 *
+	 * @param context     The context
+	 * @param name        The name of the member method
+	 * @param target      The object the method is invoked on
+	 * @param memberCache The inline cache, or null
+	 *
+	 * @return The member method, or null if none applies
+	 */
+	private static MemberDescriptor getMemberMethod( IBoxContext context, Key name, Object target, MemberLookupCache memberCache ) {
+		FunctionService functionService = BoxRuntime.getInstance().getFunctionService();
+		return memberCache == null
+		    ? functionService.getMemberMethod( context, name, target )
+		    : functionService.getMemberMethod( context, name, target, memberCache );
+	}
+
 	/**
 	 * Assign a value to a field
 	 *
@@ -1827,7 +1906,11 @@ public class DynamicInteropService {
 
 		if ( IReferenceable.class.isAssignableFrom( targetClass ) && targetInstance != null && targetInstance instanceof IReferenceable ref ) {
 			return ref.assign( context, name, value );
-		} else if ( targetInstance != null && targetInstance.getClass().isArray() ) {
+		}
+
+		// Anything else is plain Java, which can hand the value to other threads
+		Struct.escapeValue( value );
+		if ( targetInstance != null && targetInstance.getClass().isArray() ) {
 			Object[]	arr		= ( ( Object[] ) targetInstance );
 			Integer		index	= Array.validateAndGetIntForAssign( name, arr.length, true );
 			arr[ index - 1 ] = value;
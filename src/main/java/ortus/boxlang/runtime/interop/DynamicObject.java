@@ -616,6 +616,22 @@ public class DynamicObject implements IReferenceable {
 	 * @return The requested return value or null
 	 */
 	public Object dereferenceAndInvoke( IBoxContext context, Key name, Object[] positionalArguments, Boolean safe ) {
+		return dereferenceAndInvoke( context, name, positionalArguments, safe, null );
+	}
+
+	/**
+	 * Dereference this object by a key and invoke the result as an invokable (UDF, java method), through the linked
+	 * call site of compiled code
+	 *
+	 * @param context             The context we're executing inside of
+	 * @param name                The key to dereference
+	 * @param positionalArguments The positional arguments to pass to the invokable
+	 * @param safe                Whether to throw an exception if the key is not found
+	 * @param interopSite         The linked call site for Java methods, or null
+	 *
+	 * @return The requested object
+	 */
+	public Object dereferenceAndInvoke( IBoxContext context, Key name, Object[] positionalArguments, Boolean safe, InteropCallSite interopSite ) {
 		if ( name.equals( Key.init ) ) {
 			this.targetInstance = DynamicInteropService.invokeConstructor( context, this.targetClass, positionalArguments );
 			return this.targetInstance;
@@ -626,7 +642,8 @@ public class DynamicObject implements IReferenceable {
 			return BoxClassSupport.dereferenceAndInvokeStatic( this, context, name, positionalArguments, safe );
 		}
 
-		return DynamicInteropService.dereferenceAndInvoke( this.targetClass, this.targetInstance, context, name, positionalArguments, safe );
+		return DynamicInteropService.dereferenceAndInvoke( this.targetClass, this.targetInstance, context, name, positionalArguments, safe, null,
+		    interopSite );
 	}
 
 	/**
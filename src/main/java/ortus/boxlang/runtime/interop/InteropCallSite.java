@@ -0,0 +1,226 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.interop;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * A linked call site for a Java method invoked from a single {@code obj.method()} expression in compiled code.
+ * <p>
+ * The Java boxpiler emits Java source, so it cannot emit an {@code invokedynamic} instruction. Instead each method
+ * invocation site gets one of these, which plays the same role: the first call resolves the Java method through the
+ * {@link DynamicInteropService} and links the site to a {@link MethodHandle} adapted to a fixed
+ * {@code (Object receiver, Object[] arguments)} shape, guarded on the receiver class and the exact classes of the
+ * arguments. Later calls which pass the guard invoke the handle directly with {@code invokeExact}, skipping method
+ * discovery, argument coercion and {@code invokeWithArguments}. A call which fails the guard goes through the
+ * DynamicInteropService and tries to relink the site. Every attempt counts, linked or not, so a site whose calls always
+ * need coercion stops trying after a few calls and is left to the slow path.
+ * <p>
+ * Only calls which need no coercion are linked: every argument must be non-null and already an instance of its parameter
+ * type (or of its wrapper). Varargs methods are never linked.
+ */
+public final class InteropCallSite {
+
+	/**
+	 * How many times a site may try to link before it is left to the slow path
+	 */
+	private static final int		MAX_LINK_ATTEMPTS	= 8;
+
+	/**
+	 * The shape every linked handle is adapted to
+	 */
+	private static final MethodType	GENERIC				= MethodType.methodType( Object.class, Object.class, Object[].class );
+
+	/**
+	 * The current link, or null if the site is not linked
+	 */
+	private volatile Link			link;
+
+	/**
+	 * How many times the site tried to link, whether it succeeded or not
+	 */
+	private volatile int			linkAttempts;
+
+	/**
+	 * A guarded target
+	 *
+	 * @param receiverClass   The class the method was resolved on
+	 * @param methodName      The name of the method
+	 * @param argumentClasses The exact classes of the arguments
+	 * @param isStatic        Whether the method is static
+	 * @param target          The method, adapted to the generic shape
+	 */
+	private record Link( Class<?> receiverClass, String methodName, Class<?>[] argumentClasses, boolean isStatic, MethodHandle target ) {
+
+		boolean matches( Class<?> targetClass, Object targetInstance, String name, Object[] arguments ) {
+			if ( targetClass != receiverClass || arguments.length != argumentClasses.length || !methodName.equals( name ) ) {
+				return false;
+			}
+			if ( !isStatic && targetInstance == null ) {
+				return false;
+			}
+			for ( int i = 0; i < arguments.length; i++ ) {
+				Object argument = arguments[ i ];
+				if ( argument == null || argument.getClass() != argumentClasses[ i ] ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Allocate the call sites for a compiled class
+	 *
+	 * @param size The number of method invocation sites in the class
+	 *
+	 * @return An array of unlinked call sites
+	 */
+	public static InteropCallSite[] allocate( int size ) {
+		InteropCallSite[] sites = new InteropCallSite[ size ];
+		for ( int i = 0; i < size; i++ ) {
+			sites[ i ] = new InteropCallSite();
+		}
+		return sites;
+	}
+
+	/**
+	 * Invoke a Java method through this site
+	 *
+	 * @param context        The context to use for the method invocation
+	 * @param targetClass    The class to invoke the method on
+	 * @param targetInstance The instance to invoke the method on, or null if it's static
+	 * @param methodName     The name of the method to invoke
+	 * @param safe           Whether the method should return null instead of throwing an error if it doesn't exist
+	 * @param arguments      The arguments to pass to the method
+	 *
+	 * @return The result of the method invocation
+	 */
+	public Object invoke( IBoxContext context, Class<?> targetClass, Object targetInstance, String methodName, Boolean safe, Object[] arguments ) {
+		Link current = this.link;
+		if ( current != null && current.matches( targetClass, targetInstance, methodName, arguments ) ) {
+			// The slow path escapes compact scopes while unwrapping the arguments, so we have to do it here too
+			for ( Object argument : arguments ) {
+				Struct.escapeValue( argument );
+			}
+			try {
+				return current.target.invokeExact( targetInstance, arguments );
+			} catch ( RuntimeException e ) {
+				throw e;
+			} catch ( Throwable e ) {
+				throw new BoxRuntimeException( "Error invoking method " + methodName + " for class " + targetClass.getName(), e );
+			}
+		}
+
+		if ( this.linkAttempts < MAX_LINK_ATTEMPTS && DynamicInteropService.isHandlesCacheEnabled() ) {
+			relink( context, targetClass, targetInstance, methodName, arguments );
+		}
+		return DynamicInteropService.invoke( context, targetClass, targetInstance, methodName, safe, arguments );
+	}
+
+	/**
+	 * Whether the site is currently linked
+	 *
+	 * @return True if calls matching the last link skip the slow path
+	 */
+	public boolean isLinked() {
+		return this.link != null;
+	}
+
+	/**
+	 * Try to link the site to the method these arguments resolve to. Calls which would need coercion are left unlinked.
+	 *
+	 * @param context        The context to use for the method resolution
+	 * @param targetClass    The class to invoke the method on
+	 * @param targetInstance The instance to invoke the method on, or null if it's static
+	 * @param methodName     The name of the method to invoke
+	 * @param arguments      The arguments to pass to the method
+	 */
+	private void relink( IBoxContext context, Class<?> targetClass, Object targetInstance, String methodName, Object[] arguments ) {
+		synchronized ( this ) {
+			if ( this.linkAttempts >= MAX_LINK_ATTEMPTS ) {
+				return;
+			}
+			this.linkAttempts++;
+		}
+
+		// Super calls from Box classes extending Java classes resolve a handle private to the subclass
+		if ( targetInstance instanceof IClassRunnable ) {
+			return;
+		}
+
+		Class<?>[] argumentClasses = new Class<?>[ arguments.length ];
+		for ( int i = 0; i < arguments.length; i++ ) {
+			if ( arguments[ i ] == null || arguments[ i ] instanceof DynamicObject ) {
+				return;
+			}
+			argumentClasses[ i ] = arguments[ i ].getClass();
+		}
+
+		MethodRecord methodRecord;
+		try {
+			methodRecord = DynamicInteropService.getMethodHandle(
+			    context,
+			    targetClass,
+			    targetInstance,
+			    methodName,
+			    DynamicInteropService.argumentsToClasses( arguments ),
+			    arguments
+			);
+		} catch ( RuntimeException e ) {
+			// The slow path reports it
+			return;
+		}
+
+		Method method = methodRecord.method();
+		if ( method.isVarArgs() || method.getParameterCount() != arguments.length || ( !methodRecord.isStatic() && targetInstance == null ) ) {
+			return;
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for ( int i = 0; i < parameterTypes.length; i++ ) {
+			if ( !ClassUtils.primitiveToWrapper( parameterTypes[ i ] ).isAssignableFrom( argumentClasses[ i ] ) ) {
+				return;
+			}
+		}
+
+		MethodHandle target;
+		try {
+			target = methodRecord.methodHandle().asSpreader( Object[].class, arguments.length );
+			if ( methodRecord.isStatic() ) {
+				target = MethodHandles.dropArguments( target, 0, Object.class );
+			}
+			target = target.asType( GENERIC );
+		} catch ( IllegalArgumentException | WrongMethodTypeException e ) {
+			return;
+		}
+
+		this.link = new Link( targetClass, methodName, argumentClasses, methodRecord.isStatic(), target );
+	}
+
+}
@@ -0,0 +1,242 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.interop;
+
+import java.lang.ref.Cleaner;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the {@link MethodRecord}s and {@link ConstructorRecord}s resolved by the {@link DynamicInteropService}.
+ * <p>
+ * The tables hang off the target class itself through a {@link ClassValue}, so when a dynamic class loader (a module,
+ * a compiled class, a JavaLoader) is unloaded its classes take their cached methods with them. Each class has a table
+ * of method names, and each method name (and the constructors) a small list of argument signatures it has been called
+ * with. The signatures are compared class by class, so a hit builds no keys and cannot collide across classes.
+ * <p>
+ * Method names are matched as given (case-sensitive) since Java overloads by exact name.
+ */
+public final class MethodHandleCache {
+
+	/**
+	 * The method tables, per class
+	 */
+	private static final ClassValue<ClassMethods>	METHODS	= new ClassValue<>() {
+
+																@Override
+																protected ClassMethods computeValue( Class<?> type ) {
+																	return new ClassMethods();
+																}
+															};
+
+	/**
+	 * Used to take the entries of unloaded classes out of the size
+	 */
+	private static final Cleaner					CLEANER	= Cleaner.create();
+
+	/**
+	 * Stats
+	 */
+	private static final LongAdder					hits	= new LongAdder();
+	private static final LongAdder					misses	= new LongAdder();
+	private static final AtomicInteger				size	= new AtomicInteger();
+
+	private MethodHandleCache() {
+	}
+
+	/**
+	 * Get the method record for a method signature of a class, resolving and caching it if needed
+	 *
+	 * @param targetClass        The class the method belongs to
+	 * @param methodName         The name of the method
+	 * @param argumentsAsClasses The classes of the arguments
+	 * @param resolver           Resolves the method record on a miss
+	 *
+	 * @return The method record
+	 */
+	public static MethodRecord get( Class<?> targetClass, String methodName, Class<?>[] argumentsAsClasses, Supplier<MethodRecord> resolver ) {
+		ClassMethods				methods		= METHODS.get( targetClass );
+		Signatures<MethodRecord>	signatures	= methods.byName.get( methodName );
+		if ( signatures == null ) {
+			signatures = methods.byName.computeIfAbsent( methodName, name -> new Signatures<>() );
+		}
+		return lookup( methods, signatures, argumentsAsClasses, resolver );
+	}
+
+	/**
+	 * Get the constructor record for a constructor signature of a class, resolving and caching it if needed
+	 *
+	 * @param targetClass        The class to construct
+	 * @param argumentsAsClasses The classes of the arguments
+	 * @param resolver           Resolves the constructor record on a miss
+	 *
+	 * @return The constructor record
+	 */
+	public static ConstructorRecord getConstructor( Class<?> targetClass, Class<?>[] argumentsAsClasses, Supplier<ConstructorRecord> resolver ) {
+		ClassMethods methods = METHODS.get( targetClass );
+		return lookup( methods, methods.constructors, argumentsAsClasses, resolver );
+	}
+
+	/**
+	 * Find a signature, resolving and adding it on a miss
+	 *
+	 * @param methods            The tables of the class
+	 * @param signatures         The signatures to search
+	 * @param argumentsAsClasses The classes of the arguments
+	 * @param resolver           Resolves the record on a miss
+	 *
+	 * @return The record
+	 */
+	private static <T> T lookup( ClassMethods methods, Signatures<T> signatures, Class<?>[] argumentsAsClasses, Supplier<T> resolver ) {
+		T found = signatures.find( argumentsAsClasses );
+		if ( found != null ) {
+			hits.increment();
+			return found;
+		}
+
+		misses.increment();
+		synchronized ( signatures ) {
+			// Someone may have resolved it while we waited
+			found = signatures.find( argumentsAsClasses );
+			if ( found == null ) {
+				found = resolver.get();
+				signatures.add( argumentsAsClasses.clone(), found );
+				methods.count.incrementAndGet();
+				size.incrementAndGet();
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Forget the cached methods of a class
+	 *
+	 * @param targetClass The class
+	 */
+	public static void remove( Class<?> targetClass ) {
+		METHODS.remove( targetClass );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Stats
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * @return How many lookups were served from the cache
+	 */
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return How many lookups had to resolve the method
+	 */
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return The number of cached method and constructor records. Entries of unloaded classes are taken out once the garbage collector
+	 *         has reclaimed them.
+	 */
+	public static int getSize() {
+		return size.get();
+	}
+
+	/**
+	 * The method tables of a single class
+	 */
+	private static final class ClassMethods {
+
+		/**
+		 * The argument signatures seen per method name
+		 */
+		private final ConcurrentHashMap<String, Signatures<MethodRecord>>	byName			= new ConcurrentHashMap<>();
+
+		/**
+		 * The argument signatures seen for the constructors
+		 */
+		private final Signatures<ConstructorRecord>							constructors	= new Signatures<>();
+
+		/**
+		 * How many method records this class holds, shared with the cleaner so it does not keep the class reachable
+		 */
+		private final AtomicInteger											count			= new AtomicInteger();
+
+		ClassMethods() {
+			AtomicInteger classCount = this.count;
+			CLEANER.register( this, () -> size.addAndGet( -classCount.get() ) );
+		}
+
+	}
+
+	/**
+	 * The argument signatures a method name or constructor has been called with. Most are only ever called with one or
+	 * two, so this is a copy-on-write array scanned linearly.
+	 */
+	private static final class Signatures<T> {
+
+		private volatile Entry<T>[] entries = newEntries( 0 );
+
+		/**
+		 * Find the record for a signature
+		 *
+		 * @param argumentsAsClasses The classes of the arguments
+		 *
+		 * @return The record, or null if this signature has not been resolved yet
+		 */
+		T find( Class<?>[] argumentsAsClasses ) {
+			for ( Entry<T> entry : this.entries ) {
+				if ( Arrays.equals( entry.signature, argumentsAsClasses ) ) {
+					return entry.target;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Add a resolved signature. Callers synchronize on this object.
+		 *
+		 * @param argumentsAsClasses The classes of the arguments
+		 * @param target             The resolved method or constructor
+		 */
+		void add( Class<?>[] argumentsAsClasses, T target ) {
+			Entry<T>[] newEntries = Arrays.copyOf( this.entries, this.entries.length + 1 );
+			newEntries[ newEntries.length - 1 ]	= new Entry<>( argumentsAsClasses, target );
+			this.entries						= newEntries;
+		}
+
+		@SuppressWarnings( "unchecked" )
+		private static <T> Entry<T>[] newEntries( int size ) {
+			return ( Entry<T>[] ) new Entry<?>[ size ];
+		}
+
+	}
+
+	/**
+	 * A resolved argument signature
+	 */
+	private record Entry<T>( Class<?>[] signature, T target ) {
+	}
+
+}
@@ -400,7 +400,7 @@ public class ConnectionManager {
 		}
 
 		// Try to discover now: These come from the context, so overrides are already applied
-		IStruct configDatasources = this.context.getConfig().getAsStruct( Key.datasources );
+		IStruct configDatasources = this.context.getConfigItemAsStruct( Key.datasources );
 
 		// If the name doesn't exist in the datasources map, we return null
 		if ( !configDatasources.containsKey( datasourceName ) ) {
@@ -161,18 +161,20 @@ public final class ExecutedQuery {
 
 		ExecutedQuery executedQuery = new ExecutedQuery( results, generatedKey, queryMeta );
 
-		interceptorService.announce(
-		    BoxEvent.POST_QUERY_EXECUTE,
-		    Struct.of(
-		        "sql", queryMeta.getAsString( Key.sql ),
-		        "bindings", pendingQuery.getParameterValues(),
-		        "executionTime", executionTime,
-		        "data", results,
-		        "result", queryMeta,
-		        "pendingQuery", pendingQuery,
-		        "executedQuery", executedQuery
-		    )
-		);
+		if ( interceptorService.hasListeners( BoxEvent.POST_QUERY_EXECUTE ) ) {
+			interceptorService.announce(
+			    BoxEvent.POST_QUERY_EXECUTE,
+			    Struct.of(
+			        "sql", queryMeta.getAsString( Key.sql ),
+			        "bindings", pendingQuery.getParameterValues(),
+			        "executionTime", executionTime,
+			        "data", results,
+			        "result", queryMeta,
+			        "pendingQuery", pendingQuery,
+			        "executedQuery", executedQuery
+			    )
+			);
+		}
 		return executedQuery;
 	}
 
@@ -353,7 +353,7 @@ public class PendingQuery {
 
 				interceptorService.announce(
 				    BoxEvent.PRE_QUERY_EXECUTE,
-				    Struct.of(
+				    () -> Struct.of(
 				        "sql", this.sql,
 				        "bindings", getParameterValues(),
 				        "pendingQuery", this
@@ -0,0 +1,221 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import ortus.boxlang.compiler.SourceMap;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.util.JSONUtil;
+
+/**
+ * A single archive of pre-compiled BoxLang classes and their source maps, built ahead of time by the
+ * {@link ortus.boxlang.compiler.BXCompiler} and configured with the {@code classArchive} setting.
+ * <p>
+ * The archive is a zip file with one entry per class file ({@code boxgenerated/templates/foo$cfm.class}), one per
+ * source map ({@code boxgenerated/templates/foo$cfm.json}) and one per compilation key
+ * ({@code boxgenerated/templates/foo$cfm.key}). Opening the archive only reads its central directory, which is the
+ * index; each class is read the first time it is loaded.
+ * <p>
+ * The compilation key is the same one the compiled class cache uses: a hash of the source content, the runtime version
+ * and the settings and names the generated code depends on. Classes are only loaded from the archive when the key of
+ * their source at runtime matches, so an edited source, a different runtime or different {@code optimizeAST} or
+ * {@code collapseTemplateWhitespace} settings fall back to compiling.
+ * <p>
+ * The generated classes embed the absolute mapping path and file path of their source, and relative includes resolve
+ * from them. Those paths are part of the key, so an archive is only used when the sources live at the same paths, under
+ * the same mappings, at runtime as when it was built. Anywhere else every class is compiled as if there were no archive.
+ */
+public class ClassArchive implements AutoCloseable {
+
+	/**
+	 * The archive file
+	 */
+	private final Path		path;
+
+	/**
+	 * The open zip file, which is safe to read from several threads
+	 */
+	private final ZipFile	zipFile;
+
+	/**
+	 * Constructor
+	 *
+	 * @param path The archive file
+	 *
+	 * @throws BoxRuntimeException If the archive cannot be opened
+	 */
+	public ClassArchive( Path path ) {
+		this.path = path;
+		try {
+			this.zipFile = new ZipFile( path.toFile() );
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to open the class archive " + path, e );
+		}
+	}
+
+	/**
+	 * Get the archive file
+	 *
+	 * @return The path of the archive
+	 */
+	public Path getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Check if the archive contains a class
+	 *
+	 * @param name The binary name of the class
+	 *
+	 * @return true if the class is in the archive
+	 */
+	public boolean hasClass( String name ) {
+		return this.zipFile.getEntry( entryName( name, "class" ) ) != null;
+	}
+
+	/**
+	 * Read the bytes of a class
+	 *
+	 * @param name The binary name of the class
+	 *
+	 * @return The class file bytes, or null if the class is not in the archive
+	 */
+	public byte[] getClassBytes( String name ) {
+		return readEntry( entryName( name, "class" ) );
+	}
+
+	/**
+	 * Read the compilation key a class was built with
+	 *
+	 * @param fqn The fully qualified name of the class
+	 *
+	 * @return The key, or null if the class is not in the archive
+	 */
+	public String getCompilationKey( String fqn ) {
+		byte[] key = readEntry( entryName( fqn, "key" ) );
+		if ( key == null ) {
+			return null;
+		}
+		return new String( key, StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * Read the source map of a class
+	 *
+	 * @param fqn The fully qualified name of the class
+	 *
+	 * @return The source map, or null if the class has none in the archive
+	 */
+	public SourceMap getSourceMap( String fqn ) {
+		byte[] json = readEntry( entryName( fqn, "json" ) );
+		if ( json == null ) {
+			return null;
+		}
+		return JSONUtil.fromJSON( SourceMap.class, new String( json ) );
+	}
+
+	/**
+	 * Close the archive
+	 */
+	@Override
+	public void close() {
+		try {
+			this.zipFile.close();
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to close the class archive " + this.path, e );
+		}
+	}
+
+	/**
+	 * Write an archive
+	 *
+	 * @param target     The archive file to write, replaced if it exists
+	 * @param classes    The class file bytes, by binary class name
+	 * @param sourceMaps The source map JSON, by fully qualified class name
+	 * @param keys       The compilation keys, by fully qualified class name
+	 */
+	public static void write( Path target, Map<String, byte[]> classes, Map<String, String> sourceMaps, Map<String, String> keys ) {
+		// Sorted, so the same sources always produce the same archive
+		Map<String, byte[]> entries = new TreeMap<>();
+		classes.forEach( ( name, bytes ) -> entries.put( entryName( name, "class" ), bytes ) );
+		sourceMaps.forEach( ( fqn, json ) -> entries.put( entryName( fqn, "json" ), json.getBytes() ) );
+		keys.forEach( ( fqn, key ) -> entries.put( entryName( fqn, "key" ), key.getBytes( StandardCharsets.UTF_8 ) ) );
+
+		try {
+			Path directory = target.toAbsolutePath().getParent();
+			if ( directory != null ) {
+				Files.createDirectories( directory );
+			}
+			try ( OutputStream out = Files.newOutputStream( target ); ZipOutputStream zip = new ZipOutputStream( out ) ) {
+				for ( Map.Entry<String, byte[]> entry : entries.entrySet() ) {
+					ZipEntry zipEntry = new ZipEntry( entry.getKey() );
+					// A fixed time keeps the archive reproducible
+					zipEntry.setTime( 0L );
+					zip.putNextEntry( zipEntry );
+					zip.write( entry.getValue() );
+					zip.closeEntry();
+				}
+			}
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to write the class archive " + target, e );
+		}
+	}
+
+	/**
+	 * Read an entry
+	 *
+	 * @param entryName The name of the entry
+	 *
+	 * @return The bytes, or null if there is no such entry
+	 */
+	private byte[] readEntry( String entryName ) {
+		ZipEntry entry = this.zipFile.getEntry( entryName );
+		if ( entry == null ) {
+			return null;
+		}
+		try ( InputStream in = this.zipFile.getInputStream( entry ) ) {
+			return in.readAllBytes();
+		} catch ( IOException e ) {
+			throw new BoxRuntimeException( "Unable to read " + entryName + " from the class archive " + this.path, e );
+		}
+	}
+
+	/**
+	 * The entry name of a class or source map
+	 *
+	 * @param name      The class name
+	 * @param extension The extension
+	 *
+	 * @return The entry name
+	 */
+	private static String entryName( String name, String extension ) {
+		return name.replace( '.', '/' ) + "." + extension;
+	}
+
+}
@@ -24,6 +24,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ortus.boxlang.compiler.ClassInfo;
 import ortus.boxlang.compiler.IBoxpiler;
@@ -37,22 +39,32 @@ public class DiskClassLoader extends URLClassLoader {
 	/**
 	 * The location of the disk store
 	 */
-	private Path	diskStore;
+	private Path						diskStore;
 
 	/**
 	 * The boxpiler
 	 */
-	IBoxpiler		boxPiler;
+	IBoxpiler							boxPiler;
 
 	/**
 	 * The class pool name
 	 */
-	String			classPoolName;
+	String								classPoolName;
 
 	/**
 	 * The class pool name but with all special characters replaced so it can be used as a valid folder name
 	 */
-	String			classPoolDiskPrefix;
+	String								classPoolDiskPrefix;
+
+	/**
+	 * Classes the boxpiler compiled in memory for this loader which have not been defined yet
+	 */
+	private final Map<String, byte[]>	compiledClasses	= new ConcurrentHashMap<>();
+
+	/**
+	 * Whether the class archive entries of each class this loader looked up match their source, by fully qualified name
+	 */
+	private final Map<String, Boolean>	archiveChecks	= new ConcurrentHashMap<>();
 
 	/**
 	 * Constructor
@@ -80,12 +92,31 @@ public class DiskClassLoader extends URLClassLoader {
 	 */
 	@Override
 	protected Class<?> findClass( String name ) throws ClassNotFoundException {
+		// Compiled along with a class we already loaded, such as its inner classes
+		byte[] compiled = compiledClasses.remove( name );
+		if ( compiled != null ) {
+			return defineClass( name, compiled, 0, compiled.length );
+		}
+
+		// Pre-compiled ahead of time, as long as the archive was built from the same source and settings
+		ClassArchive archive = boxPiler.getClassArchive();
+		if ( archive != null && isFreshInArchive( archive, IBoxpiler.getBaseFQN( name ) ) ) {
+			compiled = archive.getClassBytes( name );
+			if ( compiled != null ) {
+				return defineClass( name, compiled, 0, compiled.length );
+			}
+		}
+
 		Path		diskPath	= generateDiskPath( name );
 		// JIT compile
 		ClassInfo	classInfo	= boxPiler.getClassPool( classPoolName ).get( IBoxpiler.getBaseFQN( name ) );
 		if ( !hasClass( diskPath ) || ( classInfo != null && ( classInfo.lastModified() > diskPath.toFile().lastModified() ) ) ) {
-			// After this call, the class files will exist on disk
+			// After this call, the class files will exist on disk, and in memory if the boxpiler handed them to us
 			boxPiler.compileClassInfo( classPoolName, name );
+			compiled = compiledClasses.remove( name );
+			if ( compiled != null ) {
+				return defineClass( name, compiled, 0, compiled.length );
+			}
 		}
 
 		if ( !diskPath.toFile().exists() ) {
@@ -102,6 +133,46 @@ public class DiskClassLoader extends URLClassLoader {
 		return defineClass( name, bytes, 0, bytes.length );
 	}
 
+	/**
+	 * Check a class in the archive was compiled from the current source with the current settings, by comparing the
+	 * compilation key stored in the archive with the one of the source. Checked once per class and loader, its inner
+	 * classes share the answer.
+	 *
+	 * @param archive The class archive
+	 * @param fqn     The fully qualified name of the class
+	 *
+	 * @return true if the classes in the archive can be used, false if the class must be compiled
+	 */
+	private boolean isFreshInArchive( ClassArchive archive, String fqn ) {
+		return archiveChecks.computeIfAbsent( fqn, key -> {
+			String archived = archive.getCompilationKey( fqn );
+			if ( archived == null ) {
+				return false;
+			}
+			ClassInfo classInfo = boxPiler.getClassPool( classPoolName ).get( fqn );
+			return classInfo != null && archived.equals( boxPiler.getCompilationKey( classInfo ) );
+		} );
+	}
+
+	/**
+	 * Get the name of the class pool this loader loads from
+	 *
+	 * @return The class pool name
+	 */
+	public String getClassPoolName() {
+		return this.classPoolName;
+	}
+
+	/**
+	 * Hand over a class compiled in memory, so it can be defined without reading it back from disk
+	 *
+	 * @param name  class name
+	 * @param bytes class file bytes
+	 */
+	public void addCompiledClass( String name, byte[] bytes ) {
+		compiledClasses.put( name, bytes );
+	}
+
 	/**
 	 * Check if a class exists on disk
 	 *
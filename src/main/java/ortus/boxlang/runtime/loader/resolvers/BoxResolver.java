@@ -34,6 +34,7 @@ import ortus.boxlang.runtime.loader.ImportDefinition;
 import ortus.boxlang.runtime.runnables.RunnableLoader;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.util.MappingIndex;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
 
 /**
@@ -190,29 +191,26 @@ public class BoxResolver extends BaseResolver {
 	    List<ImportDefinition> imports ) {
 
 		// Look for a mapping that matches the start of the path
-		IStruct mappings = context.getConfig().getAsStruct( Key.mappings );
+		IStruct mappings = context.getConfigItemAsStruct( Key.mappings );
 
 		// System.out.println( "mappings: " + mappings );
 		// System.out.println( "slashName: " + slashName );
 
-		// Maybe if we have > 20 mappings we should use parallel streams
-
-		return mappings
-		    .entrySet()
+		return MappingIndex.of( mappings )
+		    // Only the mappings that match the start of the path, longest first
+		    .findMappings( slashName )
 		    .stream()
-		    // Filter out mappings that don't match the start of the mapping path
-		    .filter( entry -> StringUtils.startsWithIgnoreCase( slashName, entry.getKey().getName() ) )
 		    // Map it to a Stream<Path> object representing the paths to the classes
-		    .flatMap( entry -> {
+		    .flatMap( mapping -> {
 			    // Generate multiple paths here
 			    List<ResolvedFilePath> paths = new ArrayList<ResolvedFilePath>();
 			    for ( String extension : VALID_EXTENSIONS ) {
 				    paths.add(
 				        ResolvedFilePath.of(
-				            entry.getKey().getName(),
-				            entry.getValue().toString(),
+				            mapping.name(),
+				            mapping.path(),
 				            slashName + extension,
-				            Path.of( StringUtils.replaceOnceIgnoreCase( slashName, entry.getKey().getName(), entry.getValue() + "/" ) + extension ).normalize()
+				            Path.of( StringUtils.replaceOnceIgnoreCase( slashName, mapping.name(), mapping.path() + "/" ) + extension ).normalize()
 				        )
 				    );
 			    }
@@ -0,0 +1,89 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.operators;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Shared helpers for the numeric fast paths of the math operators.
+ * Integral operands are kept as {@code Integer}/{@code Long} and promoted to {@code BigDecimal} on overflow,
+ * everything else keeps going through {@code DoubleCaster}.
+ */
+public final class Arithmetic {
+
+	private Arithmetic() {
+	}
+
+	/**
+	 * Is the value a boxed integral number which fits in a long
+	 *
+	 * @param value The value to check
+	 *
+	 * @return true if it is an Integer, Long, Short or Byte
+	 */
+	public static boolean isIntegral( Object value ) {
+		return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+	}
+
+	/**
+	 * Should two operands use exact BigDecimal math. This is the case when both are exact numbers
+	 * and at least one of them is already too large for a long.
+	 *
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return true if BigDecimal math should be used
+	 */
+	public static boolean isBigDecimal( Object left, Object right ) {
+		return ( isBig( left ) && ( isBig( right ) || isIntegral( right ) ) ) || ( isBig( right ) && isIntegral( left ) );
+	}
+
+	/**
+	 * Convert an exact number to a BigDecimal
+	 *
+	 * @param value An integral number, BigInteger or BigDecimal
+	 *
+	 * @return The BigDecimal
+	 */
+	public static BigDecimal toBigDecimal( Object value ) {
+		if ( value instanceof BigDecimal bd ) {
+			return bd;
+		}
+		if ( value instanceof BigInteger bi ) {
+			return new BigDecimal( bi );
+		}
+		return BigDecimal.valueOf( ( ( Number ) value ).longValue() );
+	}
+
+	/**
+	 * Get the long value of an integral number
+	 *
+	 * @param value An integral number
+	 *
+	 * @return The long value
+	 */
+	public static long longValue( Object value ) {
+		return ( ( Number ) value ).longValue();
+	}
+
+	private static boolean isBig( Object value ) {
+		return value instanceof BigDecimal || value instanceof BigInteger;
+	}
+
+}
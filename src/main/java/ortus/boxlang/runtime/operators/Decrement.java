@@ -18,6 +18,7 @@
 package ortus.boxlang.runtime.operators;
 
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.LocalFrame;
 import ortus.boxlang.runtime.dynamic.Referencer;
 import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
 import ortus.boxlang.runtime.scopes.Key;
@@ -33,6 +34,90 @@ public class Decrement implements IOperator {
 	 *
 	 * @return The the sum
 	 */
+	public static Number compute( Object object ) {
+		return Minus.compute( object, 1 );
+	}
+
+	/**
+	 * @param value The value to decrement
+	 *
+	 * @return The result as an Integer, or a Long if it overflows
+	 */
+	public static Number compute( int value ) {
+		return Minus.compute( value, 1 );
+	}
+
+	/**
+	 * @param value The value to decrement
+	 *
+	 * @return The result as a Long, or a BigDecimal if it overflows
+	 */
+	public static Number compute( long value ) {
+		return Minus.compute( value, 1L );
+	}
+
+	/**
+	 * Apply this operator to an object/key and set the new value back in the same object/key
+	 *
+	 * @return The result
+	 */
+	public static Number computePre( IBoxContext context, Object target, Key name ) {
+		Number result = compute( Referencer.get( context, target, name, false ) );
+		Referencer.set( context, target, name, result );
+		return result;
+	}
+
+	/**
+	 * Apply this operator to an object/key and set the new value back in the same object/key
+	 *
+	 * @return The variable PRIOR to the operation
+	 */
+	public static Number computePost( IBoxContext context, Object target, Key name ) {
+		Object	value		= Referencer.get( context, target, name, false );
+		Number	original	= value instanceof Number num ? num : DoubleCaster.cast( value );
+		Number	result		= compute( original );
+		Referencer.set( context, target, name, result );
+		return original;
+	}
+
+	/**
+	 * Apply this operator to a promoted local variable and store the new value back in its slot
+	 *
+	 * @param frame The local frame
+	 * @param slot  The slot of the variable
+	 *
+	 * @return The result
+	 */
+	public static Number computePre( LocalFrame frame, int slot ) {
+		Number result = compute( frame.get( slot ) );
+		frame.set( slot, result );
+		return result;
+	}
+
+	/**
+	 * Apply this operator to a promoted local variable and store the new value back in its slot
+	 *
+	 * @param frame The local frame
+	 * @param slot  The slot of the variable
+	 *
+	 * @return The variable PRIOR to the operation
+	 */
+	public static Number computePost( LocalFrame frame, int slot ) {
+		Object	value		= frame.get( slot );
+		Number	original	= value instanceof Number num ? num : DoubleCaster.cast( value );
+		frame.set( slot, compute( original ) );
+		return original;
+	}
+
+	/**
+	 * @param object The object to decrement
+	 *
+	 * @return The result as a Double
+	 *
+	 * @deprecated Use {@link #compute(Object)}, which keeps integral operands integral.
+	 *             Kept with its original Double math for classes compiled against this signature.
+	 */
+	@Deprecated
 	public static Double invoke( Object object ) {
 		return DoubleCaster.cast( object ) - 1;
 	}
@@ -41,7 +126,10 @@ public class Decrement implements IOperator {
 	 * Apply this operator to an object/key and set the new value back in the same object/key
 	 *
 	 * @return The result
+	 *
+	 * @deprecated Use {@link #computePre(IBoxContext, Object, Key)}.
 	 */
+	@Deprecated
 	public static Double invokePre( IBoxContext context, Object target, Key name ) {
 		Double result = invoke( Referencer.get( context, target, name, false ) );
 		Referencer.set( context, target, name, result );
@@ -52,7 +140,10 @@ public class Decrement implements IOperator {
 	 * Apply this operator to an object/key and set the new value back in the same object/key
 	 *
 	 * @return The variable PRIOR to the operation
+	 *
+	 * @deprecated Use {@link #computePost(IBoxContext, Object, Key)}.
 	 */
+	@Deprecated
 	public static Double invokePost( IBoxContext context, Object target, Key name ) {
 		Double	original	= DoubleCaster.cast( Referencer.get( context, target, name, false ) );
 		Double	result		= invoke( original );
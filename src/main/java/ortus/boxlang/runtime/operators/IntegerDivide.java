@@ -17,11 +17,18 @@
  */
 package ortus.boxlang.runtime.operators;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 /**
  * Performs Math Integer Division. Remainder is discarded
  * {@code a = b \ c}
+ * Integral operands stay integral, promoting from int to long to BigDecimal on overflow.
+ * BigDecimal and BigInteger operands, with each other or with integral ones, use exact BigDecimal math
+ * instead of being converted to Double. Use {@code compute}; the Double returning {@code invoke} is deprecated.
  */
 public class IntegerDivide implements IOperator {
 
@@ -31,6 +38,69 @@ public class IntegerDivide implements IOperator {
 	 *
 	 * @return The the result
 	 */
+	public static Number compute( Object left, Object right ) {
+		if ( left instanceof Integer l && right instanceof Integer r ) {
+			return compute( l.intValue(), r.intValue() );
+		}
+		if ( Arithmetic.isIntegral( left ) && Arithmetic.isIntegral( right ) ) {
+			return compute( Arithmetic.longValue( left ), Arithmetic.longValue( right ) );
+		}
+		if ( Arithmetic.isBigDecimal( left, right ) ) {
+			BigDecimal bdRight = Arithmetic.toBigDecimal( right ).setScale( 0, RoundingMode.FLOOR );
+			if ( bdRight.signum() == 0 ) {
+				throw new BoxRuntimeException( "You cannot divide by zero." );
+			}
+			return Arithmetic.toBigDecimal( left ).setScale( 0, RoundingMode.FLOOR ).divide( bdRight, 0, RoundingMode.FLOOR );
+		}
+		return Math.floor( Divide.invoke(
+		    Math.floor( DoubleCaster.cast( left ) ),
+		    Math.floor( DoubleCaster.cast( right ) )
+		) );
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as an Integer, or a Long if it overflows
+	 */
+	public static Number compute( int left, int right ) {
+		if ( right == 0 ) {
+			throw new BoxRuntimeException( "You cannot divide by zero." );
+		}
+		// The only overflowing case
+		if ( left == Integer.MIN_VALUE && right == -1 ) {
+			return - ( long ) left;
+		}
+		return Math.floorDiv( left, right );
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as a Long, or a BigDecimal if it overflows
+	 */
+	public static Number compute( long left, long right ) {
+		if ( right == 0 ) {
+			throw new BoxRuntimeException( "You cannot divide by zero." );
+		}
+		if ( left == Long.MIN_VALUE && right == -1 ) {
+			return BigDecimal.valueOf( left ).negate();
+		}
+		return Math.floorDiv( left, right );
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as a Double
+	 *
+	 * @deprecated Use {@link #compute(Object, Object)}, which keeps integral operands integral.
+	 *             Kept with its original Double math for classes compiled against this signature.
+	 */
+	@Deprecated
 	public static double invoke( Object left, Object right ) {
 		return Math.floor( Divide.invoke(
 		    Math.floor( DoubleCaster.cast( left ) ),
@@ -17,6 +17,8 @@
  */
 package ortus.boxlang.runtime.operators;
 
+import java.math.BigDecimal;
+
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.Referencer;
 import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
@@ -26,6 +28,9 @@ import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 /**
  * Performs Math Modulus
  * {@code a = b % c, or a = b mod c}
+ * Integral operands stay integral.
+ * BigDecimal and BigInteger operands, with each other or with integral ones, use exact BigDecimal math
+ * instead of being converted to Double. Use {@code compute}; the Double returning {@code invoke} is deprecated.
  */
 public class Modulus implements IOperator {
 
@@ -35,6 +40,74 @@ public class Modulus implements IOperator {
 	 *
 	 * @return The the result
 	 */
+	public static Number compute( Object left, Object right ) {
+		if ( left instanceof Integer l && right instanceof Integer r ) {
+			return compute( l.intValue(), r.intValue() );
+		}
+		if ( Arithmetic.isIntegral( left ) && Arithmetic.isIntegral( right ) ) {
+			return compute( Arithmetic.longValue( left ), Arithmetic.longValue( right ) );
+		}
+		if ( Arithmetic.isBigDecimal( left, right ) ) {
+			BigDecimal bdRight = Arithmetic.toBigDecimal( right );
+			if ( bdRight.signum() == 0 ) {
+				throw new BoxRuntimeException( "You cannot divide by zero." );
+			}
+			return Arithmetic.toBigDecimal( left ).remainder( bdRight );
+		}
+		Double dRight = DoubleCaster.cast( right );
+		if ( dRight == 0 ) {
+			throw new BoxRuntimeException( "You cannot divide by zero." );
+		}
+		return DoubleCaster.cast( left ) % dRight;
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The the result
+	 */
+	public static Number compute( int left, int right ) {
+		if ( right == 0 ) {
+			throw new BoxRuntimeException( "You cannot divide by zero." );
+		}
+		return left % right;
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The the result
+	 */
+	public static Number compute( long left, long right ) {
+		if ( right == 0 ) {
+			throw new BoxRuntimeException( "You cannot divide by zero." );
+		}
+		return left % right;
+	}
+
+	/**
+	 * Apply this operator to an object/key and set the new value back in the same object/key
+	 *
+	 * @return The result
+	 */
+	public static Number compute( IBoxContext context, Object target, Key name, Object right ) {
+		Number result = compute( Referencer.get( context, target, name, false ), right );
+		Referencer.set( context, target, name, result );
+		return result;
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as a Double
+	 *
+	 * @deprecated Use {@link #compute(Object, Object)}, which keeps integral operands integral.
+	 *             Kept with its original Double math for classes compiled against this signature.
+	 */
+	@Deprecated
 	public static Double invoke( Object left, Object right ) {
 		Double dRight = DoubleCaster.cast( right );
 		if ( dRight == 0 ) {
@@ -47,7 +120,11 @@ public class Modulus implements IOperator {
 	 * Apply this operator to an object/key and set the new value back in the same object/key
 	 *
 	 * @return The result
+	 *
+	 * @deprecated Use {@link #compute(IBoxContext, Object, Key, Object)}.
+	 *             Kept with its original Double math for classes compiled against this signature.
 	 */
+	@Deprecated
 	public static Double invoke( IBoxContext context, Object target, Key name, Object right ) {
 		Double result = invoke( Referencer.get( context, target, name, false ), right );
 		Referencer.set( context, target, name, result );
@@ -17,6 +17,8 @@
  */
 package ortus.boxlang.runtime.operators;
 
+import java.math.BigDecimal;
+
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.Referencer;
 import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
@@ -25,6 +27,9 @@ import ortus.boxlang.runtime.scopes.Key;
 /**
  * Performs Math Multiply
  * {@code a = b * c}
+ * Integral operands stay integral, promoting from int to long to BigDecimal on overflow.
+ * BigDecimal and BigInteger operands, with each other or with integral ones, use exact BigDecimal math
+ * instead of being converted to Double. Use {@code compute}; the Double returning {@code invoke} is deprecated.
  */
 public class Multiply implements IOperator {
 
@@ -34,6 +39,70 @@ public class Multiply implements IOperator {
 	 *
 	 * @return The the result
 	 */
+	public static Number compute( Object left, Object right ) {
+		if ( left instanceof Integer l && right instanceof Integer r ) {
+			return compute( l.intValue(), r.intValue() );
+		}
+		if ( Arithmetic.isIntegral( left ) && Arithmetic.isIntegral( right ) ) {
+			return compute( Arithmetic.longValue( left ), Arithmetic.longValue( right ) );
+		}
+		if ( Arithmetic.isBigDecimal( left, right ) ) {
+			return Arithmetic.toBigDecimal( left ).multiply( Arithmetic.toBigDecimal( right ) );
+		}
+		return DoubleCaster.cast( left ) * DoubleCaster.cast( right );
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as an Integer, or a Long if it overflows
+	 */
+	public static Number compute( int left, int right ) {
+		long result = ( long ) left * right;
+		if ( ( int ) result != result ) {
+			return result;
+		}
+		return ( int ) result;
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as a Long, or a BigDecimal if it overflows
+	 */
+	public static Number compute( long left, long right ) {
+		long	high	= Math.multiplyHigh( left, right );
+		long	result	= left * right;
+		// The product fits in a long when the high bits are just the sign extension of the low bits
+		if ( high != ( result >> 63 ) ) {
+			return BigDecimal.valueOf( left ).multiply( BigDecimal.valueOf( right ) );
+		}
+		return result;
+	}
+
+	/**
+	 * Apply this operator to an object/key and set the new value back in the same object/key
+	 *
+	 * @return The result
+	 */
+	public static Number compute( IBoxContext context, Object target, Key name, Object right ) {
+		Number result = compute( Referencer.get( context, target, name, false ), right );
+		Referencer.set( context, target, name, result );
+		return result;
+	}
+
+	/**
+	 * @param left  The left operand
+	 * @param right The right operand
+	 *
+	 * @return The result as a Double
+	 *
+	 * @deprecated Use {@link #compute(Object, Object)}, which keeps integral operands integral.
+	 *             Kept with its original Double math for classes compiled against this signature.
+	 */
+	@Deprecated
 	public static Double invoke( Object left, Object right ) {
 		return DoubleCaster.cast( left ) * DoubleCaster.cast( right );
 	}
@@ -42,7 +111,11 @@ public class Multiply implements IOperator {
 	 * Apply this operator to an object/key and set the new value back in the same object/key
 	 *
 	 * @return The result
+	 *
+	 * @deprecated Use {@link #compute(IBoxContext, Object, Key, Object)}.
+	 *             Kept with its original Double math for classes compiled against this signature.
 	 */
+	@Deprecated
 	public static Double invoke( IBoxContext context, Object target, Key name, Object right ) {
 		Double result = invoke( Referencer.get( context, target, name, false ), right );
 		Referencer.set( context, target, name, result );
@@ -17,12 +17,22 @@
  */
 package ortus.boxlang.runtime.runnables;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
 import ortus.boxlang.compiler.IBoxpiler;
 import ortus.boxlang.compiler.asmboxpiler.ASMBoxpiler;
 import ortus.boxlang.compiler.javaboxpiler.JavaBoxpiler;
 import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.config.Configuration;
 import ortus.boxlang.runtime.context.IBoxContext;
-import ortus.boxlang.runtime.interop.DynamicObject;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.MissingIncludeException;
 import ortus.boxlang.runtime.util.FileSystemUtil;
 import ortus.boxlang.runtime.util.ResolvedFilePath;
@@ -42,8 +52,50 @@ public class RunnableLoader {
 	/**
 	 * Singleton instance
 	 */
-	private static RunnableLoader	instance;
-	private IBoxpiler				boxpiler;
+	private static RunnableLoader					instance;
+	private IBoxpiler								boxpiler;
+
+	/**
+	 * The singleton accessor of each compiled runnable class, bound once
+	 */
+	private static final ClassValue<MethodHandle>	INSTANCE_ACCESSORS	= new ClassValue<>() {
+
+																			@Override
+																			protected MethodHandle computeValue( Class<?> type ) {
+																				try {
+																					return MethodHandles.publicLookup()
+																					    .findStatic( type, "getInstance", MethodType.methodType( type ) )
+																					    .asType( MethodType.methodType( Object.class ) );
+																				} catch ( NoSuchMethodException | IllegalAccessException e ) {
+																					throw new BoxRuntimeException(
+																					    "The compiled class " + type.getName() + " has no getInstance() method", e );
+																				}
+																			}
+																		};
+
+	/**
+	 * The template singletons, by resolved path, along with the class they are an instance of
+	 */
+	private final Map<ResolvedFilePath, LoadedTemplate>	templates			= new ConcurrentHashMap<>();
+
+	/**
+	 * A loaded template
+	 *
+	 * @param clazz    The compiled class
+	 * @param template The singleton instance of the class
+	 */
+	private record LoadedTemplate( Class<IBoxRunnable> clazz, BoxTemplate template ) {
+	}
+
+	/**
+	 * Drops the templates under a path when the boxpiler clears it from its page pool, so replaced classes can be unloaded
+	 */
+	private final Consumer<Path>							pagePoolListener	= this::clearTemplates;
+
+	/**
+	 * The compiled ad-hoc statements and scripts
+	 */
+	private final StatementCache							statementCache;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -56,6 +108,13 @@ public class RunnableLoader {
 	 */
 	private RunnableLoader() {
 		this.boxpiler = JavaBoxpiler.getInstance();
+		this.boxpiler.addPagePoolListener( this.pagePoolListener );
+		Configuration config = BoxRuntime.getInstance().getConfiguration();
+		this.statementCache = new StatementCache(
+		    config.statementCacheSize,
+		    config.statementCacheTimeout * 60_000L,
+		    script -> this.boxpiler.discardClass( script.getClass() )
+		);
 	}
 
 	/**
@@ -87,6 +146,31 @@ public class RunnableLoader {
 		} else if ( ASMBoxpiler.class.isAssignableFrom( clazz ) ) {
 			this.boxpiler = ASMBoxpiler.getInstance();
 		}
+		this.boxpiler.addPagePoolListener( this.pagePoolListener );
+		this.templates.clear();
+		this.statementCache.clear();
+	}
+
+	/**
+	 * Get the Boxpiler implementation in use
+	 *
+	 * @return The boxpiler
+	 */
+	public IBoxpiler getBoxpiler() {
+		return this.boxpiler;
+	}
+
+	/**
+	 * Forget the loaded templates in a file or directory
+	 *
+	 * @param path The file or directory, or null to forget every template
+	 */
+	private void clearTemplates( Path path ) {
+		if ( path == null ) {
+			this.templates.clear();
+			return;
+		}
+		this.templates.keySet().removeIf( resolvedFilePath -> resolvedFilePath.absolutePath().startsWith( path ) );
 	}
 
 	/**
@@ -98,14 +182,25 @@ public class RunnableLoader {
 	 * @return
 	 */
 	public BoxTemplate loadTemplateAbsolute( IBoxContext context, ResolvedFilePath resolvedFilePath ) {
+		// Trusted files were found and compiled before, don't hit the disk again
+		LoadedTemplate loaded = this.templates.get( resolvedFilePath );
+		if ( loaded != null && this.boxpiler.isTrusted( resolvedFilePath ) ) {
+			return loaded.template();
+		}
+
 		// TODO: Make case insensitive
-		if ( !resolvedFilePath.absolutePath().toFile().exists() ) {
+		if ( !this.boxpiler.isTrusted( resolvedFilePath ) && !resolvedFilePath.absolutePath().toFile().exists() ) {
 			throw new MissingIncludeException( "The template path [" + resolvedFilePath.absolutePath().toString() + "] could not be found.",
 			    resolvedFilePath.absolutePath().toString() );
 		}
 		// TODO: enforce valid include extensions (.cfm, .cfs, .bxs, .bxm, .bx)
 		Class<IBoxRunnable> clazz = this.boxpiler.compileTemplate( resolvedFilePath );
-		return ( BoxTemplate ) DynamicObject.of( clazz ).invokeStatic( context, "getInstance" );
+		if ( loaded != null && loaded.clazz() == clazz ) {
+			return loaded.template();
+		}
+		BoxTemplate template = ( BoxTemplate ) getRunnableInstance( clazz );
+		this.templates.put( resolvedFilePath, new LoadedTemplate( clazz, template ) );
+		return template;
 	}
 
 	/**
@@ -130,11 +225,13 @@ public class RunnableLoader {
 	 * @return
 	 */
 	public BoxScript loadSource( IBoxContext context, String source, BoxSourceType type ) {
-		Class<IBoxRunnable> clazz = this.boxpiler.compileScript( source, type );
-		if ( IClassRunnable.class.isAssignableFrom( clazz ) ) {
-			throw new RuntimeException( "Cannot define class in an ad-hoc script." );
-		}
-		return ( BoxScript ) DynamicObject.of( clazz ).invokeStatic( context, "getInstance" );
+		return this.statementCache.get( StatementCache.Kind.SCRIPT, type, source, () -> {
+			Class<IBoxRunnable> clazz = this.boxpiler.compileScript( source, type );
+			if ( IClassRunnable.class.isAssignableFrom( clazz ) ) {
+				throw new RuntimeException( "Cannot define class in an ad-hoc script." );
+			}
+			return ( BoxScript ) getRunnableInstance( clazz );
+		} );
 	}
 
 	/**
@@ -158,8 +255,19 @@ public class RunnableLoader {
 	 * @return
 	 */
 	public BoxScript loadStatement( IBoxContext context, String source ) {
-		Class<IBoxRunnable> clazz = this.boxpiler.compileStatement( source, BoxSourceType.BOXSCRIPT );
-		return ( BoxScript ) DynamicObject.of( clazz ).invokeStatic( context, "getInstance" );
+		return this.statementCache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, source, () -> {
+			Class<IBoxRunnable> clazz = this.boxpiler.compileStatement( source, BoxSourceType.BOXSCRIPT );
+			return ( BoxScript ) getRunnableInstance( clazz );
+		} );
+	}
+
+	/**
+	 * Get the cache of compiled ad-hoc statements and scripts, for its stats
+	 *
+	 * @return The statement cache
+	 */
+	public StatementCache getStatementCache() {
+		return this.statementCache;
 	}
 
 	/**
@@ -189,4 +297,21 @@ public class RunnableLoader {
 		return this.boxpiler.compileClass( resolvedFilePath );
 	}
 
+	/**
+	 * Get the singleton instance of a compiled template or script through its bound accessor
+	 *
+	 * @param clazz The compiled class
+	 *
+	 * @return The instance
+	 */
+	private static Object getRunnableInstance( Class<?> clazz ) {
+		try {
+			return ( Object ) INSTANCE_ACCESSORS.get( clazz ).invokeExact();
+		} catch ( RuntimeException e ) {
+			throw e;
+		} catch ( Throwable e ) {
+			throw new BoxRuntimeException( "Error getting the instance of " + clazz.getName(), e );
+		}
+	}
+
 }
@@ -0,0 +1,225 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.runnables;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import ortus.boxlang.compiler.parser.BoxSourceType;
+
+/**
+ * A size and age bounded cache of the compiled ad-hoc statements and scripts run through {@code evaluate()}, JSR-223
+ * and the like, keyed by their source and source type.
+ * <p>
+ * Lookups are lock free and stamp the entry with the time it was used. Misses which grow the cache past its size sweep
+ * it: entries idle for longer than the timeout go first, then the least recently used ones. Evicted entries are handed
+ * to a listener which discards their classes so the class loaders can be unloaded.
+ */
+public class StatementCache {
+
+	/**
+	 * The maximum number of entries
+	 */
+	private final int								maxSize;
+
+	/**
+	 * How long an entry may be idle, in milliseconds
+	 */
+	private final long								timeout;
+
+	/**
+	 * Receives the scripts which are evicted
+	 */
+	private final Consumer<BoxScript>				onEvict;
+
+	/**
+	 * The entries
+	 */
+	private final Map<CacheKey, Entry>				entries		= new ConcurrentHashMap<>();
+
+	/**
+	 * Stats
+	 */
+	private final LongAdder							hits		= new LongAdder();
+	private final LongAdder							misses		= new LongAdder();
+	private final LongAdder							evictions	= new LongAdder();
+
+	/**
+	 * What an entry was compiled as, since statements and scripts compile differently
+	 */
+	public enum Kind {
+		SCRIPT,
+		STATEMENT
+	}
+
+	/**
+	 * What an entry was compiled from
+	 *
+	 * @param kind   Whether it is a statement or a script
+	 * @param type   The source type
+	 * @param source The source code
+	 */
+	private record CacheKey( Kind kind, BoxSourceType type, String source ) {
+	}
+
+	/**
+	 * A cached script
+	 */
+	private static final class Entry {
+
+		private final BoxScript	script;
+		private volatile long	lastAccess;
+
+		Entry( BoxScript script ) {
+			this.script		= script;
+			this.lastAccess	= System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize The maximum number of entries
+	 * @param timeout How long an entry may be idle, in milliseconds
+	 * @param onEvict Receives the scripts which are evicted
+	 */
+	public StatementCache( int maxSize, long timeout, Consumer<BoxScript> onEvict ) {
+		this.maxSize	= maxSize;
+		this.timeout	= timeout;
+		this.onEvict	= onEvict;
+	}
+
+	/**
+	 * Get a cached script, compiling and caching it on a miss
+	 *
+	 * @param kind     Whether it is a statement or a script
+	 * @param type     The source type
+	 * @param source   The source code
+	 * @param compiler Compiles the script on a miss
+	 *
+	 * @return The script
+	 */
+	public BoxScript get( Kind kind, BoxSourceType type, String source, Supplier<BoxScript> compiler ) {
+		CacheKey	key		= new CacheKey( kind, type, source );
+		Entry		entry	= this.entries.get( key );
+		if ( entry != null ) {
+			entry.lastAccess = System.currentTimeMillis();
+			this.hits.increment();
+			return entry.script;
+		}
+
+		this.misses.increment();
+		BoxScript script = compiler.get();
+		if ( this.maxSize <= 0 ) {
+			return script;
+		}
+		// Two threads compiling the same source get the same class, keep the first
+		Entry existing = this.entries.putIfAbsent( key, new Entry( script ) );
+		if ( existing != null ) {
+			return existing.script;
+		}
+		if ( this.entries.size() > this.maxSize ) {
+			sweep();
+		}
+		return script;
+	}
+
+	/**
+	 * Evict everything
+	 */
+	public void clear() {
+		this.entries.keySet().forEach( this::evict );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Stats
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * @return How many lookups were served from the cache
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return How many lookups had to compile
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return How many entries were evicted
+	 */
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * @return The number of cached scripts
+	 */
+	public int getSize() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Evict the idle entries, then the least recently used ones until the cache is back to its size
+	 */
+	private synchronized void sweep() {
+		long now = System.currentTimeMillis();
+		this.entries.forEach( ( key, entry ) -> {
+			if ( now - entry.lastAccess > this.timeout ) {
+				evict( key );
+			}
+		} );
+		while ( this.entries.size() > this.maxSize ) {
+			CacheKey	oldestKey	= null;
+			long		oldest		= Long.MAX_VALUE;
+			for ( Map.Entry<CacheKey, Entry> candidate : this.entries.entrySet() ) {
+				if ( candidate.getValue().lastAccess < oldest ) {
+					oldest		= candidate.getValue().lastAccess;
+					oldestKey	= candidate.getKey();
+				}
+			}
+			if ( oldestKey == null ) {
+				break;
+			}
+			evict( oldestKey );
+		}
+	}
+
+	/**
+	 * Evict an entry
+	 *
+	 * @param key The key of the entry
+	 */
+	private void evict( CacheKey key ) {
+		Entry entry = this.entries.remove( key );
+		if ( entry != null ) {
+			this.evictions.increment();
+			this.onEvict.accept( entry.script );
+		}
+	}
+
+}
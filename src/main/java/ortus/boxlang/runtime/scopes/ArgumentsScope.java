@@ -41,7 +41,7 @@ public class ArgumentsScope extends BaseScope {
 	 */
 
 	public ArgumentsScope() {
-		super( ArgumentsScope.name, Struct.TYPES.LINKED );
+		super( ArgumentsScope.name, Struct.TYPES.COMPACT );
 	}
 
 	/**
@@ -28,12 +28,7 @@ public class BaseScope extends Struct implements IScope {
 	/**
 	 * Each scope can have a human friendly name
 	 */
-	private final Key		scopeName;
-
-	/**
-	 * The unique lock name for this scope instance
-	 */
-	private final String	lockName;
+	private final Key scopeName;
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -59,8 +54,7 @@ public class BaseScope extends Struct implements IScope {
 	public BaseScope( Key scopeName, Struct.TYPES type ) {
 		// setup props
 		super( type );
-		this.scopeName	= scopeName;
-		this.lockName	= scopeName.getName() + new Object().hashCode();
+		this.scopeName = scopeName;
 	}
 
 	/**
@@ -84,7 +78,8 @@ public class BaseScope extends Struct implements IScope {
 	 * @return The unique lock name for the scope
 	 */
 	public String getLockName() {
-		return lockName;
+		// Built on demand since scopes are created on every function call but rarely locked
+		return scopeName.getName() + System.identityHashCode( this );
 	}
 
 }
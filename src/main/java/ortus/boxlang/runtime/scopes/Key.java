@@ -18,7 +18,11 @@
 package ortus.boxlang.runtime.scopes;
 
 import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
@@ -26,6 +30,10 @@ import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
  * Represents a case-insenstive key, while retaining the original case too.
  * Implements the Serializable interface in case duplication is requested within
  * a native HashMap or ArrayList
+ * <p>
+ * Keys created via the {@code Key.of()} builders are canonicalized: string keys are interned in a weakly referenced
+ * concurrent table and small integer keys come from a prebuilt table. This means most key comparisons can be
+ * resolved by identity, falling back to a case-insensitive name comparison for keys created via the constructors.
  */
 public class Key implements Comparable<Key>, Serializable {
 
@@ -148,6 +156,8 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		charset							= Key.of( "charset" );
 	public static final Key		charsetOrBufferSize				= Key.of( "charsetOrBufferSize" );
 	public static final Key		childname						= Key.of( "childname" );
+	public static final Key		classArchive					= Key.of( "classArchive" );
+	public static final Key		classCacheSize					= Key.of( "classCacheSize" );
 	public static final Key		classGenerationDirectory		= Key.of( "classGenerationDirectory" );
 	public static final Key		className						= Key.of( "className" );
 	public static final Key		clazz							= Key.of( "clazz" );
@@ -157,6 +167,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		codePrintHTML					= Key.of( "codePrintHTML" );
 	public static final Key		codePrintPlain					= Key.of( "codePrintPlain" );
 	public static final Key		coldfusion						= Key.of( "coldfusion" );
+	public static final Key		collapseTemplateWhitespace		= Key.of( "collapseTemplateWhitespace" );
 	public static final Key		collection						= Key.of( "collection" );
 	public static final Key		column							= Key.of( "column" );
 	public static final Key		column_name						= Key.of( "column_name" );
@@ -239,6 +250,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		domain							= Key.of( "domain" );
 	public static final Key		dspLocale						= Key.of( "dspLocale" );
 	public static final Key		dump							= Key.of( "dump" );
+	public static final Key		dumpJavaSource					= Key.of( "dumpJavaSource" );
 	public static final Key		duration						= Key.of( "duration" );
 	public static final Key		elapsedTime						= Key.of( "elapsedTime" );
 	public static final Key		elem							= Key.of( "elem" );
@@ -473,11 +485,13 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		onSessionEnd					= Key.of( "onSessionEnd" );
 	public static final Key		onSessionStart					= Key.of( "onSessionStart" );
 	public static final Key		onUnload						= Key.of( "onUnload" );
+	public static final Key		optimizeAST						= Key.of( "optimizeAST" );
 	public static final Key		options							= Key.of( "options" );
 	public static final Key		ordered							= Key.of( "ordered" );
 	public static final Key		originalConfig					= Key.of( "originalConfig" );
 	public static final Key		os								= Key.of( "os" );
 	public static final Key		output							= Key.of( "output" );
+	public static final Key		outputFlushThreshold			= Key.of( "outputFlushThreshold" );
 	public static final Key		overwrite						= Key.of( "overwrite" );
 	public static final Key		owner							= Key.of( "owner" );
 	public static final Key		pageEncoding					= Key.of( "pageEncoding" );
@@ -604,6 +618,8 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		startTime						= Key.of( "startTime" );
 	public static final Key		state							= Key.of( "state" );
 	public static final Key		states							= Key.of( "states" );
+	public static final Key		statementCacheSize				= Key.of( "statementCacheSize" );
+	public static final Key		statementCacheTimeout			= Key.of( "statementCacheTimeout" );
 	public static final Key		status							= Key.of( "status" );
 	public static final Key		status_code						= Key.of( "status_code" );
 	public static final Key		status_text						= Key.of( "status_text" );
@@ -631,6 +647,7 @@ public class Key implements Comparable<Key>, Serializable {
 	public static final Key		systemExecute					= Key.of( "systemExecute" );
 	public static final Key		tagContext						= Key.of( "tagContext" );
 	public static final Key		target							= Key.of( "target" );
+	public static final Key		templateCacheMode				= Key.of( "templateCacheMode" );
 	public static final Key		template						= Key.of( "template" );
 	public static final Key		terminate						= Key.of( "terminate" );
 	public static final Key		terminated						= Key.of( "terminated" );
@@ -853,8 +870,8 @@ public class Key implements Comparable<Key>, Serializable {
 
 	/**
 	 * Verifies equality with the following rules:
-	 * - Same object
-	 * - Same key hash
+	 * - Same object (the common case for interned keys)
+	 * - Same key hash and same key name (case-insensitive)
 	 *
 	 * @param obj The object to compare against.
 	 */
@@ -865,9 +882,9 @@ public class Key implements Comparable<Key>, Serializable {
 			return true;
 		}
 
-		if ( obj != null && obj instanceof Key castedKey ) {
-			// Same key name
-			return hashCode() == castedKey.hashCode();
+		if ( obj instanceof Key castedKey ) {
+			// Same key hash, then same key name to rule out collisions
+			return hashCode() == castedKey.hashCode() && this.nameNoCase.equals( castedKey.nameNoCase );
 		}
 
 		return false;
@@ -912,17 +929,15 @@ public class Key implements Comparable<Key>, Serializable {
 	public static Key of( String name ) {
 		int len = name.length();
 		if ( len <= 3 ) {
-			byte[] bytes = name.getBytes();
 			// optimization for common cases where incoming string is actually an int up to
 			// 3 digits
-			if ( ( len == 1 && isDigit( bytes[ 0 ] ) )
-			    || ( len == 2 && isDigit( bytes[ 0 ] ) && isDigit( bytes[ 1 ] ) )
-			    || ( len == 3 && isDigit( bytes[ 0 ] ) && isDigit( bytes[ 1 ] ) && isDigit( bytes[ 2 ] ) ) ) {
-				return new IntKey( Integer.parseInt( name ) );
-
+			if ( ( len == 1 && isDigit( name.charAt( 0 ) ) )
+			    || ( len == 2 && isDigit( name.charAt( 0 ) ) && isDigit( name.charAt( 1 ) ) )
+			    || ( len == 3 && isDigit( name.charAt( 0 ) ) && isDigit( name.charAt( 1 ) ) && isDigit( name.charAt( 2 ) ) ) ) {
+				return Key.of( Integer.parseInt( name ) );
 			}
 		}
-		return new Key( name );
+		return InternTable.intern( name );
 	}
 
 	/**
@@ -935,14 +950,14 @@ public class Key implements Comparable<Key>, Serializable {
 	}
 
 	/**
-	 * A little helper to decide if a byte represents a digit 0-9
+	 * A little helper to decide if a char represents a digit 0-9
 	 *
-	 * @param b The byte to check
+	 * @param c The char to check
 	 *
-	 * @return True if the byte is a digit
+	 * @return True if the char is a digit
 	 */
-	private static boolean isDigit( byte b ) {
-		return b >= 48 && b <= 57;
+	private static boolean isDigit( char c ) {
+		return c >= '0' && c <= '9';
 	}
 
 	/**
@@ -967,6 +982,9 @@ public class Key implements Comparable<Key>, Serializable {
 		if ( obj == null ) {
 			throw new BoxRuntimeException( "Cannot create a key from a null object" );
 		}
+		if ( obj instanceof String s ) {
+			return Key.of( s );
+		}
 		return new Key( obj.toString(), obj );
 	}
 
@@ -978,7 +996,7 @@ public class Key implements Comparable<Key>, Serializable {
 	 * @return A case-insensitive key class
 	 */
 	public static IntKey of( Integer obj ) {
-		return new IntKey( obj );
+		return Key.of( obj.intValue() );
 	}
 
 	/**
@@ -989,6 +1007,11 @@ public class Key implements Comparable<Key>, Serializable {
 	 * @return A case-insensitive key class
 	 */
 	public static IntKey of( int obj ) {
+		if ( obj >= 0 && obj < InternTable.INT_KEYS.length ) {
+			InternTable.intHits.increment();
+			return InternTable.INT_KEYS[ obj ];
+		}
+		InternTable.intMisses.increment();
 		return new IntKey( obj );
 	}
 
@@ -1014,7 +1037,7 @@ public class Key implements Comparable<Key>, Serializable {
 	 */
 	public static Key of( double obj ) {
 		if ( obj == ( int ) obj ) {
-			return new IntKey( ( int ) obj );
+			return Key.of( ( int ) obj );
 		} else {
 			return new Key( String.valueOf( obj ), obj );
 		}
@@ -1069,4 +1092,152 @@ public class Key implements Comparable<Key>, Serializable {
 		return this.name.compareTo( otherKey.name );
 	}
 
+	/**
+	 * --------------------------------------------------------------------------
+	 * Intern Table Stats
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * @return How many string keys were served from the intern table
+	 */
+	public static long getInternHits() {
+		return InternTable.hits.sum();
+	}
+
+	/**
+	 * @return How many string keys had to be created and added to the intern table
+	 */
+	public static long getInternMisses() {
+		return InternTable.misses.sum();
+	}
+
+	/**
+	 * @return How many int keys were served from the prebuilt int key table
+	 */
+	public static long getIntKeyHits() {
+		return InternTable.intHits.sum();
+	}
+
+	/**
+	 * @return How many int keys were out of range of the prebuilt int key table
+	 */
+	public static long getIntKeyMisses() {
+		return InternTable.intMisses.sum();
+	}
+
+	/**
+	 * @return The approximate number of entries in the intern table, including entries whose keys have been collected
+	 *         but not yet purged.
+	 */
+	public static int getInternSize() {
+		return InternTable.TABLE.size();
+	}
+
+	/**
+	 * The canonical key tables. This is a lazy holder so the tables are ready before the static key constants
+	 * above are built, regardless of declaration order.
+	 */
+	private static final class InternTable {
+
+		/**
+		 * How many int keys (starting at zero) are prebuilt
+		 */
+		private static final int										INT_KEY_TABLE_SIZE	= 1024;
+
+		/**
+		 * Prebuilt int keys, used for array indexes, query rows, etc
+		 */
+		private static final IntKey[]									INT_KEYS			= new IntKey[ INT_KEY_TABLE_SIZE ];
+
+		/**
+		 * The intern table. The values are weakly referenced so keys which are no longer used anywhere can be
+		 * collected and their entries purged.
+		 */
+		private static final ConcurrentHashMap<String, KeyReference>	TABLE				= new ConcurrentHashMap<>( 4096 );
+
+		/**
+		 * Where collected keys are enqueued so we can purge their entries
+		 */
+		private static final ReferenceQueue<Key>						QUEUE				= new ReferenceQueue<>();
+
+		/**
+		 * Stats counters
+		 */
+		private static final LongAdder									hits				= new LongAdder();
+		private static final LongAdder									misses				= new LongAdder();
+		private static final LongAdder									intHits				= new LongAdder();
+		private static final LongAdder									intMisses			= new LongAdder();
+
+		static {
+			for ( int i = 0; i < INT_KEY_TABLE_SIZE; i++ ) {
+				INT_KEYS[ i ] = new IntKey( i );
+			}
+		}
+
+		/**
+		 * Get the canonical key for a name, creating and registering it if needed.
+		 *
+		 * @param name The key name
+		 *
+		 * @return The canonical key
+		 */
+		private static Key intern( String name ) {
+			KeyReference ref = TABLE.get( name );
+			if ( ref != null ) {
+				Key key = ref.get();
+				if ( key != null ) {
+					hits.increment();
+					return key;
+				}
+			}
+
+			misses.increment();
+			purge();
+
+			Key				key		= new Key( name );
+			KeyReference	newRef	= new KeyReference( key, QUEUE );
+			while ( true ) {
+				KeyReference existing = TABLE.putIfAbsent( name, newRef );
+				if ( existing == null ) {
+					return key;
+				}
+				// Another thread beat us to it
+				Key existingKey = existing.get();
+				if ( existingKey != null ) {
+					return existingKey;
+				}
+				// The existing entry was collected, so take its place
+				if ( TABLE.replace( name, existing, newRef ) ) {
+					return key;
+				}
+			}
+		}
+
+		/**
+		 * Remove the entries of keys which have been garbage collected
+		 */
+		private static void purge() {
+			KeyReference ref;
+			while ( ( ref = ( KeyReference ) QUEUE.poll() ) != null ) {
+				TABLE.remove( ref.name, ref );
+			}
+		}
+
+	}
+
+	/**
+	 * A weak reference to an interned key, which remembers the name it was registered under
+	 */
+	private static final class KeyReference extends WeakReference<Key> {
+
+		private final String name;
+
+		KeyReference( Key key, ReferenceQueue<Key> queue ) {
+			super( key, queue );
+			this.name = key.name;
+		}
+
+	}
+
 }
@@ -58,6 +58,27 @@ public class KeyCased extends Key {
 		return this.hashCode;
 	}
 
+	/**
+	 * Verifies equality with the following rules:
+	 * - Same object
+	 * - Same key name (case-sensitive) when compared to another case-sensitive key
+	 *
+	 * @param obj The object to compare against.
+	 */
+	@Override
+	public boolean equals( Object obj ) {
+		// Same object
+		if ( this == obj ) {
+			return true;
+		}
+
+		if ( obj instanceof KeyCased castedKey ) {
+			return hashCode() == castedKey.hashCode() && this.name.equals( castedKey.name );
+		}
+
+		return super.equals( obj );
+	}
+
 	/**
 	 * Static builder of a case-insensitive key using the incoming key name
 	 *
@@ -17,6 +17,8 @@
  */
 package ortus.boxlang.runtime.scopes;
 
+import ortus.boxlang.runtime.types.Struct;
+
 /**
  * Variables scope implementation in BoxLang
  */
@@ -36,7 +38,7 @@ public class LocalScope extends BaseScope {
 	 */
 
 	public LocalScope() {
-		super( LocalScope.name );
+		super( LocalScope.name, Struct.TYPES.COMPACT );
 	}
 
 	/**
@@ -17,7 +17,6 @@
  */
 package ortus.boxlang.runtime.scripting;
 
-import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Writer;
 import java.net.URI;
@@ -25,7 +24,9 @@ import java.net.URI;
 import javax.script.ScriptContext;
 
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.types.exceptions.BoxIOException;
 
 /**
  * This context represents the context of a JSR scripting execution
@@ -87,17 +88,14 @@ public class JSRScriptingRequestBoxContext extends ScriptingRequestBoxContext {
 		if ( !canOutput() && !force ) {
 			return this;
 		}
-		String output;
-		for ( StringBuffer buf : buffers ) {
-			synchronized ( buf ) {
-				output = buf.toString();
-				buf.setLength( 0 );
-			}
+		for ( OutputBuffer buf : buffers ) {
+			OutputBuffer flushed = buf.detach();
 			try {
-				JSRScriptingContext.getWriter().write( output );
-			} catch ( IOException e ) {
+				flushed.writeTo( JSRScriptingContext.getWriter() );
+			} catch ( BoxIOException e ) {
 				e.printStackTrace();
 			}
+			flushed.clear();
 		}
 		return this;
 	}
@@ -32,6 +32,7 @@ import ortus.boxlang.runtime.bifs.BIFNamespace;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.bifs.BoxMember;
 import ortus.boxlang.runtime.bifs.MemberDescriptor;
+import ortus.boxlang.runtime.bifs.MemberLookupCache;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
 import ortus.boxlang.runtime.dynamic.casters.GenericCaster;
@@ -77,6 +78,17 @@ public class FunctionService extends BaseService {
 	 */
 	private Map<Key, Map<BoxLangType, MemberDescriptor>>	memberMethods	= new ConcurrentHashMap<>();
 
+	/**
+	 * Shared dispatch table for {@code obj.method()} calls, by member name and then by the Java class of the object.
+	 * Only holds resolutions which depend on the class alone. Cleared whenever a member method is registered.
+	 */
+	private Map<Key, Map<Class<?>, MemberDescriptor>>		memberDispatch	= new ConcurrentHashMap<>();
+
+	/**
+	 * Bumped whenever a member method is registered, invalidating the inline caches of compiled code
+	 */
+	private volatile long									memberVersion	= 0;
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Constructor(s)
@@ -209,14 +221,112 @@ public class FunctionService extends BaseService {
 	 */
 
 	/**
-	 * Returns the member method with the given name and type by verifying if the passed object can be cast to that type
+	 * Returns the member method with the given name and type by verifying if the passed object can be cast to that type.
+	 * <p>
+	 * A member method whose type the object already is (a String for a string method, an Array for an array method, an
+	 * instance of the custom class, etc) is preferred and cached by the Java class of the object. Otherwise every registered
+	 * type is tried until the object can be cast to one of them, which depends on the value so it is not cached.
 	 *
-	 * @param name   The name of the member method
-	 * @param object An object to cast to the type of the member method
+	 * @param context The context
+	 * @param name    The name of the member method
+	 * @param object  An object to cast to the type of the member method
 	 *
 	 * @return The member method with the given name and type or null if none exists
 	 */
 	public MemberDescriptor getMemberMethod( IBoxContext context, Key name, Object object ) {
+		MemberDescriptor descriptor = getClassMemberMethod( context, name, object );
+		return descriptor != null ? descriptor : castMemberMethod( context, name, object );
+	}
+
+	/**
+	 * Returns the member method with the given name for an object, using the inline cache of a compiled call site
+	 *
+	 * @param context The context
+	 * @param name    The name of the member method
+	 * @param object  An object to cast to the type of the member method
+	 * @param cache   The inline cache of the call site
+	 *
+	 * @return The member method with the given name and type or null if none exists
+	 */
+	public MemberDescriptor getMemberMethod( IBoxContext context, Key name, Object object, MemberLookupCache cache ) {
+		long version = this.memberVersion;
+		if ( cache.isMegamorphic( version ) ) {
+			return getMemberMethod( context, name, object );
+		}
+		Class<?>			targetClass	= object.getClass();
+		MemberDescriptor	descriptor	= cache.get( targetClass, version );
+		if ( descriptor != null ) {
+			return descriptor;
+		}
+		descriptor = getClassMemberMethod( context, name, object );
+		if ( descriptor != null ) {
+			cache.put( targetClass, descriptor, version );
+			return descriptor;
+		}
+		return castMemberMethod( context, name, object );
+	}
+
+	/**
+	 * Get the version of the member method registry, which changes whenever a member method is registered
+	 *
+	 * @return The version
+	 */
+	public long getMemberMethodVersion() {
+		return this.memberVersion;
+	}
+
+	/**
+	 * Find the member method an object resolves to by its class alone, through the shared dispatch table
+	 *
+	 * @param context The context
+	 * @param name    The name of the member method
+	 * @param object  The object
+	 *
+	 * @return The member method, or null if there is none for the class of the object
+	 */
+	private MemberDescriptor getClassMemberMethod( IBoxContext context, Key name, Object object ) {
+		Map<BoxLangType, MemberDescriptor> targetMethodMap = this.memberMethods.get( name );
+		if ( targetMethodMap == null ) {
+			return null;
+		}
+		Class<?>						targetClass	= object.getClass();
+		Map<Class<?>, MemberDescriptor>	dispatch	= this.memberDispatch.get( name );
+		if ( dispatch != null ) {
+			MemberDescriptor descriptor = dispatch.get( targetClass );
+			if ( descriptor != null ) {
+				return descriptor;
+			}
+		}
+
+		long version = this.memberVersion;
+		for ( MemberDescriptor descriptor : targetMethodMap.values() ) {
+			boolean matches = descriptor.type == BoxLangType.CUSTOM
+			    ? descriptor.customClass.isInstance( object )
+			    : isSameObject( GenericCaster.attempt( context, object, descriptor.type ), object );
+			if ( matches ) {
+				// Don't publish a resolution made against a registry that changed under us. Registration bumps the version
+				// and clears the table under the same lock, so the check and the put can't interleave with it.
+				synchronized ( this.memberMethods ) {
+					if ( version == this.memberVersion ) {
+						this.memberDispatch.computeIfAbsent( name, key -> new ConcurrentHashMap<>() ).put( targetClass, descriptor );
+					}
+				}
+				return descriptor;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find the first member method whose type the object can be cast to
+	 *
+	 * @param context The context
+	 * @param name    The name of the member method
+	 * @param object  The object
+	 *
+	 * @return The member method, or null if the object can't be cast to any type registered for the name
+	 */
+	private MemberDescriptor castMemberMethod( IBoxContext context, Key name, Object object ) {
 		// For obj.method() we first look for a registered member method of this name
 		Map<BoxLangType, MemberDescriptor> targetMethodMap = this.memberMethods.get( name );
 		if ( targetMethodMap != null ) {
@@ -238,6 +348,18 @@ public class FunctionService extends BaseService {
 		return null;
 	}
 
+	/**
+	 * Whether a cast left the object as it was, meaning the object already is of the type
+	 *
+	 * @param castAttempt The cast attempt
+	 * @param object      The object which was cast
+	 *
+	 * @return True if the cast succeeded without converting the object
+	 */
+	private static boolean isSameObject( CastAttempt<?> castAttempt, Object object ) {
+		return castAttempt.wasSuccessful() && castAttempt.get() == object;
+	}
+
 	/**
 	 * Returns the member method with the given name and BoxLangType
 	 *
@@ -316,6 +438,12 @@ public class FunctionService extends BaseService {
 
 		// Now add them up
 		this.memberMethods.get( memberKey ).put( descriptor.type, descriptor );
+
+		// Anything resolved so far may now resolve differently
+		synchronized ( this.memberMethods ) {
+			this.memberVersion++;
+			this.memberDispatch.clear();
+		}
 	}
 
 	/**
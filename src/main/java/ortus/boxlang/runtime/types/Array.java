@@ -759,7 +759,7 @@ public class Array implements List<Object>, IType, IReferenceable, IListenable,
 				}
 			}
 		}
-		wrapped.set( index - 1, value );
+		wrapped.set( index - 1, Struct.escapeValue( value ) );
 		return value;
 	}
 
@@ -860,6 +860,7 @@ public class Array implements List<Object>, IType, IReferenceable, IListenable,
 	 * @return The value after notifying listeners
 	 */
 	private Object notifyListeners( int i, Object value ) {
+		Struct.escapeValue( value );
 		if ( listeners == null ) {
 			return value;
 		}
@@ -19,6 +19,7 @@ package ortus.boxlang.runtime.types;
 
 import java.util.Objects;
 
+import ortus.boxlang.runtime.context.FunctionBoxContext;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.Key;
@@ -42,6 +43,8 @@ public abstract class Closure extends Function {
 		super();
 		Objects.requireNonNull( declaringContext, "A Closure's declaring context cannot be null." );
 		this.declaringContext = declaringContext;
+		// Closures can run on other threads ( runAsync, parallel loops, etc ), so the scopes they capture must be thread-safe
+		FunctionBoxContext.escapeNearestScopes( declaringContext );
 	}
 
 	/**
@@ -161,26 +161,38 @@ public abstract class Function implements IType, IFunctionRunnable, Serializable
 	public Object invoke( FunctionBoxContext context ) {
 		InterceptorService	interceptorService	= BoxRuntime.getInstance().getInterceptorService();
 
-		// Announcements
-		IStruct				data				= Struct.of(
-		    Key.context, context,
-		    Key.function, this
-		);
-		interceptorService.announce(
-		    BoxEvent.PRE_FUNCTION_INVOKE,
-		    data
-		);
+		// Announcements, the data is only built if something is listening
+		IStruct				data				= null;
+		if ( interceptorService.hasListeners( BoxEvent.PRE_FUNCTION_INVOKE ) ) {
+			data = Struct.of(
+			    Key.context, context,
+			    Key.function, this
+			);
+			interceptorService.announce(
+			    BoxEvent.PRE_FUNCTION_INVOKE,
+			    data
+			);
+		}
 
 		Object result = null;
 		context.pushTemplate( this );
 		try {
-			result = ensureReturnType( context, _invoke( context ) );
-			data.put( Key.result, result );
-
-			interceptorService.announce(
-			    BoxEvent.POST_FUNCTION_INVOKE,
-			    data
-			);
+			// A returned scope ( return arguments; ) can be published anywhere by the caller
+			result = Struct.escapeValue( ensureReturnType( context, _invoke( context ) ) );
+
+			if ( interceptorService.hasListeners( BoxEvent.POST_FUNCTION_INVOKE ) ) {
+				if ( data == null ) {
+					data = Struct.of(
+					    Key.context, context,
+					    Key.function, this
+					);
+				}
+				data.put( Key.result, result );
+				interceptorService.announce(
+				    BoxEvent.POST_FUNCTION_INVOKE,
+				    data
+				);
+			}
 		} catch ( AbortException e ) {
 			if ( e.isLoop() ) {
 				throw new BoxValidationException( "You cannot use the 'loop' method of the exit component outside of a custom tag." );
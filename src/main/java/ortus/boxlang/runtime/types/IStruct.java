@@ -36,12 +36,27 @@ public interface IStruct extends Map<Key, Object>, IType, IReferenceable {
 	 */
 	public enum TYPES {
 		CASE_SENSITIVE,
+		/**
+		 * A compact, insertion-ordered and thread-confined struct used by function scopes.
+		 * It inflates to a concurrent representation when it escapes to another thread.
+		 */
+		COMPACT,
 		DEFAULT,
 		LINKED_CASE_SENSITIVE,
 		LINKED,
 		SOFT,
 		SORTED,
-		WEAK
+		WEAK;
+
+		/**
+		 * The type of struct to create when copying a struct of this type. Compact structs are confined to the thread
+		 * that created them, so their copies are regular linked structs.
+		 *
+		 * @return The type of the copy
+		 */
+		public TYPES copyType() {
+			return this == COMPACT ? LINKED : this;
+		}
 	}
 
 	/**
@@ -255,10 +270,19 @@ public interface IStruct extends Map<Key, Object>, IType, IReferenceable {
 
 	/**
 	 * Convenience method for getting cast as Double
-	 * Does NOT perform BoxLang casting, only Java cast so the object needs to actually be castable
+	 * Does NOT perform BoxLang casting, only Java cast so the object needs to actually be castable.
+	 * <p>
+	 * Any other {@link Number} is widened with {@link Number#doubleValue()}. BoxLang math on integral operands
+	 * produces an Integer, Long or BigDecimal rather than a Double, so a value computed by a script is not
+	 * guaranteed to be a Double. Widening a Long or BigDecimal can lose precision; callers which need the
+	 * exact value should use {@link #get(Object)} and handle the {@link Number} themselves.
 	 */
 	default Double getAsDouble( Key key ) {
-		return ( Double ) DynamicObject.unWrap( get( key ) );
+		Object value = DynamicObject.unWrap( get( key ) );
+		if ( value instanceof Number num && ! ( value instanceof Double ) ) {
+			return num.doubleValue();
+		}
+		return ( Double ) value;
 	}
 
 	/**
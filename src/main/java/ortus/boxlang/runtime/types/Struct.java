@@ -52,6 +52,7 @@ import ortus.boxlang.runtime.types.meta.BoxMeta;
 import ortus.boxlang.runtime.types.meta.IChangeListener;
 import ortus.boxlang.runtime.types.meta.IListenable;
 import ortus.boxlang.runtime.types.meta.StructMeta;
+import ortus.boxlang.runtime.types.util.CompactScopeMap;
 
 /**
  * This type provides the core map class for Boxlang. Structs are highly versatile and are used for organizing and managing related data.
@@ -151,6 +152,7 @@ public class Struct implements IStruct, IListenable, Serializable {
 							case DEFAULT, CASE_SENSITIVE, SOFT -> new ConcurrentHashMap<>( INITIAL_CAPACITY );
 							case LINKED, LINKED_CASE_SENSITIVE -> Collections.synchronizedMap( new LinkedHashMap<>( INITIAL_CAPACITY ) );
 							case SORTED -> new ConcurrentSkipListMap<>();
+							case COMPACT -> new CompactScopeMap();
 							case WEAK -> new WeakHashMap<>( INITIAL_CAPACITY );
 							default -> throw new BoxRuntimeException( "Invalid struct type [" + type.name() + "]" );
 						};
@@ -587,13 +589,14 @@ public class Struct implements IStruct, IListenable, Serializable {
 		Stream<Map.Entry<? extends Key, ?>> entryStream;
 		// Parallel streams are actually slower for small data sets!
 		// 1000 may even be to small. Some resoruces say to not bnother unless you have over 10,000 items! Need to test more.
-		if ( map.size() > 1000 ) {
+		// Compact structs are confined to the current thread, so they are never filled in parallel
+		if ( map.size() > 1000 && type != TYPES.COMPACT ) {
 			entryStream = map.entrySet().parallelStream().map( entry -> entry );
 		} else {
 			entryStream = map.entrySet().stream().map( entry -> entry );
 		}
 		// With a linked hashmap we need to maintain order - which is a tiny bit slower
-		if ( type.equals( TYPES.LINKED ) ) {
+		if ( type.equals( TYPES.LINKED ) || type.equals( TYPES.COMPACT ) ) {
 			entryStream.forEachOrdered( entry -> {
 				wrapped.put( entry.getKey(), ( entry.getValue() == null ) ? new NullValue() : entry.getValue() );
 			} );
@@ -614,13 +617,14 @@ public class Struct implements IStruct, IListenable, Serializable {
 		Stream<Map.Entry<?, ?>> entryStream;
 		// Parallel streams are actually slower for small data sets!
 		// 1000 may even be to small. Some resoruces say to not bnother unless you have over 10,000 items! Need to test more.
-		if ( map.size() > 1000 ) {
+		// Compact structs are confined to the current thread, so they are never filled in parallel
+		if ( map.size() > 1000 && type != TYPES.COMPACT ) {
 			entryStream = map.entrySet().parallelStream().map( entry -> entry );
 		} else {
 			entryStream = map.entrySet().stream().map( entry -> entry );
 		}
 		// With a linked hashmap we need to maintain order - which is a tiny bit slower
-		if ( type.equals( TYPES.LINKED ) ) {
+		if ( type.equals( TYPES.LINKED ) || type.equals( TYPES.COMPACT ) ) {
 			entryStream.forEachOrdered( entry -> {
 				Key key;
 				if ( entry.getKey() instanceof Key entryKey ) {
@@ -759,7 +763,7 @@ public class Struct implements IStruct, IListenable, Serializable {
 	}
 
 	/**
-	 * Get the type of struct
+	 * Get the type of struct. Use {@link TYPES#copyType()} to get the type of a struct copied from this one.
 	 *
 	 * @return The type of struct according to the {@Link Type} enum
 	 */
@@ -767,6 +771,19 @@ public class Struct implements IStruct, IListenable, Serializable {
 		return type;
 	}
 
+	/**
+	 * Let this struct escape the thread that created it. This inflates compact structs into their concurrent
+	 * representation, and it's a no-op for every other type of struct, which are already thread-safe.
+	 *
+	 * @return This struct
+	 */
+	public Struct escape() {
+		if ( this.wrapped instanceof CompactScopeMap compactMap ) {
+			compactMap.escape();
+		}
+		return this;
+	}
+
 	/**
 	 * Returns a boolean as to whether the struct instance is case sensitive
 	 */
@@ -927,7 +944,22 @@ public class Struct implements IStruct, IListenable, Serializable {
 		if ( value == null ) {
 			return new NullValue();
 		}
-		return wrapAssignment( value );
+		return wrapAssignment( escapeValue( value ) );
+	}
+
+	/**
+	 * Let a value escape the thread that created it if it's a compact struct, like a function scope. This is called
+	 * before a value is stored in a struct or array, since other threads may reach it from there.
+	 *
+	 * @param value The value
+	 *
+	 * @return The value
+	 */
+	public static Object escapeValue( Object value ) {
+		if ( value instanceof Struct struct && struct.wrapped instanceof CompactScopeMap compactMap ) {
+			compactMap.escape();
+		}
+		return value;
 	}
 
 	/**
@@ -59,7 +59,7 @@ public class ImmutableStruct extends Struct implements IImmutable {
 		super(
 		    switch ( type ) {
 			    case DEFAULT -> new HashMap<>( INITIAL_CAPACITY );
-			    case LINKED -> new LinkedHashMap<Key, Object>( INITIAL_CAPACITY );
+			    case LINKED, COMPACT -> new LinkedHashMap<Key, Object>( INITIAL_CAPACITY );
 			    case SORTED -> new TreeMap<Key, Object>();
 			    default -> throw new BoxRuntimeException( "Invalid struct type [" + type.name() + "]" );
 		    },
@@ -90,7 +90,7 @@ public class ImmutableStruct extends Struct implements IImmutable {
 	 * @param struct The struct to create the struct from
 	 */
 	public ImmutableStruct( IStruct struct ) {
-		this( struct instanceof Struct str ? str.getType() : Struct.TYPES.DEFAULT, struct.getWrapped() );
+		this( struct instanceof Struct str ? str.getType().copyType() : Struct.TYPES.DEFAULT, struct.getWrapped() );
 	}
 
 	/**
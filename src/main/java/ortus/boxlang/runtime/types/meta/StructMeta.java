@@ -45,6 +45,7 @@ public class StructMeta extends BoxMeta {
 		    "casesensitive", this.target.isCaseSensitive(),
 		    "soft", this.target.isSoftReferenced(),
 		    "ordered", this.target.getType().equals( IStruct.TYPES.LINKED ) || this.target.getType().equals( IStruct.TYPES.LINKED_CASE_SENSITIVE )
+		        || this.target.getType().equals( IStruct.TYPES.COMPACT )
 		);
 
 	}
@@ -0,0 +1,562 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * A compact, insertion-ordered, open-addressed map of {@link Key}s to values, used as the backing map of
+ * {@code Struct.TYPES.COMPACT} structs. It's tuned for the small, short-lived scopes created on every function
+ * call ( local, arguments ) which hold fewer than 16 entries and are almost always used by a single thread.
+ * <p>
+ * The map is confined to the thread that created it. Entries live in two dense arrays in insertion order, and
+ * a small open-addressed index maps hashes to positions in those arrays. Since keys are canonical, lookups
+ * are usually resolved by identity.
+ * <p>
+ * Once the map escapes ( see {@link #escape()} ) it's inflated into a synchronized {@link LinkedHashMap} and every
+ * operation is delegated to it from then on. The owner thread must escape the map before publishing it to another
+ * thread. The runtime does so when a closure captures the scope, when a thread is spawned from the function, and
+ * when the scope is stored as a value in a struct or array. Accessing a map which did not escape from any other
+ * thread fails fast instead of reading arrays the owner may be writing.
+ * <p>
+ * Escaping has a cost: a function which creates a closure inflates its scopes on every call, so it gets little out
+ * of the compact representation. Functions which don't create closures or threads, which is most of them, never
+ * inflate.
+ */
+public class CompactScopeMap extends AbstractMap<Key, Object> implements Serializable {
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Private Properties
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Serial version UID
+	 */
+	private static final long			serialVersionUID	= 1L;
+
+	/**
+	 * How many entries we can hold before growing
+	 */
+	private static final int			INITIAL_CAPACITY	= 8;
+
+	/**
+	 * The id of the thread that created this map, the only one that can use the compact representation.
+	 * We keep the id instead of the thread so the map doesn't keep a finished thread reachable.
+	 */
+	private final transient long		ownerId;
+
+	/**
+	 * The keys in insertion order
+	 */
+	private Key[]						keys;
+
+	/**
+	 * The values in insertion order
+	 */
+	private Object[]					values;
+
+	/**
+	 * The open-addressed index: each slot holds the position of an entry + 1, or 0 if empty.
+	 * It's always twice the size of the entry arrays so it's at most half full.
+	 */
+	private int[]						index;
+
+	/**
+	 * How many entries are in the map
+	 */
+	private int							size;
+
+	/**
+	 * The concurrent representation, only set once the map escapes its owner thread
+	 */
+	private volatile Map<Key, Object>	shared;
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Constructors
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Constructor
+	 */
+	public CompactScopeMap() {
+		this.ownerId	= Thread.currentThread().threadId();
+		this.keys		= new Key[ INITIAL_CAPACITY ];
+		this.values		= new Object[ INITIAL_CAPACITY ];
+		this.index		= new int[ INITIAL_CAPACITY * 2 ];
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Escape Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Inflate this map into its concurrent representation so it can be safely used by other threads.
+	 * It must be called by the owner thread, before the map is published. Calling this more than once is a no-op.
+	 *
+	 * @return The concurrent representation
+	 *
+	 * @throws BoxRuntimeException If the map has not escaped and this is not the owner thread
+	 */
+	public Map<Key, Object> escape() {
+		Map<Key, Object> result = this.shared;
+		if ( result != null ) {
+			return result;
+		}
+		checkOwner();
+		synchronized ( this ) {
+			if ( this.shared == null ) {
+				LinkedHashMap<Key, Object> inflated = new LinkedHashMap<>( Math.max( 16, this.size * 2 ) );
+				for ( int i = 0; i < this.size; i++ ) {
+					inflated.put( this.keys[ i ], this.values[ i ] );
+				}
+				this.shared = Collections.synchronizedMap( inflated );
+			}
+			return this.shared;
+		}
+	}
+
+	/**
+	 * Verifies if this map has escaped its owner thread
+	 *
+	 * @return True if the map is using its concurrent representation
+	 */
+	public boolean isEscaped() {
+		return this.shared != null;
+	}
+
+	/**
+	 * Get the concurrent representation if we have escaped
+	 *
+	 * @return The concurrent representation, or null if the compact representation can be used
+	 *
+	 * @throws BoxRuntimeException If the map has not escaped and this is not the owner thread
+	 */
+	private Map<Key, Object> sharedOrNull() {
+		Map<Key, Object> result = this.shared;
+		if ( result != null ) {
+			return result;
+		}
+		checkOwner();
+		return null;
+	}
+
+	/**
+	 * Fail fast if the current thread is not the owner of the compact representation
+	 *
+	 * @throws BoxRuntimeException If this is not the owner thread
+	 */
+	private void checkOwner() {
+		if ( Thread.currentThread().threadId() != this.ownerId ) {
+			throw new BoxRuntimeException(
+			    "A function scope was used by a thread other than the one that created it before it escaped. "
+			        + "Call escape() on the owner thread before handing the scope over to another thread."
+			);
+		}
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Map Interface Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	@Override
+	public int size() {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.size();
+		}
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean containsKey( Object key ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.containsKey( key );
+		}
+		return key instanceof Key castedKey && indexOf( castedKey ) >= 0;
+	}
+
+	@Override
+	public boolean containsValue( Object value ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.containsValue( value );
+		}
+		for ( int i = 0; i < this.size; i++ ) {
+			if ( value == null ? this.values[ i ] == null : value.equals( this.values[ i ] ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Object get( Object key ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.get( key );
+		}
+		if ( key instanceof Key castedKey ) {
+			int position = indexOf( castedKey );
+			if ( position >= 0 ) {
+				return this.values[ position ];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Object getOrDefault( Object key, Object defaultValue ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.getOrDefault( key, defaultValue );
+		}
+		if ( key instanceof Key castedKey ) {
+			int position = indexOf( castedKey );
+			if ( position >= 0 ) {
+				return this.values[ position ];
+			}
+		}
+		return defaultValue;
+	}
+
+	@Override
+	public Object put( Key key, Object value ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.put( key, value );
+		}
+		int position = indexOf( key );
+		if ( position >= 0 ) {
+			Object previous = this.values[ position ];
+			this.values[ position ] = value;
+			return previous;
+		}
+		append( key, value );
+		return null;
+	}
+
+	@Override
+	public Object putIfAbsent( Key key, Object value ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.putIfAbsent( key, value );
+		}
+		int position = indexOf( key );
+		if ( position >= 0 && this.values[ position ] != null ) {
+			return this.values[ position ];
+		}
+		return put( key, value );
+	}
+
+	@Override
+	public Object remove( Object key ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.remove( key );
+		}
+		if ( key instanceof Key castedKey ) {
+			int position = indexOf( castedKey );
+			if ( position >= 0 ) {
+				Object previous = this.values[ position ];
+				removeAt( position );
+				return previous;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			sharedMap.clear();
+			return;
+		}
+		Arrays.fill( this.keys, 0, this.size, null );
+		Arrays.fill( this.values, 0, this.size, null );
+		Arrays.fill( this.index, 0 );
+		this.size = 0;
+	}
+
+	@Override
+	public Object computeIfAbsent( Key key, Function<? super Key, ? extends Object> mappingFunction ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.computeIfAbsent( key, mappingFunction );
+		}
+		return super.computeIfAbsent( key, mappingFunction );
+	}
+
+	@Override
+	public Object computeIfPresent( Key key, BiFunction<? super Key, ? super Object, ? extends Object> remappingFunction ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.computeIfPresent( key, remappingFunction );
+		}
+		return super.computeIfPresent( key, remappingFunction );
+	}
+
+	@Override
+	public Object compute( Key key, BiFunction<? super Key, ? super Object, ? extends Object> remappingFunction ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.compute( key, remappingFunction );
+		}
+		return super.compute( key, remappingFunction );
+	}
+
+	@Override
+	public Object merge( Key key, Object value, BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction ) {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.merge( key, value, remappingFunction );
+		}
+		return super.merge( key, value, remappingFunction );
+	}
+
+	@Override
+	public Set<Map.Entry<Key, Object>> entrySet() {
+		Map<Key, Object> sharedMap = sharedOrNull();
+		if ( sharedMap != null ) {
+			return sharedMap.entrySet();
+		}
+		return new EntrySet();
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Compact Representation Methods
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Find the position of a key in the entry arrays
+	 *
+	 * @param key The key to look for
+	 *
+	 * @return The position, or -1 if not found
+	 */
+	private int indexOf( Key key ) {
+		int[]	slots	= this.index;
+		int		mask	= slots.length - 1;
+		int		slot	= spread( key.hashCode() ) & mask;
+		int		entry;
+		while ( ( entry = slots[ slot ] ) != 0 ) {
+			Key candidate = this.keys[ entry - 1 ];
+			// Canonical keys are resolved by identity, the rest by a real comparison
+			if ( candidate == key || candidate.equals( key ) ) {
+				return entry - 1;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Append a new entry, growing if needed
+	 *
+	 * @param key   The key
+	 * @param value The value
+	 */
+	private void append( Key key, Object value ) {
+		if ( this.size == this.keys.length ) {
+			int newCapacity = this.keys.length * 2;
+			this.keys	= Arrays.copyOf( this.keys, newCapacity );
+			this.values	= Arrays.copyOf( this.values, newCapacity );
+			this.index	= new int[ newCapacity * 2 ];
+			for ( int i = 0; i < this.size; i++ ) {
+				indexEntry( i );
+			}
+		}
+		this.keys[ this.size ]		= key;
+		this.values[ this.size ]	= value;
+		indexEntry( this.size );
+		this.size++;
+	}
+
+	/**
+	 * Add an entry position to the open-addressed index
+	 *
+	 * @param position The position of the entry in the entry arrays
+	 */
+	private void indexEntry( int position ) {
+		int	mask	= this.index.length - 1;
+		int	slot	= spread( this.keys[ position ].hashCode() ) & mask;
+		while ( this.index[ slot ] != 0 ) {
+			slot = ( slot + 1 ) & mask;
+		}
+		this.index[ slot ] = position + 1;
+	}
+
+	/**
+	 * Remove the entry at a position, keeping insertion order. Removals are rare in scopes, so we just
+	 * shift the entries and rebuild the ( tiny ) index.
+	 *
+	 * @param position The position of the entry in the entry arrays
+	 */
+	private void removeAt( int position ) {
+		int moved = this.size - position - 1;
+		if ( moved > 0 ) {
+			System.arraycopy( this.keys, position + 1, this.keys, position, moved );
+			System.arraycopy( this.values, position + 1, this.values, position, moved );
+		}
+		this.size--;
+		this.keys[ this.size ]		= null;
+		this.values[ this.size ]	= null;
+		Arrays.fill( this.index, 0 );
+		for ( int i = 0; i < this.size; i++ ) {
+			indexEntry( i );
+		}
+	}
+
+	/**
+	 * Spread the hash bits so keys with similar hashes don't cluster in the small index
+	 *
+	 * @param hash The key hash
+	 *
+	 * @return The spread hash
+	 */
+	private static int spread( int hash ) {
+		return hash ^ ( hash >>> 16 );
+	}
+
+	/**
+	 * Serialize the concurrent representation, since the compact one is tied to its owner thread
+	 *
+	 * @return The map to serialize
+	 */
+	private Object writeReplace() {
+		return Collections.synchronizedMap( new LinkedHashMap<>( this ) );
+	}
+
+	/**
+	 * --------------------------------------------------------------------------
+	 * Views
+	 * --------------------------------------------------------------------------
+	 */
+
+	/**
+	 * The entry set view of the compact representation
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<Key, Object>> {
+
+		@Override
+		public Iterator<Map.Entry<Key, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return CompactScopeMap.this.size();
+		}
+
+		@Override
+		public boolean contains( Object o ) {
+			return o instanceof Map.Entry<?, ?> entry
+			    && CompactScopeMap.this.containsKey( entry.getKey() )
+			    && Objects.equals( CompactScopeMap.this.get( entry.getKey() ), entry.getValue() );
+		}
+
+		@Override
+		public void clear() {
+			CompactScopeMap.this.clear();
+		}
+	}
+
+	/**
+	 * Iterates the entries in insertion order. Like the concurrent maps it replaces, it never throws a
+	 * {@link java.util.ConcurrentModificationException}.
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<Key, Object>> {
+
+		private int	next	= 0;
+		private Key	last	= null;
+
+		@Override
+		public boolean hasNext() {
+			return this.next < CompactScopeMap.this.size;
+		}
+
+		@Override
+		public Map.Entry<Key, Object> next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			this.last = CompactScopeMap.this.keys[ this.next ];
+			return new CompactEntry( this.last, CompactScopeMap.this.values[ this.next++ ] );
+		}
+
+		@Override
+		public void remove() {
+			if ( this.last == null ) {
+				throw new IllegalStateException();
+			}
+			CompactScopeMap.this.remove( this.last );
+			this.last = null;
+			this.next--;
+		}
+	}
+
+	/**
+	 * An entry which writes through to the map
+	 */
+	private final class CompactEntry extends AbstractMap.SimpleEntry<Key, Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		CompactEntry( Key key, Object value ) {
+			super( key, value );
+		}
+
+		@Override
+		public Object setValue( Object value ) {
+			super.setValue( value );
+			return CompactScopeMap.this.put( getKey(), value );
+		}
+	}
+
+}
@@ -236,7 +236,7 @@ public class StructUtil {
 			).submitAndGet( () -> entryStream.parallel().filter( test ) );
 		}
 
-		return filteredStream.collect( BLCollector.toStruct( struct.getType() ) );
+		return filteredStream.collect( BLCollector.toStruct( struct.getType().copyType() ) );
 
 	}
 
@@ -259,7 +259,7 @@ public class StructUtil {
 	    Integer maxThreads ) {
 
 		Stream<Map.Entry<Key, Object>>		entryStream	= struct.entrySet().stream();
-		Struct								result		= new Struct( struct.getType() );
+		Struct								result		= new Struct( struct.getType().copyType() );
 
 		Consumer<Map.Entry<Key, Object>>	exec;
 		if ( callback.requiresStrictArguments() ) {
@@ -281,7 +281,7 @@ public class StructUtil {
 		}
 		if ( !parallel ) {
 			entryStream.forEach( exec );
-		} else if ( struct.getType().equals( IStruct.TYPES.LINKED ) ) {
+		} else if ( result.getType().equals( IStruct.TYPES.LINKED ) ) {
 			AsyncService.buildExecutor(
 			    "StructMap_" + UUID.randomUUID().toString(),
 			    AsyncService.ExecutorType.FORK_JOIN,
@@ -554,7 +554,7 @@ public class StructUtil {
 	 */
 	public static IStruct toFlatMap( IStruct struct ) {
 		return new Struct(
-		    struct.getType(),
+		    struct.getType().copyType(),
 		    struct.entrySet().stream()
 		        .flatMap( StructUtil::flattenEntry )
 		        .collect(
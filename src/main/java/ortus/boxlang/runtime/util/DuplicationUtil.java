@@ -71,11 +71,13 @@ public class DuplicationUtil {
 	}
 
 	public static Struct duplicateStruct( IStruct target, Boolean deep ) {
-		var entries = target.entrySet().stream();
+		// Copies of compact scopes are regular structs
+		Struct.TYPES	type	= target.getType().copyType();
+		var				entries	= target.entrySet().stream();
 
-		if ( target.getType().equals( Struct.TYPES.LINKED ) ) {
+		if ( type.equals( Struct.TYPES.LINKED ) ) {
 			return new Struct(
-			    target.getType(),
+			    type,
 			    entries.collect(
 			        Collectors.toMap(
 			            entry -> entry.getKey(),
@@ -91,9 +93,9 @@ public class DuplicationUtil {
 			        )
 			    )
 			);
-		} else if ( target.getType().equals( Struct.TYPES.SORTED ) ) {
+		} else if ( type.equals( Struct.TYPES.SORTED ) ) {
 			return new Struct(
-			    target.getType(),
+			    type,
 			    entries.collect(
 			        Collectors.toMap(
 			            entry -> entry.getKey(),
@@ -110,7 +112,7 @@ public class DuplicationUtil {
 			);
 		} else {
 			return new Struct(
-			    target.getType(),
+			    type,
 			    entries.collect( Collectors.toConcurrentMap( entry -> entry.getKey(), entry -> {
 				    Object val = entry.getValue();
 				    return processAssignment( val, deep );
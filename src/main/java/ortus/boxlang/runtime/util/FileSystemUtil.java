@@ -45,13 +45,11 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Comparator;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 
 import ortus.boxlang.runtime.BoxRuntime;
@@ -857,7 +855,8 @@ public final class FileSystemUtil {
 		// Change all instances of \ to / to make it Java Standard.
 		path = path.replace( "\\", "/" );
 		String	originalPath	= path;
-		boolean	isAbsolute		= Path.of( originalPath ).isAbsolute();
+		// Only Windows has absolute paths which do not start with a slash, so elsewhere we can tell without a Path
+		boolean	isAbsolute		= IS_WINDOWS ? Path.of( originalPath ).isAbsolute() : originalPath.startsWith( SLASH_PREFIX );
 
 		// If the incoming path does NOT start with a /, then we make it relative to the current template (if there is one)
 		if ( !isAbsolute && !path.startsWith( SLASH_PREFIX ) ) {
@@ -872,24 +871,12 @@ public final class FileSystemUtil {
 		}
 
 		// Let's find the longest mapping that matches the start of the path
-		// Mappings are already sorted by length, so we can just take the first one that matches
-		final String			finalPath				= path;
-		Map.Entry<Key, Object>	matchingMappingEntry	= context.getConfig()
-		    .getAsStruct( Key.mappings )
-		    .entrySet()
-		    .stream()
-		    // Don't match the root mapping yet, we'll do that below
-		    .filter( entry -> !entry.getKey().getName().equals( "/" ) && StringUtils.startsWithIgnoreCase( finalPath, entry.getKey().getName() ) )
-		    .findFirst()
-		    .orElse( null );
-		if ( matchingMappingEntry != null ) {
-			path = path.substring( matchingMappingEntry.getKey().getName().length() );
-			String	matchingMapping	= matchingMappingEntry.getValue().toString();
-			Path	result			= Path.of( matchingMapping, path ).toAbsolutePath();
-
-			return ResolvedFilePath.of( matchingMappingEntry.getKey().getName(), matchingMapping, Path.of( finalPath ).normalize().toString(),
-			    result.normalize() );
-
+		// The index of the mappings is only rebuilt when they change, and remembers what it resolved
+		String				finalPath	= path;
+		IStruct				mappings	= context.getConfigItemAsStruct( Key.mappings );
+		ResolvedFilePath	mappedPath	= MappingIndex.of( mappings ).resolve( finalPath );
+		if ( mappedPath != null ) {
+			return mappedPath;
 		}
 
 		// If C:/foo is absolute, then great, but /foo has to actually exist on disk before I'll take it as really absolute
@@ -918,7 +905,7 @@ public final class FileSystemUtil {
 		}
 
 		// We give up, just assume it uses the root mapping of /
-		String	rootMapping	= context.getConfig().getAsStruct( Key.mappings ).getAsString( Key.of( "/" ) );
+		String	rootMapping	= mappings.getAsString( Key.of( "/" ) );
 		Path	result		= Path.of( rootMapping, path ).toAbsolutePath();
 		return ResolvedFilePath.of( "/", rootMapping, Path.of( finalPath ).normalize().toString(), result.normalize() );
 	}
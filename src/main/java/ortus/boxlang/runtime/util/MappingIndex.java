@@ -0,0 +1,280 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+
+/**
+ * A case insensitive prefix trie over a struct of mappings, so finding the mappings of a path walks the path once
+ * instead of testing every mapping. It also remembers what the paths it resolved mapped to.
+ * <p>
+ * Indexes are found by the identity of the mappings struct, then checked against the mappings they were built from,
+ * since a struct shared by configurations can be changed in place. Structs with the same mappings share an index, so
+ * an index is only built when the mappings actually change.
+ */
+public final class MappingIndex {
+
+	/**
+	 * A mapping
+	 *
+	 * @param name The name of the mapping, like {@code /models}
+	 * @param path The path the mapping points to
+	 */
+	public record Mapping( String name, String path ) {
+	}
+
+	/**
+	 * An index and the struct it was last found for
+	 *
+	 * @param mappings The struct
+	 * @param content  The mappings the struct held then
+	 * @param index    The index
+	 */
+	private record Recent( IStruct mappings, List<Mapping> content, MappingIndex index ) {
+	}
+
+	/**
+	 * How many structs are remembered by identity, a power of two
+	 */
+	private static final int								RECENT_SLOTS	= 64;
+
+	/**
+	 * How many indexes are kept by content
+	 */
+	private static final int								MAX_INDEXES		= 64;
+
+	/**
+	 * How many resolved paths an index remembers
+	 */
+	private static final int								MAX_RESOLVED	= 2048;
+
+	/**
+	 * The indexes last found, by the identity hash code of their struct
+	 */
+	private static final Recent[]							RECENT			= new Recent[ RECENT_SLOTS ];
+
+	/**
+	 * The indexes, by the mappings they were built from
+	 */
+	private static final Map<List<Mapping>, MappingIndex>	BY_CONTENT		= new ConcurrentHashMap<>();
+
+	/**
+	 * The root of the trie
+	 */
+	private final Node										root			= new Node();
+
+	/**
+	 * What the paths resolved so far mapped to, by path
+	 */
+	private final Map<String, ResolvedFilePath>				resolved		= new ConcurrentHashMap<>();
+
+	/**
+	 * A node of the trie, one per char of the mapping names
+	 */
+	private static final class Node {
+
+		private char[]	chars		= new char[ 0 ];
+		private Node[]	children	= new Node[ 0 ];
+		private Mapping	mapping;
+
+		Node child( char c ) {
+			for ( int i = 0; i < this.chars.length; i++ ) {
+				if ( this.chars[ i ] == c ) {
+					return this.children[ i ];
+				}
+			}
+			return null;
+		}
+
+		Node addChild( char c ) {
+			Node node = child( c );
+			if ( node == null ) {
+				int size = this.chars.length;
+				node					= new Node();
+				this.chars				= Arrays.copyOf( this.chars, size + 1 );
+				this.children			= Arrays.copyOf( this.children, size + 1 );
+				this.chars[ size ]		= c;
+				this.children[ size ]	= node;
+			}
+			return node;
+		}
+	}
+
+	/**
+	 * Build an index
+	 *
+	 * @param mappings The mappings
+	 */
+	private MappingIndex( List<Mapping> mappings ) {
+		for ( Mapping mapping : mappings ) {
+			Node node = this.root;
+			for ( int i = 0; i < mapping.name().length(); i++ ) {
+				node = node.addChild( fold( mapping.name().charAt( i ) ) );
+			}
+			// Names are unique ignoring case, keep the first like a scan would
+			if ( node.mapping == null ) {
+				node.mapping = mapping;
+			}
+		}
+	}
+
+	/**
+	 * Get the index of a struct of mappings, building it if the mappings changed
+	 *
+	 * @param mappings The mappings, by name
+	 *
+	 * @return The index
+	 */
+	public static MappingIndex of( IStruct mappings ) {
+		int		slot	= System.identityHashCode( mappings ) & ( RECENT_SLOTS - 1 );
+		Recent	recent	= RECENT[ slot ];
+		if ( recent != null && recent.mappings() == mappings && holds( mappings, recent.content() ) ) {
+			return recent.index();
+		}
+
+		List<Mapping> content = new ArrayList<>( mappings.size() );
+		for ( Map.Entry<Key, Object> entry : mappings.entrySet() ) {
+			content.add( new Mapping( entry.getKey().getName(), String.valueOf( entry.getValue() ) ) );
+		}
+		MappingIndex index = BY_CONTENT.get( content );
+		if ( index == null ) {
+			if ( BY_CONTENT.size() >= MAX_INDEXES ) {
+				BY_CONTENT.clear();
+			}
+			index = BY_CONTENT.computeIfAbsent( content, MappingIndex::new );
+		}
+		RECENT[ slot ] = new Recent( mappings, content, index );
+		return index;
+	}
+
+	/**
+	 * Check if a struct holds the given mappings, in order, without building a list of its own
+	 *
+	 * @param mappings The struct
+	 * @param content  The mappings
+	 *
+	 * @return True if the struct holds exactly these mappings
+	 */
+	private static boolean holds( IStruct mappings, List<Mapping> content ) {
+		if ( mappings.size() != content.size() ) {
+			return false;
+		}
+		int i = 0;
+		for ( Map.Entry<Key, Object> entry : mappings.entrySet() ) {
+			// The struct may change while we look at it
+			if ( i == content.size() ) {
+				return false;
+			}
+			Mapping mapping = content.get( i++ );
+			if ( !mapping.name().equals( entry.getKey().getName() ) || !mapping.path().equals( String.valueOf( entry.getValue() ) ) ) {
+				return false;
+			}
+		}
+		return i == content.size();
+	}
+
+	/**
+	 * Find the longest mapping the path starts with, ignoring case, not counting the root mapping
+	 *
+	 * @param path The path, starting with a slash
+	 *
+	 * @return The mapping, or null if none matches
+	 */
+	public Mapping findMapping( String path ) {
+		Mapping	found	= null;
+		Node	node	= this.root;
+		for ( int i = 0; i < path.length(); i++ ) {
+			node = node.child( fold( path.charAt( i ) ) );
+			if ( node == null ) {
+				break;
+			}
+			if ( node.mapping != null && !node.mapping.name().equals( "/" ) ) {
+				found = node.mapping;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Find all the mappings the path starts with, ignoring case, including the root mapping
+	 *
+	 * @param path The path, starting with a slash
+	 *
+	 * @return The mappings, longest first
+	 */
+	public List<Mapping> findMappings( String path ) {
+		List<Mapping>	found	= new ArrayList<>();
+		Node			node	= this.root;
+		for ( int i = 0; i < path.length(); i++ ) {
+			node = node.child( fold( path.charAt( i ) ) );
+			if ( node == null ) {
+				break;
+			}
+			if ( node.mapping != null ) {
+				found.add( 0, node.mapping );
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Resolve a path through the longest mapping it starts with, not counting the root mapping. The result only
+	 * depends on the mappings, so it is remembered.
+	 *
+	 * @param path The path, starting with a slash
+	 *
+	 * @return The resolved path, or null if no mapping matches
+	 */
+	public ResolvedFilePath resolve( String path ) {
+		ResolvedFilePath result = this.resolved.get( path );
+		if ( result != null ) {
+			return result;
+		}
+		Mapping mapping = findMapping( path );
+		if ( mapping == null ) {
+			return null;
+		}
+		Path absolutePath = Path.of( mapping.path(), path.substring( mapping.name().length() ) ).toAbsolutePath();
+		result = ResolvedFilePath.of( mapping.name(), mapping.path(), Path.of( path ).normalize().toString(), absolutePath.normalize() );
+		if ( this.resolved.size() >= MAX_RESOLVED ) {
+			this.resolved.clear();
+		}
+		this.resolved.put( path, result );
+		return result;
+	}
+
+	/**
+	 * Fold the case of a char the way a case insensitive string comparison does
+	 *
+	 * @param c The char
+	 *
+	 * @return The folded char
+	 */
+	private static char fold( char c ) {
+		return Character.toLowerCase( Character.toUpperCase( c ) );
+	}
+
+}
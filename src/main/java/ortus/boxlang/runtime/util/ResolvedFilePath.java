@@ -19,6 +19,8 @@ package ortus.boxlang.runtime.util;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * I represent the a file path that has been resolved to an absolute path.
@@ -27,6 +29,18 @@ import java.nio.file.Paths;
  */
 public record ResolvedFilePath( String mappingName, String mappingPath, String relativePath, Path absolutePath ) {
 
+	/**
+	 * How many paths the relative path cache keeps, and how many relative paths for each of them
+	 */
+	private static final int													MAX_CACHED_BASES	= 4096;
+	private static final int													MAX_CACHED_PATHS	= 256;
+
+	/**
+	 * The paths resolved relative to each path, by relative path. Resolving a relative path does not touch the file
+	 * system, so the results never go stale.
+	 */
+	private static final Map<ResolvedFilePath, Map<String, ResolvedFilePath>>	RELATIVE_CACHE		= new ConcurrentHashMap<>();
+
 	/**
 	 * Factor method to create a new ResolvedFilePath instance.
 	 *
@@ -123,12 +137,39 @@ public record ResolvedFilePath( String mappingName, String mappingPath, String r
 
 	/**
 	 * Create a new ResolvedFilePath instance from a path relative to the current path.
+	 * The results are cached, so repeated includes from the same template resolve without any work.
 	 *
 	 * @param relativePath The relative path to create a new ResolvedFilePath instance from.
 	 *
 	 * @return A new ResolvedFilePath instance.
 	 */
 	public ResolvedFilePath newFromRelative( String relativePath ) {
+		Map<String, ResolvedFilePath> resolved = RELATIVE_CACHE.get( this );
+		if ( resolved == null ) {
+			if ( RELATIVE_CACHE.size() >= MAX_CACHED_BASES ) {
+				RELATIVE_CACHE.clear();
+			}
+			resolved = RELATIVE_CACHE.computeIfAbsent( this, key -> new ConcurrentHashMap<>() );
+		}
+		ResolvedFilePath result = resolved.get( relativePath );
+		if ( result == null ) {
+			result = resolveRelative( relativePath );
+			if ( resolved.size() >= MAX_CACHED_PATHS ) {
+				resolved.clear();
+			}
+			resolved.put( relativePath, result );
+		}
+		return result;
+	}
+
+	/**
+	 * Resolve a path relative to the current path
+	 *
+	 * @param relativePath The relative path
+	 *
+	 * @return A new ResolvedFilePath instance.
+	 */
+	private ResolvedFilePath resolveRelative( String relativePath ) {
 		String	newRelativePath;
 		Path	absoluteParent	= absolutePath().getParent();
 		Path	newAbsolutePath	= absoluteParent.resolve( relativePath );
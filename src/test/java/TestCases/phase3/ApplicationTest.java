@@ -44,6 +44,7 @@ import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.SessionScope;
 import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
 
 public class ApplicationTest {
 
@@ -131,7 +132,8 @@ public class ApplicationTest {
 		context.injectParentContext( new BaseBoxContext() {
 
 			public IStruct getConfig() {
-				IStruct config = super.getConfig();
+				// The parent config is an immutable snapshot, add to a copy of it
+				IStruct config = new Struct( super.getConfig() );
 				config.put( "adHocConfig", "adHocConfigValue" );
 				return config;
 			}
@@ -0,0 +1,69 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompiledClassCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	@DisplayName( "It keys compilations by their content and inputs" )
+	@Test
+	public void testItKeysByContent() {
+		String key = CompiledClassCache.key( "echo( 1 )".getBytes(), "1.0.0", "foo$cfm" );
+		assertThat( CompiledClassCache.key( "echo( 1 )".getBytes(), "1.0.0", "foo$cfm" ) ).isEqualTo( key );
+		assertThat( CompiledClassCache.key( "echo( 2 )".getBytes(), "1.0.0", "foo$cfm" ) ).isNotEqualTo( key );
+		assertThat( CompiledClassCache.key( "echo( 1 )".getBytes(), "1.0.1", "foo$cfm" ) ).isNotEqualTo( key );
+		assertThat( CompiledClassCache.key( "echo( 1 )".getBytes(), "1.0.0f", "oo$cfm" ) ).isNotEqualTo( key );
+	}
+
+	@DisplayName( "It stores and reads back compilations" )
+	@Test
+	public void testItRoundTrips() {
+		CompiledClassCache	cache	= new CompiledClassCache( tempDir, 1024 * 1024 );
+		String				key		= CompiledClassCache.key( "echo( 1 )".getBytes() );
+		assertThat( cache.get( key ) ).isNull();
+
+		cache.put( key, Map.of( "foo$cfm", new byte[] { 1, 2, 3 } ), "{}" );
+
+		CompiledClassCache.Entry entry = new CompiledClassCache( tempDir, 1024 * 1024 ).get( key );
+		assertThat( entry ).isNotNull();
+		assertThat( entry.classes().get( "foo$cfm" ) ).isEqualTo( new byte[] { 1, 2, 3 } );
+		assertThat( entry.sourceMap() ).isEqualTo( "{}" );
+	}
+
+	@DisplayName( "It evicts entries past its size bound" )
+	@Test
+	public void testItEvicts() {
+		CompiledClassCache cache = new CompiledClassCache( tempDir, 4096 );
+		for ( int i = 0; i < 10; i++ ) {
+			cache.put( CompiledClassCache.key( new byte[] { ( byte ) i } ), Map.of( "foo$cfm", new byte[ 1000 ] ), null );
+		}
+		assertThat( cache.getSize() ).isAtMost( 4096L );
+	}
+
+}
@@ -0,0 +1,137 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.expression.BoxAssignment;
+import ortus.boxlang.compiler.ast.expression.BoxBinaryOperation;
+import ortus.boxlang.compiler.ast.expression.BoxBooleanLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxIntegerLiteral;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.statement.BoxReturn;
+import ortus.boxlang.compiler.ast.visitor.ConstantFoldingVisitor;
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.compiler.parser.Parser;
+import ortus.boxlang.compiler.parser.ParsingResult;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+
+public class ConstantFoldingVisitorTest {
+
+	static BoxRuntime instance;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	private BoxNode optimize( String code ) throws IOException {
+		ParsingResult result = new Parser().parse( code, BoxSourceType.BOXSCRIPT );
+		assertThat( result.isCorrect() ).isTrue();
+		return result.getRoot().accept( new ConstantFoldingVisitor() );
+	}
+
+	@DisplayName( "It folds constant expressions" )
+	@Test
+	public void testFoldsConstants() throws IOException {
+		BoxNode root = optimize( """
+		                         a = 1 + 2 * ( 3 - 1 );
+		                         b = "foo" & "bar" & 42;
+		                         c = true && !false;
+		                         d = 2147483647 + 1;
+		                         e = 10 % 0;
+		                         f = 3 * 2 == 6;
+		                         g = -5 > 1;
+		                         """ );
+
+		var assignments = root.getDescendantsOfType( BoxAssignment.class );
+		assertThat( ( ( BoxIntegerLiteral ) assignments.get( 0 ).getRight() ).getValue() ).isEqualTo( "5" );
+		assertThat( ( ( BoxStringLiteral ) assignments.get( 1 ).getRight() ).getValue() ).isEqualTo( "foobar42" );
+		assertThat( ( ( BoxBooleanLiteral ) assignments.get( 2 ).getRight() ).getValue() ).isTrue();
+		// Overflow and division by zero are left for the runtime
+		assertThat( assignments.get( 3 ).getRight() ).isInstanceOf( BoxBinaryOperation.class );
+		assertThat( assignments.get( 4 ).getRight() ).isInstanceOf( BoxBinaryOperation.class );
+		assertThat( ( ( BoxBooleanLiteral ) assignments.get( 5 ).getRight() ).getValue() ).isTrue();
+		assertThat( ( ( BoxBooleanLiteral ) assignments.get( 6 ).getRight() ).getValue() ).isFalse();
+	}
+
+	@DisplayName( "It propagates single assignment literal locals" )
+	@Test
+	public void testPropagatesLocals() throws IOException {
+		BoxNode root = optimize( """
+		                         function fold() {
+		                         	var width = 10;
+		                         	return width * 2;
+		                         }
+		                         function reassigned() {
+		                         	var width = 10;
+		                         	width++;
+		                         	return width * 2;
+		                         }
+		                         function captured() {
+		                         	var width = 10;
+		                         	var fn = () => width;
+		                         	return width * 2;
+		                         }
+		                         """ );
+
+		var returns = root.getDescendantsOfType( BoxReturn.class );
+		assertThat( ( ( BoxIntegerLiteral ) returns.get( 0 ).getExpression() ).getValue() ).isEqualTo( "20" );
+		assertThat( returns.get( 1 ).getExpression() ).isInstanceOf( BoxBinaryOperation.class );
+		assertThat( returns.get( returns.size() - 1 ).getExpression() ).isInstanceOf( BoxBinaryOperation.class );
+	}
+
+	@DisplayName( "Optimized code produces the same results" )
+	@Test
+	public void testOptimizedExecution() {
+		IBoxContext	context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		var			variables	= context.getScopeNearby( VariablesScope.name );
+		Boolean		optimizeAST	= instance.getConfiguration().optimizeAST;
+		instance.getConfiguration().optimizeAST = true;
+		try {
+			instance.executeSource( """
+			                        function area() {
+			                        	var width = 10;
+			                        	var height = 4;
+			                        	var label = "area: ";
+			                        	return label & ( width * height );
+			                        }
+			                        result = area();
+			                        big = 2147483647 + 1;
+			                        same = ( 3 * 2 ) == 6;
+			                        """, context );
+		} finally {
+			instance.getConfiguration().optimizeAST = optimizeAST;
+		}
+		assertThat( variables.get( Key.result ) ).isEqualTo( "area: 40" );
+		assertThat( variables.get( Key.of( "big" ) ) ).isEqualTo( 2147483648L );
+		assertThat( variables.get( Key.of( "same" ) ) ).isEqualTo( true );
+	}
+
+}
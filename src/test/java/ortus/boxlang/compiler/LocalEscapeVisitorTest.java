@@ -0,0 +1,236 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.expression.BoxAssignment;
+import ortus.boxlang.compiler.ast.expression.BoxAssignmentModifier;
+import ortus.boxlang.compiler.ast.expression.BoxIdentifier;
+import ortus.boxlang.compiler.ast.statement.BoxFunctionDeclaration;
+import ortus.boxlang.compiler.ast.visitor.LocalEscapeVisitor;
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.compiler.parser.Parser;
+import ortus.boxlang.compiler.parser.ParsingResult;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+
+public class LocalEscapeVisitorTest {
+
+	static BoxRuntime instance;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	private List<String> promoted( String code ) throws IOException {
+		ParsingResult result = new Parser().parse( code, BoxSourceType.BOXSCRIPT );
+		assertThat( result.isCorrect() ).isTrue();
+		BoxNode				root		= result.getRoot();
+		LocalEscapeVisitor	visitor		= new LocalEscapeVisitor();
+		root.accept( visitor );
+		return visitor.getPromotedLocals( root.getDescendantsOfType( BoxFunctionDeclaration.class ).get( 0 ) );
+	}
+
+	private List<String> ints( String code ) throws IOException {
+		ParsingResult result = new Parser().parse( code, BoxSourceType.BOXSCRIPT );
+		assertThat( result.isCorrect() ).isTrue();
+		BoxNode				root		= result.getRoot();
+		LocalEscapeVisitor	visitor		= new LocalEscapeVisitor();
+		root.accept( visitor );
+		return root.getDescendantsOfType( BoxAssignment.class ).stream()
+		    .filter( assignment -> assignment.getModifiers().contains( BoxAssignmentModifier.VAR ) && visitor.isInt( assignment ) )
+		    .map( assignment -> ( ( BoxIdentifier ) assignment.getLeft() ).getName() )
+		    .toList();
+	}
+
+	@DisplayName( "It promotes locals which never escape" )
+	@Test
+	public void testPromotesLocals() throws IOException {
+		assertThat( promoted( """
+		                      function sum( values ) {
+		                      	var total = 0;
+		                      	var count = 0;
+		                      	for ( var i = 1; i <= arrayLen( values ); i++ ) {
+		                      		total += values[ i ];
+		                      		count++;
+		                      	}
+		                      	return total / count;
+		                      }
+		                      """ ) ).containsExactly( "total", "count", "i" ).inOrder();
+	}
+
+	@DisplayName( "It keeps locals which escape in the local scope" )
+	@Test
+	public void testKeepsEscapingLocals() throws IOException {
+		// Written through an access expression, which resolves the variable by name
+		assertThat( promoted( """
+		                      function build() {
+		                      	var data = {};
+		                      	var size = 0;
+		                      	data.foo = 1;
+		                      	return size;
+		                      }
+		                      """ ) ).containsExactly( "size" );
+		// Captured by a closure
+		assertThat( promoted( """
+		                      function capture() {
+		                      	var size = 0;
+		                      	return () => size;
+		                      }
+		                      """ ) ).isEmpty();
+		// Referenced through the local scope
+		assertThat( promoted( """
+		                      function scoped() {
+		                      	var size = 0;
+		                      	return local.size;
+		                      }
+		                      """ ) ).isEmpty();
+		// Used before it is declared
+		assertThat( promoted( """
+		                      function early() {
+		                      	size = 5;
+		                      	var size = size + 1;
+		                      	return size;
+		                      }
+		                      """ ) ).isEmpty();
+	}
+
+	@DisplayName( "It types promoted locals which only ever hold ints" )
+	@Test
+	public void testTypesIntLocals() throws IOException {
+		assertThat( ints( """
+		                 function tally( values ) {
+		                 	var total = 0;
+		                 	var count = 0;
+		                 	var step = 2;
+		                 	var copy = 0;
+		                 	var half = 10;
+		                 	var label = "count";
+		                 	var first = 0;
+		                 	for ( var i = 1; i <= arrayLen( values ); i++ ) {
+		                 		total += values[ i ];
+		                 		count += step;
+		                 		copy = count;
+		                 		half /= 2;
+		                 		first = values[ 1 ];
+		                 	}
+		                 	return label & total & count & copy & half & first;
+		                 }
+		                 """ ) ).containsExactly( "count", "step", "copy", "i" ).inOrder();
+	}
+
+	@DisplayName( "Promoted int locals produce the same results" )
+	@Test
+	public void testIntLocalExecution() {
+		IBoxContext	context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		var			variables	= context.getScopeNearby( VariablesScope.name );
+		Boolean		optimizeAST	= instance.getConfiguration().optimizeAST;
+		instance.getConfiguration().setOptimizeAST( true );
+		try {
+			instance.executeSource( """
+			                        function ints( limit ) {
+			                        	var total = 0;
+			                        	var evens = 0;
+			                        	for ( var i = 1; i <= 10; i++ ) {
+			                        		total += i * 2 - 1;
+			                        		if ( i % 2 == 0 ) {
+			                        			evens++;
+			                        		}
+			                        	}
+			                        	var big = 2147483647;
+			                        	big += 1;
+			                        	var wide = big > 2147483647;
+			                        	var small = 2147483647;
+			                        	small = small + 1;
+			                        	return [ total, evens, big, wide, small, total < limit ];
+			                        }
+			                        result = ints( 200 );
+			                        """, context );
+		} finally {
+			instance.getConfiguration().setOptimizeAST( optimizeAST );
+		}
+		var result = variables.getAsArray( Key.result );
+		assertThat( result.get( 0 ) ).isEqualTo( 100 );
+		assertThat( result.get( 1 ) ).isEqualTo( 5 );
+		assertThat( result.get( 2 ) ).isEqualTo( 2147483648L );
+		assertThat( result.get( 3 ) ).isEqualTo( true );
+		assertThat( result.get( 4 ) ).isEqualTo( 2147483648L );
+		assertThat( result.get( 5 ) ).isEqualTo( true );
+	}
+
+	@DisplayName( "Promoted locals produce the same results" )
+	@Test
+	public void testPromotedExecution() {
+		IBoxContext	context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		var			variables	= context.getScopeNearby( VariablesScope.name );
+		instance.executeSource( """
+		                        function sum( values ) {
+		                        	var total = 0;
+		                        	var label = "sum";
+		                        	var count = 0;
+		                        	for ( var i = 1; i <= arrayLen( values ); i++ ) {
+		                        		total += values[ i ];
+		                        		++count;
+		                        	}
+		                        	label &= ":" & count;
+		                        	return label & "=" & total;
+		                        }
+		                        result = sum( [ 1, 2, 3, 4 ] );
+		                        """, context );
+		assertThat( variables.get( Key.result ) ).isEqualTo( "sum:4=10" );
+	}
+
+	@DisplayName( "Compound assignment on a promoted local keeps integers integral" )
+	@Test
+	public void testPromotedCompoundAssignmentStaysIntegral() {
+		IBoxContext	context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		var			variables	= context.getScopeNearby( VariablesScope.name );
+		Boolean		optimizeAST	= instance.getConfiguration().optimizeAST;
+		instance.getConfiguration().setOptimizeAST( true );
+		try {
+			instance.executeSource( """
+			                        function counter( step ) {
+			                        	var i = 0;
+			                        	i += step;
+			                        	i *= 3;
+			                        	i -= 1;
+			                        	i %= 4;
+			                        	return i;
+			                        }
+			                        result = counter( 1 );
+			                        """, context );
+		} finally {
+			instance.getConfiguration().setOptimizeAST( optimizeAST );
+		}
+		assertThat( variables.get( Key.result ) ).isEqualTo( 2 );
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.ast.BoxNode;
+import ortus.boxlang.compiler.ast.expression.BoxStringLiteral;
+import ortus.boxlang.compiler.ast.statement.BoxBufferOutput;
+import ortus.boxlang.compiler.ast.visitor.WhitespaceCollapsingVisitor;
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.compiler.parser.Parser;
+import ortus.boxlang.compiler.parser.ParsingResult;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+
+public class WhitespaceCollapsingVisitorTest {
+
+	static BoxRuntime instance;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@DisplayName( "It collapses runs of whitespace" )
+	@Test
+	public void testItCollapses() {
+		WhitespaceCollapsingVisitor visitor = new WhitespaceCollapsingVisitor();
+		assertThat( visitor.collapse( "<div>\n\n\t\t<span>  a \t b  </span>\r\n  </div>" ) ).isEqualTo( "<div>\n<span> a b </span>\n</div>" );
+		assertThat( visitor.collapse( "no  change\nneeded" ) ).isEqualTo( "no change\nneeded" );
+	}
+
+	@DisplayName( "It leaves raw elements alone" )
+	@Test
+	public void testItLeavesRawElements() {
+		WhitespaceCollapsingVisitor visitor = new WhitespaceCollapsingVisitor();
+		assertThat( visitor.collapse( "<pre class=\"x\">  a\n\n  b</pre>   <p>  c  </p>" ) ).isEqualTo( "<pre class=\"x\">  a\n\n  b</pre> <p> c </p>" );
+		assertThat( visitor.collapse( "<TEXTAREA>  a  </TEXTAREA>  <prefix>  b" ) ).isEqualTo( "<TEXTAREA>  a  </TEXTAREA> <prefix> b" );
+
+		// An element can span several text nodes
+		assertThat( visitor.collapse( "<script>  var a = '  x  ';" ) ).isEqualTo( "<script>  var a = '  x  ';" );
+		assertThat( visitor.collapse( "  var b;  </script>  " ) ).isEqualTo( "  var b;  </script> " );
+	}
+
+	@DisplayName( "It collapses the static text of templates" )
+	@Test
+	public void testItCollapsesTemplates() throws IOException {
+		ParsingResult result = new Parser().parse( """
+		                                           <bx:output>
+		                                           	<ul>
+		                                           		<li>   one   </li>
+		                                           	</ul>
+		                                           </bx:output>
+		                                           """, BoxSourceType.BOXTEMPLATE );
+		assertThat( result.isCorrect() ).isTrue();
+		BoxNode root = result.getRoot();
+		root.accept( new WhitespaceCollapsingVisitor() );
+
+		for ( BoxBufferOutput output : root.getDescendantsOfType( BoxBufferOutput.class ) ) {
+			if ( output.getExpression() instanceof BoxStringLiteral str ) {
+				assertThat( str.getValue() ).doesNotMatch( "(?s).*\\s\\s.*" );
+			}
+		}
+	}
+
+	@DisplayName( "Templates with large static text output the same content" )
+	@Test
+	public void testLargeStaticText() {
+		IBoxContext	context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		var			variables	= context.getScopeNearby( VariablesScope.name );
+		String		markup		= "<p>static café text</p>\n".repeat( 40 );
+		instance.executeSource(
+		    "<bx:set name = 'x'>" + markup + "<bx:output>#name#</bx:output><bx:set result = getBoxContext().getBuffer().toString()>",
+		    context,
+		    BoxSourceType.BOXTEMPLATE
+		);
+		assertThat( variables.getAsString( Key.result ) ).isEqualTo( markup + "x" );
+	}
+
+}
@@ -0,0 +1,57 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.compiler.javaboxpiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.ClassInfo;
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.BoxRuntime;
+
+public class JavaBoxpilerTest {
+
+	static BoxRuntime	instance;
+	static JavaBoxpiler	boxpiler;
+
+	@BeforeAll
+	public static void setUp() {
+		instance	= BoxRuntime.getInstance( true );
+		boxpiler	= JavaBoxpiler.getInstance();
+	}
+
+	@DisplayName( "It compiles several classes in one batch" )
+	@Test
+	public void testItCompilesInBatch() {
+		ClassInfo	first	= ClassInfo.forStatement( "1 + " + System.nanoTime(), BoxSourceType.BOXSCRIPT, boxpiler );
+		ClassInfo	second	= ClassInfo.forStatement( "2 + " + System.nanoTime(), BoxSourceType.BOXSCRIPT, boxpiler );
+		boxpiler.getClassPool( first.classPoolName() ).putIfAbsent( first.FQN(), first );
+		boxpiler.getClassPool( second.classPoolName() ).putIfAbsent( second.FQN(), second );
+
+		boxpiler.compileClassInfos( first.classPoolName(), List.of( first.FQN(), second.FQN() ) );
+
+		assertThat( first.getDiskClass().getName() ).isEqualTo( first.FQN() );
+		assertThat( second.getDiskClass().getName() ).isEqualTo( second.FQN() );
+	}
+
+}
@@ -19,6 +19,7 @@
 package ortus.boxlang.runtime.bifs.global.array;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -27,12 +28,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.BIFDescriptor;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 public class ArrayAppendTest {
 
@@ -83,4 +86,26 @@ public class ArrayAppendTest {
 		assertThat( ( ( Array ) variables.get( Key.of( "arr" ) ) ).get( 3 ) ).isEqualTo( "test" );
 	}
 
+	@DisplayName( "It binds arguments the same way when invoked directly" )
+	@Test
+	public void testDirectInvocation() {
+		BIFDescriptor descriptor = instance.getFunctionService().getGlobalFunction( Key.of( "arrayAppend" ) );
+		assertThat( descriptor.getBIF().isDirectInvocable() ).isTrue();
+
+		Array arr = new Array();
+		// merge is defaulted to false and the boolean type is cast from a string
+		descriptor.invokeDirect( context, new Object[] { arr, 1 }, Key.of( "arrayAppend" ) );
+		descriptor.invokeDirect( context, new Object[] { arr, Array.of( 2, 3 ), "yes" }, Key.of( "arrayAppend" ) );
+		assertThat( arr.size() ).isEqualTo( 3 );
+
+		assertThrows( BoxRuntimeException.class, () -> descriptor.invokeDirect( context, new Object[] { arr }, Key.of( "arrayAppend" ) ) );
+		assertThrows( BoxRuntimeException.class, () -> descriptor.invokeDirect( context, new Object[] { arr, null }, Key.of( "arrayAppend" ) ) );
+
+		// The caller's array is never used to hold the defaults
+		Object[] args = new Object[] { arr, 4, null };
+		descriptor.invokeDirect( context, args, Key.of( "arrayAppend" ) );
+		assertThat( args[ 2 ] ).isNull();
+		assertThat( arr.size() ).isEqualTo( 4 );
+	}
+
 }
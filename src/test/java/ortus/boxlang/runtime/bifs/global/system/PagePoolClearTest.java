@@ -0,0 +1,94 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ortus.boxlang.runtime.bifs.global.system;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.runnables.BoxTemplate;
+import ortus.boxlang.runtime.runnables.RunnableLoader;
+import ortus.boxlang.runtime.scopes.IScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.util.ResolvedFilePath;
+
+public class PagePoolClearTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+	IScope				variables;
+	static Key			result	= new Key( "result" );
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+		variables	= context.getScopeNearby( VariablesScope.name );
+	}
+
+	@DisplayName( "It clears the page pool" )
+	@Test
+	public void testPagePoolClear() {
+		instance.executeSource(
+		    """
+		    include "src/test/java/ortus/boxlang/runtime/bifs/global/system/IncludeTest.cfs";
+		    result = pagePoolClear();
+		    """,
+		    context );
+		assertThat( variables.get( result ) ).isEqualTo( true );
+	}
+
+	@DisplayName( "It clears a single template from the page pool" )
+	@Test
+	public void testPagePoolClearPath() {
+		instance.executeSource(
+		    """
+		    include "src/test/java/ortus/boxlang/runtime/bifs/global/system/IncludeTest.cfs";
+		    """,
+		    context );
+		Path template = Path.of( "src/test/java/ortus/boxlang/runtime/bifs/global/system/IncludeTest.cfs" ).toAbsolutePath().normalize();
+		assertThat( RunnableLoader.getInstance().getBoxpiler().clearPagePool( template ) ).isAtLeast( 1 );
+		assertThat( RunnableLoader.getInstance().getBoxpiler().clearPagePool( template ) ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It drops the loaded template when the page pool is cleared" )
+	@Test
+	public void testPagePoolClearDropsTemplates() {
+		Path				template	= Path.of( "src/test/java/ortus/boxlang/runtime/bifs/global/system/IncludeTest.cfs" ).toAbsolutePath().normalize();
+		ResolvedFilePath	resolved	= ResolvedFilePath.of( template );
+		BoxTemplate			loaded		= RunnableLoader.getInstance().loadTemplateAbsolute( context, resolved );
+
+		RunnableLoader.getInstance().getBoxpiler().clearPagePool( template.getParent() );
+		assertThat( RunnableLoader.getInstance().loadTemplateAbsolute( context, resolved ) ).isNotSameInstanceAs( loaded );
+	}
+
+}
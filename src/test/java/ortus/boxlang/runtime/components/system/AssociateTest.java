@@ -29,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import ortus.boxlang.compiler.parser.BoxSourceType;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.OutputBuffer;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.IScope;
 import ortus.boxlang.runtime.scopes.Key;
@@ -42,7 +43,7 @@ public class AssociateTest {
 	IBoxContext			context;
 	IScope				variables;
 	static Key			result	= new Key( "result" );
-	StringBuffer		buffer;
+	OutputBuffer		buffer;
 
 	@BeforeAll
 	public static void setUp() {
@@ -59,7 +60,7 @@ public class AssociateTest {
 	public void setupEach() {
 		context		= new ScriptingRequestBoxContext( instance.getRuntimeContext() );
 		variables	= context.getScopeNearby( VariablesScope.name );
-		buffer		= new StringBuffer();
+		buffer		= new OutputBuffer();
 		context.pushBuffer( buffer );
 	}
 
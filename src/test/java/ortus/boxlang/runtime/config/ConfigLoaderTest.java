@@ -31,6 +31,10 @@ import org.junit.jupiter.api.Test;
 
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.config.segments.CacheConfig;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.immutable.ImmutableArray;
+import ortus.boxlang.runtime.types.immutable.ImmutableStruct;
 
 class ConfigLoaderTest {
 
@@ -198,4 +202,51 @@ class ConfigLoaderTest {
 		assertThat( importCache.properties.get( "maxObjects" ) ).isEqualTo( 200 );
 	}
 
+	@DisplayName( "It caches the config snapshot until the config changes" )
+	@Test
+	void testConfigSnapshotIsCachedUntilChanged() {
+		Configuration	config		= ConfigLoader.getInstance().loadCore();
+		IStruct			snapshot	= config.getSnapshot();
+
+		assertThat( config.getSnapshot() ).isSameInstanceAs( snapshot );
+		assertThat( snapshot ).isInstanceOf( ImmutableStruct.class );
+
+		// Modified through the API
+		config.registerMapping( "/snapshotTest", Path.of( "src/test/java" ).toAbsolutePath().toString() );
+		IStruct updated = config.getSnapshot();
+		assertThat( updated ).isNotSameInstanceAs( snapshot );
+		assertThat( updated.getAsStruct( Key.mappings ).containsKey( Key.of( "/snapshotTest" ) ) ).isTrue();
+
+		// Modified through a setter
+		config.setDebugMode( !config.debugMode );
+		IStruct debug = config.getSnapshot();
+		assertThat( debug ).isNotSameInstanceAs( updated );
+		assertThat( debug.getAsBoolean( Key.debugMode ) ).isEqualTo( config.debugMode );
+
+		// Modified through one of the lists
+		config.customTagsDirectory.add( "src/test/java/snapshotTest" );
+		IStruct customTags = config.getSnapshot();
+		assertThat( customTags ).isNotSameInstanceAs( debug );
+		assertThat( customTags.getAsArray( Key.customTagsDirectory ) ).contains( "src/test/java/snapshotTest" );
+		config.customTagsDirectory.removeIf( "src/test/java/snapshotTest"::equals );
+		assertThat( config.getSnapshot().getAsArray( Key.customTagsDirectory ) ).doesNotContain( "src/test/java/snapshotTest" );
+	}
+
+	@DisplayName( "It freezes the nested segments of the config snapshot" )
+	@Test
+	void testConfigSnapshotIsDeeplyImmutable() {
+		Configuration	config		= ConfigLoader.getInstance().loadCore();
+		IStruct			snapshot	= config.getSnapshot();
+
+		assertThat( snapshot.getAsStruct( Key.mappings ) ).isInstanceOf( ImmutableStruct.class );
+		assertThat( snapshot.getAsStruct( Key.caches ) ).isInstanceOf( ImmutableStruct.class );
+		assertThat( snapshot.getAsStruct( Key.datasources ) ).isInstanceOf( ImmutableStruct.class );
+		assertThat( snapshot.getAsArray( Key.customTagsDirectory ) ).isInstanceOf( ImmutableArray.class );
+
+		// A thawed copy can be modified without touching the snapshot
+		IStruct copy = Configuration.thaw( snapshot );
+		copy.getAsStruct( Key.mappings ).put( Key.of( "/thawed" ), "/tmp" );
+		assertThat( snapshot.getAsStruct( Key.mappings ).containsKey( Key.of( "/thawed" ) ) ).isFalse();
+	}
+
 }
@@ -32,6 +32,7 @@ import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.SampleUDF;
 import ortus.boxlang.runtime.types.UDF;
+import ortus.boxlang.runtime.types.exceptions.KeyNotFoundException;
 
 @DisplayName( "FunctionBoxContextTest Tests" )
 public class FunctionBoxContextTest {
@@ -94,6 +95,65 @@ public class FunctionBoxContextTest {
 		assertThat( context.scopeFindNearby( variablesOnly, null ).value() ).isEqualTo( "variables scope only" );
 	}
 
+	@Test
+	@DisplayName( "Test value-only scope lookup" )
+	void testScopeLookupValue() {
+		UDF				udf				= new SampleUDF( UDF.Access.PUBLIC, Key.of( "foo" ), "any", new Argument[] {}, null );
+		IBoxContext		parentContext	= new ScriptingRequestBoxContext();
+		ArgumentsScope	argumentsScope	= new ArgumentsScope();
+		IBoxContext		context			= new FunctionBoxContext( parentContext, udf, argumentsScope );
+		IScope			localScope		= context.getScopeNearby( LocalScope.name );
+		IScope			variablesScope	= context.getScopeNearby( VariablesScope.name );
+		Key				nullValue		= Key.of( "nullValue" );
+
+		localScope.put( Key.of( "localOnly" ), "local scope only" );
+		argumentsScope.put( Key.of( "argsOnly" ), "arguments scope only" );
+		variablesScope.put( Key.of( "variablesOnly" ), "variables scope only" );
+		localScope.assign( context, nullValue, null );
+
+		assertThat( context.scopeFindNearbyValue( Key.of( "localOnly" ) ) ).isEqualTo( "local scope only" );
+		assertThat( context.scopeFindNearbyValue( Key.of( "argsOnly" ) ) ).isEqualTo( "arguments scope only" );
+		assertThat( context.scopeFindNearbyValue( Key.of( "variablesOnly" ) ) ).isEqualTo( "variables scope only" );
+		assertThat( context.scopeFindNearbyValue( nullValue ) ).isNull();
+		assertThat( context.scopeFindNearbyValue( new Key( "LOCAL" ) ) ).isSameInstanceAs( localScope );
+		assertThat( context.scopeFindNearbyValue( ArgumentsScope.name ) ).isSameInstanceAs( argumentsScope );
+
+		assertThat( context.scopeFindNearbyValue( Key.of( "doesNotExist" ), true ) ).isSameInstanceAs( IBoxContext.NOT_FOUND );
+		assertThrows( KeyNotFoundException.class, () -> context.scopeFindNearbyValue( Key.of( "doesNotExist" ) ) );
+	}
+
+	@Test
+	@DisplayName( "Test inline cached scope lookup" )
+	void testScopeLookupInlineCache() {
+		UDF					udf				= new SampleUDF( UDF.Access.PUBLIC, Key.of( "foo" ), "any", new Argument[] {}, null );
+		ArgumentsScope		argumentsScope	= new ArgumentsScope();
+		IBoxContext			context			= new FunctionBoxContext( new ScriptingRequestBoxContext(), udf, argumentsScope );
+		IScope				localScope		= context.getScopeNearby( LocalScope.name );
+		Key					shadowed		= Key.of( "shadowed" );
+		ScopeLookupCache	cache			= new ScopeLookupCache();
+
+		argumentsScope.put( shadowed, "arguments" );
+		assertThat( context.scopeFindNearbyValue( shadowed, cache ) ).isEqualTo( "arguments" );
+		assertThat( cache.getSlot( context ) ).isEqualTo( ScopeLookupCache.ARGUMENTS );
+		long hits = ScopeLookupCache.getTotalHits();
+		assertThat( context.scopeFindNearbyValue( shadowed, cache ) ).isEqualTo( "arguments" );
+		assertThat( ScopeLookupCache.getTotalHits() ).isGreaterThan( hits );
+
+		// A variable appearing in a scope searched earlier invalidates the cached slot
+		long invalidations = ScopeLookupCache.getTotalInvalidations();
+		localScope.put( shadowed, "local" );
+		assertThat( context.scopeFindNearbyValue( shadowed, cache ) ).isEqualTo( "local" );
+		assertThat( cache.getSlot( context ) ).isEqualTo( ScopeLookupCache.LOCAL );
+		assertThat( ScopeLookupCache.getTotalInvalidations() ).isGreaterThan( invalidations );
+
+		// Variables found outside the function's own scopes aren't cached
+		ScopeLookupCache parentCache = new ScopeLookupCache();
+		context.getScopeNearby( VariablesScope.name ).put( Key.of( "template" ), "variables" );
+		assertThat( context.scopeFindNearbyValue( Key.of( "template" ), parentCache ) ).isEqualTo( "variables" );
+		assertThat( parentCache.getSlot( context ) ).isEqualTo( ScopeLookupCache.GENERIC );
+		assertThat( context.scopeFindNearbyValue( Key.of( "template" ), parentCache ) ).isEqualTo( "variables" );
+	}
+
 	@Test
 	@DisplayName( "Can find closest function" )
 	void testCanfindClosestFunctionName() {
@@ -142,4 +202,26 @@ public class FunctionBoxContextTest {
 		FunctionBoxContext	context			= new FunctionBoxContext( parentContext, udf );
 		assertThat( context.getDefaultAssignmentScope().getName().getName() ).isEqualTo( "local" );
 	}
+
+	@Test
+	@DisplayName( "Test promoted locals are materialized on demand" )
+	void testLocalFrameMaterialization() {
+		UDF					udf				= new SampleUDF( UDF.Access.PUBLIC, Key.of( "foo" ), "any", new Argument[] {}, null );
+		IBoxContext			parentContext	= new ScriptingRequestBoxContext();
+		FunctionBoxContext	context			= new FunctionBoxContext( parentContext, udf );
+		Key					total			= Key.of( "total" );
+		Key					pending			= Key.of( "pending" );
+		LocalFrame			frame			= context.createLocalFrame( new Key[] { total, pending } );
+
+		frame.set( 0, 42 );
+		// Nothing is copied until someone looks at the local scope
+		assertThat( context.scopeFindNearbyValue( total, false ) ).isEqualTo( 42 );
+		IScope localScope = context.getScopeNearby( LocalScope.name );
+		assertThat( localScope.get( total ) ).isEqualTo( 42 );
+		// Undeclared slots stay out of the scope
+		assertThat( localScope.containsKey( pending ) ).isFalse();
+
+		frame.set( 0, 43 );
+		assertThat( context.getVisibleScopes().getAsStruct( Key.contextual ).getAsStruct( LocalScope.name ).get( total ) ).isEqualTo( 43 );
+	}
 }
@@ -0,0 +1,129 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.context;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OutputBufferTest {
+
+	@DisplayName( "It appends content across chunks" )
+	@Test
+	public void testItAppendsAcrossChunks() {
+		OutputBuffer	buffer	= new OutputBuffer();
+		String			content	= "x".repeat( OutputBuffer.CHUNK_SIZE * 2 + 10 );
+		buffer.append( "<" ).append( content ).append( '>' );
+
+		assertThat( buffer.length() ).isEqualTo( content.length() + 2 );
+		assertThat( buffer.toString() ).isEqualTo( "<" + content + ">" );
+
+		StringWriter writer = new StringWriter();
+		buffer.writeTo( writer );
+		assertThat( writer.toString() ).isEqualTo( "<" + content + ">" );
+
+		buffer.clear();
+		assertThat( buffer.isEmpty() ).isTrue();
+		assertThat( buffer.toString() ).isEmpty();
+	}
+
+	@DisplayName( "It moves the content of another buffer" )
+	@Test
+	public void testItMovesBuffers() {
+		OutputBuffer	parent	= new OutputBuffer().append( "start " );
+		OutputBuffer	child	= new OutputBuffer().append( "small " );
+		parent.append( child );
+		assertThat( child.isEmpty() ).isTrue();
+
+		String large = "y".repeat( OutputBuffer.CHUNK_SIZE * 3 );
+		child.append( large );
+		parent.append( child ).append( " end" );
+
+		assertThat( child.isEmpty() ).isTrue();
+		assertThat( parent.toString() ).isEqualTo( "start small " + large + " end" );
+		assertThat( parent.length() ).isEqualTo( "start small ".length() + large.length() + " end".length() );
+
+		// The child can keep being used
+		child.append( "again" );
+		assertThat( child.toString() ).isEqualTo( "again" );
+	}
+
+	@DisplayName( "It references template text and writes its bytes" )
+	@Test
+	public void testItReferencesTemplateText() {
+		TemplateText	text	= new TemplateText( "<p>caf\u00e9</p>".repeat( 40 ) );
+		OutputBuffer	child	= new OutputBuffer().append( "before " ).append( text ).append( " after" );
+		OutputBuffer	parent	= new OutputBuffer().append( "[" );
+		parent.append( child ).append( new TemplateText( "short" ) ).append( "]" );
+
+		String expected = "[before " + text + " aftershort]";
+		assertThat( parent.toString() ).isEqualTo( expected );
+		assertThat( parent.length() ).isEqualTo( expected.length() );
+
+		ByteArrayOutputStream utf8 = new ByteArrayOutputStream();
+		parent.writeTo( utf8, StandardCharsets.UTF_8 );
+		assertThat( utf8.toString( StandardCharsets.UTF_8 ) ).isEqualTo( expected );
+
+		ByteArrayOutputStream latin1 = new ByteArrayOutputStream();
+		parent.writeTo( latin1, StandardCharsets.ISO_8859_1 );
+		assertThat( latin1.toString( StandardCharsets.ISO_8859_1 ) ).isEqualTo( expected );
+	}
+
+	@DisplayName( "It detaches its content" )
+	@Test
+	public void testItDetaches() {
+		OutputBuffer	buffer		= new OutputBuffer().append( "flushed" );
+		OutputBuffer	detached	= buffer.detach();
+		buffer.append( "kept" );
+
+		assertThat( detached.toString() ).isEqualTo( "flushed" );
+		assertThat( buffer.toString() ).isEqualTo( "kept" );
+	}
+
+	@DisplayName( "It can be written, read and cleared from several threads" )
+	@Test
+	public void testItIsThreadSafe() throws InterruptedException {
+		OutputBuffer	buffer	= new OutputBuffer();
+		Thread[]		threads	= new Thread[ 4 ];
+		for ( int t = 0; t < threads.length; t++ ) {
+			threads[ t ] = new Thread( () -> {
+				for ( int i = 0; i < 1000; i++ ) {
+					OutputBuffer child = new OutputBuffer().append( "ab" );
+					buffer.append( child ).append( "cd" );
+				}
+			} );
+			threads[ t ].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertThat( buffer.length() ).isEqualTo( 4 * 1000 * 4 );
+		assertThat( buffer.toString().replace( "ab", "" ).replace( "cd", "" ) ).isEmpty();
+
+		Thread other = new Thread( buffer::clear );
+		other.start();
+		other.join();
+		assertThat( buffer.isEmpty() ).isTrue();
+	}
+
+}
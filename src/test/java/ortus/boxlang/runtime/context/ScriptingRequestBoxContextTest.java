@@ -182,4 +182,25 @@ public class ScriptingRequestBoxContextTest {
 		var datasources = ( IStruct ) context.getConfigItems( Key.datasources );
 		assertThat( datasources.containsKey( Key.bxDefaultDatasource ) ).isTrue();
 	}
+
+	@Test
+	@DisplayName( "In place changes to the application settings refresh the request config" )
+	void testInPlaceSettingsChangesRefreshConfig() {
+		ScriptingRequestBoxContext context = new ScriptingRequestBoxContext();
+		context.loadApplicationDescriptor(
+		    Path.of( "src/test/bx/Test.bxs" ).toUri()
+		);
+
+		var listener = context.getApplicationListener();
+		assertThat( context.getConfig().getAsStruct( Key.mappings ).containsKey( Key.of( "/inPlace" ) ) ).isFalse();
+
+		listener.getSettings().getAsStruct( Key.mappings ).put( Key.of( "/inPlace" ), "/tmp/inPlace" );
+		assertThat( context.getConfig().getAsStruct( Key.mappings ).containsKey( Key.of( "/inPlace" ) ) ).isTrue();
+
+		listener.getSettings().put( Key.mappings, Struct.of() );
+		assertThat( context.getConfig().getAsStruct( Key.mappings ).containsKey( Key.of( "/inPlace" ) ) ).isFalse();
+
+		listener.getSettings().getAsStruct( Key.mappings ).put( Key.of( "/replaced" ), "/tmp/replaced" );
+		assertThat( context.getConfig().getAsStruct( Key.mappings ).containsKey( Key.of( "/replaced" ) ) ).isTrue();
+	}
 }
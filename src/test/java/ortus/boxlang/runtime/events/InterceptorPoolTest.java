@@ -4,8 +4,10 @@ import static com.google.common.truth.Truth.assertThat;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -255,4 +257,57 @@ public class InterceptorPoolTest {
 		assertThat( ( ( IStruct ) future.get() ).get( "counter" ) ).isEqualTo( 1 );
 	}
 
+	@DisplayName( "It tracks which events have listeners" )
+	@Test
+	void testItTracksListeners() {
+		DynamicObject mockInterceptor = DynamicObject.of( new MockInterceptor() );
+		assertThat( pool.hasListeners( BoxEvent.PRE_FUNCTION_INVOKE ) ).isFalse();
+
+		pool.register( mockInterceptor, BoxEvent.PRE_FUNCTION_INVOKE.key() );
+		assertThat( pool.hasListeners( BoxEvent.PRE_FUNCTION_INVOKE ) ).isTrue();
+		assertThat( pool.hasListeners( BoxEvent.POST_FUNCTION_INVOKE ) ).isFalse();
+
+		pool.unregister( mockInterceptor, BoxEvent.PRE_FUNCTION_INVOKE.key() );
+		assertThat( pool.hasListeners( BoxEvent.PRE_FUNCTION_INVOKE ) ).isFalse();
+		assertThat( pool.hasState( BoxEvent.PRE_FUNCTION_INVOKE.key() ) ).isTrue();
+	}
+
+	@DisplayName( "It only builds the event data when something is listening" )
+	@Test
+	void testItBuildsDataLazily() {
+		AtomicInteger built = new AtomicInteger();
+		pool.announce( BoxEvent.PRE_FUNCTION_INVOKE, () -> {
+			built.incrementAndGet();
+			return new Struct();
+		} );
+		assertThat( built.get() ).isEqualTo( 0 );
+
+		pool.register( ( IStruct data ) -> false, BoxEvent.PRE_FUNCTION_INVOKE.key() );
+		pool.announce( BoxEvent.PRE_FUNCTION_INVOKE, () -> {
+			built.incrementAndGet();
+			return new Struct();
+		} );
+		assertThat( built.get() ).isEqualTo( 1 );
+	}
+
+	@Disabled( "Performance benchmark of announcing events nobody listens to" )
+	@Test
+	void benchmarkAnnounceWithoutListeners() {
+		for ( int run = 0; run < 3; run++ ) {
+			long start = System.nanoTime();
+			for ( int i = 0; i < 10_000_000; i++ ) {
+				pool.announce( BoxEvent.PRE_FUNCTION_INVOKE, () -> Struct.of( Key.result, 1 ) );
+			}
+			long lazy = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for ( int i = 0; i < 10_000_000; i++ ) {
+				pool.announce( BoxEvent.PRE_FUNCTION_INVOKE.key(), Struct.of( Key.result, 1 ) );
+			}
+			long eager = System.nanoTime() - start;
+
+			System.out.println( "10M announcements without listeners, lazy data: " + ( lazy / 1_000_000 ) + "ms, eager data: " + ( eager / 1_000_000 ) + "ms" );
+		}
+	}
+
 }
@@ -68,6 +68,50 @@ public class InterceptorStateTest {
 		assertThat( data.get( counterKey ) ).isEqualTo( 2 );
 	}
 
+	@DisplayName( "It runs observers by priority" )
+	@Test
+	void testItRunsObserversByPriority() {
+		StringBuilder order = new StringBuilder();
+		interceptorState.register( DynamicObject.of( ( IInterceptorLambda ) data -> {
+			order.append( "b" );
+			return false;
+		} ), 10 );
+		interceptorState.register( DynamicObject.of( ( IInterceptorLambda ) data -> {
+			order.append( "c" );
+			return false;
+		} ), 10 );
+		interceptorState.register( DynamicObject.of( ( IInterceptorLambda ) data -> {
+			order.append( "a" );
+			return false;
+		} ), -5 );
+
+		interceptorState.announce( new Struct(), new ScriptingRequestBoxContext() );
+
+		assertThat( order.toString() ).isEqualTo( "abc" );
+	}
+
+	@DisplayName( "It announces to a snapshot of the observers" )
+	@Test
+	void testItAnnouncesToASnapshot() {
+		DynamicObject selfRemoving = DynamicObject.of( ( IInterceptorLambda ) data -> {
+			data.put( "calls", ( int ) data.getOrDefault( "calls", 0 ) + 1 );
+			return false;
+		} );
+		interceptorState.register( DynamicObject.of( ( IInterceptorLambda ) data -> {
+			interceptorState.unregister( selfRemoving );
+			return false;
+		} ) );
+		interceptorState.register( selfRemoving );
+
+		IStruct data = new Struct();
+		interceptorState.announce( data, new ScriptingRequestBoxContext() );
+		assertThat( data.get( "calls" ) ).isEqualTo( 1 );
+		assertThat( interceptorState.size() ).isEqualTo( 1 );
+
+		interceptorState.announce( data, new ScriptingRequestBoxContext() );
+		assertThat( data.get( "calls" ) ).isEqualTo( 1 );
+	}
+
 	public void onTests( IStruct data ) {
 		Key	counterKey	= Key.of( "counter" );
 		int	counter		= ( int ) data.get( counterKey );
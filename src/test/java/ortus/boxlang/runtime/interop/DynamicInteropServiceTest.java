@@ -33,9 +33,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.xnio.OptionMap;
@@ -54,6 +56,7 @@ import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxLangException;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.NoFieldException;
 import ortus.boxlang.runtime.types.exceptions.NoMethodException;
 
@@ -128,6 +131,131 @@ public class DynamicInteropServiceTest {
 		assertThat( results.toString() ).isEqualTo( "PT3M20S" );
 	}
 
+	@DisplayName( "It caches method handles per class and signature" )
+	@Test
+	void testItCachesMethodHandles() {
+		ArrayList<Object> list = new ArrayList<>();
+		DynamicInteropService.invoke( context, list, "add", false, "first" );
+		long	hits	= MethodHandleCache.getHits();
+		long	misses	= MethodHandleCache.getMisses();
+
+		DynamicInteropService.invoke( context, list, "add", false, "second" );
+		assertThat( MethodHandleCache.getHits() ).isGreaterThan( hits );
+		assertThat( MethodHandleCache.getMisses() ).isEqualTo( misses );
+
+		// A different signature of the same method is resolved on its own
+		DynamicInteropService.invoke( context, list, "add", false, 0, "zero" );
+		assertThat( MethodHandleCache.getMisses() ).isGreaterThan( misses );
+		assertThat( list ).containsExactly( "zero", "first", "second" ).inOrder();
+		assertThat( MethodHandleCache.getSize() ).isGreaterThan( 0 );
+	}
+
+	@DisplayName( "It links call sites to Java methods which need no coercion" )
+	@Test
+	void testItLinksCallSites() {
+		InteropCallSite site = InteropCallSite.allocate( 1 )[ 0 ];
+		assertThat( site.invoke( context, String.class, "Hello", "substring", false, new Object[] { 1 } ) ).isEqualTo( "ello" );
+		assertThat( site.isLinked() ).isTrue();
+		assertThat( site.invoke( context, String.class, "World", "substring", false, new Object[] { 3 } ) ).isEqualTo( "ld" );
+		// A receiver of another class goes through the slow path and relinks
+		assertThat( site.invoke( context, StringBuilder.class, new StringBuilder( "Hello" ), "substring", false, new Object[] { 4 } ) )
+		    .isEqualTo( "o" );
+
+		// Integer to long needs coercion, so it is never linked
+		InteropCallSite coerced = InteropCallSite.allocate( 1 )[ 0 ];
+		Duration		result	= ( Duration ) coerced.invoke( context, Duration.class, null, "ofSeconds", false, new Object[] { 120 } );
+		assertThat( result.toString() ).isEqualTo( "PT2M" );
+		assertThat( coerced.isLinked() ).isFalse();
+
+		// Failed attempts count too, so the site eventually stops trying to link
+		for ( int i = 0; i < 10; i++ ) {
+			coerced.invoke( context, Duration.class, null, "ofSeconds", false, new Object[] { 120 } );
+		}
+		coerced.invoke( context, Duration.class, null, "ofSeconds", false, new Object[] { 120L } );
+		assertThat( coerced.isLinked() ).isFalse();
+	}
+
+	@DisplayName( "Compact scopes handed to Java can be read from other threads" )
+	@Test
+	@SuppressWarnings( "unchecked" )
+	void testItEscapesCompactScopesPassedToJava() throws InterruptedException {
+		instance.executeSource(
+		    """
+		    function remember( list ) {
+		    	var index = 5;
+		    	list.add( local );
+		    }
+		    list = createObject( "java", "java.util.concurrent.CopyOnWriteArrayList" );
+		    remember( list );
+		    """,
+		    context );
+		List<Object>		list	= ( List<Object> ) DynamicObject.unWrap( variables.get( Key.of( "list" ) ) );
+
+		// Linked call sites, plain invocations and assignments all hand the value to Java
+		InteropCallSite		site	= InteropCallSite.allocate( 1 )[ 0 ];
+		Map<Object, Object>	map		= new ConcurrentHashMap<>();
+		for ( int i = 0; i < 3; i++ ) {
+			site.invoke( context, list.getClass(), list, "add", false, new Object[] { compactStruct( i ) } );
+		}
+		assertThat( site.isLinked() ).isTrue();
+		DynamicInteropService.invoke( context, list, "add", false, compactStruct( 3 ) );
+		DynamicInteropService.assign( context, map, Key.of( "scope" ), compactStruct( 4 ) );
+		list.add( map.get( "scope" ) );
+
+		List<Object>	read	= new ArrayList<>();
+		Thread			thread	= new Thread( () -> {
+									for ( Object scope : list ) {
+										try {
+											read.add( ( ( IStruct ) scope ).get( Key.of( "index" ) ) );
+										} catch ( BoxRuntimeException e ) {
+											read.add( e );
+										}
+									}
+								} );
+		thread.start();
+		thread.join();
+		assertThat( read ).containsExactly( 5, 0, 1, 2, 3, 4 ).inOrder();
+	}
+
+	private static Struct compactStruct( int index ) {
+		Struct struct = new Struct( IStruct.TYPES.COMPACT );
+		struct.put( Key.of( "index" ), index );
+		return struct;
+	}
+
+	@DisplayName( "It caches constructor handles per class and signature" )
+	@Test
+	void testItCachesConstructorHandles() {
+		ConstructorRecord first = DynamicInteropService.getConstructorHandle( context, LinkedHashMap.class, new Object[] { 16, 0.75f, true } );
+		assertThat( DynamicInteropService.getConstructorHandle( context, LinkedHashMap.class, new Object[] { 32, 0.5f, false } ) )
+		    .isSameInstanceAs( first );
+		assertThat( DynamicInteropService.getConstructorHandle( context, LinkedHashMap.class, new Object[] {} ) ).isNotSameInstanceAs( first );
+
+		LinkedHashMap<?, ?> target = DynamicInteropService.invokeConstructor( null, LinkedHashMap.class, 16, 0.75f, true );
+		assertThat( target ).isEmpty();
+	}
+
+	@Disabled( "Performance benchmark of Java constructor invocation" )
+	@Test
+	void benchmarkConstructors() {
+		long start = System.nanoTime();
+		for ( int i = 0; i < 1_000_000; i++ ) {
+			DynamicInteropService.invokeConstructor( context, StringBuilder.class, "BoxLang" );
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println( "1M Java constructor invocations took " + ( elapsed / 1_000_000 ) + "ms" );
+
+		instance.executeSource(
+		    """
+		    start = getTickCount();
+		    for( i = 1; i <= 100000; i++ ){
+		    	sb = createObject( "java", "java.lang.StringBuilder" ).init( "BoxLang" );
+		    }
+		    totalTime = getTickCount() - start;
+		    """,
+		    context );
+	}
+
 	@DisplayName( "It can call methods on interfaces" )
 	@Test
 	@SuppressWarnings( "unchecked" )
@@ -0,0 +1,63 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.loader;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClassArchiveTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "It writes and reads back classes and source maps" )
+	void testItRoundTripsClasses() throws IOException {
+		Path archivePath = tempDir.resolve( "classes.bxar" );
+		ClassArchive.write(
+		    archivePath,
+		    Map.of(
+		        "boxgenerated.templates.foo$cfm", new byte[] { 1, 2, 3 },
+		        "boxgenerated.templates.foo$cfm$Func_bar", new byte[] { 4, 5 }
+		    ),
+		    Map.of( "boxgenerated.templates.foo$cfm", "{}" ),
+		    Map.of( "boxgenerated.templates.foo$cfm", "abc123" )
+		);
+		assertThat( Files.exists( archivePath ) ).isTrue();
+
+		try ( ClassArchive archive = new ClassArchive( archivePath ) ) {
+			assertThat( archive.hasClass( "boxgenerated.templates.foo$cfm" ) ).isTrue();
+			assertThat( archive.getClassBytes( "boxgenerated.templates.foo$cfm" ) ).isEqualTo( new byte[] { 1, 2, 3 } );
+			assertThat( archive.getClassBytes( "boxgenerated.templates.foo$cfm$Func_bar" ) ).isEqualTo( new byte[] { 4, 5 } );
+			assertThat( archive.getClassBytes( "boxgenerated.templates.missing$cfm" ) ).isNull();
+			assertThat( archive.getSourceMap( "boxgenerated.templates.foo$cfm" ) ).isNotNull();
+			assertThat( archive.getSourceMap( "boxgenerated.templates.foo$cfm$Func_bar" ) ).isNull();
+			assertThat( archive.getCompilationKey( "boxgenerated.templates.foo$cfm" ) ).isEqualTo( "abc123" );
+			assertThat( archive.getCompilationKey( "boxgenerated.templates.missing$cfm" ) ).isNull();
+		}
+	}
+
+}
@@ -19,6 +19,8 @@ package ortus.boxlang.runtime.operators;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.math.BigDecimal;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -39,6 +41,17 @@ public class MultiplyTest {
 		assertThat( Multiply.invoke( 3.5, 2.5 ) ).isEqualTo( 8.75 );
 	}
 
+	@DisplayName( "It keeps integers integral and promotes on overflow" )
+	@Test
+	void testItKeepsIntegersIntegral() {
+		assertThat( Multiply.compute( ( Object ) 3, ( Object ) 2 ) ).isInstanceOf( Integer.class );
+		assertThat( Multiply.compute( 65536, 65536 ) ).isEqualTo( 4294967296L );
+		assertThat( Multiply.compute( Long.MAX_VALUE, 2L ) ).isEqualTo( new BigDecimal( "18446744073709551614" ) );
+		assertThat( Multiply.compute( -4L, 3L ) ).isEqualTo( -12L );
+		// The deprecated signature keeps its Double math
+		assertThat( Multiply.invoke( ( Object ) 3, ( Object ) 2 ) ).isInstanceOf( Double.class );
+	}
+
 	@DisplayName( "It can Multiply strings" )
 	@Test
 	void testItCanMultiplyStrings() {
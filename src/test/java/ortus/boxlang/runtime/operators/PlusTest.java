@@ -19,6 +19,8 @@ package ortus.boxlang.runtime.operators;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.math.BigDecimal;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -39,6 +41,18 @@ public class PlusTest {
 		assertThat( Plus.invoke( 3.5, 2.5 ) ).isEqualTo( 6 );
 	}
 
+	@DisplayName( "It keeps integers integral and promotes on overflow" )
+	@Test
+	void testItKeepsIntegersIntegral() {
+		assertThat( Plus.compute( ( Object ) 3, ( Object ) 2 ) ).isInstanceOf( Integer.class );
+		assertThat( Plus.compute( Integer.MAX_VALUE, 1 ) ).isEqualTo( 2147483648L );
+		assertThat( Plus.compute( ( Object ) 3L, ( Object ) 2 ) ).isEqualTo( 5L );
+		assertThat( Plus.compute( Long.MAX_VALUE, 1L ) ).isEqualTo( new BigDecimal( "9223372036854775808" ) );
+		assertThat( Plus.compute( ( Object ) 3, ( Object ) 0.5 ) ).isEqualTo( 3.5 );
+		// The deprecated signature keeps its Double math
+		assertThat( Plus.invoke( ( Object ) 3, ( Object ) 2 ) ).isInstanceOf( Double.class );
+	}
+
 	@DisplayName( "It can add strings" )
 	@Test
 	void testItCanAddStrings() {
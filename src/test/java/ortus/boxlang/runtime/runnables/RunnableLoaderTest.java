@@ -0,0 +1,66 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.runnables;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.util.ResolvedFilePath;
+
+public class RunnableLoaderTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context = new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+	}
+
+	@DisplayName( "It reuses the template singleton" )
+	@Test
+	public void testItReusesTemplates() {
+		ResolvedFilePath	template	= ResolvedFilePath.of(
+		    Path.of( "src/test/java/ortus/boxlang/runtime/bifs/global/system/IncludeTest.cfs" ).toAbsolutePath() );
+		BoxTemplate			first		= RunnableLoader.getInstance().loadTemplateAbsolute( context, template );
+		BoxTemplate			second		= RunnableLoader.getInstance().loadTemplateAbsolute( context, template );
+		assertThat( second ).isSameInstanceAs( first );
+	}
+
+	@DisplayName( "It gets script instances through their accessor" )
+	@Test
+	public void testItLoadsStatements() {
+		BoxScript script = RunnableLoader.getInstance().loadStatement( context, "1 + 2" );
+		assertThat( script ).isSameInstanceAs( RunnableLoader.getInstance().loadStatement( context, "1 + 2" ) );
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.runnables;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.compiler.parser.BoxSourceType;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+
+public class StatementCacheTest {
+
+	static BoxRuntime	instance;
+	IBoxContext			context;
+
+	@BeforeAll
+	public static void setUp() {
+		instance = BoxRuntime.getInstance( true );
+	}
+
+	@BeforeEach
+	public void setupEach() {
+		context = new ScriptingRequestBoxContext( instance.getRuntimeContext() );
+	}
+
+	private BoxScript compile( String source ) {
+		return RunnableLoader.getInstance().loadStatement( context, source );
+	}
+
+	@DisplayName( "It serves repeated statements from the cache" )
+	@Test
+	public void testItCachesStatements() {
+		StatementCache	cache	= new StatementCache( 10, 60_000L, script -> {
+								} );
+		BoxScript		first	= cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "1 + 1", () -> compile( "1 + 1" ) );
+		BoxScript		second	= cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "1 + 1", () -> compile( "1 + 1" ) );
+
+		assertThat( second ).isSameInstanceAs( first );
+		assertThat( cache.getHits() ).isEqualTo( 1 );
+		assertThat( cache.getMisses() ).isEqualTo( 1 );
+		assertThat( cache.getSize() ).isEqualTo( 1 );
+	}
+
+	@DisplayName( "It evicts the least recently used statements" )
+	@Test
+	public void testItEvictsStatements() throws InterruptedException {
+		List<BoxScript>	evicted	= new ArrayList<>();
+		StatementCache	cache	= new StatementCache( 2, 60_000L, evicted::add );
+		BoxScript		first	= cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "2 + 1", () -> compile( "2 + 1" ) );
+		// Make sure the access times differ
+		Thread.sleep( 5 );
+		cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "2 + 2", () -> compile( "2 + 2" ) );
+		Thread.sleep( 5 );
+		cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "2 + 3", () -> compile( "2 + 3" ) );
+
+		assertThat( cache.getSize() ).isEqualTo( 2 );
+		assertThat( cache.getEvictions() ).isEqualTo( 1 );
+		assertThat( evicted ).containsExactly( first );
+	}
+
+	@DisplayName( "It evicts idle statements" )
+	@Test
+	public void testItEvictsIdleStatements() {
+		StatementCache cache = new StatementCache( 1, -1L, script -> {
+		} );
+		cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "3 + 1", () -> compile( "3 + 1" ) );
+		cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "3 + 2", () -> compile( "3 + 2" ) );
+
+		assertThat( cache.getSize() ).isEqualTo( 0 );
+		assertThat( cache.getEvictions() ).isEqualTo( 2 );
+	}
+
+	@DisplayName( "It keeps evicted scripts runnable" )
+	@Test
+	public void testEvictedScriptsStillRun() {
+		StatementCache	cache	= new StatementCache( 10, 60_000L, script -> RunnableLoader.getInstance().getBoxpiler().discardClass( script.getClass() ) );
+		BoxScript		script	= cache.get( StatementCache.Kind.STATEMENT, BoxSourceType.BOXSCRIPT, "( () => \"still here\" )()", () -> compile( "( () => \"still here\" )()" ) );
+		cache.clear();
+
+		// The closure class is only loaded now, from the class loader of the evicted script
+		assertThat( script.invoke( context ) ).isEqualTo( "still here" );
+	}
+
+}
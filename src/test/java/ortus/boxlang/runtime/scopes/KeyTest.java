@@ -88,6 +88,40 @@ public class KeyTest {
 		assertThat( keys[ 2 ].getName() ).isEqualTo( "Test3" );
 	}
 
+	@DisplayName( "Test the builder returns canonical keys" )
+	@Test
+	public void testOfBuilderInterns() {
+		Key	key1	= Key.of( "internedKey" );
+		Key	key2	= Key.of( "internedKey" );
+		Key	key3	= Key.of( "INTERNEDKEY" );
+
+		assertThat( key1 ).isSameInstanceAs( key2 );
+		assertThat( key1 ).isNotSameInstanceAs( key3 );
+		assertThat( key1 ).isEqualTo( key3 );
+		assertThat( key3.getName() ).isEqualTo( "INTERNEDKEY" );
+		assertThat( Key.getInternHits() ).isGreaterThan( 0 );
+	}
+
+	@DisplayName( "Test the builder returns canonical int keys" )
+	@Test
+	public void testOfBuilderIntTable() {
+		assertThat( Key.of( 42 ) ).isSameInstanceAs( Key.of( 42 ) );
+		assertThat( Key.of( "42" ) ).isSameInstanceAs( Key.of( 42 ) );
+		assertThat( Key.of( 42d ) ).isSameInstanceAs( Key.of( 42 ) );
+		assertThat( Key.of( 100000 ) ).isEqualTo( Key.of( 100000 ) );
+		assertThat( Key.getIntKeyHits() ).isGreaterThan( 0 );
+	}
+
+	@DisplayName( "Test keys with colliding hash codes are not equal" )
+	@Test
+	public void testHashCollisionsAreNotEqual() {
+		// "A_" and "B@" have the same String hash code
+		Key	key1	= new Key( "A_" );
+		Key	key2	= new Key( "B@" );
+		assertThat( key1.hashCode() ).isEqualTo( key2.hashCode() );
+		assertThat( key1 ).isNotEqualTo( key2 );
+	}
+
 	@DisplayName( "Test the original value" )
 	@Test
 	public void testTheOriginalValue() {
@@ -27,8 +27,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Spy;
 
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.bifs.MemberDescriptor;
+import ortus.boxlang.runtime.bifs.MemberLookupCache;
+import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.BoxLangType;
 
 class FunctionServiceTest {
 
@@ -84,4 +88,42 @@ class FunctionServiceTest {
 		assertThat( result ).isNull();
 	}
 
+	@DisplayName( "It caches member methods by class until a member method is registered" )
+	@Test
+	void testItCachesMemberMethods() {
+		IBoxContext			context		= new ScriptingRequestBoxContext();
+		MemberLookupCache	cache		= MemberLookupCache.allocate( 1 )[ 0 ];
+		long				version		= service.getMemberMethodVersion();
+		MemberDescriptor	descriptor	= service.getMemberMethod( context, Key.of( "ucase" ), "hello", cache );
+
+		assertThat( descriptor ).isNotNull();
+		assertThat( descriptor.type ).isEqualTo( BoxLangType.STRING );
+		assertThat( cache.get( String.class, version ) ).isSameInstanceAs( descriptor );
+		assertThat( service.getMemberMethod( context, Key.of( "ucase" ), "world", cache ) ).isSameInstanceAs( descriptor );
+
+		// Registering a member method invalidates what was cached
+		service.registerMemberMethod( Key.of( "ucase" ), descriptor );
+		assertThat( service.getMemberMethodVersion() ).isGreaterThan( version );
+		assertThat( cache.get( String.class, service.getMemberMethodVersion() ) ).isNull();
+		assertThat( service.getMemberMethod( context, Key.of( "ucase" ), "again", cache ) ).isSameInstanceAs( descriptor );
+	}
+
+	@DisplayName( "A megamorphic member cache learns again when the registry changes" )
+	@Test
+	void testMegamorphicMemberCacheRecovers() {
+		MemberLookupCache	cache		= MemberLookupCache.allocate( 1 )[ 0 ];
+		MemberDescriptor	descriptor	= service.getMemberMethod( new ScriptingRequestBoxContext(), Key.of( "ucase" ), "hello", cache );
+		Class<?>[]			classes		= new Class<?>[] { String.class, Integer.class, Long.class, Double.class, Boolean.class, Short.class,
+		    Byte.class, Float.class, Character.class, Object.class, StringBuilder.class };
+
+		for ( Class<?> targetClass : classes ) {
+			cache.put( targetClass, descriptor, 1 );
+		}
+		assertThat( cache.isMegamorphic( 1 ) ).isTrue();
+		assertThat( cache.isMegamorphic( 2 ) ).isFalse();
+
+		cache.put( String.class, descriptor, 2 );
+		assertThat( cache.isMegamorphic( 2 ) ).isFalse();
+	}
+
 }
@@ -0,0 +1,155 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.types.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+class CompactScopeMapTest {
+
+	@DisplayName( "It can put, get and remove entries" )
+	@Test
+	void testPutGetRemove() {
+		CompactScopeMap map = new CompactScopeMap();
+		map.put( Key.of( "foo" ), "bar" );
+		map.put( new Key( "FOO" ), "baz" );
+		map.put( Key.of( "other" ), 1 );
+
+		assertThat( map.size() ).isEqualTo( 2 );
+		assertThat( map.get( Key.of( "foo" ) ) ).isEqualTo( "baz" );
+		assertThat( map.containsKey( Key.of( "OTHER" ) ) ).isTrue();
+		assertThat( map.get( "foo" ) ).isNull();
+
+		assertThat( map.remove( Key.of( "foo" ) ) ).isEqualTo( "baz" );
+		assertThat( map.size() ).isEqualTo( 1 );
+		assertThat( map.containsKey( Key.of( "foo" ) ) ).isFalse();
+		assertThat( map.get( Key.of( "other" ) ) ).isEqualTo( 1 );
+	}
+
+	@DisplayName( "It grows and keeps insertion order" )
+	@Test
+	void testGrowsAndKeepsOrder() {
+		CompactScopeMap map = new CompactScopeMap();
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( Key.of( "key" + i ), i );
+		}
+		map.remove( Key.of( "key50" ) );
+
+		assertThat( map.size() ).isEqualTo( 99 );
+		int expected = 0;
+		for ( Map.Entry<Key, Object> entry : map.entrySet() ) {
+			if ( expected == 50 ) {
+				expected++;
+			}
+			assertThat( entry.getKey().getName() ).isEqualTo( "key" + expected );
+			assertThat( entry.getValue() ).isEqualTo( expected );
+			expected++;
+		}
+	}
+
+	@DisplayName( "Its iterator can remove and update entries" )
+	@Test
+	void testIteratorWritesThrough() {
+		CompactScopeMap map = new CompactScopeMap();
+		map.put( Key.of( "one" ), 1 );
+		map.put( Key.of( "two" ), 2 );
+		map.put( Key.of( "three" ), 3 );
+
+		Iterator<Map.Entry<Key, Object>> iterator = map.entrySet().iterator();
+		while ( iterator.hasNext() ) {
+			Map.Entry<Key, Object> entry = iterator.next();
+			if ( entry.getKey().equals( Key.of( "two" ) ) ) {
+				iterator.remove();
+			} else {
+				entry.setValue( ( Integer ) entry.getValue() * 10 );
+			}
+		}
+
+		assertThat( map.size() ).isEqualTo( 2 );
+		assertThat( map.get( Key.of( "one" ) ) ).isEqualTo( 10 );
+		assertThat( map.get( Key.of( "three" ) ) ).isEqualTo( 30 );
+	}
+
+	@DisplayName( "It fails fast when used from another thread before it escapes" )
+	@Test
+	void testFailsFastOnOtherThreads() throws InterruptedException {
+		CompactScopeMap map = new CompactScopeMap();
+		map.put( Key.of( "foo" ), "bar" );
+		assertThat( map.isEscaped() ).isFalse();
+
+		Object[] result = new Object[ 1 ];
+
+		Thread thread = new Thread( () -> {
+			try {
+				result[ 0 ] = map.get( Key.of( "foo" ) );
+			} catch ( BoxRuntimeException e ) {
+				result[ 0 ] = e;
+			}
+		} );
+		thread.start();
+		thread.join();
+		assertThat( result[ 0 ] ).isInstanceOf( BoxRuntimeException.class );
+		assertThat( map.isEscaped() ).isFalse();
+
+		// Once the owner lets it escape, other threads can use it
+		map.escape();
+		thread = new Thread( () -> result[ 0 ] = map.get( Key.of( "foo" ) ) );
+		thread.start();
+		thread.join();
+		assertThat( result[ 0 ] ).isEqualTo( "bar" );
+		map.put( Key.of( "baz" ), "qux" );
+		assertThat( map.size() ).isEqualTo( 2 );
+	}
+
+	@DisplayName( "Compact structs report their type and copy into ordered structs" )
+	@Test
+	void testCompactStructType() {
+		Struct struct = new Struct( IStruct.TYPES.COMPACT );
+		struct.put( Key.of( "foo" ), "bar" );
+
+		assertThat( struct.getType() ).isEqualTo( IStruct.TYPES.COMPACT );
+		assertThat( struct.getType().copyType() ).isEqualTo( IStruct.TYPES.LINKED );
+		assertThat( struct.getWrapped() ).isInstanceOf( CompactScopeMap.class );
+		assertThat( struct.escape().get( Key.of( "foo" ) ) ).isEqualTo( "bar" );
+		assertThat( ( ( CompactScopeMap ) struct.getWrapped() ).isEscaped() ).isTrue();
+	}
+
+	@DisplayName( "Compact structs escape when they are stored in a struct or array" )
+	@Test
+	void testEscapesWhenStored() {
+		Struct	stored	= new Struct( IStruct.TYPES.COMPACT );
+		Struct	added	= new Struct( IStruct.TYPES.COMPACT );
+		new Struct().put( Key.of( "scope" ), stored );
+		new Array().add( added );
+
+		assertThat( ( ( CompactScopeMap ) stored.getWrapped() ).isEscaped() ).isTrue();
+		assertThat( ( ( CompactScopeMap ) added.getWrapped() ).isEscaped() ).isTrue();
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.runtime.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+public class MappingIndexTest {
+
+	private IStruct mappings;
+
+	@BeforeEach
+	void setUp() {
+		mappings = new Struct( Struct.KEY_LENGTH_LONGEST_FIRST_COMPARATOR );
+		mappings.put( Key.of( "/" ), "/var/www" );
+		mappings.put( Key.of( "/models" ), "/opt/models" );
+		mappings.put( Key.of( "/models/sub" ), "/opt/sub" );
+	}
+
+	@DisplayName( "It finds the longest mapping ignoring case" )
+	@Test
+	public void testFindMapping() {
+		MappingIndex index = MappingIndex.of( mappings );
+
+		assertThat( index.findMapping( "/models/User.bx" ).name() ).isEqualTo( "/models" );
+		assertThat( index.findMapping( "/MODELS/Sub/Thing.bx" ).name() ).isEqualTo( "/models/sub" );
+		// The root mapping is not a match
+		assertThat( index.findMapping( "/other/User.bx" ) ).isNull();
+	}
+
+	@DisplayName( "It finds all the mappings longest first" )
+	@Test
+	public void testFindMappings() {
+		MappingIndex index = MappingIndex.of( mappings );
+
+		assertThat( index.findMappings( "/models/sub/Thing.bx" ).stream().map( MappingIndex.Mapping::name ).toList() )
+		    .containsExactly( "/models/sub", "/models", "/" )
+		    .inOrder();
+		assertThat( index.findMappings( "/other/User.bx" ).stream().map( MappingIndex.Mapping::name ).toList() ).containsExactly( "/" );
+	}
+
+	@DisplayName( "It only builds an index when the mappings change" )
+	@Test
+	public void testItReusesIndexes() {
+		MappingIndex index = MappingIndex.of( mappings );
+		assertThat( MappingIndex.of( mappings ) ).isSameInstanceAs( index );
+
+		IStruct copy = new Struct( Struct.KEY_LENGTH_LONGEST_FIRST_COMPARATOR );
+		copy.putAll( mappings );
+		assertThat( MappingIndex.of( copy ) ).isSameInstanceAs( index );
+
+		mappings.put( Key.of( "/lib" ), "/opt/lib" );
+		MappingIndex changed = MappingIndex.of( mappings );
+		assertThat( changed ).isNotSameInstanceAs( index );
+		assertThat( changed.findMapping( "/lib/Util.bx" ).name() ).isEqualTo( "/lib" );
+	}
+
+	@DisplayName( "It rebuilds the index when a mapping is replaced in place" )
+	@Test
+	public void testItSeesReplacedMappings() {
+		MappingIndex index = MappingIndex.of( mappings );
+		assertThat( index.resolve( "/models/User.bx" ).absolutePath() ).isEqualTo( Path.of( "/opt/models/User.bx" ).toAbsolutePath() );
+
+		mappings.put( Key.of( "/models" ), "/srv/models" );
+		MappingIndex changed = MappingIndex.of( mappings );
+		assertThat( changed ).isNotSameInstanceAs( index );
+		assertThat( changed.resolve( "/models/User.bx" ).absolutePath() ).isEqualTo( Path.of( "/srv/models/User.bx" ).toAbsolutePath() );
+	}
+
+	@DisplayName( "It resolves and remembers mapped paths" )
+	@Test
+	public void testResolve() {
+		MappingIndex		index		= MappingIndex.of( mappings );
+		ResolvedFilePath	resolved	= index.resolve( "/models/sub/Thing.bx" );
+
+		assertThat( resolved.mappingName() ).isEqualTo( "/models/sub" );
+		assertThat( resolved.absolutePath() ).isEqualTo( Path.of( "/opt/sub/Thing.bx" ).toAbsolutePath() );
+		assertThat( index.resolve( "/models/sub/Thing.bx" ) ).isSameInstanceAs( resolved );
+		assertThat( index.resolve( "/other/User.bx" ) ).isNull();
+	}
+
+	@DisplayName( "It remembers paths resolved relative to another" )
+	@Test
+	public void testNewFromRelative() {
+		ResolvedFilePath	base		= MappingIndex.of( mappings ).resolve( "/models/User.bx" );
+		ResolvedFilePath	relative	= base.newFromRelative( "helpers/Helper.bx" );
+
+		assertThat( relative.absolutePath() ).isEqualTo( Path.of( "/opt/models/helpers/Helper.bx" ).toAbsolutePath() );
+		assertThat( base.newFromRelative( "helpers/Helper.bx" ) ).isSameInstanceAs( relative );
+	}
+
+}